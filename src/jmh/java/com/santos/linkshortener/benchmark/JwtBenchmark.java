@@ -0,0 +1,58 @@
+package com.santos.linkshortener.benchmark;
+
+import com.santos.linkshortener.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e verificação de tokens JWT, com e sem o cache de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SEGREDO = "SUA_CHAVE_SECRETA_MUITO_GRANDE_E_SEGURA_AQUI_123456";
+
+    private JwtUtil jwtUtil;
+    private JwtUtil jwtUtilSemCache;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil(SEGREDO, 1, 10_000);
+        jwtUtilSemCache = new JwtUtil(SEGREDO, 1, 0);
+        token = jwtUtil.generateToken("usuario", 42L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("usuario", 42L);
+    }
+
+    @Benchmark
+    public Optional<Claims> extractClaims() {
+        return jwtUtil.extractClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> extractClaimsSemCache() {
+        return jwtUtilSemCache.extractClaims(token);
+    }
+}
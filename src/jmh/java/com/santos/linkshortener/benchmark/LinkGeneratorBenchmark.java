@@ -0,0 +1,77 @@
+package com.santos.linkshortener.benchmark;
+
+import com.santos.linkshortener.generator.CodeAlphabet;
+import com.santos.linkshortener.generator.FeistelCodeStrategy;
+import com.santos.linkshortener.generator.RandomCodeStrategy;
+import com.santos.linkshortener.generator.SequentialCodeStrategy;
+import com.santos.linkshortener.util.LinkGeneratorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geração de códigos curtos pelas estratégias disponíveis, e decodificação de um código
+ * feistel de volta ao ID. A aleatória é medida também com várias threads, onde a disputa
+ * pelos geradores aparece.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LinkGeneratorBenchmark {
+
+    private RandomCodeStrategy aleatoria;
+    private SequentialCodeStrategy sequencial;
+    private FeistelCodeStrategy feistel;
+    private final AtomicLong ids = new AtomicLong();
+    private String codigoFeistel;
+
+    @Setup
+    public void preparar() {
+        var alfabeto = new CodeAlphabet(CodeAlphabet.PADRAO);
+        aleatoria = new RandomCodeStrategy(alfabeto, 8);
+        sequencial = new SequentialCodeStrategy(alfabeto, 8);
+        feistel = new FeistelCodeStrategy(alfabeto, 8, "chave-benchmark");
+        codigoFeistel = feistel.gerar(123_456_789L);
+    }
+
+    @Benchmark
+    public String linkGeneratorUtil() {
+        return LinkGeneratorUtil.gerarLinkAleatorio();
+    }
+
+    @Benchmark
+    public String aleatorio() {
+        return aleatoria.gerar(0);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String aleatorioConcorrente() {
+        return aleatoria.gerar(0);
+    }
+
+    @Benchmark
+    public String sequencial() {
+        return sequencial.gerar(ids.getAndIncrement());
+    }
+
+    @Benchmark
+    public String feistel() {
+        return feistel.gerar(ids.getAndIncrement());
+    }
+
+    @Benchmark
+    public long feistelDecodificar() {
+        return feistel.decodificar(codigoFeistel).getAsLong();
+    }
+}
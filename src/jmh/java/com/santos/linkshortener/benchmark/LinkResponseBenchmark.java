@@ -0,0 +1,59 @@
+package com.santos.linkshortener.benchmark;
+
+import com.santos.linkshortener.dto.LinkResponse;
+import com.santos.linkshortener.dto.LinkResumo;
+import com.santos.linkshortener.model.Destination;
+import com.santos.linkshortener.model.Link;
+import com.santos.linkshortener.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidade e de projeção para o DTO de resposta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LinkResponseBenchmark {
+
+    private static final String BASE_URL = "http://localhost:8080/api/v1/links";
+
+    private Link link;
+    private LinkResumo resumo;
+
+    @Setup
+    public void preparar() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("usuario");
+        link = new Link(new Destination(1L, "https://exemplo.com/uma/url/razoavelmente/longa?com=parametros"), "aB3dE5fG");
+        link.setId(1L);
+        link.setUser(user);
+        resumo = new LinkResumo(1L, link.getUrlOriginal(), link.getUrlCurta(), 0L, LocalDateTime.now(), null, null, null, null, null);
+    }
+
+    @Benchmark
+    public LinkResponse fromEntidade() {
+        return LinkResponse.from(link, BASE_URL);
+    }
+
+    @Benchmark
+    public LinkResponse fromEntidadeComUsername() {
+        return LinkResponse.from(link, BASE_URL, "usuario");
+    }
+
+    @Benchmark
+    public LinkResponse fromResumo() {
+        return LinkResponse.from(resumo, BASE_URL, "usuario");
+    }
+}
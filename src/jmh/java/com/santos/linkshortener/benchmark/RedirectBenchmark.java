@@ -0,0 +1,136 @@
+package com.santos.linkshortener.benchmark;
+
+import com.santos.linkshortener.cache.RedirectCache;
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.click.ClickAccumulator;
+import com.santos.linkshortener.click.ClickRecorder;
+import com.santos.linkshortener.datasource.ReadConsistency;
+import com.santos.linkshortener.destination.DestinationStore;
+import com.santos.linkshortener.generator.CodeAlphabet;
+import com.santos.linkshortener.generator.ShortCodeGenerator;
+import com.santos.linkshortener.model.Destination;
+import com.santos.linkshortener.model.Link;
+import com.santos.linkshortener.repository.CodeQuarantineRepository;
+import com.santos.linkshortener.repository.LinkRepository;
+import com.santos.linkshortener.repository.UserRepository;
+import com.santos.linkshortener.service.LinkService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolução de código curto em {@link LinkService#getOriginalUrl(String)} com um repositório
+ * em memória no lugar do banco. Os códigos são os da estratégia sequencial, decodificados no ID
+ * e buscados pela chave primária. Com {@code cacheBytes=0} toda chamada vai ao repositório;
+ * com o cache dimensionado para caber todos os links, mede o caminho de hit.
+ * O acumulador de cliques nunca grava (intervalo maior que a execução).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class RedirectBenchmark {
+
+    private static final int LINKS = 10_000;
+
+    @Param({"0", "67108864"})
+    public long cacheBytes;
+
+    private String[] codigos;
+    private ShortCodeFilter shortCodeFilter;
+    private ClickAccumulator clickAccumulator;
+    private LinkService linkService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        var alfabeto = new CodeAlphabet(CodeAlphabet.PADRAO);
+        Map<Long, Link> links = new HashMap<>();
+        codigos = new String[LINKS];
+        for (int i = 0; i < LINKS; i++) {
+            codigos[i] = alfabeto.codificar(i, 8);
+            Link link = new Link(new Destination((long) i, "https://exemplo.com/destino/" + i), codigos[i]);
+            link.setId((long) i);
+            links.put((long) i, link);
+        }
+
+        // Filtro nunca iniciado: responde "talvez exista" como nos primeiros segundos da aplicação
+        shortCodeFilter = new ShortCodeFilter(new SimpleDriverDataSource(), new TransactionTemplate(),
+                true, LINKS, 0.001, Long.MAX_VALUE);
+        clickAccumulator = new ClickAccumulator(new JdbcTemplate(), TimeUnit.DAYS.toMillis(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        linkService = new LinkService(
+                repositorio(LinkRepository.class, Map.of("findComDestino", args -> links.get((Long) args[0]))),
+                repositorio(UserRepository.class, Map.of()),
+                repositorio(CodeQuarantineRepository.class, Map.of()),
+                new ReadConsistency("", 5000, 2000),
+                new DestinationStore(new JdbcTemplate(), meterRegistry, "", 65536),
+                List.of(),
+                new RedirectCache(cacheBytes, 5000, 100_000),
+                null,
+                null,
+                shortCodeFilter,
+                clickAccumulator,
+                new ClickRecorder(false, "", 0, 0, 0, 0),
+                null,
+                new ShortCodeGenerator("sequencial", 8, CodeAlphabet.PADRAO, ""),
+                meterRegistry,
+                "http://localhost:8080/api/v1/links",
+                50,
+                500);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        shortCodeFilter.encerrar();
+    }
+
+    @Benchmark
+    public String getOriginalUrl() {
+        return linkService.getOriginalUrl(codigos[ThreadLocalRandom.current().nextInt(LINKS)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String getOriginalUrlConcorrente() {
+        return linkService.getOriginalUrl(codigos[ThreadLocalRandom.current().nextInt(LINKS)]);
+    }
+
+    /**
+     * Implementação do repositório que atende apenas os métodos informados.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repositorio(Class<T> tipo, Map<String, Metodo> metodos) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, method, args) -> {
+            Metodo metodo = metodos.get(method.getName());
+            if (metodo == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return metodo.executar(args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Metodo {
+        Object executar(Object[] args);
+    }
+}
@@ -0,0 +1,53 @@
+package com.santos.linkshortener.benchmark;
+
+import com.santos.linkshortener.dto.LinkCreateRequest;
+import com.santos.linkshortener.dto.LoginRequest;
+import com.santos.linkshortener.dto.RegisterRequest;
+import com.santos.linkshortener.validation.impl.ValidaLinkCreateRequestImpl;
+import com.santos.linkshortener.validation.impl.ValidaLoginRequestImpl;
+import com.santos.linkshortener.validation.impl.ValidaRegisterRequestImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validadores sem acesso ao banco, com requisições válidas (caminho comum).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+    private final ValidaLinkCreateRequestImpl validaLink = new ValidaLinkCreateRequestImpl();
+    private final ValidaRegisterRequestImpl validaRegistro = new ValidaRegisterRequestImpl();
+    private final ValidaLoginRequestImpl validaLogin = new ValidaLoginRequestImpl();
+
+    private final LinkCreateRequest link = new LinkCreateRequest("https://exemplo.com/pagina", "meu-link_01");
+    private final RegisterRequest registro = new RegisterRequest("usuario_01", "segredo123", "usuario@exemplo.com");
+    private final LoginRequest login = new LoginRequest("usuario_01", "segredo123");
+
+    @Benchmark
+    public LinkCreateRequest linkCreateRequest() {
+        validaLink.validar(link);
+        return link;
+    }
+
+    @Benchmark
+    public RegisterRequest registerRequest() {
+        validaRegistro.validar(registro);
+        return registro;
+    }
+
+    @Benchmark
+    public LoginRequest loginRequest() {
+        validaLogin.validar(login);
+        return login;
+    }
+}
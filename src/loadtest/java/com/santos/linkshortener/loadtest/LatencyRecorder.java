@@ -0,0 +1,84 @@
+package com.santos.linkshortener.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências em nanossegundos com buckets log-lineares (precisão de ~1,5% em
+ * qualquer ordem de grandeza), seguro para registro concorrente, para cálculo de percentis.
+ */
+final class LatencyRecorder {
+
+    /** Valores abaixo disto têm bucket próprio; acima, 64 buckets por potência de 2 */
+    private static final int SUB_BUCKETS = 128;
+    private static final int METADE = SUB_BUCKETS / 2;
+    private static final int BITS_SUB = 7;
+    private static final int TAMANHO = SUB_BUCKETS + (63 - BITS_SUB) * METADE;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TAMANHO);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens.incrementAndGet(indice(valor));
+        total.incrementAndGet();
+        maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    private static int indice(long valor) {
+        if (valor < SUB_BUCKETS) {
+            return (int) valor;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(valor);
+        int deslocamento = magnitude - (BITS_SUB - 1);
+        return SUB_BUCKETS + (magnitude - BITS_SUB) * METADE + (int) ((valor >>> deslocamento) - METADE);
+    }
+
+    /**
+     * Maior valor representado pelo bucket.
+     */
+    private static long limiteSuperior(int indice) {
+        if (indice < SUB_BUCKETS) {
+            return indice;
+        }
+        int k = indice - SUB_BUCKETS;
+        int magnitude = k / METADE + BITS_SUB;
+        int deslocamento = magnitude - (BITS_SUB - 1);
+        long base = (long) (k % METADE + METADE) << deslocamento;
+        return base + (1L << deslocamento) - 1;
+    }
+
+    long total() {
+        return total.get();
+    }
+
+    /**
+     * @param percentil Percentil entre 0 e 100
+     * @return Latência do percentil em milissegundos
+     */
+    double percentilMs(double percentil) {
+        long quantidade = total.get();
+        if (quantidade == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * quantidade));
+        long acumulado = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return emMs(Math.min(limiteSuperior(i), maximo.get()));
+            }
+        }
+        return maximoMs();
+    }
+
+    double maximoMs() {
+        return emMs(maximo.get());
+    }
+
+    private static double emMs(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
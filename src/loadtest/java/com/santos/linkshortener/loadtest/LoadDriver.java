@@ -0,0 +1,134 @@
+package com.santos.linkshortener.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições são disparadas nos instantes previstos
+ * pela taxa alvo, independentemente de as anteriores já terem terminado.
+ *
+ * <p>A latência corrigida é medida a partir do instante previsto, e não do envio: se o
+ * servidor (ou o próprio gerador) atrasar, as requisições que deveriam ter saído nesse
+ * período acumulam o atraso, como veria um cliente real. Sem essa correção (coordinated
+ * omission), uma pausa de 1 s contaria como uma única requisição lenta. A latência de
+ * serviço (do envio à resposta) é registrada à parte para comparação.</p>
+ */
+final class LoadDriver {
+
+    /**
+     * Executa uma requisição.
+     */
+    @FunctionalInterface
+    interface Execucao {
+        /**
+         * @return Status HTTP da resposta
+         */
+        int executar(Operacao operacao) throws Exception;
+    }
+
+    /**
+     * Resultado de uma operação na rodada.
+     */
+    static final class Resultado {
+        final LatencyRecorder corrigida = new LatencyRecorder();
+        final LatencyRecorder servico = new LatencyRecorder();
+        final LongAdder erros = new LongAdder();
+        final LongAdder atrasadas = new LongAdder();
+    }
+
+    private final Execucao execucao;
+    private final int maxEmVoo;
+
+    /**
+     * @param execucao Execução das requisições
+     * @param maxEmVoo Requisições simultâneas no máximo; acima disso o disparo espera e o
+     *                 atraso entra na latência corrigida
+     */
+    LoadDriver(Execucao execucao, int maxEmVoo) {
+        this.execucao = execucao;
+        this.maxEmVoo = maxEmVoo;
+    }
+
+    /**
+     * Aplica os fluxos pela duração informada e aguarda as requisições em andamento.
+     *
+     * @return Resultado por operação
+     */
+    Map<Operacao, Resultado> executar(List<WorkloadProfile.Fluxo> fluxos, long duracaoNanos)
+            throws InterruptedException {
+        Map<Operacao, Resultado> resultados = new EnumMap<>(Operacao.class);
+        fluxos.forEach(fluxo -> resultados.putIfAbsent(fluxo.operacao(), new Resultado()));
+        Semaphore emVoo = new Semaphore(maxEmVoo);
+        long inicio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long fim = inicio + duracaoNanos;
+
+        try (ExecutorService requisicoes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> disparadores = new ArrayList<>();
+            for (WorkloadProfile.Fluxo fluxo : fluxos) {
+                if (fluxo.taxa() <= 0) {
+                    continue;
+                }
+                Resultado resultado = resultados.get(fluxo.operacao());
+                Thread disparador = Thread.ofPlatform().name("carga-" + fluxo.operacao().name().toLowerCase())
+                        .start(() -> disparar(fluxo, resultado, inicio, fim, emVoo, requisicoes));
+                disparadores.add(disparador);
+            }
+            for (Thread disparador : disparadores) {
+                disparador.join();
+            }
+        }
+        return resultados;
+    }
+
+    private void disparar(WorkloadProfile.Fluxo fluxo, Resultado resultado, long inicio, long fim,
+                          Semaphore emVoo, ExecutorService requisicoes) {
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) * fluxo.rajada() / fluxo.taxa());
+        for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+            esperarAte(previsto);
+            for (int i = 0; i < fluxo.rajada(); i++) {
+                emVoo.acquireUninterruptibly();
+                long instante = previsto;
+                requisicoes.execute(() -> {
+                    try {
+                        medir(fluxo.operacao(), resultado, instante);
+                    } finally {
+                        emVoo.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void medir(Operacao operacao, Resultado resultado, long previsto) {
+        long envio = System.nanoTime();
+        if (envio - previsto > TimeUnit.MILLISECONDS.toNanos(1)) {
+            resultado.atrasadas.increment();
+        }
+        try {
+            int status = execucao.executar(operacao);
+            if (status != operacao.statusEsperado()) {
+                resultado.erros.increment();
+            }
+        } catch (Exception e) {
+            resultado.erros.increment();
+        }
+        long fim = System.nanoTime();
+        resultado.corrigida.registrar(fim - previsto);
+        resultado.servico.registrar(fim - envio);
+    }
+
+    private static void esperarAte(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+}
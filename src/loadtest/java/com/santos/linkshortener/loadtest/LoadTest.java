@@ -0,0 +1,243 @@
+package com.santos.linkshortener.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.santos.linkshortener.LinkshortenerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação com um banco H2 em memória em modo
+ * PostgreSQL (ou usa uma instância já em execução via {@code --url}), cria usuários e links
+ * pela API, aplica um perfil de carga na taxa alvo e reporta vazão e percentis de latência
+ * corrigidos por endpoint.
+ *
+ * <pre>
+ * ./mvnw -Pload-test test-compile exec:exec@load-test -Dload-test.args="--profile mixed --rate 2000 --duration 60s"
+ * </pre>
+ *
+ * Opções:
+ * <ul>
+ *   <li>{@code --profile} redirect | create | login | my-links | mixed (padrão mixed)</li>
+ *   <li>{@code --rate} requisições por segundo (500), {@code --duration} (30s), {@code --warmup} (10s)</li>
+ *   <li>{@code --links} links do redirecionamento (10000), {@code --zipf} expoente da popularidade (1.0)</li>
+ *   <li>{@code --users} usuários de login e criação (20), {@code --big-account} links da conta da
+ *       listagem (5000), {@code --page-size} (50)</li>
+ *   <li>{@code --burst-create} (50) e {@code --burst-login} (20): tamanho das rajadas</li>
+ *   <li>{@code --max-in-flight} requisições simultâneas (2000), {@code --timeout} (10s)</li>
+ *   <li>{@code --url} instância externa; sem ela, {@code --virtual-threads} e {@code --prop chave=valor}
+ *       configuram a instância embutida</li>
+ *   <li>{@code --out} arquivo JSON do resultado (target/load-test-result.json)</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final String SENHA = "senha-de-carga";
+    private static final int TAMANHO_LOTE = 500;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        List<String> propriedades = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String nome = args[i].replaceFirst("^--", "");
+            if (nome.equals("virtual-threads")) {
+                opcoes.put(nome, "true");
+            } else if (nome.equals("prop")) {
+                propriedades.add(args[++i]);
+            } else {
+                opcoes.put(nome, args[++i]);
+            }
+        }
+
+        WorkloadProfile perfil = WorkloadProfile.porNome(opcoes.getOrDefault("profile", "mixed"));
+        double taxa = Double.parseDouble(opcoes.getOrDefault("rate", "500"));
+        Duration duracao = duracao(opcoes.getOrDefault("duration", "30s"));
+        Duration aquecimento = duracao(opcoes.getOrDefault("warmup", "10s"));
+        int quantidadeLinks = Integer.parseInt(opcoes.getOrDefault("links", "10000"));
+        double expoenteZipf = Double.parseDouble(opcoes.getOrDefault("zipf", "1.0"));
+        int quantidadeUsuarios = Integer.parseInt(opcoes.getOrDefault("users", "20"));
+        int linksContaGrande = Integer.parseInt(opcoes.getOrDefault("big-account", "5000"));
+        int tamanhoPagina = Integer.parseInt(opcoes.getOrDefault("page-size", "50"));
+        int rajadaCriacao = Integer.parseInt(opcoes.getOrDefault("burst-create", "50"));
+        int rajadaLogin = Integer.parseInt(opcoes.getOrDefault("burst-login", "20"));
+        int maxEmVoo = Integer.parseInt(opcoes.getOrDefault("max-in-flight", "2000"));
+        Duration timeout = duracao(opcoes.getOrDefault("timeout", "10s"));
+        Path saida = Path.of(opcoes.getOrDefault("out", "target/load-test-result.json"));
+
+        ConfigurableApplicationContext contexto = null;
+        String url = opcoes.get("url");
+        if (url == null) {
+            contexto = iniciarEmbutida(Boolean.parseBoolean(opcoes.get("virtual-threads")), propriedades);
+            url = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        }
+
+        try {
+            LoadTestClient cliente = new LoadTestClient(url, timeout);
+            System.out.printf("Preparando dados em %s: %d usuários, %d links, conta com %d links%n",
+                    url, quantidadeUsuarios, quantidadeLinks, linksContaGrande);
+
+            String[] usuarios = new String[quantidadeUsuarios];
+            String[] tokens = new String[quantidadeUsuarios];
+            for (int i = 0; i < quantidadeUsuarios; i++) {
+                usuarios[i] = "carga-" + i;
+                tokens[i] = cliente.autenticar(usuarios[i], SENHA);
+            }
+            List<String> codigos = criarLinks(cliente, tokens, quantidadeLinks, "destino");
+            Collections.shuffle(codigos);
+            String tokenContaGrande = cliente.autenticar("carga-conta-grande", SENHA);
+            criarLinks(cliente, new String[]{tokenContaGrande}, linksContaGrande, "conta-grande");
+
+            ZipfDistribution zipf = new ZipfDistribution(codigos.size(), expoenteZipf);
+            AtomicLong sequencia = new AtomicLong();
+            AtomicReference<String> cursor = new AtomicReference<>();
+            LoadDriver driver = new LoadDriver(operacao -> {
+                int usuario = ThreadLocalRandom.current().nextInt(quantidadeUsuarios);
+                return switch (operacao) {
+                    case REDIRECT -> cliente.redirect(codigos.get(zipf.proximo())).statusCode();
+                    case CRIAR -> cliente.criar(tokens[usuario],
+                            "https://example.com/novo/" + sequencia.incrementAndGet()).statusCode();
+                    case LOGIN -> cliente.login(usuarios[usuario], SENHA).statusCode();
+                    case MEUS_LINKS -> {
+                        // Percorre a conta página a página, voltando ao início depois da última
+                        HttpResponse<String> resposta = cliente.meusLinks(tokenContaGrande, tamanhoPagina, cursor.get());
+                        if (resposta.statusCode() == 200) {
+                            cursor.set(cliente.proximoCursor(resposta));
+                        }
+                        yield resposta.statusCode();
+                    }
+                };
+            }, maxEmVoo);
+
+            var fluxos = perfil.fluxos(taxa, rajadaCriacao, rajadaLogin);
+            if (!aquecimento.isZero()) {
+                System.out.printf("Aquecimento: %s por %d s%n", perfil.nome(), aquecimento.toSeconds());
+                driver.executar(fluxos, aquecimento.toNanos());
+            }
+            System.out.printf("Carga: %s a %.0f req/s por %d s%n", perfil.nome(), taxa, duracao.toSeconds());
+            var resultados = driver.executar(fluxos, duracao.toNanos());
+            relatar(perfil, taxa, duracao, resultados, saida);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Sobe a aplicação em porta aleatória com H2 em memória no modo de compatibilidade do PostgreSQL.
+     */
+    private static ConfigurableApplicationContext iniciarEmbutida(boolean threadsVirtuais, List<String> propriedades) {
+        List<String> configuracao = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:carga;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.flyway.enabled=false",
+                "spring.jpa.show-sql=false",
+                "server.port=0",
+                "app.clicks.log.enabled=false",
+                "app.codigo.chave=carga",
+                // A limpeza usa SQL exclusivo do PostgreSQL (SKIP LOCKED, ON CONFLICT)
+                "app.links.expiry.purge-enabled=false",
+                // Todo o tráfego vem de um único IP; o limite por cliente mediria só os 429
+                "app.rate-limit.enabled=false",
+                "spring.threads.virtual.enabled=" + threadsVirtuais,
+                "logging.level.root=WARN"));
+        configuracao.addAll(propriedades);
+        return new SpringApplicationBuilder(LinkshortenerApplication.class)
+                .properties(configuracao.toArray(String[]::new))
+                .run();
+    }
+
+    private static List<String> criarLinks(LoadTestClient cliente, String[] tokens, int quantidade, String prefixo)
+            throws IOException, InterruptedException {
+        List<String> codigos = new ArrayList<>(quantidade);
+        for (int inicio = 0, lote = 0; inicio < quantidade; inicio += TAMANHO_LOTE, lote++) {
+            List<String> urls = new ArrayList<>(TAMANHO_LOTE);
+            for (int i = inicio; i < Math.min(quantidade, inicio + TAMANHO_LOTE); i++) {
+                urls.add("https://example.com/" + prefixo + "/" + i);
+            }
+            codigos.addAll(cliente.criarLinks(tokens[lote % tokens.length], urls));
+        }
+        return codigos;
+    }
+
+    private static void relatar(WorkloadProfile perfil, double taxa, Duration duracao,
+                                Map<Operacao, LoadDriver.Resultado> resultados, Path saida) throws IOException {
+        double segundos = duracao.toNanos() / 1e9;
+        System.out.println();
+        System.out.printf("%-18s %9s %7s %9s %9s %9s %9s %9s %9s %12s%n", "endpoint", "reqs", "erros",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 serv ms");
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("perfil", perfil.nome());
+        json.put("taxaAlvo", taxa);
+        json.put("duracaoSegundos", duracao.toSeconds());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        resultados.forEach((operacao, resultado) -> {
+            var c = resultado.corrigida;
+            System.out.printf("%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n", operacao.descricao(),
+                    c.total(), resultado.erros.sum(), c.total() / segundos, c.percentilMs(50), c.percentilMs(90),
+                    c.percentilMs(99), c.percentilMs(99.9), c.maximoMs(), resultado.servico.percentilMs(99));
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requisicoes", c.total());
+            endpoint.put("erros", resultado.erros.sum());
+            endpoint.put("disparosAtrasados", resultado.atrasadas.sum());
+            endpoint.put("vazao", c.total() / segundos);
+            endpoint.put("p50Ms", c.percentilMs(50));
+            endpoint.put("p90Ms", c.percentilMs(90));
+            endpoint.put("p99Ms", c.percentilMs(99));
+            endpoint.put("p999Ms", c.percentilMs(99.9));
+            endpoint.put("maxMs", c.maximoMs());
+            endpoint.put("servicoP50Ms", resultado.servico.percentilMs(50));
+            endpoint.put("servicoP99Ms", resultado.servico.percentilMs(99));
+            endpoints.put(operacao.descricao(), endpoint);
+        });
+        json.put("endpoints", endpoints);
+        System.out.println();
+        System.out.println("Percentis corrigidos medidos a partir do instante previsto de cada requisição; "
+                + "'p99 serv' mede do envio à resposta.");
+
+        if (saida.getParent() != null) {
+            Files.createDirectories(saida.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(saida.toFile(), json);
+        System.out.println("Resultado em " + saida.toAbsolutePath());
+    }
+
+    private static Duration duracao(String valor) {
+        String texto = valor.trim().toLowerCase();
+        if (texto.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(texto.substring(0, texto.length() - 2)));
+        }
+        long quantidade = Long.parseLong(texto.substring(0, texto.length() - 1));
+        return switch (texto.charAt(texto.length() - 1)) {
+            case 's' -> Duration.ofSeconds(quantidade);
+            case 'm' -> Duration.ofMinutes(quantidade);
+            case 'h' -> Duration.ofHours(quantidade);
+            default -> Duration.ofSeconds(Long.parseLong(texto));
+        };
+    }
+}
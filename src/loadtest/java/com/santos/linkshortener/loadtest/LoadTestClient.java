@@ -0,0 +1,122 @@
+package com.santos.linkshortener.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Chamadas HTTP à API usadas na preparação dos dados e durante a carga.
+ * Não segue redirecionamentos: o 302 do link curto é a resposta medida.
+ */
+final class LoadTestClient {
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final Duration timeout;
+
+    LoadTestClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Registra o usuário (ou faz login, se já existir) e retorna o token.
+     */
+    String autenticar(String username, String senha) throws IOException, InterruptedException {
+        var corpo = Map.of("username", username, "password", senha, "email", username + "@carga.local");
+        HttpResponse<String> resposta = enviar(post("/auth/register", corpo, null));
+        if (resposta.statusCode() == 409) {
+            resposta = enviar(post("/auth/login", Map.of("username", username, "password", senha), null));
+        }
+        exigir(resposta, resposta.statusCode() < 300, "autenticar " + username);
+        return json.readTree(resposta.body()).path("token").asText();
+    }
+
+    /**
+     * Cria links em lote e retorna os códigos curtos.
+     */
+    List<String> criarLinks(String token, List<String> urls) throws IOException, InterruptedException {
+        var itens = urls.stream().map(url -> Map.of("urlOriginal", url)).toList();
+        HttpResponse<String> resposta = enviar(post("/links/batch", itens, token));
+        exigir(resposta, resposta.statusCode() == 200, "criar links em lote");
+        List<String> codigos = new ArrayList<>(urls.size());
+        for (JsonNode item : json.readTree(resposta.body())) {
+            String urlCurta = item.path("link").path("urlCurta").asText(null);
+            if (urlCurta != null) {
+                codigos.add(urlCurta.substring(urlCurta.lastIndexOf('/') + 1));
+            }
+        }
+        return codigos;
+    }
+
+    HttpResponse<String> redirect(String codigo) throws IOException, InterruptedException {
+        return enviar(requisicao("/" + codigo, null).GET().build());
+    }
+
+    HttpResponse<String> criar(String token, String url) throws IOException, InterruptedException {
+        return enviar(post("/links", Map.of("urlOriginal", url), token));
+    }
+
+    HttpResponse<String> login(String username, String senha) throws IOException, InterruptedException {
+        return enviar(post("/auth/login", Map.of("username", username, "password", senha), null));
+    }
+
+    HttpResponse<String> meusLinks(String token, int limite, String cursor) throws IOException, InterruptedException {
+        String caminho = "/my-links?limite=" + limite
+                + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+        return enviar(requisicao(caminho, token).GET().build());
+    }
+
+    /**
+     * Cursor da próxima página em uma resposta de {@code /my-links}, ou null na última.
+     */
+    String proximoCursor(HttpResponse<String> resposta) throws IOException {
+        JsonNode cursor = json.readTree(resposta.body()).path("proximoCursor");
+        return cursor.isTextual() ? cursor.asText() : null;
+    }
+
+    private HttpRequest post(String caminho, Object corpo, String token) throws IOException {
+        return requisicao(caminho, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(corpo)))
+                .build();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        var builder = HttpRequest.newBuilder(URI.create(baseUrl + caminho)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        return http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void exigir(HttpResponse<String> resposta, boolean condicao, String etapa) {
+        if (!condicao) {
+            throw new IllegalStateException("Falha ao " + etapa + ": HTTP " + resposta.statusCode() + " "
+                    + resposta.body());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.santos.linkshortener.loadtest;
+
+/**
+ * Endpoints exercitados pelo teste de carga e o status esperado de cada um.
+ */
+enum Operacao {
+    REDIRECT("GET /{shortUrl}", 302),
+    CRIAR("POST /links", 201),
+    LOGIN("POST /auth/login", 200),
+    MEUS_LINKS("GET /my-links", 200);
+
+    private final String descricao;
+    private final int statusEsperado;
+
+    Operacao(String descricao, int statusEsperado) {
+        this.descricao = descricao;
+        this.statusEsperado = statusEsperado;
+    }
+
+    String descricao() {
+        return descricao;
+    }
+
+    int statusEsperado() {
+        return statusEsperado;
+    }
+}
@@ -0,0 +1,64 @@
+package com.santos.linkshortener.loadtest;
+
+import java.util.List;
+
+/**
+ * Perfis de carga. Cada perfil divide a taxa alvo em fluxos por operação; um fluxo com
+ * rajada maior que 1 envia grupos de requisições no mesmo instante, mantendo a taxa média.
+ */
+enum WorkloadProfile {
+    /** Redirecionamentos com popularidade de Zipf sobre os links criados */
+    REDIRECT("redirect"),
+    /** Rajadas de criação de links com código gerado */
+    CREATE("create"),
+    /** Rajadas de login, dominadas pelo BCrypt */
+    LOGIN("login"),
+    /** Paginação da listagem de uma conta com muitos links */
+    MY_LINKS("my-links"),
+    /** Mistura próxima do tráfego real: 90% redirect, 5% criação, 3% listagem, 2% login */
+    MIXED("mixed");
+
+    private final String nome;
+
+    WorkloadProfile(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Chegada de requisições de uma operação.
+     *
+     * @param operacao Endpoint
+     * @param taxa     Requisições por segundo, em média
+     * @param rajada   Requisições enviadas juntas a cada intervalo
+     */
+    record Fluxo(Operacao operacao, double taxa, int rajada) {
+    }
+
+    List<Fluxo> fluxos(double taxa, int rajadaCriacao, int rajadaLogin) {
+        return switch (this) {
+            case REDIRECT -> List.of(new Fluxo(Operacao.REDIRECT, taxa, 1));
+            case CREATE -> List.of(new Fluxo(Operacao.CRIAR, taxa, rajadaCriacao));
+            case LOGIN -> List.of(new Fluxo(Operacao.LOGIN, taxa, rajadaLogin));
+            case MY_LINKS -> List.of(new Fluxo(Operacao.MEUS_LINKS, taxa, 1));
+            case MIXED -> List.of(
+                    new Fluxo(Operacao.REDIRECT, taxa * 0.90, 1),
+                    new Fluxo(Operacao.CRIAR, taxa * 0.05, Math.max(1, rajadaCriacao / 5)),
+                    new Fluxo(Operacao.MEUS_LINKS, taxa * 0.03, 1),
+                    new Fluxo(Operacao.LOGIN, taxa * 0.02, Math.max(1, rajadaLogin / 10)));
+        };
+    }
+
+    static WorkloadProfile porNome(String nome) {
+        for (WorkloadProfile perfil : values()) {
+            if (perfil.nome.equalsIgnoreCase(nome)) {
+                return perfil;
+            }
+        }
+        throw new IllegalArgumentException("Perfil desconhecido: " + nome
+                + " (use redirect, create, login, my-links ou mixed)");
+    }
+
+    String nome() {
+        return nome;
+    }
+}
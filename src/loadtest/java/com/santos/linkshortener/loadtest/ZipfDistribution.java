@@ -0,0 +1,37 @@
+package com.santos.linkshortener.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribuição de Zipf sobre {@code n} itens: o item de posição k (a partir de 1) é escolhido
+ * com probabilidade proporcional a 1/k^s. Usa a função acumulada pré-calculada e busca binária.
+ */
+final class ZipfDistribution {
+
+    private final double[] acumulada;
+
+    /**
+     * @param n        Quantidade de itens
+     * @param expoente Expoente s (1,0 aproxima o tráfego de links; 0 é uniforme)
+     */
+    ZipfDistribution(int n, double expoente) {
+        acumulada = new double[n];
+        double soma = 0;
+        for (int k = 1; k <= n; k++) {
+            soma += 1.0 / Math.pow(k, expoente);
+            acumulada[k - 1] = soma;
+        }
+        for (int i = 0; i < n; i++) {
+            acumulada[i] /= soma;
+        }
+    }
+
+    /**
+     * @return Posição sorteada, de 0 (mais popular) a n - 1
+     */
+    int proximo() {
+        int posicao = Arrays.binarySearch(acumulada, ThreadLocalRandom.current().nextDouble());
+        return Math.min(posicao >= 0 ? posicao : -posicao - 1, acumulada.length - 1);
+    }
+}
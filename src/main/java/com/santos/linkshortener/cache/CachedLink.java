@@ -0,0 +1,112 @@
+package com.santos.linkshortener.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dados mínimos de um link mantidos em memória para o redirecionamento.
+ *
+ * @param id          Identificador do link
+ * @param urlOriginal URL de destino do redirecionamento; null em um link já expirado
+ * @param expiraEmMs  Instante de expiração em milissegundos da época, ou 0 se não expira por data
+ * @param maxCliques  Limite de cliques, ou 0 se não houver
+ * @param cliques     Cliques contados até agora (banco na carga + acessos desta instância);
+ *                    null se não houver limite
+ * @param politica    Status e cabeçalhos de cache do redirecionamento
+ */
+public record CachedLink(
+        Long id,
+        String urlOriginal,
+        long expiraEmMs,
+        long maxCliques,
+        AtomicLong cliques,
+        RedirectPolicy politica) {
+
+    /** Custo fixo estimado (objetos, cabeçalhos e entrada do mapa) por item em cache */
+    private static final int OVERHEAD_BYTES = 96;
+
+    /**
+     * Link sem data de expiração nem limite de cliques.
+     *
+     * @param id          Identificador do link
+     * @param urlOriginal URL de destino do redirecionamento
+     * @param politica    Status e cabeçalhos de cache do redirecionamento
+     */
+    public CachedLink(Long id, String urlOriginal, RedirectPolicy politica) {
+        this(id, urlOriginal, 0, 0, null, politica);
+    }
+
+    /**
+     * Marca de link expirado (ou removido por expiração), respondida com 410 sem ir ao banco.
+     *
+     * @param id Identificador do link, ou null se a linha já foi removida
+     * @return Entrada sem destino
+     */
+    public static CachedLink marcaExpirada(Long id) {
+        return new CachedLink(id, null, 0, 0, null, RedirectPolicy.PADRAO);
+    }
+
+    /**
+     * Indica se o link tem data de expiração ou limite de cliques a verificar no acesso.
+     *
+     * @return false para links permanentes
+     */
+    public boolean temValidade() {
+        return urlOriginal == null || expiraEmMs != 0 || maxCliques != 0;
+    }
+
+    /**
+     * Verifica se o link está expirado, sem contar acesso.
+     *
+     * @param agoraMs Instante atual
+     * @return true se a data passou ou o limite de cliques foi atingido
+     */
+    public boolean expirado(long agoraMs) {
+        return urlOriginal == null
+                || (expiraEmMs != 0 && agoraMs >= expiraEmMs)
+                || (maxCliques != 0 && cliques.get() >= maxCliques);
+    }
+
+    /**
+     * Verifica a validade e, havendo limite, reserva um clique.
+     *
+     * @param agoraMs Instante atual
+     * @return false se o link expirou ou o clique excederia o limite
+     */
+    public boolean registrarAcesso(long agoraMs) {
+        if (urlOriginal == null || (expiraEmMs != 0 && agoraMs >= expiraEmMs)) {
+            return false;
+        }
+        return maxCliques == 0 || cliques.incrementAndGet() <= maxCliques;
+    }
+
+    /**
+     * Valor do {@code Cache-Control} do redirecionamento. Em um link com data de expiração o
+     * max-age é reduzido ao tempo restante, para que nenhum cache redirecione depois dela.
+     *
+     * @param agoraMs Instante atual
+     * @return Cabeçalho a enviar
+     */
+    public String cacheControl(long agoraMs) {
+        if (!politica.armazenavel() || expiraEmMs == 0) {
+            return politica.cacheControl();
+        }
+        long restante = (expiraEmMs - agoraMs) / 1000;
+        if (restante >= politica.cacheSegundos()) {
+            return politica.cacheControl();
+        }
+        return restante <= 0 ? RedirectPolicy.SEM_CACHE : "public, max-age=" + restante;
+    }
+
+    /**
+     * Estima o espaço ocupado pela entrada, usado para limitar o cache por tamanho.
+     *
+     * @param urlCurta Código curto usado como chave
+     * @return Tamanho aproximado em bytes
+     */
+    public int pesoEstimado(String urlCurta) {
+        int cabecalhos = politica.armazenavel()
+                ? politica.cacheControl().length() + politica.etag().length() + politica.chaveCdn().length()
+                : 0;
+        return OVERHEAD_BYTES + 2 * (urlCurta.length() + (urlOriginal == null ? 0 : urlOriginal.length()) + cabecalhos);
+    }
+}
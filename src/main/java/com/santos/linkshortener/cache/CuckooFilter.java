@@ -0,0 +1,184 @@
+package com.santos.linkshortener.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filtro cuckoo de tamanho fixo: conjunto aproximado que responde "talvez exista" ou
+ * "certamente não existe" e, ao contrário do filtro de Bloom, permite remoções.
+ * Cada bucket tem 4 posições com fingerprints de até 16 bits. Não é thread-safe;
+ * a sincronização fica a cargo de {@link ShortCodeFilter}.
+ */
+final class CuckooFilter {
+
+    static final int POSICOES_POR_BUCKET = 4;
+    private static final int MAX_DESLOCAMENTOS = 500;
+
+    private final short[] tabela;
+    private final int mascaraBuckets;
+    private final int mascaraFingerprint;
+    private final int bitsFingerprint;
+    private int itens;
+
+    /** Fingerprint desalojado quando o filtro encheu; continua sendo considerado nas consultas */
+    private short vitima;
+    private int bucketVitima;
+
+    /**
+     * @param capacidade      Quantidade de itens suportada (arredondada para potência de 2 de buckets)
+     * @param bitsFingerprint Bits por fingerprint (4 a 16); mais bits, menos falsos positivos
+     */
+    CuckooFilter(long capacidade, int bitsFingerprint) {
+        long buckets = Math.max(1, (long) Math.ceil(capacidade / (POSICOES_POR_BUCKET * 0.95)));
+        int totalBuckets = Integer.highestOneBit((int) Math.min(buckets, 1 << 28) - 1) << 1;
+        this.tabela = new short[Math.max(totalBuckets, 1) * POSICOES_POR_BUCKET];
+        this.mascaraBuckets = Math.max(totalBuckets, 1) - 1;
+        this.bitsFingerprint = bitsFingerprint;
+        this.mascaraFingerprint = (1 << bitsFingerprint) - 1;
+    }
+
+    /**
+     * Insere o hash no filtro.
+     *
+     * @param hash Hash de 64 bits do item
+     * @return false se o filtro estiver cheio e o item não puder ser inserido
+     */
+    boolean inserir(long hash) {
+        if (vitima != 0) {
+            return false;
+        }
+        short fingerprint = fingerprint(hash);
+        int i1 = bucket(hash);
+        int i2 = bucketAlternativo(i1, fingerprint);
+        if (inserirNoBucket(i1, fingerprint) || inserirNoBucket(i2, fingerprint)) {
+            itens++;
+            return true;
+        }
+
+        int bucket = ThreadLocalRandom.current().nextBoolean() ? i1 : i2;
+        for (int n = 0; n < MAX_DESLOCAMENTOS; n++) {
+            int posicao = bucket * POSICOES_POR_BUCKET + ThreadLocalRandom.current().nextInt(POSICOES_POR_BUCKET);
+            short desalojado = tabela[posicao];
+            tabela[posicao] = fingerprint;
+            fingerprint = desalojado;
+            bucket = bucketAlternativo(bucket, fingerprint);
+            if (inserirNoBucket(bucket, fingerprint)) {
+                itens++;
+                return true;
+            }
+        }
+        // O item atual foi inserido; o último desalojado fica guardado como vítima
+        vitima = fingerprint;
+        bucketVitima = bucket;
+        itens++;
+        return true;
+    }
+
+    /**
+     * Indica se o hash pode ter sido inserido.
+     *
+     * @param hash Hash de 64 bits do item
+     * @return false somente se o item certamente não está no filtro
+     */
+    boolean talvezContenha(long hash) {
+        short fingerprint = fingerprint(hash);
+        int i1 = bucket(hash);
+        int i2 = bucketAlternativo(i1, fingerprint);
+        if (vitima == fingerprint && (bucketVitima == i1 || bucketVitima == i2)) {
+            return true;
+        }
+        return posicaoNoBucket(i1, fingerprint) >= 0 || posicaoNoBucket(i2, fingerprint) >= 0;
+    }
+
+    /**
+     * Remove uma ocorrência do hash. Só deve ser chamado para itens efetivamente inseridos,
+     * caso contrário pode remover o fingerprint de outro item.
+     *
+     * @param hash Hash de 64 bits do item
+     * @return true se um fingerprint correspondente foi removido
+     */
+    boolean remover(long hash) {
+        short fingerprint = fingerprint(hash);
+        int i1 = bucket(hash);
+        int i2 = bucketAlternativo(i1, fingerprint);
+        if (vitima == fingerprint && (bucketVitima == i1 || bucketVitima == i2)) {
+            vitima = 0;
+            itens--;
+            return true;
+        }
+        for (int bucket : new int[]{i1, i2}) {
+            int posicao = posicaoNoBucket(bucket, fingerprint);
+            if (posicao >= 0) {
+                tabela[posicao] = 0;
+                itens--;
+                if (vitima != 0 && inserirNoBucket(bucketVitima, vitima)) {
+                    vitima = 0;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean cheio() {
+        return vitima != 0;
+    }
+
+    int itens() {
+        return itens;
+    }
+
+    long capacidade() {
+        return tabela.length;
+    }
+
+    long memoriaBytes() {
+        return (long) tabela.length * Short.BYTES;
+    }
+
+    /**
+     * Taxa de falsos positivos esperada para a ocupação atual: cada consulta compara
+     * o fingerprint com até 8 posições ocupadas.
+     *
+     * @return Probabilidade estimada de falso positivo
+     */
+    double taxaFalsosPositivos() {
+        double ocupacao = (double) itens / tabela.length;
+        return 2.0 * POSICOES_POR_BUCKET * ocupacao / (mascaraFingerprint + 1);
+    }
+
+    private boolean inserirNoBucket(int bucket, short fingerprint) {
+        int inicio = bucket * POSICOES_POR_BUCKET;
+        for (int i = inicio; i < inicio + POSICOES_POR_BUCKET; i++) {
+            if (tabela[i] == 0) {
+                tabela[i] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int posicaoNoBucket(int bucket, short fingerprint) {
+        int inicio = bucket * POSICOES_POR_BUCKET;
+        for (int i = inicio; i < inicio + POSICOES_POR_BUCKET; i++) {
+            if (tabela[i] == fingerprint) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private short fingerprint(long hash) {
+        int fingerprint = (int) (hash >>> (64 - bitsFingerprint)) & mascaraFingerprint;
+        // Zero marca posição vazia
+        return (short) (fingerprint == 0 ? 1 : fingerprint);
+    }
+
+    private int bucket(long hash) {
+        return (int) hash & mascaraBuckets;
+    }
+
+    private int bucketAlternativo(int bucket, short fingerprint) {
+        int h = (fingerprint & 0xFFFF) * 0x5bd1e995;
+        return (bucket ^ (h ^ (h >>> 15))) & mascaraBuckets;
+    }
+}
@@ -0,0 +1,105 @@
+package com.santos.linkshortener.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimador aproximado de frequência de acesso (Count-Min Sketch com contadores de 4 bits).
+ * Usado pela política de admissão do cache: uma entrada nova só desaloja outra se for
+ * acessada com mais frequência. Os contadores são reduzidos pela metade periodicamente
+ * para que a popularidade antiga não domine para sempre.
+ */
+final class FrequencySketch {
+
+    /** Sementes para derivar os quatro índices independentes de cada chave */
+    private static final long[] SEMENTES = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /** Máscara que zera o bit mais alto de cada contador ao dividir por dois */
+    private static final long MASCARA_RESET = 0x7777777777777777L;
+
+    private final AtomicLongArray tabela;
+    private final int mascara;
+    private final int limiteAmostras;
+    private final AtomicInteger amostras = new AtomicInteger();
+
+    /**
+     * @param capacidadeEstimada Quantidade esperada de chaves distintas em cache
+     */
+    FrequencySketch(long capacidadeEstimada) {
+        int tamanho = Integer.highestOneBit((int) Math.min(Math.max(capacidadeEstimada, 16), 1 << 26) - 1) << 1;
+        this.tabela = new AtomicLongArray(tamanho);
+        this.mascara = tamanho - 1;
+        this.limiteAmostras = 10 * tamanho;
+    }
+
+    /**
+     * Retorna a frequência estimada (0 a 15) da chave.
+     *
+     * @param chave Chave consultada
+     * @return Menor contador entre as quatro linhas
+     */
+    int frequencia(Object chave) {
+        int hash = espalhar(chave.hashCode());
+        int minimo = 15;
+        for (int linha = 0; linha < 4; linha++) {
+            long valor = tabela.get(indice(hash, linha));
+            int deslocamento = deslocamento(hash, linha);
+            minimo = Math.min(minimo, (int) ((valor >>> deslocamento) & 0xFL));
+        }
+        return minimo;
+    }
+
+    /**
+     * Registra um acesso à chave.
+     *
+     * @param chave Chave acessada
+     */
+    void incrementar(Object chave) {
+        int hash = espalhar(chave.hashCode());
+        boolean incrementou = false;
+        for (int linha = 0; linha < 4; linha++) {
+            incrementou |= incrementarContador(indice(hash, linha), deslocamento(hash, linha));
+        }
+        if (incrementou && amostras.incrementAndGet() == limiteAmostras) {
+            envelhecer();
+        }
+    }
+
+    private boolean incrementarContador(int indice, int deslocamento) {
+        long atual;
+        do {
+            atual = tabela.get(indice);
+            if (((atual >>> deslocamento) & 0xFL) == 0xFL) {
+                return false;
+            }
+        } while (!tabela.compareAndSet(indice, atual, atual + (1L << deslocamento)));
+        return true;
+    }
+
+    /**
+     * Divide todos os contadores por dois.
+     */
+    private void envelhecer() {
+        for (int i = 0; i < tabela.length(); i++) {
+            tabela.getAndUpdate(i, valor -> (valor >>> 1) & MASCARA_RESET);
+        }
+        amostras.addAndGet(-limiteAmostras / 2);
+    }
+
+    private int indice(int hash, int linha) {
+        long h = (hash + SEMENTES[linha]) * SEMENTES[linha];
+        return (int) (h >>> 32) & mascara;
+    }
+
+    private static int deslocamento(int hash, int linha) {
+        return ((hash >>> (linha << 3)) & 0xF) << 2;
+    }
+
+    private static int espalhar(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+}
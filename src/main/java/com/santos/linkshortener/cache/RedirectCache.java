@@ -0,0 +1,513 @@
+package com.santos.linkshortener.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cache em memória de código curto → destino, consultado antes do banco no redirecionamento.
+ *
+ * <ul>
+ *   <li>Limitado por tamanho estimado em bytes, dividido em segmentos com lock próprio para
+ *       escritas; hits não tomam lock.</li>
+ *   <li>Admissão por frequência (TinyLFU): quando o segmento está cheio, a entrada nova só
+ *       desaloja as menos recentes necessárias para caber se for acessada com mais frequência
+ *       que todas elas.</li>
+ *   <li>Misses simultâneos do mesmo código são agrupados em uma única consulta ao banco.</li>
+ *   <li>Códigos inexistentes ficam em um cache negativo por pouco tempo.</li>
+ *   <li>Links com data de expiração saem do cache no vencimento por uma roda de tempo
+ *       ({@link TimingWheel}); marcas de link expirado ficam pelo mesmo tempo do cache negativo.</li>
+ * </ul>
+ */
+@Component
+public class RedirectCache {
+
+    private static final int SEGMENTOS = 16;
+
+    /** Tamanho médio estimado de uma entrada, usado para dimensionar o sketch de frequência */
+    private static final int PESO_MEDIO_BYTES = 256;
+
+    /** Resolução da roda de expiração */
+    private static final long TICK_EXPIRACAO_MS = 1000;
+
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+    private final FrequencySketch sketch;
+    private final ConcurrentHashMap<String, Carregamento> carregamentosEmAndamento = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> negativos = new ConcurrentHashMap<>();
+    private final long capacidadeBytes;
+    private final long ttlNegativoNanos;
+    private final long ttlNegativoMs;
+    private final int maxNegativos;
+    private final ReentrantLock lockRoda = new ReentrantLock();
+    private final TimingWheel<Entrada> roda = new TimingWheel<>(TICK_EXPIRACAO_MS, System.currentTimeMillis());
+    private final ScheduledExecutorService agendador;
+
+    /** Incrementado a cada {@link #limpar()}; carregamentos iniciados antes dele não são armazenados */
+    private final AtomicLong epoca = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder hitsNegativos = new LongAdder();
+    private final LongAdder carregamentos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejeicoes = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+
+    /**
+     * @param capacidadeBytes Tamanho máximo estimado das entradas positivas
+     * @param ttlNegativoMs   Tempo de vida das entradas negativas (códigos inexistentes)
+     * @param maxNegativos    Quantidade máxima de entradas negativas
+     */
+    public RedirectCache(
+            @Value("${app.cache.redirect.max-bytes:67108864}") long capacidadeBytes,
+            @Value("${app.cache.redirect.negative-ttl-ms:5000}") long ttlNegativoMs,
+            @Value("${app.cache.redirect.max-negative:100000}") int maxNegativos) {
+        this.capacidadeBytes = capacidadeBytes;
+        this.ttlNegativoNanos = ttlNegativoMs * 1_000_000L;
+        this.ttlNegativoMs = ttlNegativoMs;
+        this.maxNegativos = maxNegativos;
+        this.sketch = new FrequencySketch(capacidadeBytes / PESO_MEDIO_BYTES);
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(capacidadeBytes / SEGMENTOS);
+        }
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redirect-cache-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia o avanço da roda de expiração quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        agendador.scheduleAtFixedRate(this::expirarVencidos, TICK_EXPIRACAO_MS, TICK_EXPIRACAO_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove do cache as entradas cujo prazo passou. Os itens vencidos são coletados sob o
+     * lock da roda e removidos depois, sob o lock de cada segmento.
+     */
+    void expirarVencidos() {
+        List<Entrada> vencidas = new ArrayList<>();
+        lockRoda.lock();
+        try {
+            roda.avancar(System.currentTimeMillis(), vencidas::add);
+        } finally {
+            lockRoda.unlock();
+        }
+        for (Entrada entrada : vencidas) {
+            segmento(entrada.chave).removerSeAtual(entrada);
+        }
+    }
+
+    /**
+     * Busca o link pelo código curto, carregando do banco em caso de miss.
+     *
+     * @param urlCurta   Código curto
+     * @param carregador Consulta ao banco, executada no máximo uma vez por código ao mesmo tempo
+     * @return Link encontrado ou vazio se o código não existe
+     */
+    public Optional<CachedLink> get(String urlCurta, Function<String, Optional<CachedLink>> carregador) {
+        sketch.incrementar(urlCurta);
+
+        CachedLink link = segmento(urlCurta).get(urlCurta);
+        if (link != null) {
+            hits.increment();
+            return Optional.of(link);
+        }
+
+        Long expiraEm = negativos.get(urlCurta);
+        if (expiraEm != null) {
+            if (expiraEm - System.nanoTime() > 0) {
+                hitsNegativos.increment();
+                return Optional.empty();
+            }
+            negativos.remove(urlCurta, expiraEm);
+        }
+
+        misses.increment();
+        return carregar(urlCurta, carregador);
+    }
+
+    private Optional<CachedLink> carregar(String urlCurta, Function<String, Optional<CachedLink>> carregador) {
+        var novo = new Carregamento();
+        var existente = carregamentosEmAndamento.putIfAbsent(urlCurta, novo);
+        if (existente != null) {
+            return aguardar(existente.futuro);
+        }
+
+        long epocaInicial = epoca.get();
+        try {
+            carregamentos.increment();
+            Optional<CachedLink> resultado = carregador.apply(urlCurta);
+            if (novo.valido(epocaInicial)) {
+                resultado.ifPresentOrElse(
+                        link -> put(urlCurta, link),
+                        () -> putNegativo(urlCurta));
+                // Invalidação entre a verificação acima e o armazenamento: desfaz o que foi gravado
+                if (!novo.valido(epocaInicial)) {
+                    descartar(urlCurta, resultado.orElse(null));
+                }
+            }
+            novo.futuro.complete(resultado);
+            return resultado;
+        } catch (RuntimeException e) {
+            novo.futuro.completeExceptionally(e);
+            throw e;
+        } finally {
+            carregamentosEmAndamento.remove(urlCurta, novo);
+        }
+    }
+
+    private void descartar(String urlCurta, CachedLink link) {
+        if (link == null) {
+            negativos.remove(urlCurta);
+        } else {
+            segmento(urlCurta).removerSe(urlCurta, link);
+        }
+    }
+
+    private static Optional<CachedLink> aguardar(CompletableFuture<Optional<CachedLink>> carregamento) {
+        try {
+            return carregamento.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Armazena um link no cache, sujeito à política de admissão.
+     * Links com data de expiração são agendados na roda; links já expirados ficam como
+     * marca pelo tempo de vida do cache negativo.
+     *
+     * @param urlCurta Código curto
+     * @param link     Dados do link
+     */
+    public void put(String urlCurta, CachedLink link) {
+        negativos.remove(urlCurta);
+        long prazoMs = 0;
+        if (link.temValidade()) {
+            long agora = System.currentTimeMillis();
+            prazoMs = link.expirado(agora) ? agora + ttlNegativoMs : link.expiraEmMs();
+        }
+        segmento(urlCurta).put(urlCurta, link, link.pesoEstimado(urlCurta), prazoMs);
+    }
+
+    private void putNegativo(String urlCurta) {
+        if (negativos.size() >= maxNegativos) {
+            long agora = System.nanoTime();
+            negativos.values().removeIf(expiraEm -> expiraEm - agora <= 0);
+            if (negativos.size() >= maxNegativos) {
+                return;
+            }
+        }
+        negativos.put(urlCurta, System.nanoTime() + ttlNegativoNanos);
+    }
+
+    /**
+     * Remove um código do cache (positivo e negativo).
+     * Deve ser chamado sempre que o link for removido ou alterado. Um carregamento do mesmo
+     * código em andamento não é armazenado; os dos demais códigos não são afetados.
+     *
+     * @param urlCurta Código curto a invalidar
+     */
+    public void invalidar(String urlCurta) {
+        // Marca antes de remover: o carregamento que já armazenou é removido abaixo, o que
+        // ainda vai armazenar vê a marca e desfaz
+        Carregamento emAndamento = carregamentosEmAndamento.get(urlCurta);
+        if (emAndamento != null) {
+            emAndamento.invalidado = true;
+        }
+        segmento(urlCurta).remove(urlCurta);
+        negativos.remove(urlCurta);
+    }
+
+    /**
+     * Esvazia o cache (positivo e negativo) e descarta os carregamentos em andamento.
+     * Usado quando invalidações podem ter sido perdidas, como após uma queda do canal de
+     * invalidação entre instâncias.
+     */
+    public void limpar() {
+        epoca.incrementAndGet();
+        for (Segmento segmento : segmentos) {
+            segmento.limpar();
+        }
+        negativos.clear();
+    }
+
+    /**
+     * Retorna os contadores atuais do cache.
+     *
+     * @return Estatísticas de uso
+     */
+    public RedirectCacheStats stats() {
+        long entradas = 0;
+        long peso = 0;
+        for (Segmento segmento : segmentos) {
+            segmento.lock.lock();
+            try {
+                entradas += segmento.mapa.size();
+                peso += segmento.peso;
+            } finally {
+                segmento.lock.unlock();
+            }
+        }
+        return new RedirectCacheStats(
+                hits.sum(), misses.sum(), hitsNegativos.sum(), carregamentos.sum(),
+                evictions.sum(), rejeicoes.sum(), expiracoes.sum(), entradas, peso, capacidadeBytes);
+    }
+
+    private TimingWheel.Item<Entrada> agendar(Entrada entrada, long prazoMs) {
+        lockRoda.lock();
+        try {
+            return roda.agendar(entrada, prazoMs);
+        } finally {
+            lockRoda.unlock();
+        }
+    }
+
+    private void cancelar(Entrada entrada) {
+        if (entrada.itemRoda == null) {
+            return;
+        }
+        lockRoda.lock();
+        try {
+            roda.cancelar(entrada.itemRoda);
+        } finally {
+            lockRoda.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    private Segmento segmento(String urlCurta) {
+        int h = urlCurta.hashCode();
+        return segmentos[(h ^ (h >>> 16)) & (SEGMENTOS - 1)];
+    }
+
+    /**
+     * Fatia do cache. As leituras vão a um {@link ConcurrentHashMap} sem lock; a ordem de
+     * acesso (LRU) usada para escolher vítimas fica em um {@link LinkedHashMap} protegido pelo
+     * lock do segmento, com as mesmas entradas.
+     *
+     * <p>Um hit não toma o lock: a entrada lida vai para um buffer circular de
+     * {@value #TAMANHO_BUFFER} posições, aplicado à ordem de acesso quando ele completa uma volta
+     * (se o lock estiver livre) e antes de cada escrita. O buffer é lossy: leituras sobrescritas
+     * antes de aplicadas, ou descartadas com o lock ocupado, só deixam a ordem aproximada.</p>
+     */
+    private final class Segmento {
+        private static final int TAMANHO_BUFFER = 64;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentHashMap<String, Entrada> mapa = new ConcurrentHashMap<>();
+        private final LinkedHashMap<String, Entrada> ordem = new LinkedHashMap<>(64, 0.75f, true);
+        private final AtomicReferenceArray<Entrada> leituras = new AtomicReferenceArray<>(TAMANHO_BUFFER);
+        private final AtomicLong contadorLeituras = new AtomicLong();
+        private final long capacidade;
+        private long peso;
+
+        Segmento(long capacidade) {
+            this.capacidade = capacidade;
+        }
+
+        CachedLink get(String chave) {
+            Entrada entrada = mapa.get(chave);
+            if (entrada == null) {
+                return null;
+            }
+            long n = contadorLeituras.getAndIncrement();
+            leituras.lazySet((int) (n & (TAMANHO_BUFFER - 1)), entrada);
+            if ((n & (TAMANHO_BUFFER - 1)) == TAMANHO_BUFFER - 1 && lock.tryLock()) {
+                try {
+                    aplicarLeituras();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return entrada.link;
+        }
+
+        /**
+         * Move as entradas lidas para o fim da ordem de acesso. Chamado com o lock do segmento.
+         */
+        private void aplicarLeituras() {
+            for (int i = 0; i < TAMANHO_BUFFER; i++) {
+                Entrada entrada = leituras.getAndSet(i, null);
+                // Uma entrada já removida ou substituída não volta para a ordem
+                if (entrada != null && mapa.get(entrada.chave) == entrada) {
+                    ordem.get(entrada.chave);
+                }
+            }
+        }
+
+        void put(String chave, CachedLink link, int pesoEntrada, long prazoMs) {
+            if (pesoEntrada > capacidade) {
+                rejeicoes.increment();
+                return;
+            }
+            lock.lock();
+            try {
+                aplicarLeituras();
+                Entrada anterior = retirar(chave);
+                if (anterior != null) {
+                    cancelar(anterior);
+                }
+                // Escolhe todas as vítimas e decide a admissão antes de remover qualquer uma: uma
+                // entrada rejeitada não pode ter desalojado as menos recentes no caminho
+                List<Entrada> vitimas = new ArrayList<>();
+                long liberado = 0;
+                int maiorFrequencia = 0;
+                Iterator<Entrada> iterator = ordem.values().iterator();
+                while (peso - liberado + pesoEntrada > capacidade && iterator.hasNext()) {
+                    Entrada vitima = iterator.next();
+                    vitimas.add(vitima);
+                    liberado += vitima.peso;
+                    maiorFrequencia = Math.max(maiorFrequencia, sketch.frequencia(vitima.chave));
+                }
+                if (anterior == null && !vitimas.isEmpty() && sketch.frequencia(chave) <= maiorFrequencia) {
+                    rejeicoes.increment();
+                    return;
+                }
+                for (Entrada vitima : vitimas) {
+                    retirar(vitima.chave);
+                    cancelar(vitima);
+                    evictions.increment();
+                }
+                Entrada entrada = new Entrada(chave, link, pesoEntrada);
+                if (prazoMs != 0) {
+                    entrada.itemRoda = agendar(entrada, prazoMs);
+                }
+                ordem.put(chave, entrada);
+                mapa.put(chave, entrada);
+                peso += pesoEntrada;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Remove a chave dos dois mapas e desconta o peso. Chamado com o lock do segmento.
+         */
+        private Entrada retirar(String chave) {
+            Entrada entrada = ordem.remove(chave);
+            if (entrada != null) {
+                mapa.remove(chave);
+                peso -= entrada.peso;
+            }
+            return entrada;
+        }
+
+        void remove(String chave) {
+            lock.lock();
+            try {
+                Entrada entrada = retirar(chave);
+                if (entrada != null) {
+                    cancelar(entrada);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void limpar() {
+            lock.lock();
+            try {
+                for (Entrada entrada : ordem.values()) {
+                    cancelar(entrada);
+                }
+                mapa.clear();
+                ordem.clear();
+                peso = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Remove a entrada da chave se ela ainda contiver o link informado.
+         */
+        void removerSe(String chave, CachedLink link) {
+            lock.lock();
+            try {
+                Entrada entrada = mapa.get(chave);
+                if (entrada != null && entrada.link == link) {
+                    retirar(chave);
+                    cancelar(entrada);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Remove a entrada vencida na roda, se ela ainda for a atual para a chave
+         * (não foi substituída por um carregamento mais recente).
+         */
+        void removerSeAtual(Entrada entrada) {
+            lock.lock();
+            try {
+                if (mapa.get(entrada.chave) == entrada) {
+                    retirar(entrada.chave);
+                    expiracoes.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Consulta ao banco em andamento para um código, compartilhada pelos misses simultâneos.
+     */
+    private final class Carregamento {
+        private final CompletableFuture<Optional<CachedLink>> futuro = new CompletableFuture<>();
+        /** Marcado por {@link #invalidar(String)} do código durante a consulta */
+        private volatile boolean invalidado;
+
+        boolean valido(long epocaInicial) {
+            return !invalidado && epoca.get() == epocaInicial;
+        }
+    }
+
+    private static final class Entrada {
+        private final String chave;
+        private final CachedLink link;
+        private final int peso;
+        /** Item na roda de expiração, ou null se a entrada não expira */
+        private TimingWheel.Item<Entrada> itemRoda;
+
+        Entrada(String chave, CachedLink link, int peso) {
+            this.chave = chave;
+            this.link = link;
+            this.peso = peso;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.santos.linkshortener.cache;
+
+/**
+ * Retrato dos contadores do cache de redirecionamento.
+ *
+ * @param hits          Consultas atendidas pelo cache
+ * @param misses        Consultas que precisaram ir ao banco
+ * @param hitsNegativos Consultas de códigos inexistentes atendidas pelo cache negativo
+ * @param carregamentos Consultas efetivamente executadas no banco (após o single-flight)
+ * @param evictions     Entradas removidas para abrir espaço
+ * @param rejeicoes     Entradas não admitidas por serem menos frequentes que a vítima
+ * @param expiracoes    Entradas removidas pela roda de expiração
+ * @param entradas      Quantidade de entradas positivas em cache
+ * @param pesoBytes     Tamanho estimado ocupado pelas entradas
+ * @param capacidadeBytes Tamanho máximo configurado
+ */
+public record RedirectCacheStats(
+        long hits,
+        long misses,
+        long hitsNegativos,
+        long carregamentos,
+        long evictions,
+        long rejeicoes,
+        long expiracoes,
+        long entradas,
+        long pesoBytes,
+        long capacidadeBytes) {
+
+    /**
+     * Proporção de consultas atendidas sem acessar o banco.
+     *
+     * @return Taxa entre 0 e 1
+     */
+    public double hitRate() {
+        long total = hits + hitsNegativos + misses;
+        return total == 0 ? 0.0 : (double) (hits + hitsNegativos) / total;
+    }
+}
@@ -0,0 +1,85 @@
+package com.santos.linkshortener.cache;
+
+import com.santos.linkshortener.model.ClickCounting;
+
+/**
+ * Como o redirecionamento de um link é respondido: status e cabeçalhos de cache, montados uma
+ * vez na carga do link para o cache de redirecionamento.
+ *
+ * @param status        Status HTTP do redirecionamento (301, 302, 307 ou 308)
+ * @param cacheSegundos max-age permitido a navegadores e CDN; 0 responde {@code no-store}
+ * @param cacheControl  Valor do {@code Cache-Control} com o max-age completo
+ * @param etag          ETag do destino e da política; null sem cache
+ * @param chaveCdn      Surrogate key do link ({@code link-<id>}), purgada da CDN quando o link é removido; null sem cache
+ */
+public record RedirectPolicy(int status, int cacheSegundos, String cacheControl, String etag, String chaveCdn) {
+
+    public static final int STATUS_PADRAO = 302;
+
+    public static final String SEM_CACHE = "private, no-store";
+
+    /** Política dos links sem configuração: 302 sem cache, todos os cliques contados */
+    public static final RedirectPolicy PADRAO = semCache(STATUS_PADRAO);
+
+    /**
+     * Monta a política a partir da configuração gravada no link. O cache só é permitido com
+     * contagem {@link ClickCounting#PARCIAL}.
+     *
+     * @param linkId          Identificador do link
+     * @param urlOriginal     URL de destino, parte do ETag
+     * @param status          Status gravado, ou null para 302
+     * @param cacheSegundos   Cache gravado, ou null
+     * @param contagemCliques Contagem gravada, ou null para EXATA
+     * @return Política do link
+     */
+    public static RedirectPolicy de(Long linkId, String urlOriginal, Integer status, Integer cacheSegundos,
+                                    ClickCounting contagemCliques) {
+        int codigo = status == null ? STATUS_PADRAO : status;
+        String chaveCdn = chaveCdn(linkId, cacheSegundos, contagemCliques);
+        if (chaveCdn == null) {
+            return codigo == STATUS_PADRAO ? PADRAO : semCache(codigo);
+        }
+        // Muda com o destino e com a política, invalidando as cópias revalidadas
+        long hash = linkId * 0x9E3779B97F4A7C15L ^ ((long) urlOriginal.hashCode() << 32)
+                ^ (codigo * 31L + cacheSegundos);
+        return new RedirectPolicy(codigo, cacheSegundos, "public, max-age=" + cacheSegundos,
+                "\"" + Long.toHexString(hash) + "\"", chaveCdn);
+    }
+
+    /**
+     * Surrogate key com que o redirecionamento do link vai para a CDN, sem montar a política.
+     *
+     * @param linkId          Identificador do link
+     * @param cacheSegundos   Cache gravado, ou null
+     * @param contagemCliques Contagem gravada, ou null para EXATA
+     * @return {@code link-<id>}, ou null se o link não permite cache
+     */
+    public static String chaveCdn(Long linkId, Integer cacheSegundos, ClickCounting contagemCliques) {
+        if (contagemCliques != ClickCounting.PARCIAL || cacheSegundos == null || cacheSegundos <= 0) {
+            return null;
+        }
+        return "link-" + linkId;
+    }
+
+    private static RedirectPolicy semCache(int status) {
+        return new RedirectPolicy(status, 0, SEM_CACHE, null, null);
+    }
+
+    /**
+     * @return true se navegadores e CDN podem guardar o redirecionamento
+     */
+    public boolean armazenavel() {
+        return cacheSegundos > 0;
+    }
+
+    /**
+     * Verifica um {@code If-None-Match} contra o ETag (comparação fraca, aceita lista e {@code *}).
+     *
+     * @param ifNoneMatch Valor do cabeçalho, pode ser null
+     * @return true se a cópia do cliente ainda vale (resposta 304)
+     */
+    public boolean naoModificado(String ifNoneMatch) {
+        return etag != null && ifNoneMatch != null
+                && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag));
+    }
+}
@@ -0,0 +1,343 @@
+package com.santos.linkshortener.cache;
+
+import com.santos.linkshortener.util.HashUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Filtro em memória com todos os códigos curtos existentes em {@code links.url_curta}
+ * e em quarentena após a remoção de links expirados ({@code code_quarantine}).
+ * Uma resposta "certamente não existe" permite responder 404 no redirecionamento ou
+ * "disponível" na criação sem consultar o banco.
+ *
+ * <p>É construído na inicialização lendo a tabela em streaming e atualizado nas criações
+ * e remoções locais. Códigos criados por outras instâncias chegam pelo canal de invalidação
+ * do cache ({@code CacheInvalidator}) logo após o commit; como o canal pode perder mensagens,
+ * eles também são incorporados periodicamente pela marca d'água de data de criação, relida
+ * com uma margem porque IDs alocados em blocos e relógios de instâncias diferentes não seguem
+ * a ordem de commit. Quando o filtro atual enche, um novo com o dobro da capacidade é
+ * adicionado (filtro escalável). Enquanto não estiver pronto, ou depois de mensagens
+ * possivelmente perdidas até a próxima atualização, responde "talvez exista" para qualquer
+ * código.</p>
+ *
+ * <p>Cada código é inserido exatamente uma vez: os códigos da margem relida são registrados
+ * pelo valor (não pelo fingerprint, que pode coincidir com o de outro código) até saírem da
+ * margem. A remoção só apaga o fingerprint de códigos que esta instância inseriu; apagar o de
+ * um código nunca inserido removeria o de outro com o mesmo fingerprint (falso negativo).</p>
+ */
+@Component
+public class ShortCodeFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortCodeFilter.class);
+
+    private static final int TAMANHO_LOTE_LEITURA = 10_000;
+
+    /** Margem relida a cada atualização para cobrir commits tardios e diferença de relógio */
+    private static final Duration MARGEM_ATUALIZACAO = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int bitsFingerprint;
+    private final long intervaloAtualizacaoMs;
+    private final StampedLock lock = new StampedLock();
+    private final List<CuckooFilter> filtros = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService agendador;
+
+    /** Códigos inseridos dentro da margem relida, com a data de criação; alterado sob o lock */
+    private final Map<String, LocalDateTime> recentes = new ConcurrentHashMap<>();
+
+    /** Pedidos de suspensão; uma leitura iniciada depois do último pedido encerra a suspensão */
+    private final AtomicLong suspensoes = new AtomicLong();
+
+    private volatile boolean pronto;
+    private volatile boolean suspenso;
+    private volatile LocalDateTime marcaDagua;
+
+    /**
+     * @param dataSource             Conexões para a leitura da tabela
+     * @param transactionTemplate    Transação de leitura (necessária para o cursor do PostgreSQL)
+     * @param habilitado             Se false, o filtro sempre responde "talvez exista"
+     * @param capacidadeInicial      Capacidade do primeiro filtro
+     * @param taxaFalsosPositivos    Taxa de falsos positivos desejada por filtro
+     * @param intervaloAtualizacaoMs Intervalo de leitura dos links criados por outras instâncias
+     */
+    public ShortCodeFilter(
+            DataSource dataSource,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.filtro.enabled:true}") boolean habilitado,
+            @Value("${app.filtro.capacidade-inicial:1000000}") long capacidadeInicial,
+            @Value("${app.filtro.taxa-falsos-positivos:0.001}") double taxaFalsosPositivos,
+            @Value("${app.filtro.refresh-ms:5000}") long intervaloAtualizacaoMs) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(TAMANHO_LOTE_LEITURA);
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.bitsFingerprint = bitsParaTaxa(taxaFalsosPositivos);
+        this.intervaloAtualizacaoMs = intervaloAtualizacaoMs;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-code-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        filtros.add(new CuckooFilter(capacidadeInicial, bitsFingerprint));
+    }
+
+    /**
+     * Fingerprint necessário para a taxa desejada: taxa ≈ 2 × posições por bucket / 2^bits.
+     */
+    private static int bitsParaTaxa(double taxa) {
+        int bits = (int) Math.ceil(Math.log(2.0 * CuckooFilter.POSICOES_POR_BUCKET / taxa) / Math.log(2));
+        return Math.max(4, Math.min(16, bits));
+    }
+
+    /**
+     * Inicia a carga do filtro em segundo plano quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        agendador.execute(this::construir);
+        agendador.scheduleWithFixedDelay(this::atualizarComSeguranca,
+                intervaloAtualizacaoMs, intervaloAtualizacaoMs, TimeUnit.MILLISECONDS);
+    }
+
+    void construir() {
+        long inicio = System.nanoTime();
+        long suspensoesAntes = suspensoes.get();
+        marcaDagua = LocalDateTime.now();
+        try {
+            int lidos = lerLinks("SELECT url_curta, data_criacao FROM links");
+            // Códigos em quarentena respondem 410 e bloqueiam a reutilização; precisam passar pelo filtro
+            lidos += lerLinks("SELECT url_curta, CAST(NULL AS TIMESTAMP) FROM code_quarantine");
+            retomarSeNaoHouveSuspensao(suspensoesAntes);
+            pronto = true;
+            logger.info("Filtro de códigos curtos carregado: {} códigos em {} ms",
+                    lidos, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Falha ao carregar o filtro de códigos curtos; consultas seguem indo ao banco", e);
+        }
+    }
+
+    void atualizarComSeguranca() {
+        if (!pronto) {
+            return;
+        }
+        long suspensoesAntes = suspensoes.get();
+        try {
+            lerLinks("SELECT url_curta, data_criacao FROM links WHERE data_criacao > ?",
+                    Timestamp.valueOf(marcaDagua.minus(MARGEM_ATUALIZACAO)));
+            retomarSeNaoHouveSuspensao(suspensoesAntes);
+            // Fora da margem os códigos não são relidos e não precisam mais ser lembrados
+            LocalDateTime limite = marcaDagua.minus(MARGEM_ATUALIZACAO);
+            recentes.values().removeIf(dataCriacao -> dataCriacao.isBefore(limite));
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao atualizar o filtro de códigos curtos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Passa a responder "certamente não existe" de novo se nenhuma suspensão foi pedida desde o
+     * início da leitura: os códigos confirmados antes do pedido já foram lidos.
+     */
+    private void retomarSeNaoHouveSuspensao(long suspensoesAntes) {
+        if (suspensoes.get() == suspensoesAntes) {
+            suspenso = false;
+        }
+    }
+
+    /**
+     * Suspende as respostas "certamente não existe" até a próxima atualização periódica.
+     * Chamado quando criações anunciadas por outras instâncias podem ter sido perdidas
+     * (reconexão do canal de invalidação ou aviso de mensagens descartadas).
+     */
+    public void suspenderAteAtualizar() {
+        if (!habilitado) {
+            return;
+        }
+        suspensoes.incrementAndGet();
+        suspenso = true;
+    }
+
+    /**
+     * Lê os códigos em streaming e os adiciona ao filtro, avançando a marca d'água.
+     * Os códigos dentro da margem são registrados pelo valor, para não serem inseridos de
+     * novo quando a margem for relida.
+     */
+    private int lerLinks(String sql, Object... parametros) {
+        LocalDateTime inicioMargem = marcaDagua.minus(MARGEM_ATUALIZACAO);
+        int[] lidos = {0};
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query(sql, rs -> {
+                Timestamp timestamp = rs.getTimestamp(2);
+                LocalDateTime dataCriacao = timestamp == null ? null : timestamp.toLocalDateTime();
+                boolean naMargem = dataCriacao != null && dataCriacao.isAfter(inicioMargem);
+                if (inserir(rs.getString(1), naMargem ? dataCriacao : null)) {
+                    lidos[0]++;
+                }
+                if (dataCriacao != null && dataCriacao.isAfter(marcaDagua)) {
+                    marcaDagua = dataCriacao;
+                }
+            }, parametros);
+        });
+        return lidos[0];
+    }
+
+    /**
+     * Indica se o código pode existir no banco.
+     *
+     * @param urlCurta Código curto
+     * @return false somente se o código certamente não existe
+     */
+    public boolean podeExistir(String urlCurta) {
+        if (!pronto || suspenso) {
+            return true;
+        }
+        long hash = HashUtil.hash64(urlCurta);
+        long stamp = lock.tryOptimisticRead();
+        boolean resultado = contem(hash);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                resultado = contem(hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return resultado;
+    }
+
+    private boolean contem(long hash) {
+        for (int i = 0; i < filtros.size(); i++) {
+            if (filtros.get(i).talvezContenha(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adiciona um código criado nesta ou em outra instância ao filtro.
+     *
+     * @param urlCurta Código curto
+     */
+    public void adicionar(String urlCurta) {
+        if (!habilitado) {
+            return;
+        }
+        inserir(urlCurta, LocalDateTime.now());
+    }
+
+    /**
+     * Insere o fingerprint do código.
+     *
+     * @param urlCurta    Código curto
+     * @param dataCriacao Data de criação se o código estiver na margem relida (registrado pelo
+     *                    valor e inserido só uma vez), ou null para um código lido uma única vez
+     * @return false se o código já tinha sido inserido
+     */
+    private boolean inserir(String urlCurta, LocalDateTime dataCriacao) {
+        long hash = HashUtil.hash64(urlCurta);
+        long stamp = lock.writeLock();
+        try {
+            if (dataCriacao != null && recentes.putIfAbsent(urlCurta, dataCriacao) != null) {
+                return false;
+            }
+            CuckooFilter atual = filtros.get(filtros.size() - 1);
+            if (atual.cheio() || !atual.inserir(hash)) {
+                CuckooFilter novo = new CuckooFilter(atual.capacidade() * 2, bitsFingerprint);
+                novo.inserir(hash);
+                filtros.add(novo);
+                logger.info("Filtro de códigos curtos ampliado: {} filtros", filtros.size());
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove um código apagado do banco. Só deve ser chamado para códigos que existiam.
+     * A remoção é ignorada quando esta instância pode não ter inserido o código: durante a
+     * carga inicial, ou para um código da margem ainda não lido (criado por outra instância).
+     * Remover um fingerprint ausente apagaria o de outro código (falso negativo); ignorar deixa
+     * no máximo um falso positivo.
+     *
+     * @param urlCurta    Código curto
+     * @param dataCriacao Data de criação do link, ou null se o código for antigo o bastante para
+     *                    certamente ter sido lido (ex.: saindo da quarentena)
+     */
+    public void remover(String urlCurta, LocalDateTime dataCriacao) {
+        if (!habilitado || !pronto) {
+            return;
+        }
+        long hash = HashUtil.hash64(urlCurta);
+        long stamp = lock.writeLock();
+        try {
+            if (recentes.remove(urlCurta) == null && dataCriacao != null
+                    && dataCriacao.isAfter(marcaDagua.minus(MARGEM_ATUALIZACAO))) {
+                return;
+            }
+            for (int i = filtros.size() - 1; i >= 0; i--) {
+                if (filtros.get(i).remover(hash)) {
+                    return;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retorna ocupação, memória e taxa de falsos positivos estimada do filtro.
+     *
+     * @return Estatísticas do filtro
+     */
+    public ShortCodeFilterStats stats() {
+        long stamp = lock.readLock();
+        try {
+            long itens = 0;
+            long capacidade = 0;
+            long memoria = 0;
+            double taxa = 0;
+            for (CuckooFilter filtro : filtros) {
+                itens += filtro.itens();
+                capacidade += filtro.capacidade();
+                memoria += filtro.memoriaBytes();
+                taxa += filtro.taxaFalsosPositivos();
+            }
+            return new ShortCodeFilterStats(habilitado, pronto, itens, capacidade, filtros.size(),
+                    bitsFingerprint, memoria, Math.min(1.0, taxa));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package com.santos.linkshortener.cache;
+
+/**
+ * Retrato da ocupação do filtro de códigos curtos.
+ *
+ * @param habilitado          Se o filtro está habilitado por configuração
+ * @param pronto              Se a carga inicial terminou (antes disso todas as consultas vão ao banco)
+ * @param itens               Quantidade de códigos no filtro
+ * @param capacidade          Total de posições disponíveis
+ * @param filtros             Quantidade de filtros encadeados (cresce quando o atual enche)
+ * @param bitsFingerprint     Bits por fingerprint, derivados da taxa de falsos positivos configurada
+ * @param memoriaBytes        Memória ocupada pelas tabelas
+ * @param taxaFalsosPositivos Taxa de falsos positivos estimada para a ocupação atual
+ */
+public record ShortCodeFilterStats(
+        boolean habilitado,
+        boolean pronto,
+        long itens,
+        long capacidade,
+        int filtros,
+        int bitsFingerprint,
+        long memoriaBytes,
+        double taxaFalsosPositivos) {
+}
@@ -0,0 +1,181 @@
+package com.santos.linkshortener.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de tempo hierárquica (hierarchical timing wheel) para expirar itens em lote.
+ * Agendar, cancelar e expirar custam O(1) por item, sem fila de prioridade nem varredura.
+ *
+ * <p>São {@value #NIVEIS} níveis de 64 posições; cada posição do nível n cobre 64^n ticks.
+ * O item entra no menor nível cujo alcance contém o prazo e desce de nível (cascata) quando
+ * a roda de baixo completa uma volta, até expirar no nível 0. Prazos além do alcance do
+ * último nível (64^4 ticks) ficam na posição mais distante e são reagendados ao descer.</p>
+ *
+ * <p>Não é thread-safe: o chamador sincroniza agendamento, cancelamento e avanço.</p>
+ *
+ * @param <T> Tipo do valor associado a cada item
+ */
+final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int POSICOES = 1 << BITS;
+    private static final int MASCARA = POSICOES - 1;
+    static final int NIVEIS = 4;
+
+    private final long tickMs;
+    private final Item<T>[][] rodas;
+    private long tickAtual;
+    private int tamanho;
+
+    /**
+     * @param tickMs  Resolução da roda em milissegundos
+     * @param agoraMs Instante inicial
+     */
+    TimingWheel(long tickMs, long agoraMs) {
+        this.tickMs = tickMs;
+        this.tickAtual = agoraMs / tickMs;
+        this.rodas = novasRodas();
+        for (Item<T>[] roda : rodas) {
+            for (int i = 0; i < POSICOES; i++) {
+                roda[i] = Item.sentinela();
+            }
+        }
+    }
+
+    /**
+     * Arrays genéricos não podem ser criados diretamente; a conversão é segura porque a matriz
+     * só recebe itens da própria roda.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Item<T>[][] novasRodas() {
+        return (Item<T>[][]) new Item<?>[NIVEIS][POSICOES];
+    }
+
+    /**
+     * Agenda um valor para expirar no prazo informado (arredondado para cima ao tick).
+     * Prazos já vencidos expiram no próximo avanço.
+     *
+     * @param valor   Valor entregue na expiração
+     * @param prazoMs Instante de expiração
+     * @return Item agendado, usado para cancelar
+     */
+    Item<T> agendar(T valor, long prazoMs) {
+        var item = new Item<>(valor, (prazoMs + tickMs - 1) / tickMs);
+        inserir(item, tickAtual + 1);
+        tamanho++;
+        return item;
+    }
+
+    /**
+     * Remove um item ainda não expirado. Itens já expirados ou cancelados são ignorados.
+     *
+     * @param item Item retornado por {@link #agendar}
+     */
+    void cancelar(Item<T> item) {
+        if (item.anterior != null) {
+            desligar(item);
+            tamanho--;
+        }
+    }
+
+    /**
+     * Avança a roda até o instante informado, entregando os itens vencidos.
+     *
+     * @param agoraMs  Instante atual
+     * @param expirado Recebe o valor de cada item vencido
+     * @return Quantidade de itens vencidos
+     */
+    int avancar(long agoraMs, Consumer<T> expirado) {
+        long alvo = agoraMs / tickMs;
+        int vencidos = 0;
+        while (tickAtual < alvo) {
+            tickAtual++;
+            int nivel = 1;
+            while (nivel < NIVEIS && (tickAtual & ((1L << (BITS * nivel)) - 1)) == 0) {
+                nivel++;
+            }
+            // Desce primeiro os níveis mais altos que completaram uma volta
+            for (int n = nivel - 1; n >= 1; n--) {
+                Item<T> sentinela = rodas[n][(int) (tickAtual >>> (BITS * n)) & MASCARA];
+                for (Item<T> item = sentinela.proximo; item != sentinela; ) {
+                    Item<T> seguinte = item.proximo;
+                    desligar(item);
+                    // A posição do tick atual no nível 0 ainda será percorrida neste avanço
+                    inserir(item, tickAtual);
+                    item = seguinte;
+                }
+            }
+            Item<T> sentinela = rodas[0][(int) tickAtual & MASCARA];
+            for (Item<T> item = sentinela.proximo; item != sentinela; ) {
+                Item<T> seguinte = item.proximo;
+                desligar(item);
+                if (item.prazoTick <= tickAtual) {
+                    tamanho--;
+                    vencidos++;
+                    expirado.accept(item.valor);
+                } else {
+                    inserir(item, tickAtual + 1);
+                }
+                item = seguinte;
+            }
+        }
+        return vencidos;
+    }
+
+    /**
+     * @return Quantidade de itens agendados
+     */
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @param minimoTick Primeiro tick ainda não percorrido no nível 0
+     */
+    private void inserir(Item<T> item, long minimoTick) {
+        long prazo = Math.max(item.prazoTick, minimoTick);
+        long distancia = prazo - tickAtual;
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && distancia >= 1L << (BITS * (nivel + 1))) {
+            nivel++;
+        }
+        if (distancia >= 1L << (BITS * NIVEIS)) {
+            // Além do alcance: posição mais distante do último nível, reagendado ao descer
+            prazo = tickAtual + (1L << (BITS * NIVEIS)) - 1;
+        }
+        Item<T> sentinela = rodas[nivel][(int) (prazo >>> (BITS * nivel)) & MASCARA];
+        item.anterior = sentinela.anterior;
+        item.proximo = sentinela;
+        sentinela.anterior.proximo = item;
+        sentinela.anterior = item;
+    }
+
+    private static <T> void desligar(Item<T> item) {
+        item.anterior.proximo = item.proximo;
+        item.proximo.anterior = item.anterior;
+        item.anterior = null;
+        item.proximo = null;
+    }
+
+    /**
+     * Item agendado, elo de uma lista duplamente ligada circular por posição.
+     */
+    static final class Item<T> {
+        private final T valor;
+        private final long prazoTick;
+        private Item<T> anterior;
+        private Item<T> proximo;
+
+        private Item(T valor, long prazoTick) {
+            this.valor = valor;
+            this.prazoTick = prazoTick;
+        }
+
+        private static <T> Item<T> sentinela() {
+            Item<T> sentinela = new Item<>(null, Long.MAX_VALUE);
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+            return sentinela;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.santos.linkshortener.click;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumulador de cliques por link.
+ * O redirecionamento apenas incrementa um contador em memória (LongAdder, com células
+ * distribuídas entre threads) e uma thread em segundo plano grava os deltas no banco
+ * em um único lote de UPDATEs a cada intervalo. Os cliques pendentes são gravados
+ * também no desligamento da aplicação.
+ */
+@Component
+public class ClickAccumulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickAccumulator.class);
+
+    private static final String SQL_INCREMENTO =
+            "UPDATE links SET contador_cliques = contador_cliques + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService agendador;
+    private final long intervaloMs;
+    private final ConcurrentHashMap<Long, Contador> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * Contadores sem cliques removidos do mapa na última gravação. Ficam aqui por mais um
+     * intervalo para capturar incrementos de threads que ainda tinham a referência antiga.
+     */
+    private List<Contador> aposentados = new ArrayList<>();
+
+    /**
+     * @param jdbcTemplate Acesso JDBC usado para gravar os lotes
+     * @param intervaloMs  Intervalo entre gravações no banco
+     */
+    public ClickAccumulator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.clicks.flush-interval-ms:1000}") long intervaloMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.intervaloMs = intervaloMs;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "click-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia as gravações periódicas quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        agendador.scheduleWithFixedDelay(this::gravarComSeguranca, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra um clique no link. Não acessa o banco nem bloqueia outras threads.
+     *
+     * @param linkId ID do link acessado
+     */
+    public void registrar(Long linkId) {
+        Contador contador = contadores.get(linkId);
+        if (contador == null) {
+            contador = contadores.computeIfAbsent(linkId, Contador::new);
+        }
+        contador.cliques.increment();
+    }
+
+    /**
+     * Quantidade de cliques ainda não gravados no banco para o link.
+     *
+     * @param linkId ID do link
+     * @return Cliques pendentes
+     */
+    public long pendentes(Long linkId) {
+        Contador contador = contadores.get(linkId);
+        return contador != null ? contador.cliques.sum() : 0;
+    }
+
+    /**
+     * Grava no banco todos os deltas acumulados desde a última execução.
+     *
+     * @return Quantidade de links atualizados
+     */
+    public synchronized int gravar() {
+        List<Contador> aposentadosAnteriores = aposentados;
+        aposentados = new ArrayList<>();
+
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Contador contador : contadores.values()) {
+            long delta = contador.cliques.sumThenReset();
+            if (delta > 0) {
+                deltas.merge(contador.linkId, delta, Long::sum);
+            } else if (contadores.remove(contador.linkId, contador)) {
+                aposentados.add(contador);
+            }
+        }
+        for (Contador contador : aposentadosAnteriores) {
+            long residuo = contador.cliques.sumThenReset();
+            if (residuo > 0) {
+                deltas.merge(contador.linkId, residuo, Long::sum);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        // Ordenar por id evita deadlocks entre instâncias gravando os mesmos links
+        List<Object[]> lote = deltas.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entrada -> new Object[]{entrada.getValue(), entrada.getKey()})
+                .toList();
+        try {
+            jdbcTemplate.batchUpdate(SQL_INCREMENTO, lote);
+        } catch (RuntimeException e) {
+            // Devolve os deltas para a próxima tentativa
+            deltas.forEach((linkId, delta) ->
+                    contadores.computeIfAbsent(linkId, Contador::new).cliques.add(delta));
+            throw e;
+        }
+        logger.debug("Cliques gravados para {} links", lote.size());
+        return lote.size();
+    }
+
+    private void gravarComSeguranca() {
+        try {
+            gravar();
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao gravar cliques acumulados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Interrompe a gravação periódica e grava os cliques pendentes antes do desligamento.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        agendador.shutdown();
+        agendador.awaitTermination(10, TimeUnit.SECONDS);
+        gravar();
+        // Segunda passada para os contadores aposentados na gravação anterior
+        gravar();
+    }
+
+    private static final class Contador {
+        private final Long linkId;
+        private final LongAdder cliques = new LongAdder();
+
+        Contador(Long linkId) {
+            this.linkId = linkId;
+        }
+    }
+}
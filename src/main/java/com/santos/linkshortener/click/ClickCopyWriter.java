@@ -0,0 +1,199 @@
+package com.santos.linkshortener.click;
+
+import com.santos.linkshortener.metrics.LatencyTimers;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava os cliques de um segmento do log em {@code link_clicks} com o protocolo {@code COPY}
+ * do PostgreSQL, em vez de um {@code INSERT} por clique.
+ *
+ * <p>O segmento é lido em sequência e as linhas são codificadas no formato binário do
+ * {@code COPY} em um buffer de {@code copy-buffer-bytes}, enviado ao servidor cada vez que
+ * enche; nenhum objeto é criado por clique além do registro lido. A cópia usa a conexão da
+ * transação em andamento, então os cliques só ficam visíveis com o commit da compactação
+ * ({@link ClickLogCompactor}).</p>
+ *
+ * <p>O driver só está no classpath em tempo de execução; o {@code CopyManager} é acessado por
+ * reflexão, resolvida uma vez na criação.</p>
+ */
+@Component
+public class ClickCopyWriter {
+
+    private static final String SQL_COPY = "COPY " + ClickPartitionManager.TABELA
+            + " (clicado_em, link_id, referrer_hash, user_agent_hash, ip_alto, ip_baixo) FROM STDIN (FORMAT binary)";
+
+    /** Assinatura, flags e tamanho da extensão do cabeçalho do formato binário */
+    private static final byte[] CABECALHO = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0,
+            0, 0, 0, 0};
+
+    private static final short CAMPOS = 6;
+
+    /** Quantidade de campos e, por campo, tamanho (int32) e valor (int8) */
+    private static final int BYTES_LINHA = 2 + CAMPOS * (4 + 8);
+
+    /** 2000-01-01T00:00:00Z, a época dos timestamps do PostgreSQL */
+    private static final long EPOCA_POSTGRES_MS = 946_684_800_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoBuffer;
+    private final Class<?> pgConnection;
+    private final Method getCopyAPI;
+    private final Method copyIn;
+    private final Method writeToCopy;
+    private final Method endCopy;
+    private final Method isActive;
+    private final Method cancelCopy;
+    private final Counter linhas;
+    private final Timer duracao;
+
+    /**
+     * @param jdbcTemplate    Conexão da transação da compactação
+     * @param meterRegistry   Registro das linhas copiadas e da duração de cada cópia
+     * @param habilitado      Se false, o driver não é consultado e nada é copiado
+     * @param tamanhoBuffer   Bytes acumulados antes de cada envio ao servidor
+     */
+    public ClickCopyWriter(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.clicks.raw.enabled:false}") boolean habilitado,
+            @Value("${app.clicks.raw.copy-buffer-bytes:65536}") int tamanhoBuffer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoBuffer = Math.max(CABECALHO.length + BYTES_LINHA, tamanhoBuffer);
+        this.linhas = Counter.builder("click.raw.rows")
+                .description("Cliques gravados em link_clicks via COPY")
+                .register(meterRegistry);
+        this.duracao = LatencyTimers.criar(meterRegistry, "click.raw.copy",
+                "Cópia dos cliques de um segmento do log para link_clicks");
+        if (!habilitado) {
+            this.pgConnection = null;
+            this.getCopyAPI = null;
+            this.copyIn = null;
+            this.writeToCopy = null;
+            this.endCopy = null;
+            this.isActive = null;
+            this.cancelCopy = null;
+            return;
+        }
+        try {
+            this.pgConnection = Class.forName("org.postgresql.PGConnection");
+            this.getCopyAPI = pgConnection.getMethod("getCopyAPI");
+            this.copyIn = Class.forName("org.postgresql.copy.CopyManager").getMethod("copyIn", String.class);
+            Class<?> operacao = Class.forName("org.postgresql.copy.CopyIn");
+            this.writeToCopy = operacao.getMethod("writeToCopy", byte[].class, int.class, int.class);
+            this.endCopy = operacao.getMethod("endCopy");
+            this.isActive = operacao.getMethod("isActive");
+            this.cancelCopy = operacao.getMethod("cancelCopy");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Driver do PostgreSQL sem suporte a COPY", e);
+        }
+    }
+
+    /**
+     * Copia todos os cliques do segmento. Deve ser chamado dentro da transação que marca o
+     * segmento como compactado.
+     *
+     * @param segmento Segmento fechado do log de cliques
+     * @return Linhas gravadas
+     */
+    public long copiar(Path segmento) {
+        long inicio = System.nanoTime();
+        long copiadas = jdbcTemplate.execute((ConnectionCallback<Long>) conexao -> copiar(conexao, segmento));
+        linhas.increment(copiadas);
+        duracao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return copiadas;
+    }
+
+    private long copiar(Connection conexao, Path segmento) throws SQLException {
+        Object operacao;
+        try {
+            operacao = copyIn.invoke(getCopyAPI.invoke(conexao.unwrap(pgConnection)), SQL_COPY);
+        } catch (ReflectiveOperationException e) {
+            throw comoSqlException(e);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(tamanhoBuffer);
+            buffer.put(CABECALHO);
+            ClickLogReader.ler(segmento, registro -> {
+                if (buffer.remaining() < BYTES_LINHA) {
+                    enviar(operacao, buffer);
+                }
+                buffer.putShort(CAMPOS);
+                campo(buffer, (registro.timestampMs() - EPOCA_POSTGRES_MS) * 1000);
+                campo(buffer, registro.linkId());
+                campo(buffer, registro.referrerHash());
+                campo(buffer, registro.userAgentHash());
+                campo(buffer, registro.ipAlto());
+                campo(buffer, registro.ipBaixo());
+            });
+            if (buffer.remaining() < 2) {
+                enviar(operacao, buffer);
+            }
+            buffer.putShort((short) -1);
+            enviar(operacao, buffer);
+            return (Long) endCopy.invoke(operacao);
+        } catch (IOException e) {
+            cancelar(operacao);
+            throw new UncheckedIOException("Falha ao ler o segmento " + segmento, e);
+        } catch (ReflectiveOperationException e) {
+            cancelar(operacao);
+            throw comoSqlException(e);
+        } catch (RuntimeException e) {
+            cancelar(operacao);
+            throw e;
+        }
+    }
+
+    private static void campo(ByteBuffer buffer, long valor) {
+        buffer.putInt(8);
+        buffer.putLong(valor);
+    }
+
+    private void enviar(Object operacao, ByteBuffer buffer) {
+        try {
+            writeToCopy.invoke(operacao, buffer.array(), 0, buffer.position());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Falha no envio do COPY", causa(e));
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Encerra uma cópia interrompida para que a conexão volte a aceitar comandos (e o rollback).
+     */
+    private void cancelar(Object operacao) {
+        try {
+            if ((Boolean) isActive.invoke(operacao)) {
+                cancelCopy.invoke(operacao);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // A conexão será descartada pelo pool se continuar inutilizável
+        }
+    }
+
+    private static SQLException comoSqlException(ReflectiveOperationException e) {
+        Throwable causa = causa(e);
+        return causa instanceof SQLException sql ? sql : new SQLException(causa.getMessage(), causa);
+    }
+
+    private static Throwable causa(ReflectiveOperationException e) {
+        return e instanceof InvocationTargetException ite && ite.getCause() != null ? ite.getCause() : e;
+    }
+}
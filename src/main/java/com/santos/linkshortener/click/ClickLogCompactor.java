@@ -0,0 +1,220 @@
+package com.santos.linkshortener.click;
+
+import com.santos.linkshortener.stats.ClickRollup;
+import com.santos.linkshortener.stats.ClickRollupStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compactação dos segmentos fechados do log de cliques em agregados por link e hora
+ * (tabela {@code click_aggregates}) e por link e dia ({@code click_aggregates_daily}), com
+ * cliques e sketch de visitantes únicos ({@link ClickRollupStore}).
+ *
+ * <p>Os agregados e a marca do segmento ({@code click_log_compactions}) são gravados na mesma
+ * transação; se a aplicação cair depois do commit e antes de arquivar o arquivo, a próxima
+ * execução encontra a marca e apenas arquiva o segmento, sem somar os cliques outra vez.
+ * Os segmentos compactados ficam em {@code compactados/} pelo período de retenção, para
+ * consulta com {@link ClickLogReplay}.</p>
+ *
+ * <p>Com {@code app.clicks.raw.enabled}, cada clique do segmento também é copiado para a tabela
+ * particionada {@code link_clicks} ({@link ClickCopyWriter}) na mesma transação, então um
+ * segmento reprocessado não duplica linhas.</p>
+ */
+@Component
+public class ClickLogCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickLogCompactor.class);
+
+    static final String DIRETORIO_COMPACTADOS = "compactados";
+
+    private static final long MS_POR_HORA = TimeUnit.HOURS.toMillis(1);
+
+    /** Intervalo entre remoções dos agregados por hora expirados */
+    private static final long INTERVALO_LIMPEZA_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private static final String SQL_MARCA =
+            "INSERT INTO click_log_compactions (segmento, cliques, data_compactacao) VALUES (?, ?, ?)";
+
+    private final ClickRecorder clickRecorder;
+    private final ClickRollupStore rollupStore;
+    private final ClickPartitionManager partitionManager;
+    private final ClickCopyWriter copyWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervaloMs;
+    private final Duration retencao;
+    private final ScheduledExecutorService agendador;
+    private long ultimaLimpeza = System.nanoTime() - INTERVALO_LIMPEZA_NANOS;
+
+    /**
+     * @param clickRecorder       Log de cliques desta instância
+     * @param rollupStore         Gravação dos agregados por hora e por dia
+     * @param partitionManager    Partições de {@code link_clicks}
+     * @param copyWriter          Cópia de cada clique para {@code link_clicks}
+     * @param jdbcTemplate        Acesso JDBC à tabela de segmentos compactados
+     * @param transactionTemplate Transação de cada segmento
+     * @param intervaloMs         Intervalo entre compactações
+     * @param retencaoHoras       Tempo que os segmentos compactados são mantidos em disco
+     */
+    public ClickLogCompactor(
+            ClickRecorder clickRecorder,
+            ClickRollupStore rollupStore,
+            ClickPartitionManager partitionManager,
+            ClickCopyWriter copyWriter,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.clicks.log.compaction-interval-ms:60000}") long intervaloMs,
+            @Value("${app.clicks.log.retention-hours:168}") long retencaoHoras) {
+        this.clickRecorder = clickRecorder;
+        this.rollupStore = rollupStore;
+        this.partitionManager = partitionManager;
+        this.copyWriter = copyWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.intervaloMs = intervaloMs;
+        this.retencao = Duration.ofHours(retencaoHoras);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "click-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Agenda a compactação quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!clickRecorder.habilitado()) {
+            return;
+        }
+        agendador.scheduleWithFixedDelay(this::compactarComSeguranca, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void compactarComSeguranca() {
+        try {
+            compactar();
+            removerExpirados();
+            if (System.nanoTime() - ultimaLimpeza >= INTERVALO_LIMPEZA_NANOS) {
+                int removidos = rollupStore.removerHorasExpiradas();
+                ultimaLimpeza = System.nanoTime();
+                logger.debug("{} agregados por hora expirados removidos", removidos);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha na compactação do log de cliques: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Agrega e arquiva todos os segmentos fechados.
+     *
+     * @return Quantidade de segmentos compactados
+     * @throws IOException Se um segmento não puder ser lido ou movido
+     */
+    public int compactar() throws IOException {
+        int compactados = 0;
+        for (Path segmento : ClickLogSegments.listar(clickRecorder.diretorio())) {
+            if (clickRecorder.fechado(segmento)) {
+                compactar(segmento);
+                compactados++;
+            }
+        }
+        return compactados;
+    }
+
+    private void compactar(Path segmento) throws IOException {
+        Map<ChaveHora, ClickRollup> horas = new HashMap<>();
+        long[] total = {0};
+        long[] intervalo = {Long.MAX_VALUE, Long.MIN_VALUE};
+        ClickLogReader.ler(segmento, registro -> {
+            var chave = new ChaveHora(registro.linkId(), registro.timestampMs() / MS_POR_HORA);
+            horas.computeIfAbsent(chave, k -> new ClickRollup(k.linkId, inicioDaHora(k.hora)))
+                    .registrar(visitante(registro));
+            total[0]++;
+            intervalo[0] = Math.min(intervalo[0], registro.timestampMs());
+            intervalo[1] = Math.max(intervalo[1], registro.timestampMs());
+        });
+
+        boolean copiar = partitionManager.habilitado() && total[0] > 0;
+        if (copiar) {
+            // DDL fora da transação da compactação
+            partitionManager.garantir(intervalo[0], intervalo[1]);
+        }
+        String nome = segmento.getFileName().toString();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(SQL_MARCA, nome, total[0], Timestamp.valueOf(LocalDateTime.now()));
+                rollupStore.acumular(horas.values());
+                if (copiar) {
+                    copyWriter.copiar(segmento);
+                }
+            });
+            logger.debug("Segmento {} compactado: {} cliques em {} agregados", nome, total[0], horas.size());
+        } catch (DuplicateKeyException e) {
+            logger.info("Segmento {} já havia sido compactado; apenas arquivando", nome);
+        }
+        arquivar(segmento);
+    }
+
+    /**
+     * Identidade aproximada do visitante: prefixo do IP e user-agent, misturados em 64 bits.
+     */
+    private static long visitante(ClickRecord registro) {
+        long h = registro.ipAlto() * 0x9E3779B97F4A7C15L;
+        h = Long.rotateLeft(h ^ registro.ipBaixo(), 31) * 0xff51afd7ed558ccdL;
+        h = Long.rotateLeft(h ^ registro.userAgentHash(), 27) * 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        return h ^ (h >>> 33);
+    }
+
+    private void arquivar(Path segmento) throws IOException {
+        Path destino = segmento.resolveSibling(DIRETORIO_COMPACTADOS);
+        Files.createDirectories(destino);
+        Files.move(segmento, destino.resolve(segmento.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void removerExpirados() throws IOException {
+        Instant limite = Instant.now().minus(retencao);
+        for (Path segmento : ClickLogSegments.listar(clickRecorder.diretorio().resolve(DIRETORIO_COMPACTADOS))) {
+            if (Files.getLastModifiedTime(segmento).toInstant().isBefore(limite)) {
+                Files.delete(segmento);
+            }
+        }
+    }
+
+    private static LocalDateTime inicioDaHora(long horaEpoch) {
+        return LocalDateTime.ofEpochSecond(horaEpoch * (MS_POR_HORA / 1000), 0, ZoneOffset.UTC);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    private record ChaveHora(long linkId, long hora) {
+    }
+}
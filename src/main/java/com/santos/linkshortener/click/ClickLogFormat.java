@@ -0,0 +1,73 @@
+package com.santos.linkshortener.click;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário dos registros do log de cliques: 64 bytes por clique, little-endian.
+ *
+ * <pre>
+ *  0  int   CRC32C dos bytes 4..63
+ *  4  int   versão do formato
+ *  8  long  timestamp (epoch ms)
+ * 16  long  ID do link
+ * 24  long  hash do host do Referer
+ * 32  long  hash do User-Agent
+ * 40  long  prefixo do IP, bytes 0..7
+ * 48  long  prefixo do IP, bytes 8..15
+ * 56  long  reservado
+ * </pre>
+ *
+ * Um registro só é válido se o CRC confere; a área ainda não escrita de um segmento
+ * (zeros) e um registro interrompido no meio da escrita são reconhecidos como fim do log.
+ * Cada instância reaproveita um buffer interno e não é thread-safe.
+ */
+public final class ClickLogFormat {
+
+    public static final int TAMANHO_REGISTRO = 64;
+    public static final int VERSAO = 1;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+
+    /**
+     * Monta um registro no buffer interno, reaproveitado a cada chamada.
+     *
+     * @return Bytes do registro, válidos até a próxima chamada
+     */
+    byte[] codificar(long timestampMs, long linkId, long referrerHash, long userAgentHash, long ipAlto, long ipBaixo) {
+        buffer.putInt(4, VERSAO)
+                .putLong(8, timestampMs)
+                .putLong(16, linkId)
+                .putLong(24, referrerHash)
+                .putLong(32, userAgentHash)
+                .putLong(40, ipAlto)
+                .putLong(48, ipBaixo)
+                .putLong(56, 0L);
+        buffer.putInt(0, checksum(buffer.array()));
+        return buffer.array();
+    }
+
+    /**
+     * Lê o registro na posição informada.
+     *
+     * @param origem  Buffer do segmento (ordem de bytes qualquer; o registro é lido em little-endian)
+     * @param posicao Posição do registro no buffer
+     * @return Registro, ou null se o CRC não conferir (fim do log)
+     */
+    ClickRecord decodificar(ByteBuffer origem, int posicao) {
+        origem.get(posicao, buffer.array(), 0, TAMANHO_REGISTRO);
+        if (buffer.getInt(0) != checksum(buffer.array())) {
+            return null;
+        }
+        return new ClickRecord(buffer.getLong(8), buffer.getLong(16), buffer.getLong(24),
+                buffer.getLong(32), buffer.getLong(40), buffer.getLong(48));
+    }
+
+    private int checksum(byte[] registro) {
+        crc.reset();
+        crc.update(registro, 4, TAMANHO_REGISTRO - 4);
+        return (int) crc.getValue();
+    }
+}
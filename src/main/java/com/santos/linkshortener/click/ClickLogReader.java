@@ -0,0 +1,43 @@
+package com.santos.linkshortener.click;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Leitura sequencial de um segmento do log de cliques, até o primeiro registro inválido.
+ */
+public final class ClickLogReader {
+
+    private ClickLogReader() {
+    }
+
+    /**
+     * Percorre os registros válidos do segmento.
+     *
+     * @param segmento Arquivo do segmento
+     * @param destino  Recebe cada clique, na ordem de escrita
+     * @return Posição (em bytes) logo após o último registro válido
+     * @throws IOException Se o arquivo não puder ser lido
+     */
+    public static int ler(Path segmento, Consumer<ClickRecord> destino) throws IOException {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            long tamanho = Math.min(canal.size(), Integer.MAX_VALUE);
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            ClickLogFormat formato = new ClickLogFormat();
+            int posicao = 0;
+            while (posicao + ClickLogFormat.TAMANHO_REGISTRO <= tamanho) {
+                ClickRecord registro = formato.decodificar(mapa, posicao);
+                if (registro == null) {
+                    break;
+                }
+                destino.accept(registro);
+                posicao += ClickLogFormat.TAMANHO_REGISTRO;
+            }
+            return posicao;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.santos.linkshortener.click;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ferramenta de linha de comando que relê os segmentos do log de cliques, inclusive os já
+ * compactados, sem precisar da aplicação nem do banco.
+ *
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.santos.linkshortener.click.ClickLogReplay \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher &lt;diretório&gt; [--link ID] [--desde ISO-8601] [--agregar]
+ * </pre>
+ *
+ * Sem {@code --agregar}, imprime um clique por linha em CSV
+ * ({@code timestamp,link_id,referrer_hash,user_agent_hash,ip_prefixo}); com {@code --agregar},
+ * imprime os cliques por link e hora (UTC), no mesmo formato dos agregados do banco.
+ */
+public final class ClickLogReplay {
+
+    private ClickLogReplay() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Uso: ClickLogReplay <diretório> [--link ID] [--desde ISO-8601] [--agregar]");
+            System.exit(2);
+        }
+        Path diretorio = Path.of(args[0]);
+        Long link = null;
+        long desde = Long.MIN_VALUE;
+        boolean agregar = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--link" -> link = Long.parseLong(args[++i]);
+                case "--desde" -> desde = Instant.parse(args[++i]).toEpochMilli();
+                case "--agregar" -> agregar = true;
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        List<Path> segmentos = new ArrayList<>(
+                ClickLogSegments.listar(diretorio.resolve(ClickLogCompactor.DIRETORIO_COMPACTADOS)));
+        segmentos.addAll(ClickLogSegments.listar(diretorio));
+
+        PrintStream saida = System.out;
+        Map<String, long[]> agregados = new TreeMap<>();
+        if (!agregar) {
+            saida.println("timestamp,link_id,referrer_hash,user_agent_hash,ip_prefixo");
+        }
+        Long filtroLink = link;
+        long filtroDesde = desde;
+        boolean modoAgregado = agregar;
+        for (Path segmento : segmentos) {
+            ClickLogReader.ler(segmento, registro -> {
+                if ((filtroLink != null && registro.linkId() != filtroLink) || registro.timestampMs() < filtroDesde) {
+                    return;
+                }
+                if (modoAgregado) {
+                    Instant hora = Instant.ofEpochMilli(registro.timestampMs()).truncatedTo(ChronoUnit.HOURS);
+                    agregados.computeIfAbsent(registro.linkId() + "," + hora, k -> new long[1])[0]++;
+                } else {
+                    saida.println(Instant.ofEpochMilli(registro.timestampMs()) + "," + registro.linkId() + ","
+                            + Long.toHexString(registro.referrerHash()) + ","
+                            + Long.toHexString(registro.userAgentHash()) + ","
+                            + prefixoIp(registro.ipAlto(), registro.ipBaixo()));
+                }
+            });
+        }
+        if (modoAgregado) {
+            saida.println("link_id,hora,cliques");
+            agregados.forEach((chave, cliques) -> saida.println(chave + "," + cliques[0]));
+        }
+        saida.flush();
+    }
+
+    /**
+     * Formata o prefixo: IPv4 mapeado como {@code a.b.c.0/24}, IPv6 como {@code xxxx:xxxx:xxxx::/48}.
+     */
+    static String prefixoIp(long alto, long baixo) {
+        if (alto == 0 && baixo == 0) {
+            return "";
+        }
+        if (alto == 0 && (baixo >>> 32) == 0xFFFF) {
+            return ((baixo >>> 24) & 0xFF) + "." + ((baixo >>> 16) & 0xFF) + "." + ((baixo >>> 8) & 0xFF) + ".0/24";
+        }
+        return Long.toHexString((alto >>> 48) & 0xFFFF) + ":" + Long.toHexString((alto >>> 32) & 0xFFFF) + ":"
+                + Long.toHexString((alto >>> 16) & 0xFFFF) + "::/48";
+    }
+}
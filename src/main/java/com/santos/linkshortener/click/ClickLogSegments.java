@@ -0,0 +1,66 @@
+package com.santos.linkshortener.click;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Convenção de nomes dos segmentos do log de cliques:
+ * {@code clicks-<nó>-<sequência de 12 dígitos>.log}. O nó identifica a instância que escreveu
+ * o segmento, de modo que o nome é único mesmo com várias instâncias gravando as agregações
+ * no mesmo banco.
+ */
+public final class ClickLogSegments {
+
+    private static final Pattern NOME = Pattern.compile("clicks-([0-9a-f]+)-(\\d{12})\\.log");
+
+    private ClickLogSegments() {
+    }
+
+    /**
+     * @return Nome do segmento
+     */
+    static String nome(String no, long sequencia) {
+        return String.format("clicks-%s-%012d.log", no, sequencia);
+    }
+
+    /**
+     * Sequência do segmento, ou -1 se o arquivo não for um segmento.
+     */
+    static long sequencia(Path arquivo) {
+        Matcher matcher = NOME.matcher(arquivo.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(2)) : -1;
+    }
+
+    /**
+     * Nó que escreveu o segmento, ou null se o arquivo não for um segmento.
+     */
+    static String no(Path arquivo) {
+        Matcher matcher = NOME.matcher(arquivo.getFileName().toString());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Lista os segmentos do diretório em ordem de sequência.
+     *
+     * @param diretorio Diretório do log
+     * @return Segmentos encontrados (vazio se o diretório não existir)
+     */
+    public static List<Path> listar(Path diretorio) {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> sequencia(arquivo) >= 0)
+                    .sorted((a, b) -> Long.compare(sequencia(a), sequencia(b)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.santos.linkshortener.click;
+
+/**
+ * Estado do log de cliques.
+ *
+ * @param habilitado     Se o log está ativo
+ * @param capacidadeFila Cliques que podem aguardar gravação
+ * @param pendentes      Cliques na fila aguardando gravação
+ * @param descartados    Cliques descartados com a fila cheia
+ * @param gravados       Cliques gravados nos segmentos
+ * @param falhas         Falhas de escrita
+ * @param segmentoAtivo  Sequência do segmento em escrita
+ */
+public record ClickLogStats(
+        boolean habilitado,
+        int capacidadeFila,
+        long pendentes,
+        long descartados,
+        long gravados,
+        long falhas,
+        long segmentoAtivo) {
+}
@@ -0,0 +1,136 @@
+package com.santos.linkshortener.click;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escrita dos registros em segmentos de tamanho fixo mapeados em memória.
+ * Quando o segmento ativo enche (ou atinge a idade máxima com algum clique), é sincronizado
+ * com o disco e um novo é criado; os anteriores ficam fechados e disponíveis para a compactação. Ao abrir, o último segmento
+ * é recuperado: os registros válidos são mantidos e a escrita continua logo após eles,
+ * descartando um eventual registro incompleto deixado por uma queda.
+ * Usado apenas pela thread consumidora de {@link ClickRecorder}.
+ */
+final class ClickLogWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickLogWriter.class);
+
+    private final Path diretorio;
+    private final String no;
+    private final int tamanhoSegmento;
+    private final long idadeMaximaNanos;
+    private final ClickLogFormat formato = new ClickLogFormat();
+
+    private FileChannel canal;
+    private MappedByteBuffer mapa;
+    private long sequencia;
+    private int posicao;
+    private long abertoEm;
+    private volatile long sequenciaAtiva = -1;
+
+    /**
+     * @param diretorio       Diretório dos segmentos
+     * @param no              Identificador da instância, usado no nome dos segmentos
+     * @param tamanhoSegmento Tamanho de cada segmento em bytes (arredondado para múltiplo do registro)
+     * @param idadeMaximaMs   Tempo máximo de um segmento com cliques em escrita (0 = só troca quando enche)
+     */
+    ClickLogWriter(Path diretorio, String no, int tamanhoSegmento, long idadeMaximaMs) throws IOException {
+        this.diretorio = diretorio;
+        this.no = no;
+        this.tamanhoSegmento = Math.max(1, tamanhoSegmento / ClickLogFormat.TAMANHO_REGISTRO)
+                * ClickLogFormat.TAMANHO_REGISTRO;
+        this.idadeMaximaNanos = TimeUnit.MILLISECONDS.toNanos(idadeMaximaMs);
+        Files.createDirectories(diretorio);
+        List<Path> segmentos = ClickLogSegments.listar(diretorio);
+        if (segmentos.isEmpty()) {
+            abrir(0, 0);
+        } else {
+            recuperar(segmentos.get(segmentos.size() - 1));
+        }
+    }
+
+    private void recuperar(Path ultimo) throws IOException {
+        int[] registros = {0};
+        int fim = ClickLogReader.ler(ultimo, registro -> registros[0]++);
+        abrir(ClickLogSegments.sequencia(ultimo), fim);
+        // Zera o que sobrou depois do último registro válido (registro incompleto)
+        for (int i = fim; i < Math.min(fim + ClickLogFormat.TAMANHO_REGISTRO, tamanhoSegmento); i++) {
+            mapa.put(i, (byte) 0);
+        }
+        logger.info("Segmento {} recuperado com {} cliques", ultimo.getFileName(), registros[0]);
+    }
+
+    private void abrir(long novaSequencia, int posicaoInicial) throws IOException {
+        Path arquivo = diretorio.resolve(ClickLogSegments.nome(no, novaSequencia));
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+        sequencia = novaSequencia;
+        posicao = posicaoInicial;
+        sequenciaAtiva = novaSequencia;
+        abertoEm = System.nanoTime();
+    }
+
+    /**
+     * Acrescenta um clique ao segmento ativo, trocando de segmento quando necessário.
+     */
+    void escrever(long timestampMs, long linkId, long referrerHash, long userAgentHash, long ipAlto, long ipBaixo)
+            throws IOException {
+        if (posicao + ClickLogFormat.TAMANHO_REGISTRO > tamanhoSegmento) {
+            rotacionar();
+        }
+        mapa.put(posicao, formato.codificar(timestampMs, linkId, referrerHash, userAgentHash, ipAlto, ipBaixo));
+        posicao += ClickLogFormat.TAMANHO_REGISTRO;
+    }
+
+    /**
+     * Fecha o segmento ativo se ele tiver cliques e já tiver atingido a idade máxima, para que
+     * seja compactado mesmo sem tráfego suficiente para enchê-lo.
+     */
+    void rotacionarSeExpirado() throws IOException {
+        if (idadeMaximaNanos > 0 && posicao > 0 && System.nanoTime() - abertoEm >= idadeMaximaNanos) {
+            rotacionar();
+        }
+    }
+
+    private void rotacionar() throws IOException {
+        fecharSegmento();
+        abrir(sequencia + 1, 0);
+    }
+
+    /**
+     * Força a gravação em disco das páginas alteradas do segmento ativo.
+     */
+    void sincronizar() {
+        mapa.force();
+    }
+
+    /**
+     * Sequência do segmento em escrita; segmentos com sequência menor estão fechados.
+     */
+    long sequenciaAtiva() {
+        return sequenciaAtiva;
+    }
+
+    private void fecharSegmento() throws IOException {
+        mapa.force();
+        canal.close();
+        // O mapeamento é liberado pelo coletor de lixo quando o buffer deixa de ser referenciado
+        mapa = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (mapa != null) {
+            fecharSegmento();
+        }
+    }
+}
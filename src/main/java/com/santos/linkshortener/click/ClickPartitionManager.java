@@ -0,0 +1,253 @@
+package com.santos.linkshortener.click;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partições mensais da tabela {@code link_clicks}, com um clique por linha (PostgreSQL).
+ *
+ * <p>A tabela é particionada por intervalo de {@code clicado_em} (UTC) e criada aqui, fora do
+ * Hibernate. A cada {@code maintenance-interval-ms} são criadas as partições do mês atual e dos
+ * {@code months-ahead} seguintes, e as anteriores a {@code retention-months} são desanexadas
+ * ({@code DETACH PARTITION ... CONCURRENTLY}, sem bloquear a ingestão) e removidas. Com várias
+ * instâncias, a manutenção é serializada por um advisory lock.</p>
+ */
+@Component
+public class ClickPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickPartitionManager.class);
+
+    static final String TABELA = "link_clicks";
+
+    /** Chave do advisory lock da manutenção das partições */
+    private static final long CHAVE_LOCK = 0x6C696E6B5F636CL;
+
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String SQL_TABELA = "CREATE TABLE IF NOT EXISTS " + TABELA + " ("
+            + "clicado_em timestamptz NOT NULL, link_id bigint NOT NULL, referrer_hash bigint NOT NULL, "
+            + "user_agent_hash bigint NOT NULL, ip_alto bigint NOT NULL, ip_baixo bigint NOT NULL) "
+            + "PARTITION BY RANGE (clicado_em)";
+
+    private static final String SQL_INDICE = "CREATE INDEX IF NOT EXISTS idx_link_clicks_link_id_clicado_em ON "
+            + TABELA + " (link_id, clicado_em)";
+
+    private static final String SQL_PARTICOES = "SELECT c.relname, i.inhdetachpending FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = '"
+            + TABELA + "'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean habilitado;
+    private final int mesesAdiante;
+    private final int mesesRetencao;
+    private final boolean removerExpiradas;
+    private final long intervaloMs;
+    private final Set<YearMonth> criadas = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService agendador;
+
+    /**
+     * @param jdbcTemplate     Conexão para o DDL das partições
+     * @param habilitado       Se false, a tabela não é criada nem mantida
+     * @param mesesAdiante     Meses seguintes ao atual com partição criada antecipadamente
+     * @param mesesRetencao    Meses mantidos, incluindo o atual; as partições anteriores são desanexadas
+     * @param removerExpiradas Se false, as partições desanexadas ficam como tabelas avulsas (para arquivamento)
+     * @param intervaloMs      Intervalo entre manutenções
+     */
+    public ClickPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.clicks.raw.enabled:false}") boolean habilitado,
+            @Value("${app.clicks.raw.months-ahead:3}") int mesesAdiante,
+            @Value("${app.clicks.raw.retention-months:13}") int mesesRetencao,
+            @Value("${app.clicks.raw.drop-expired:true}") boolean removerExpiradas,
+            @Value("${app.clicks.raw.maintenance-interval-ms:3600000}") long intervaloMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitado = habilitado;
+        this.mesesAdiante = mesesAdiante;
+        this.mesesRetencao = Math.max(1, mesesRetencao);
+        this.removerExpiradas = removerExpiradas;
+        this.intervaloMs = intervaloMs;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "click-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cria a tabela e as partições e agenda a manutenção quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        agendador.scheduleWithFixedDelay(this::manterComSeguranca, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return false se os cliques não forem gravados em {@code link_clicks}
+     */
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    private void manterComSeguranca() {
+        try {
+            manter();
+        } catch (RuntimeException e) {
+            logger.warn("Falha na manutenção das partições de {}: {}", TABELA, e.getMessage());
+        }
+    }
+
+    /**
+     * Cria as partições do mês atual e seguintes e desanexa as expiradas.
+     */
+    public void manter() {
+        YearMonth atual = YearMonth.now(ZoneOffset.UTC);
+        List<YearMonth> meses = new ArrayList<>();
+        for (int i = 0; i <= mesesAdiante; i++) {
+            meses.add(atual.plusMonths(i));
+        }
+        comLock(conexao -> {
+            criar(conexao, meses);
+            removerExpiradas(conexao, atual.minusMonths(mesesRetencao - 1));
+        });
+    }
+
+    /**
+     * Garante as partições dos meses entre os dois instantes, antes de gravar cliques neles.
+     * Normalmente já existem; só cria as que faltam (ex.: um segmento antigo reprocessado).
+     *
+     * @param deMs  Clique mais antigo a gravar (epoch em ms)
+     * @param ateMs Clique mais recente a gravar (epoch em ms)
+     */
+    public void garantir(long deMs, long ateMs) {
+        YearMonth ultimo = mes(ateMs);
+        List<YearMonth> faltantes = new ArrayList<>();
+        for (YearMonth m = mes(deMs); !m.isAfter(ultimo); m = m.plusMonths(1)) {
+            if (!criadas.contains(m)) {
+                faltantes.add(m);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            comLock(conexao -> criar(conexao, faltantes));
+        }
+    }
+
+    private void criar(Connection conexao, List<YearMonth> meses) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute(SQL_TABELA);
+            statement.execute(SQL_INDICE);
+            for (YearMonth m : meses) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + particao(m) + " PARTITION OF " + TABELA
+                        + " FOR VALUES FROM ('" + m.atDay(1) + " 00:00:00+00') TO ('"
+                        + m.plusMonths(1).atDay(1) + " 00:00:00+00')");
+                criadas.add(m);
+            }
+        }
+    }
+
+    private void removerExpiradas(Connection conexao, YearMonth primeiroMantido) throws SQLException {
+        List<String> expiradas = new ArrayList<>();
+        List<String> pendentes = new ArrayList<>();
+        try (Statement statement = conexao.createStatement();
+             ResultSet rs = statement.executeQuery(SQL_PARTICOES)) {
+            while (rs.next()) {
+                YearMonth m = mesDaParticao(rs.getString(1));
+                if (m != null && m.isBefore(primeiroMantido)) {
+                    (rs.getBoolean(2) ? pendentes : expiradas).add(rs.getString(1));
+                }
+            }
+        }
+        try (Statement statement = conexao.createStatement()) {
+            for (String particao : pendentes) {
+                // DETACH CONCURRENTLY interrompido em uma execução anterior
+                statement.execute("ALTER TABLE " + TABELA + " DETACH PARTITION " + particao + " FINALIZE");
+                expiradas.add(particao);
+            }
+            for (String particao : expiradas) {
+                if (!pendentes.contains(particao)) {
+                    statement.execute("ALTER TABLE " + TABELA + " DETACH PARTITION " + particao + " CONCURRENTLY");
+                }
+                criadas.remove(mesDaParticao(particao));
+                if (removerExpiradas) {
+                    statement.execute("DROP TABLE " + particao);
+                }
+                logger.info("Partição {} desanexada{}", particao, removerExpiradas ? " e removida" : "");
+            }
+        }
+    }
+
+    /**
+     * Executa o DDL em uma conexão fora de transação (exigido pelo {@code DETACH CONCURRENTLY}),
+     * com o advisory lock de sessão.
+     */
+    private void comLock(Ddl ddl) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+            try (Statement statement = conexao.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + CHAVE_LOCK + ")");
+            }
+            try {
+                ddl.executar(conexao);
+            } finally {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("SELECT pg_advisory_unlock(" + CHAVE_LOCK + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    static String particao(YearMonth mes) {
+        return TABELA + "_p" + mes.format(SUFIXO);
+    }
+
+    static YearMonth mesDaParticao(String nome) {
+        String prefixo = TABELA + "_p";
+        if (!nome.startsWith(prefixo) || nome.length() != prefixo.length() + 6) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(nome.substring(prefixo.length()), SUFIXO);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static YearMonth mes(long epochMs) {
+        return YearMonth.from(Instant.ofEpochMilli(epochMs).atOffset(ZoneOffset.UTC));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Ddl {
+        void executar(Connection conexao) throws SQLException;
+    }
+}
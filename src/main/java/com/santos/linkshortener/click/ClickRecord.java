@@ -0,0 +1,20 @@
+package com.santos.linkshortener.click;
+
+/**
+ * Clique lido do log de cliques.
+ *
+ * @param timestampMs   Momento do clique (epoch em ms)
+ * @param linkId        ID do link acessado
+ * @param referrerHash  Hash do host do cabeçalho Referer (0 se ausente)
+ * @param userAgentHash Hash do cabeçalho User-Agent (0 se ausente)
+ * @param ipAlto        8 bytes mais significativos do prefixo do IP (IPv6 ou IPv4 mapeado)
+ * @param ipBaixo       8 bytes menos significativos do prefixo do IP
+ */
+public record ClickRecord(
+        long timestampMs,
+        long linkId,
+        long referrerHash,
+        long userAgentHash,
+        long ipAlto,
+        long ipBaixo) {
+}
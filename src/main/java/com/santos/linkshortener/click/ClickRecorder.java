@@ -0,0 +1,310 @@
+package com.santos.linkshortener.click;
+
+import com.santos.linkshortener.util.HashUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de cada clique (momento, link, referer, user-agent e prefixo do IP) em um log
+ * binário local, sem acessar o banco no redirecionamento.
+ *
+ * <p>A thread do redirecionamento apenas calcula os hashes e publica o clique em uma fila
+ * circular sem locks; uma thread em segundo plano a esvazia em segmentos mapeados em memória
+ * ({@link ClickLogWriter}) e sincroniza o segmento ativo com o disco a cada intervalo.
+ * Os segmentos fechados são agregados no banco por {@link ClickLogCompactor}.</p>
+ *
+ * <p>Do IP guarda-se apenas o prefixo (/24 no IPv4, /48 no IPv6) e do referer apenas o hash
+ * do host.</p>
+ */
+@Component
+public class ClickRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickRecorder.class);
+
+    private static final String ARQUIVO_NO = "no.id";
+    private static final int MAXIMO_POR_CICLO = 4096;
+    private static final long ESPERA_OCIOSA_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final long intervaloSincronizacaoNanos;
+    private final ClickRingBuffer fila;
+    private final ClickLogWriter writer;
+    private final String no;
+    private final Thread consumidor;
+    private final ClickRingBuffer.Consumidor escrita = this::escrever;
+    private final LongAdder gravados = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private volatile boolean executando = true;
+
+    /**
+     * @param habilitado                Se false, os cliques não são registrados
+     * @param diretorio                 Diretório dos segmentos
+     * @param capacidadeFila            Cliques que podem aguardar gravação; acima disso são descartados
+     * @param tamanhoSegmento           Tamanho de cada segmento em bytes
+     * @param intervaloSincronizacaoMs  Intervalo entre sincronizações do segmento ativo com o disco
+     * @param idadeMaximaSegmentoMs     Tempo máximo de um segmento com cliques antes de ser fechado
+     */
+    public ClickRecorder(
+            @Value("${app.clicks.log.enabled:false}") boolean habilitado,
+            @Value("${app.clicks.log.dir:data/clicks}") String diretorio,
+            @Value("${app.clicks.log.buffer-size:65536}") int capacidadeFila,
+            @Value("${app.clicks.log.segment-bytes:67108864}") int tamanhoSegmento,
+            @Value("${app.clicks.log.sync-interval-ms:1000}") long intervaloSincronizacaoMs,
+            @Value("${app.clicks.log.segment-max-age-ms:300000}") long idadeMaximaSegmentoMs) {
+        this.habilitado = habilitado;
+        this.diretorio = Path.of(diretorio);
+        this.intervaloSincronizacaoNanos = TimeUnit.MILLISECONDS.toNanos(intervaloSincronizacaoMs);
+        if (!habilitado) {
+            this.fila = null;
+            this.writer = null;
+            this.no = null;
+            this.consumidor = null;
+            return;
+        }
+        try {
+            Files.createDirectories(this.diretorio);
+            this.no = identificadorDoNo(this.diretorio);
+            this.writer = new ClickLogWriter(this.diretorio, no, tamanhoSegmento, idadeMaximaSegmentoMs);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o log de cliques em " + diretorio, e);
+        }
+        this.fila = new ClickRingBuffer(capacidadeFila);
+        this.consumidor = new Thread(this::consumir, "click-log");
+        consumidor.setDaemon(true);
+        consumidor.start();
+        logger.info("Log de cliques em {} (nó {}, fila de {} cliques)", this.diretorio.toAbsolutePath(), no,
+                fila.capacidade());
+    }
+
+    /**
+     * Identificador persistente da instância, gerado na primeira execução.
+     */
+    private static String identificadorDoNo(Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve(ARQUIVO_NO);
+        if (Files.exists(arquivo)) {
+            return Files.readString(arquivo, StandardCharsets.US_ASCII).strip();
+        }
+        String no = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+        Files.writeString(arquivo, no, StandardCharsets.US_ASCII);
+        return no;
+    }
+
+    /**
+     * Registra um clique. Não bloqueia nem acessa disco ou banco; se a fila estiver cheia,
+     * o clique é descartado do log (a contagem em {@link ClickAccumulator} não é afetada).
+     *
+     * @param linkId    ID do link acessado
+     * @param referrer  Cabeçalho Referer, pode ser null
+     * @param userAgent Cabeçalho User-Agent, pode ser null
+     * @param ip        Endereço do cliente, pode ser null
+     */
+    public void registrar(long linkId, String referrer, String userAgent, String ip) {
+        if (!habilitado) {
+            return;
+        }
+        long ipAlto = 0;
+        long ipBaixo = 0;
+        if (ip != null && !ip.isEmpty()) {
+            long ipv4 = prefixoIpv4(ip);
+            if (ipv4 >= 0) {
+                // IPv4 mapeado em IPv6 (::ffff:a.b.c.0)
+                ipBaixo = 0x0000_FFFF_0000_0000L | ipv4;
+            } else {
+                ipAlto = prefixoIpv6(ip);
+            }
+        }
+        long userAgentHash = userAgent == null ? 0 : hash(userAgent, 0, userAgent.length(), false);
+        fila.publicar(System.currentTimeMillis(), linkId, hashHost(referrer), userAgentHash, ipAlto, ipBaixo);
+    }
+
+    private void consumir() {
+        long ultimaSincronizacao = System.nanoTime();
+        while (executando) {
+            int consumidos = fila.consumir(escrita, MAXIMO_POR_CICLO);
+            if (System.nanoTime() - ultimaSincronizacao >= intervaloSincronizacaoNanos) {
+                sincronizar();
+                ultimaSincronizacao = System.nanoTime();
+            }
+            if (consumidos == 0) {
+                LockSupport.parkNanos(ESPERA_OCIOSA_NANOS);
+            }
+        }
+    }
+
+    private void sincronizar() {
+        try {
+            writer.rotacionarSeExpirado();
+            writer.sincronizar();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Falha ao sincronizar o log de cliques", e);
+            falhas.increment();
+        }
+    }
+
+    private void escrever(long timestampMs, long linkId, long referrerHash, long userAgentHash, long ipAlto,
+                          long ipBaixo) {
+        try {
+            writer.escrever(timestampMs, linkId, referrerHash, userAgentHash, ipAlto, ipBaixo);
+            gravados.increment();
+        } catch (IOException | RuntimeException e) {
+            if (falhas.sum() == 0) {
+                logger.error("Falha ao gravar no log de cliques", e);
+            }
+            falhas.increment();
+        }
+    }
+
+    /**
+     * @return false se o log de cliques estiver desabilitado
+     */
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    /**
+     * @return Diretório dos segmentos
+     */
+    public Path diretorio() {
+        return diretorio;
+    }
+
+    /**
+     * Indica se o segmento já foi fechado e pode ser compactado.
+     *
+     * @param segmento Arquivo de segmento
+     * @return true se não for mais escrito por esta instância
+     */
+    public boolean fechado(Path segmento) {
+        return !no.equals(ClickLogSegments.no(segmento))
+                || ClickLogSegments.sequencia(segmento) < writer.sequenciaAtiva();
+    }
+
+    /**
+     * Retorna o estado da fila e da gravação.
+     *
+     * @return Estatísticas do log de cliques
+     */
+    public ClickLogStats stats() {
+        if (!habilitado) {
+            return new ClickLogStats(false, 0, 0, 0, 0, 0, -1);
+        }
+        return new ClickLogStats(true, fila.capacidade(), fila.pendentes(), fila.descartados(),
+                gravados.sum(), falhas.sum(), writer.sequenciaAtiva());
+    }
+
+    /**
+     * Esvazia a fila, sincroniza e fecha o segmento ativo no desligamento.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException, IOException {
+        if (!habilitado) {
+            return;
+        }
+        executando = false;
+        consumidor.join(TimeUnit.SECONDS.toMillis(10));
+        while (fila.consumir(escrita, MAXIMO_POR_CICLO) > 0) {
+            // drena o que restou
+        }
+        writer.close();
+    }
+
+    /**
+     * Prefixo /24 de um IPv4 em notação decimal, sem alocar.
+     *
+     * @return Prefixo nos 32 bits menos significativos, ou -1 se não for IPv4
+     */
+    static long prefixoIpv4(String ip) {
+        long endereco = 0;
+        int octeto = -1;
+        int octetos = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octeto = (octeto < 0 ? 0 : octeto * 10) + (c - '0');
+                if (octeto > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octeto >= 0 && octetos < 3) {
+                endereco = (endereco << 8) | octeto;
+                octeto = -1;
+                octetos++;
+            } else {
+                return -1;
+            }
+        }
+        if (octeto < 0 || octetos != 3) {
+            return -1;
+        }
+        return ((endereco << 8) | octeto) & 0xFFFF_FF00L;
+    }
+
+    /**
+     * Prefixo /48 de um IPv6 literal, nos 8 bytes mais significativos.
+     */
+    private static long prefixoIpv6(String ip) {
+        if (ip.indexOf(':') < 0) {
+            return 0;
+        }
+        try {
+            byte[] bytes = InetAddress.getByName(ip).getAddress();
+            if (bytes.length != 16) {
+                return 0;
+            }
+            long prefixo = 0;
+            for (int i = 0; i < 6; i++) {
+                prefixo = (prefixo << 8) | (bytes[i] & 0xFF);
+            }
+            return prefixo << 16;
+        } catch (UnknownHostException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Hash do host de uma URL de referer (entre "://" e o próximo '/', ':', '?' ou '#').
+     */
+    static long hashHost(String referrer) {
+        if (referrer == null || referrer.isEmpty()) {
+            return 0;
+        }
+        int inicio = referrer.indexOf("://");
+        inicio = inicio < 0 ? 0 : inicio + 3;
+        int fim = inicio;
+        while (fim < referrer.length()) {
+            char c = referrer.charAt(fim);
+            if (c == '/' || c == ':' || c == '?' || c == '#') {
+                break;
+            }
+            fim++;
+        }
+        return hash(referrer, inicio, fim, true);
+    }
+
+    /**
+     * Hash do trecho ({@link HashUtil#hash64(String, int, int, boolean)}); 0 fica reservado para "ausente".
+     */
+    static long hash(String valor, int inicio, int fim, boolean minusculas) {
+        if (valor == null || inicio >= fim) {
+            return 0;
+        }
+        long h = HashUtil.hash64(valor, inicio, fim, minusculas);
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,118 @@
+package com.santos.linkshortener.click;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fila circular limitada, sem locks, com vários produtores e um único consumidor.
+ * Os campos de cada clique ficam em arrays de primitivos, então publicar não aloca objetos.
+ * Cada posição tem um número de sequência que indica se está livre para o produtor da volta
+ * atual ou pronta para o consumidor. Com a fila cheia o clique é descartado em vez de
+ * bloquear o redirecionamento.
+ */
+final class ClickRingBuffer {
+
+    private final int capacidade;
+    private final int mascara;
+    private final AtomicLongArray sequencias;
+    private final long[] timestamps;
+    private final long[] linkIds;
+    private final long[] referrers;
+    private final long[] userAgents;
+    private final long[] ipsAltos;
+    private final long[] ipsBaixos;
+
+    private final AtomicLong cauda = new AtomicLong();
+    /** Próxima posição a consumir; escrita apenas pela thread consumidora */
+    private volatile long cabeca;
+    private final LongAdder descartados = new LongAdder();
+
+    /**
+     * @param capacidade Quantidade de posições (arredondada para potência de 2)
+     */
+    ClickRingBuffer(int capacidade) {
+        this.capacidade = Integer.highestOneBit(Math.max(2, capacidade) - 1) << 1;
+        this.mascara = this.capacidade - 1;
+        this.sequencias = new AtomicLongArray(this.capacidade);
+        for (int i = 0; i < this.capacidade; i++) {
+            sequencias.set(i, i);
+        }
+        this.timestamps = new long[this.capacidade];
+        this.linkIds = new long[this.capacidade];
+        this.referrers = new long[this.capacidade];
+        this.userAgents = new long[this.capacidade];
+        this.ipsAltos = new long[this.capacidade];
+        this.ipsBaixos = new long[this.capacidade];
+    }
+
+    /**
+     * Publica um clique. Pode ser chamado por qualquer thread.
+     *
+     * @return false se a fila estava cheia e o clique foi descartado
+     */
+    boolean publicar(long timestampMs, long linkId, long referrerHash, long userAgentHash, long ipAlto, long ipBaixo) {
+        long posicao = cauda.get();
+        while (true) {
+            int indice = (int) posicao & mascara;
+            long diferenca = sequencias.getAcquire(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    timestamps[indice] = timestampMs;
+                    linkIds[indice] = linkId;
+                    referrers[indice] = referrerHash;
+                    userAgents[indice] = userAgentHash;
+                    ipsAltos[indice] = ipAlto;
+                    ipsBaixos[indice] = ipBaixo;
+                    sequencias.setRelease(indice, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                descartados.increment();
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    /**
+     * Consome até {@code maximo} cliques, na ordem de publicação. Apenas a thread consumidora
+     * pode chamar.
+     *
+     * @return Quantidade de cliques consumidos
+     */
+    int consumir(Consumidor consumidor, int maximo) {
+        int consumidos = 0;
+        while (consumidos < maximo) {
+            int indice = (int) cabeca & mascara;
+            if (sequencias.getAcquire(indice) != cabeca + 1) {
+                break;
+            }
+            consumidor.aceitar(timestamps[indice], linkIds[indice], referrers[indice],
+                    userAgents[indice], ipsAltos[indice], ipsBaixos[indice]);
+            sequencias.setRelease(indice, cabeca + capacidade);
+            cabeca++;
+            consumidos++;
+        }
+        return consumidos;
+    }
+
+    int capacidade() {
+        return capacidade;
+    }
+
+    long pendentes() {
+        return Math.max(0, cauda.get() - cabeca);
+    }
+
+    long descartados() {
+        return descartados.sum();
+    }
+
+    @FunctionalInterface
+    interface Consumidor {
+        void aceitar(long timestampMs, long linkId, long referrerHash, long userAgentHash, long ipAlto, long ipBaixo);
+    }
+}
@@ -0,0 +1,44 @@
+package com.santos.linkshortener.controller;
+
+import com.santos.linkshortener.cache.RedirectCache;
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.destination.DestinationStore;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint do actuator que expõe os contadores dos caches em memória
+ * ({@code /actuator/cachestats}, só na porta de gerenciamento).
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final RedirectCache redirectCache;
+    private final ShortCodeFilter shortCodeFilter;
+    private final DestinationStore destinationStore;
+
+    public CacheStatsEndpoint(RedirectCache redirectCache, ShortCodeFilter shortCodeFilter,
+                              DestinationStore destinationStore) {
+        this.redirectCache = redirectCache;
+        this.shortCodeFilter = shortCodeFilter;
+        this.destinationStore = destinationStore;
+    }
+
+    /**
+     * Retorna hits, misses, evictions e ocupação dos caches, do filtro de códigos e do
+     * compartilhamento das URLs de destino.
+     *
+     * @return Estatísticas por cache
+     */
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "redirect", redirectCache.stats(),
+                "filtro", shortCodeFilter.stats(),
+                "destinos", destinationStore.stats());
+    }
+}
@@ -1,27 +1,54 @@
 package com.santos.linkshortener.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.santos.linkshortener.cache.CachedLink;
+import com.santos.linkshortener.dto.LinkBatchResult;
 import com.santos.linkshortener.dto.LinkCreateRequest;
+import com.santos.linkshortener.dto.LinkPageResponse;
 import com.santos.linkshortener.dto.LinkResponse;
+import com.santos.linkshortener.dto.LinkStatsResponse;
+import com.santos.linkshortener.ratelimit.ClientAddressResolver;
+import com.santos.linkshortener.redirect.RedirectHeaders;
+import com.santos.linkshortener.security.AuthenticatedUser;
+import com.santos.linkshortener.service.LinkBatchService;
 import com.santos.linkshortener.service.LinkService;
-import com.santos.linkshortener.util.JwtUtil;
+import com.santos.linkshortener.service.LinkStatsService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RestController
 public class LinkController {
 
+    /** Content-Type de JSON delimitado por linhas, um {@link LinkCreateRequest} por linha */
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     @Autowired
     private LinkService linkService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private LinkBatchService linkBatchService;
+
+    @Autowired
+    private LinkStatsService linkStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientAddressResolver clientAddressResolver;
 
     @Value("${app.base.url}")
     private String baseUrl;
@@ -30,42 +57,104 @@ public class LinkController {
     @ResponseStatus(HttpStatus.CREATED)
     public LinkResponse createShortLink(
             @RequestBody LinkCreateRequest request,
-            @RequestHeader("Authorization") String authHeader) {
-        String username = extractUsernameFromToken(authHeader);
-        return linkService.createShortLink(request, username);
+            @AuthenticationPrincipal AuthenticatedUser usuario) {
+        return linkService.createShortLink(request, usuario.id(), usuario.username());
+    }
+
+    /**
+     * Cria vários links a partir de um array JSON.
+     * Cada item é validado e reportado individualmente; itens inválidos não impedem os demais.
+     */
+    @PostMapping(value = "/links/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<LinkBatchResult> createShortLinks(
+            @RequestBody List<LinkCreateRequest> requests,
+            @AuthenticationPrincipal AuthenticatedUser usuario) {
+        return linkBatchService.createShortLinks(requests, usuario.id(), usuario.username());
+    }
+
+    /**
+     * Cria vários links a partir de NDJSON (um objeto por linha), processando o corpo
+     * em streaming, lote a lote, sem carregá-lo inteiro em memória.
+     */
+    @PostMapping(value = "/links/batch", consumes = APPLICATION_NDJSON)
+    public List<LinkBatchResult> createShortLinksNdjson(
+            HttpServletRequest request,
+            @AuthenticationPrincipal AuthenticatedUser usuario) throws IOException {
+        ObjectReader leitor = objectMapper.readerFor(LinkCreateRequest.class);
+        int tamanhoLote = linkBatchService.tamanhoLote();
+        var resultados = new ArrayList<LinkBatchResult>();
+        var lote = new ArrayList<LinkCreateRequest>(tamanhoLote);
+
+        try (BufferedReader reader = request.getReader()) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                lote.add(lerItem(leitor, linha));
+                if (lote.size() == tamanhoLote) {
+                    resultados.addAll(linkBatchService.processarLote(lote, resultados.size(), usuario.id(), usuario.username()));
+                    lote.clear();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            resultados.addAll(linkBatchService.processarLote(lote, resultados.size(), usuario.id(), usuario.username()));
+        }
+        return resultados;
+    }
+
+    /**
+     * Interpreta uma linha NDJSON; retorna null se a linha não for um objeto válido.
+     */
+    private static LinkCreateRequest lerItem(ObjectReader leitor, String linha) {
+        try {
+            return leitor.readValue(linha);
+        } catch (IOException e) {
+            return null;
+        }
     }
 
     @GetMapping("/{shortUrl}")
-    public void redirectToOriginalUrl(@PathVariable String shortUrl, HttpServletResponse response) throws IOException {
-        String originalUrl = linkService.getOriginalUrl(shortUrl);
-        response.sendRedirect(originalUrl);
+    public void redirectToOriginalUrl(@PathVariable String shortUrl, HttpServletRequest request,
+                                      HttpServletResponse response) {
+        CachedLink link = linkService.resolver(shortUrl, request.getHeader("Referer"),
+                request.getHeader("User-Agent"), clientAddressResolver.cliente(request));
+        response.setStatus(RedirectHeaders.aplicar(link, request.getHeader("If-None-Match"),
+                System.currentTimeMillis(), response::setHeader));
     }
 
+    /**
+     * Lista os links do usuário em páginas, do mais recente para o mais antigo.
+     * Para a próxima página, envie o {@code proximoCursor} da resposta como {@code cursor}.
+     */
     @GetMapping("/my-links")
-    public List<LinkResponse> getMyLinks(@RequestHeader("Authorization") String authHeader) {
-        String username = extractUsernameFromToken(authHeader);
-        return linkService.getLinksByUsername(username);
+    public LinkPageResponse getMyLinks(
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal AuthenticatedUser usuario) {
+        return linkService.getLinksByUser(usuario.id(), usuario.username(), limite, cursor);
+    }
+
+    /**
+     * Cliques e visitantes únicos estimados de um link do usuário, por hora ou por dia (UTC).
+     * Os valores vêm dos agregados do log de cliques e refletem apenas segmentos já compactados.
+     */
+    @GetMapping("/links/{id}/stats")
+    public LinkStatsResponse getLinkStats(
+            @PathVariable Long id,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String granularity,
+            @AuthenticationPrincipal AuthenticatedUser usuario) {
+        return linkStatsService.getStats(id, usuario.id(), from, to, granularity);
     }
 
     @DeleteMapping("/links/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteLink(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
-        String username = extractUsernameFromToken(authHeader);
-        linkService.deleteLink(id, username);
-    }
-
-    /**
-     * Extrai o username do token JWT do header Authorization.
-     * Espera o formato: "Bearer {token}"
-     */
-    private String extractUsernameFromToken(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new IllegalArgumentException("Token JWT inválido ou ausente");
-        }
-        String token = authHeader.substring(7);
-        return jwtUtil.extractUsername(token)
-                .orElseThrow(() -> new IllegalArgumentException("Token JWT inválido"));
+            @AuthenticationPrincipal AuthenticatedUser usuario) {
+        linkService.deleteLink(id, usuario.id());
     }
 }
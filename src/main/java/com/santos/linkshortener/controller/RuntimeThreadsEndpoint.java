@@ -0,0 +1,48 @@
+package com.santos.linkshortener.controller;
+
+import com.santos.linkshortener.datasource.DataSourceConcurrencyLimiter;
+import com.santos.linkshortener.runtime.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Endpoint do actuator que expõe o modo de execução das requisições
+ * ({@code /actuator/runtimethreads}, só na porta de gerenciamento).
+ */
+@Component
+@Endpoint(id = "runtimethreads")
+public class RuntimeThreadsEndpoint {
+
+    private final DataSourceConcurrencyLimiter dataSourceConcurrencyLimiter;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final boolean threadsVirtuais;
+
+    public RuntimeThreadsEndpoint(
+            DataSourceConcurrencyLimiter dataSourceConcurrencyLimiter,
+            VirtualThreadPinningMonitor pinningMonitor,
+            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this.dataSourceConcurrencyLimiter = dataSourceConcurrencyLimiter;
+        this.pinningMonitor = pinningMonitor;
+        this.threadsVirtuais = threadsVirtuais;
+    }
+
+    /**
+     * Retorna se as threads virtuais estão habilitadas, o uso do limite de conexões e os
+     * locais de pinning detectados.
+     *
+     * @return Estado do modo de execução
+     */
+    @ReadOperation
+    public Map<String, Object> threads() {
+        Map<String, Object> resposta = new HashMap<>();
+        resposta.put("threadsVirtuais", threadsVirtuais);
+        resposta.put("limiteBanco", dataSourceConcurrencyLimiter.stats().orElse(null));
+        resposta.put("pinning", pinningMonitor.stats());
+        return resposta;
+    }
+}
@@ -0,0 +1,16 @@
+package com.santos.linkshortener.datasource;
+
+/**
+ * Estado do limite de conexões simultâneas.
+ *
+ * @param maxConcorrencia Conexões simultâneas permitidas
+ * @param emUso           Permissões em uso no momento
+ * @param aguardando      Threads aguardando uma permissão (estimativa)
+ * @param esgotados       Pedidos recusados por tempo de espera esgotado
+ */
+public record ConcurrencyLimitStats(
+        int maxConcorrencia,
+        int emUso,
+        int aguardando,
+        long esgotados) {
+}
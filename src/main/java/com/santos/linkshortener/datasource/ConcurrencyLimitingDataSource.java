@@ -0,0 +1,111 @@
+package com.santos.linkshortener.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource que limita quantas threads usam conexões ao mesmo tempo.
+ * Com threads virtuais cada requisição tem sua própria thread e milhares delas podem pedir
+ * conexão ao mesmo tempo; o semáforo (justo, dimensionado pelo pool) as mantém estacionadas
+ * fora do pool, que passa a receber no máximo tantos pedidos quanto tem conexões.
+ * A permissão é devolvida quando a conexão é fechada.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int maxConcorrencia;
+    private final long esperaMaximaMs;
+    private final LongAdder esgotados = new LongAdder();
+
+    /**
+     * @param alvo            DataSource real (pool)
+     * @param maxConcorrencia Conexões simultâneas permitidas
+     * @param esperaMaximaMs  Tempo máximo de espera por uma permissão
+     */
+    public ConcurrencyLimitingDataSource(DataSource alvo, int maxConcorrencia, long esperaMaximaMs) {
+        super(alvo);
+        this.permissoes = new Semaphore(maxConcorrencia, true);
+        this.maxConcorrencia = maxConcorrencia;
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        return liberarAoFechar(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        return liberarAoFechar(() -> super.getConnection(username, password));
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                esgotados.increment();
+                throw new SQLTransientConnectionException(
+                        "Limite de " + maxConcorrencia + " conexões simultâneas atingido após " + esperaMaximaMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    private Connection liberarAoFechar(Abertura abertura) throws SQLException {
+        Connection conexao;
+        try {
+            conexao = abertura.abrir();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        // Fechamentos repetidos não devolvem a permissão outra vez
+                        if (fechada.compareAndSet(false, true)) {
+                            try {
+                                conexao.close();
+                            } finally {
+                                permissoes.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Retorna a ocupação atual do limite.
+     *
+     * @return Estatísticas do limitador
+     */
+    public ConcurrencyLimitStats stats() {
+        return new ConcurrencyLimitStats(maxConcorrencia, maxConcorrencia - permissoes.availablePermits(),
+                permissoes.getQueueLength(), esgotados.sum());
+    }
+
+    @FunctionalInterface
+    private interface Abertura {
+        Connection abrir() throws SQLException;
+    }
+}
@@ -0,0 +1,64 @@
+package com.santos.linkshortener.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Envolve o pool Hikari em um {@link ConcurrencyLimitingDataSource} quando as threads
+ * virtuais estão habilitadas. Com threads de plataforma o próprio pool do Tomcat já limita
+ * a concorrência e o DataSource é mantido como está.
+ * Executa antes dos processadores que envolvem o DataSource ({@link ReadReplicaRouter}), para
+ * ainda receber o pool Hikari.
+ */
+@Component
+public class DataSourceConcurrencyLimiter implements BeanPostProcessor, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConcurrencyLimiter.class);
+
+    private final boolean threadsVirtuais;
+    private final int maxConcorrencia;
+    private ConcurrencyLimitingDataSource limitado;
+
+    /**
+     * @param threadsVirtuais Se as requisições rodam em threads virtuais
+     * @param maxConcorrencia Conexões simultâneas permitidas; 0 usa o tamanho máximo do pool
+     */
+    public DataSourceConcurrencyLimiter(
+            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais,
+            @Value("${app.datasource.max-concurrency:0}") int maxConcorrencia) {
+        this.threadsVirtuais = threadsVirtuais;
+        this.maxConcorrencia = maxConcorrencia;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!threadsVirtuais || !(bean instanceof HikariDataSource hikari)) {
+            return bean;
+        }
+        int limite = maxConcorrencia > 0 ? maxConcorrencia : hikari.getMaximumPoolSize();
+        limitado = new ConcurrencyLimitingDataSource(hikari, limite, hikari.getConnectionTimeout());
+        logger.info("Threads virtuais habilitadas: acesso ao banco limitado a {} conexões simultâneas", limite);
+        return limitado;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Estado do limite, se aplicado.
+     *
+     * @return Estatísticas do limitador ou vazio com threads de plataforma
+     */
+    public Optional<ConcurrencyLimitStats> stats() {
+        return Optional.ofNullable(limitado).map(ConcurrencyLimitingDataSource::stats);
+    }
+}
@@ -0,0 +1,112 @@
+package com.santos.linkshortener.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Leitura das próprias escritas com réplicas de leitura.
+ *
+ * <p>Uma réplica pode estar até {@code max-lag-ms} atrás do primário (acima disso sai do
+ * rodízio). Por isso, depois que um usuário cria ou remove links, as leituras dele vão ao
+ * primário por esse tempo mais um intervalo de verificação; e uma busca por código que não
+ * encontra nada na réplica é repetida no primário, para que um link recém-criado não responda
+ * 404. Antes de chegar ao banco, o código passa pelo filtro de códigos e pelo cache da
+ * instância que atende; a criação é anunciada a todas as instâncias antes de ser respondida
+ * ({@code CacheInvalidator#registrarCriacoes}), então também vale quando outra instância criou o
+ * link. Sem réplicas configuradas, tudo lê do primário e os métodos só executam a leitura.</p>
+ */
+@Component
+public class ReadConsistency {
+
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    /** Usuários com escrita recente mantidos; acima disso os vencidos são descartados */
+    private static final int MAX_USUARIOS = 100_000;
+
+    private final boolean replicasAtivas;
+    private final long janelaNanos;
+    private final ConcurrentHashMap<Long, Long> escritasRecentes = new ConcurrentHashMap<>();
+
+    /**
+     * @param urls                URLs JDBC das réplicas; vazio desativa o roteamento
+     * @param atrasoMaximoMs      Atraso de replicação tolerado em uma réplica do rodízio
+     * @param intervaloVerificacaoMs Intervalo entre verificações das réplicas
+     */
+    public ReadConsistency(
+            @Value("${app.datasource.replicas.urls:}") String urls,
+            @Value("${app.datasource.replicas.max-lag-ms:5000}") long atrasoMaximoMs,
+            @Value("${app.datasource.replicas.health-check-interval-ms:2000}") long intervaloVerificacaoMs) {
+        this.replicasAtivas = !urls.isBlank();
+        this.janelaNanos = (atrasoMaximoMs + intervaloVerificacaoMs) * 1_000_000L;
+    }
+
+    /**
+     * Registra que o usuário acabou de alterar seus links.
+     *
+     * @param userId ID do usuário
+     */
+    public void registrarEscrita(Long userId) {
+        if (!replicasAtivas) {
+            return;
+        }
+        long agora = System.nanoTime();
+        if (escritasRecentes.size() >= MAX_USUARIOS) {
+            escritasRecentes.values().removeIf(instante -> agora - instante > janelaNanos);
+        }
+        escritasRecentes.put(userId, agora);
+    }
+
+    /**
+     * Executa uma leitura dos dados do usuário, no primário se ele escreveu há pouco.
+     *
+     * @param userId  ID do usuário
+     * @param leitura Consulta em transação somente leitura
+     * @return Resultado da consulta
+     */
+    public <T> T doUsuario(Long userId, Supplier<T> leitura) {
+        Long instante = replicasAtivas ? escritasRecentes.get(userId) : null;
+        if (instante != null && System.nanoTime() - instante <= janelaNanos) {
+            return noPrimario(leitura);
+        }
+        return leitura.get();
+    }
+
+    /**
+     * Executa uma busca e, se ela não encontrar nada em uma réplica, repete no primário.
+     *
+     * @param busca Consulta que devolve null quando não encontra
+     * @return Resultado encontrado ou null
+     */
+    public <T> T comReleituraNoPrimario(Supplier<T> busca) {
+        T resultado = busca.get();
+        if (resultado == null && replicasAtivas) {
+            return noPrimario(busca);
+        }
+        return resultado;
+    }
+
+    /**
+     * Executa a leitura com as conexões somente leitura vindas do primário.
+     *
+     * @param leitura Consulta
+     * @return Resultado da consulta
+     */
+    public <T> T noPrimario(Supplier<T> leitura) {
+        if (Boolean.TRUE.equals(PRIMARIO.get())) {
+            return leitura.get();
+        }
+        PRIMARIO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            PRIMARIO.remove();
+        }
+    }
+
+    static boolean primarioExigido() {
+        return Boolean.TRUE.equals(PRIMARIO.get());
+    }
+}
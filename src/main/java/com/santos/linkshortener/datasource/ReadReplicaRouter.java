@@ -0,0 +1,132 @@
+package com.santos.linkshortener.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envia as transações somente leitura ({@code @Transactional(readOnly = true)}) para réplicas
+ * de leitura quando {@code app.datasource.replicas.urls} está configurado.
+ *
+ * <p>O DataSource da aplicação é envolvido em um {@link LazyConnectionDataSourceProxy}: a
+ * conexão real só é obtida no primeiro comando, quando a transação já marcou a conexão como
+ * somente leitura, e então vem do {@link ReplicaDataSource}. As demais transações e o acesso
+ * JDBC fora de transação continuam no primário. Cada réplica tem um pool Hikari com a mesma
+ * configuração do primário (somente leitura e com nome próprio nas métricas).</p>
+ *
+ * <p>Executa depois do {@link DataSourceConcurrencyLimiter}, envolvendo o DataSource já limitado.</p>
+ */
+@Component
+public class ReadReplicaRouter implements BeanPostProcessor, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<String> urls;
+    private final String usuario;
+    private final String senha;
+    private final long atrasoMaximoMs;
+    private final long intervaloVerificacaoMs;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ScheduledExecutorService agendador;
+
+    /**
+     * @param meterRegistry          Registro das leituras, do estado e dos pools das réplicas, obtido
+     *                               só ao envolver o DataSource
+     * @param urls                   URLs JDBC das réplicas, separadas por vírgula; vazio desativa
+     * @param usuario                Usuário das réplicas; vazio usa o do primário
+     * @param senha                  Senha das réplicas; vazio usa a do primário
+     * @param atrasoMaximoMs         Atraso de replicação acima do qual a réplica sai do rodízio
+     * @param intervaloVerificacaoMs Intervalo entre verificações das réplicas
+     */
+    public ReadReplicaRouter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replicas.urls:}") String urls,
+            @Value("${app.datasource.replicas.username:}") String usuario,
+            @Value("${app.datasource.replicas.password:}") String senha,
+            @Value("${app.datasource.replicas.max-lag-ms:5000}") long atrasoMaximoMs,
+            @Value("${app.datasource.replicas.health-check-interval-ms:2000}") long intervaloVerificacaoMs) {
+        this.meterRegistry = meterRegistry;
+        this.urls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        this.usuario = usuario;
+        this.senha = senha;
+        this.atrasoMaximoMs = atrasoMaximoMs;
+        this.intervaloVerificacaoMs = intervaloVerificacaoMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (urls.isEmpty() || !"dataSource".equals(beanName) || !(bean instanceof DataSource primario)) {
+            return bean;
+        }
+        HikariDataSource configuracao;
+        try {
+            configuracao = primario.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Réplicas de leitura exigem o pool Hikari no primário", e);
+        }
+
+        MeterRegistry registro = meterRegistry.getObject();
+        List<ReplicaDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            // Pool iniciado só na primeira conexão: réplica fora do ar não impede a inicialização
+            HikariDataSource pool = new HikariDataSource();
+            configuracao.copyStateTo(pool);
+            pool.setJdbcUrl(urls.get(i));
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registro));
+            if (!usuario.isEmpty()) {
+                pool.setUsername(usuario);
+                pool.setPassword(senha);
+            }
+            pools.add(pool);
+            replicas.add(new ReplicaDataSource.Replica(pool.getPoolName(), pool));
+        }
+        ReplicaDataSource leitura = new ReplicaDataSource(primario, replicas, atrasoMaximoMs, registro);
+
+        agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(leitura::verificar, 0, intervaloVerificacaoMs, TimeUnit.MILLISECONDS);
+
+        LazyConnectionDataSourceProxy roteado = new LazyConnectionDataSourceProxy(primario);
+        roteado.setReadOnlyDataSource(leitura);
+        logger.info("Transações somente leitura distribuídas entre {} réplicas (atraso máximo {} ms)",
+                replicas.size(), atrasoMaximoMs);
+        return roteado;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,138 @@
+package com.santos.linkshortener.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource das transações somente leitura: distribui as conexões entre as réplicas
+ * saudáveis em rodízio e usa o primário quando nenhuma está disponível ou quando a leitura
+ * precisa enxergar uma escrita recente ({@link ReadConsistency}).
+ *
+ * <p>Uma réplica é saudável se a última verificação ({@link #verificar()}) conseguiu consultá-la
+ * e o atraso de replicação estava dentro de {@code atrasoMaximoMs}. Uma falha ao abrir conexão
+ * tira a réplica do rodízio até a próxima verificação bem-sucedida.</p>
+ */
+class ReplicaDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    /**
+     * Atraso de replicação em segundos; 0 quando a réplica já aplicou tudo o que recebeu
+     * (o horário da última transação aplicada envelhece em um primário ocioso) ou no primário.
+     */
+    private static final String SQL_ATRASO =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+                    + "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final long atrasoMaximoMs;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimario;
+
+    /**
+     * @param primario        DataSource do primário, usado como alternativa
+     * @param replicas        Pools das réplicas, por nome
+     * @param atrasoMaximoMs  Atraso de replicação acima do qual a réplica sai do rodízio
+     * @param meterRegistry   Registro das leituras por destino e do estado das réplicas
+     */
+    ReplicaDataSource(DataSource primario, List<Replica> replicas, long atrasoMaximoMs,
+                      MeterRegistry meterRegistry) {
+        this.primario = primario;
+        this.replicas = replicas;
+        this.atrasoMaximoMs = atrasoMaximoMs;
+        Counter.Builder leituras = Counter.builder("datasource.read.connections")
+                .description("Conexões de transações somente leitura por destino");
+        this.leiturasReplica = leituras.tag("target", "replica").register(meterRegistry);
+        this.leiturasPrimario = leituras.tag("target", "primary").register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.healthy", () -> replica.saudavel ? 1 : 0)
+                    .description("Réplica no rodízio de leitura (1) ou fora (0)")
+                    .tag("replica", replica.nome)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag.seconds", () -> replica.atrasoMs / 1000.0)
+                    .description("Atraso de replicação na última verificação")
+                    .tag("replica", replica.nome)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadConsistency.primarioExigido()) {
+            int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (!replica.saudavel) {
+                    continue;
+                }
+                try {
+                    Connection conexao = replica.dataSource.getConnection();
+                    leiturasReplica.increment();
+                    return conexao;
+                } catch (SQLException e) {
+                    replica.saudavel = false;
+                    logger.warn("Réplica {} indisponível, leituras seguem para as demais ou o primário: {}",
+                            replica.nome, e.getMessage());
+                }
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credenciais são definidas por réplica");
+    }
+
+    /**
+     * Consulta o atraso de cada réplica e atualiza quais ficam no rodízio.
+     */
+    void verificar() {
+        for (Replica replica : replicas) {
+            boolean antes = replica.saudavel;
+            try (Connection conexao = replica.dataSource.getConnection();
+                 Statement statement = conexao.createStatement();
+                 ResultSet rs = statement.executeQuery(SQL_ATRASO)) {
+                rs.next();
+                replica.atrasoMs = (long) (rs.getDouble(1) * 1000);
+                replica.saudavel = replica.atrasoMs <= atrasoMaximoMs;
+            } catch (SQLException | RuntimeException e) {
+                replica.saudavel = false;
+            }
+            if (antes != replica.saudavel) {
+                logger.info("Réplica {} {} rodízio de leitura (atraso {} ms)", replica.nome,
+                        replica.saudavel ? "volta ao" : "sai do", replica.atrasoMs);
+            }
+        }
+    }
+
+    /**
+     * Réplica de leitura e o resultado da última verificação.
+     */
+    static final class Replica {
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean saudavel;
+        private volatile long atrasoMs;
+
+        Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+    }
+}
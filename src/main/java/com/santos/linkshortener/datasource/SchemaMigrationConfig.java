@@ -0,0 +1,38 @@
+package com.santos.linkshortener.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica as migrações do Flyway ({@code db/migration}) na subida, antes de o Hibernate validar
+ * o schema.
+ *
+ * <p>Com AOT, {@code spring.flyway.enabled} vale como estava no build; a estratégia lê
+ * {@code app.schema.migrate-on-startup} na execução, o que permite subir o contexto sem banco
+ * (treinamento do CDS no {@code Dockerfile}).</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class SchemaMigrationConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationConfig.class);
+
+    /**
+     * @param migrar Se as migrações pendentes são aplicadas na subida
+     * @return Estratégia usada pelo Flyway na subida
+     */
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.schema.migrate-on-startup:true}") boolean migrar) {
+        return flyway -> {
+            if (migrar) {
+                flyway.migrate();
+            } else {
+                logger.info("Migrações de schema desativadas na subida (app.schema.migrate-on-startup=false)");
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.santos.linkshortener.destination;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabela de tamanho fixo que faz os links com o mesmo destino compartilharem uma única
+ * instância da URL em memória (cache de redirecionamento incluído).
+ *
+ * <p>Mapeamento direto pelo ID do destino, sem lock: cada posição guarda o último destino visto
+ * e é sobrescrita por outro que caia nela. Uma sobrescrita só perde o compartilhamento das
+ * próximas cargas, nunca devolve uma URL errada (ID e URL são comparados).</p>
+ */
+class DestinationInterner {
+
+    private final AtomicReferenceArray<Entrada> entradas;
+    private final int mascara;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesCompartilhados = new LongAdder();
+
+    /**
+     * @param capacidade Posições da tabela, arredondadas para a próxima potência de 2
+     */
+    DestinationInterner(int capacidade) {
+        int posicoes = Integer.highestOneBit(Math.max(2, capacidade) * 2 - 1);
+        this.entradas = new AtomicReferenceArray<>(posicoes);
+        this.mascara = posicoes - 1;
+    }
+
+    /**
+     * Retorna a instância compartilhada da URL do destino, registrando esta se não houver.
+     *
+     * @param id  ID do destino
+     * @param url URL do destino
+     * @return Instância igual a {@code url}, compartilhada quando o destino já foi visto
+     */
+    String internar(long id, String url) {
+        int posicao = (int) (id ^ (id >>> 32)) & mascara;
+        Entrada entrada = entradas.get(posicao);
+        if (entrada != null && entrada.id == id && entrada.url.equals(url)) {
+            hits.increment();
+            if (entrada.url != url) {
+                bytesCompartilhados.add(2L * url.length());
+            }
+            return entrada.url;
+        }
+        misses.increment();
+        entradas.set(posicao, new Entrada(id, url));
+        return url;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retorna os contadores e a ocupação da tabela.
+     *
+     * @return Estatísticas do compartilhamento
+     */
+    DestinationStats stats() {
+        long ocupadas = 0;
+        for (int i = 0; i < entradas.length(); i++) {
+            if (entradas.get(i) != null) {
+                ocupadas++;
+            }
+        }
+        return new DestinationStats(hits.sum(), misses.sum(), ocupadas, entradas.length(), bytesCompartilhados.sum());
+    }
+
+    private record Entrada(long id, String url) {
+    }
+}
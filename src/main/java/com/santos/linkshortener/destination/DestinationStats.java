@@ -0,0 +1,18 @@
+package com.santos.linkshortener.destination;
+
+/**
+ * Retrato do compartilhamento das URLs de destino em memória.
+ *
+ * @param hits                Cargas que reaproveitaram a instância de um destino já visto
+ * @param misses              Cargas de destinos não encontrados na tabela (nova instância registrada)
+ * @param entradas            Posições ocupadas da tabela
+ * @param capacidade          Total de posições da tabela
+ * @param bytesCompartilhados Bytes de URLs duplicadas descartadas em favor da instância compartilhada
+ */
+public record DestinationStats(
+        long hits,
+        long misses,
+        long entradas,
+        long capacidade,
+        long bytesCompartilhados) {
+}
@@ -0,0 +1,260 @@
+package com.santos.linkshortener.destination;
+
+import com.santos.linkshortener.model.Destination;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Grava e resolve as URLs de destino na tabela {@code destinations}, endereçada pelo conteúdo.
+ *
+ * <p>O ID de um destino são os primeiros 64 bits do MD5 da URL normalizada (esquema e host em
+ * minúsculas, sem a porta padrão), calculáveis também em SQL para a migração. No PostgreSQL a
+ * resolução é um único comando: insere se o ID estiver livre e, se não, lê a URL já gravada.
+ * Uma URL diferente no mesmo ID (colisão) passa para o ID seguinte, como em endereçamento aberto;
+ * as linhas nunca são removidas, então a sequência de sondagem de uma URL é estável.</p>
+ *
+ * <p>Os destinos resolvidos passam pelo {@link DestinationInterner}, e os links com o mesmo destino
+ * compartilham a instância da URL em memória.</p>
+ */
+@Component
+public class DestinationStore {
+
+    /**
+     * Insere o destino se o ID estiver livre e retorna a URL gravada nele. Sem linhas quando outra
+     * transação inseriu o ID depois do início do comando (a linha não é visível nele).
+     */
+    private static final String SQL_RESOLVER =
+            "WITH novo AS (INSERT INTO destinations (id, url) VALUES (?, ?) ON CONFLICT (id) DO NOTHING RETURNING url) "
+                    + "SELECT url FROM novo UNION ALL SELECT url FROM destinations WHERE id = ?";
+
+    /** O mesmo para vários destinos; inserção na ordem dos IDs para que lotes concorrentes não se bloqueiem em ciclo */
+    private static final String SQL_RESOLVER_LOTE =
+            "WITH entrada AS (SELECT * FROM unnest(?::bigint[], ?::text[]) AS e (id, url)), "
+                    + "novos AS (INSERT INTO destinations (id, url) SELECT id, url FROM entrada ORDER BY id "
+                    + "ON CONFLICT (id) DO NOTHING RETURNING id, url) "
+                    + "SELECT id, url FROM novos UNION ALL SELECT d.id, d.url FROM destinations d JOIN entrada e ON e.id = d.id";
+
+    /** IDs consecutivos tentados para uma URL cujo hash colide com o de outra */
+    private static final int MAX_SONDAGENS = 16;
+
+    /** Repetições de um ID inserido concorrentemente por outra transação */
+    private static final int MAX_TENTATIVAS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final DestinationInterner interner;
+    private final Counter colisoes;
+
+    /**
+     * @param jdbcTemplate      Acesso à tabela {@code destinations}
+     * @param meterRegistry     Registro das colisões e do compartilhamento em memória
+     * @param url               URL JDBC; o comando único de resolução só é usado no PostgreSQL
+     * @param capacidadeInterna Posições da tabela de URLs compartilhadas em memória
+     */
+    public DestinationStore(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.url:}") String url,
+            @Value("${app.destinations.intern-capacity:65536}") int capacidadeInterna) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = url.startsWith("jdbc:postgresql:");
+        this.interner = new DestinationInterner(capacidadeInterna);
+        this.colisoes = Counter.builder("destination.hash.collisions")
+                .description("URLs de destino gravadas fora do ID do próprio hash por colisão")
+                .register(meterRegistry);
+        String compartilhamento = "Destinos carregados por reaproveitamento da URL já em memória";
+        FunctionCounter.builder("destination.intern.requests", interner, DestinationInterner::hits)
+                .description(compartilhamento).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("destination.intern.requests", interner, DestinationInterner::misses)
+                .description(compartilhamento).tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Grava o destino, se ainda não existir, e o retorna.
+     *
+     * @param url URL de destino informada na criação do link
+     * @return Destino gravado, com a URL normalizada compartilhada em memória
+     */
+    public Destination resolver(String url) {
+        String normalizada = normalizar(url);
+        long id = hash(normalizada);
+        int tentativas = 0;
+        for (int sondagem = 0; sondagem < MAX_SONDAGENS; ) {
+            String gravada = postgres ? inserirOuLer(id, normalizada) : lerOuInserir(id, normalizada);
+            if (gravada == null) {
+                if (++tentativas >= MAX_TENTATIVAS) {
+                    throw new IllegalStateException("Destino em disputa com outra transação: " + id);
+                }
+                continue;
+            }
+            if (gravada.equals(normalizada)) {
+                return internar(id, normalizada);
+            }
+            colisoes.increment();
+            id++;
+            sondagem++;
+        }
+        throw new IllegalStateException("Sem ID livre para o destino após " + MAX_SONDAGENS + " colisões");
+    }
+
+    /**
+     * Grava vários destinos com um único comando no PostgreSQL. URLs em colisão ou disputadas
+     * por outra transação são resolvidas uma a uma por {@link #resolver(String)}.
+     *
+     * @param urls URLs de destino informadas na criação dos links
+     * @return Destino de cada URL recebida
+     */
+    public Map<String, Destination> resolverTodos(Collection<String> urls) {
+        Map<String, Destination> destinos = new HashMap<>();
+        if (postgres && urls.size() > 1) {
+            TreeMap<Long, String> porId = new TreeMap<>();
+            for (String url : urls) {
+                String normalizada = normalizar(url);
+                porId.putIfAbsent(hash(normalizada), normalizada);
+            }
+            Map<Long, String> gravadas = inserirOuLer(porId);
+            for (String url : urls) {
+                String normalizada = normalizar(url);
+                long id = hash(normalizada);
+                if (normalizada.equals(gravadas.get(id))) {
+                    destinos.put(url, internar(id, normalizada));
+                }
+            }
+        }
+        for (String url : urls) {
+            if (!destinos.containsKey(url)) {
+                destinos.put(url, resolver(url));
+            }
+        }
+        return destinos;
+    }
+
+    /**
+     * Destino carregado do banco com a URL compartilhada em memória.
+     *
+     * @param destino Destino lido junto com o link
+     * @return URL do destino, a mesma instância para todos os links que apontam para ele
+     */
+    public String internar(Destination destino) {
+        return interner.internar(destino.getId(), destino.getUrl());
+    }
+
+    /**
+     * Retorna os contadores do compartilhamento das URLs em memória.
+     *
+     * @return Estatísticas do compartilhamento
+     */
+    public DestinationStats stats() {
+        return interner.stats();
+    }
+
+    private Destination internar(long id, String url) {
+        return new Destination(id, interner.internar(id, url));
+    }
+
+    private String inserirOuLer(long id, String url) {
+        List<String> gravadas = jdbcTemplate.queryForList(SQL_RESOLVER, String.class, id, url, id);
+        return gravadas.isEmpty() ? null : gravadas.get(0);
+    }
+
+    private Map<Long, String> inserirOuLer(TreeMap<Long, String> porId) {
+        return jdbcTemplate.execute((ConnectionCallback<Map<Long, String>>) conexao -> {
+            Map<Long, String> gravadas = new HashMap<>();
+            try (PreparedStatement statement = conexao.prepareStatement(SQL_RESOLVER_LOTE)) {
+                statement.setArray(1, conexao.createArrayOf("bigint", porId.keySet().toArray()));
+                statement.setArray(2, conexao.createArrayOf("text", porId.values().toArray()));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        gravadas.put(rs.getLong(1), rs.getString(2));
+                    }
+                }
+            }
+            return gravadas;
+        });
+    }
+
+    /**
+     * Alternativa portável (H2 nos testes de carga) em dois comandos.
+     */
+    private String lerOuInserir(long id, String url) {
+        List<String> gravadas = jdbcTemplate.queryForList("SELECT url FROM destinations WHERE id = ?", String.class, id);
+        if (!gravadas.isEmpty()) {
+            return gravadas.get(0);
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO destinations (id, url) VALUES (?, ?)", id, url);
+            return url;
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Normaliza a URL para que variações equivalentes tenham o mesmo ID: remove espaços nas
+     * pontas, passa esquema e host para minúsculas e remove a porta padrão do esquema.
+     * Caminho, consulta e fragmento são mantidos como informados.
+     *
+     * @param url URL informada
+     * @return URL normalizada, usada também no redirecionamento
+     */
+    static String normalizar(String url) {
+        String semEspacos = url.trim();
+        int fimEsquema = semEspacos.indexOf("://");
+        if (fimEsquema <= 0) {
+            return semEspacos;
+        }
+        String esquema = semEspacos.substring(0, fimEsquema).toLowerCase(Locale.ROOT);
+        int inicioAutoridade = fimEsquema + 3;
+        int fimAutoridade = semEspacos.length();
+        for (int i = inicioAutoridade; i < semEspacos.length(); i++) {
+            char c = semEspacos.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                fimAutoridade = i;
+                break;
+            }
+        }
+        String autoridade = semEspacos.substring(inicioAutoridade, fimAutoridade);
+        // Usuário e senha diferenciam maiúsculas; só o host é normalizado
+        int arroba = autoridade.lastIndexOf('@');
+        String host = autoridade.substring(arroba + 1).toLowerCase(Locale.ROOT);
+        if ((esquema.equals("http") && host.endsWith(":80")) || (esquema.equals("https") && host.endsWith(":443"))) {
+            host = host.substring(0, host.lastIndexOf(':'));
+        }
+        return esquema + "://" + autoridade.substring(0, arroba + 1) + host + semEspacos.substring(fimAutoridade);
+    }
+
+    /**
+     * Primeiros 64 bits do MD5 da URL em UTF-8; em SQL,
+     * {@code ('x' || substr(md5(url), 1, 16))::bit(64)::bigint}.
+     *
+     * @param url URL normalizada
+     * @return ID do destino antes de eventuais colisões
+     */
+    static long hash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(url.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.santos.linkshortener.dto;
+
+/**
+ * DTO com o resultado de um item da criação de links em lote.
+ * 
+ * @param indice Posição do item na requisição (a partir de 0)
+ * @param link   Link criado, ou null se o item falhou
+ * @param erro   Motivo da falha, ou null se o link foi criado
+ */
+public record LinkBatchResult(
+        int indice,
+        LinkResponse link,
+        String erro) {
+
+    /**
+     * Cria o resultado de um item criado com sucesso.
+     * 
+     * @param indice Posição do item na requisição
+     * @param link   Link criado
+     * @return Resultado de sucesso
+     */
+    public static LinkBatchResult criado(int indice, LinkResponse link) {
+        return new LinkBatchResult(indice, link, null);
+    }
+
+    /**
+     * Cria o resultado de um item que falhou.
+     * 
+     * @param indice Posição do item na requisição
+     * @param erro   Motivo da falha
+     * @return Resultado de falha
+     */
+    public static LinkBatchResult falhou(int indice, String erro) {
+        return new LinkBatchResult(indice, null, erro);
+    }
+}
@@ -1,12 +1,38 @@
 package com.santos.linkshortener.dto;
 
+import com.santos.linkshortener.model.ClickCounting;
+
+import java.time.LocalDateTime;
+
 /**
  * DTO para requisição de criação de link curto.
  * 
  * @param urlOriginal URL original completa a ser encurtada
  * @param urlCurta    Código curto personalizado (opcional). Se não fornecido, será gerado automaticamente
+ * @param expiraEm    Data e hora de expiração (opcional)
+ * @param maxCliques  Quantidade de cliques após a qual o link expira (opcional)
+ * @param redirecionamento Status do redirecionamento: 301, 302, 307 ou 308 (opcional, 302 por padrão)
+ * @param cacheSegundos    Segundos que navegadores e CDN podem guardar o redirecionamento (opcional,
+ *                         exige {@code contagemCliques} PARCIAL)
+ * @param contagemCliques  EXATA (padrão, sem cache) ou PARCIAL (com cache, cliques atendidos
+ *                         pelos caches não são contados)
  */
 public record LinkCreateRequest(
         String urlOriginal,
-        String urlCurta) {
+        String urlCurta,
+        LocalDateTime expiraEm,
+        Long maxCliques,
+        Integer redirecionamento,
+        Integer cacheSegundos,
+        ClickCounting contagemCliques) {
+
+    /**
+     * Requisição de link sem expiração.
+     * 
+     * @param urlOriginal URL original completa a ser encurtada
+     * @param urlCurta    Código curto personalizado (opcional)
+     */
+    public LinkCreateRequest(String urlOriginal, String urlCurta) {
+        this(urlOriginal, urlCurta, null, null, null, null, null);
+    }
 }
@@ -0,0 +1,14 @@
+package com.santos.linkshortener.dto;
+
+import java.util.List;
+
+/**
+ * DTO de uma página de links do usuário.
+ * 
+ * @param links         Links da página, do mais recente para o mais antigo
+ * @param proximoCursor Cursor opaco para buscar a próxima página, ou null se esta for a última
+ */
+public record LinkPageResponse(
+        List<LinkResponse> links,
+        String proximoCursor) {
+}
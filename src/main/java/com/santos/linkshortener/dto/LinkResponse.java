@@ -1,5 +1,7 @@
 package com.santos.linkshortener.dto;
 
+import com.santos.linkshortener.cache.RedirectPolicy;
+import com.santos.linkshortener.model.ClickCounting;
 import com.santos.linkshortener.model.Link;
 
 import java.time.LocalDateTime;
@@ -11,8 +13,13 @@ public record LinkResponse(
         Long id,
         String urlOriginal,
         String urlCurta, // URL completa: http://localhost:8080/api/v1/links/{shortCode}
-        Integer contadorCliques,
+        Long contadorCliques,
         LocalDateTime dataCriacao,
+        LocalDateTime expiraEm,
+        Long maxCliques,
+        int redirecionamento,
+        int cacheSegundos,
+        ClickCounting contagemCliques,
         String username) {
 
     /**
@@ -22,6 +29,18 @@ public record LinkResponse(
      * @param baseUrl URL base configurada (ex: http://localhost:8080/api/v1/links)
      */
     public static LinkResponse from(Link link, String baseUrl) {
+        return from(link, baseUrl, link.getUser() != null ? link.getUser().getUsername() : null);
+    }
+
+    /**
+     * Converte uma entidade Link para LinkResponse usando o username já conhecido,
+     * sem inicializar o relacionamento com o usuário.
+     * 
+     * @param link     Entidade Link
+     * @param baseUrl  URL base configurada
+     * @param username Username do proprietário
+     */
+    public static LinkResponse from(Link link, String baseUrl, String username) {
         String urlCompletaCurta = baseUrl + "/" + link.getUrlCurta();
         return new LinkResponse(
                 link.getId(),
@@ -29,7 +48,48 @@ public record LinkResponse(
                 urlCompletaCurta,
                 link.getContadorCliques(),
                 link.getDataCriacao(),
-                link.getUser() != null ? link.getUser().getUsername() : null
+                link.getExpiraEm(),
+                link.getMaxCliques(),
+                redirecionamento(link.getStatusRedirecionamento()),
+                cacheSegundos(link.getCacheSegundos()),
+                contagemCliques(link.getContagemCliques()),
+                username
+        );
+    }
+
+    /**
+     * Converte uma projeção LinkResumo para LinkResponse com URL completa.
+     * 
+     * @param resumo   Projeção do link
+     * @param baseUrl  URL base configurada
+     * @param username Username do proprietário
+     */
+    public static LinkResponse from(LinkResumo resumo, String baseUrl, String username) {
+        return new LinkResponse(
+                resumo.id(),
+                resumo.urlOriginal(),
+                baseUrl + "/" + resumo.urlCurta(),
+                resumo.contadorCliques(),
+                resumo.dataCriacao(),
+                resumo.expiraEm(),
+                resumo.maxCliques(),
+                redirecionamento(resumo.redirecionamento()),
+                cacheSegundos(resumo.cacheSegundos()),
+                contagemCliques(resumo.contagemCliques()),
+                username
         );
     }
+
+    // Valores efetivos dos campos de redirecionamento não informados na criação
+    private static int redirecionamento(Integer status) {
+        return status == null ? RedirectPolicy.STATUS_PADRAO : status;
+    }
+
+    private static int cacheSegundos(Integer cacheSegundos) {
+        return cacheSegundos == null ? 0 : cacheSegundos;
+    }
+
+    private static ClickCounting contagemCliques(ClickCounting contagem) {
+        return contagem == null ? ClickCounting.EXATA : contagem;
+    }
 }
@@ -0,0 +1,33 @@
+package com.santos.linkshortener.dto;
+
+import com.santos.linkshortener.model.ClickCounting;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção com apenas as colunas de {@code links} usadas em {@link LinkResponse},
+ * carregada diretamente pela consulta sem instanciar entidades nem o usuário.
+ * 
+ * @param id              ID do link
+ * @param urlOriginal     URL original
+ * @param urlCurta        Código curto
+ * @param contadorCliques Cliques gravados
+ * @param dataCriacao     Data de criação
+ * @param expiraEm        Data de expiração, ou null
+ * @param maxCliques      Limite de cliques, ou null
+ * @param redirecionamento Status do redirecionamento, ou null (302)
+ * @param cacheSegundos   Cache do redirecionamento, ou null
+ * @param contagemCliques Contagem de cliques, ou null (EXATA)
+ */
+public record LinkResumo(
+        Long id,
+        String urlOriginal,
+        String urlCurta,
+        Long contadorCliques,
+        LocalDateTime dataCriacao,
+        LocalDateTime expiraEm,
+        Long maxCliques,
+        Integer redirecionamento,
+        Integer cacheSegundos,
+        ClickCounting contagemCliques) {
+}
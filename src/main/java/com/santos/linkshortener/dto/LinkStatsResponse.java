@@ -0,0 +1,35 @@
+package com.santos.linkshortener.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO das estatísticas de um link em um intervalo.
+ *
+ * @param linkId           ID do link
+ * @param granularidade    Tamanho dos buckets: {@code hour} ou {@code day}
+ * @param de               Início do primeiro bucket do intervalo, em UTC (inclusive)
+ * @param ate              Fim do intervalo, em UTC (exclusivo)
+ * @param cliques          Cliques no intervalo
+ * @param visitantesUnicos Visitantes únicos estimados no intervalo (não é a soma dos buckets)
+ * @param buckets          Buckets com cliques, em ordem cronológica
+ */
+public record LinkStatsResponse(
+        Long linkId,
+        String granularidade,
+        LocalDateTime de,
+        LocalDateTime ate,
+        long cliques,
+        long visitantesUnicos,
+        List<Bucket> buckets) {
+
+    /**
+     * Cliques e visitantes únicos estimados de uma hora ou dia.
+     *
+     * @param inicio           Início do bucket, em UTC
+     * @param cliques          Cliques no bucket
+     * @param visitantesUnicos Visitantes únicos estimados no bucket
+     */
+    public record Bucket(LocalDateTime inicio, long cliques, long visitantesUnicos) {
+    }
+}
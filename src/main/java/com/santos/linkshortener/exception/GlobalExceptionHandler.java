@@ -1,5 +1,7 @@
 package com.santos.linkshortener.exception;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -38,4 +40,43 @@ public class GlobalExceptionHandler {
                 Map.of("erro", ex.getMessage())
         );
     }
+
+    /**
+     * Trata exceções de link não encontrado.
+     * 
+     * @param ex Exceção de link não encontrado
+     * @return ResponseEntity com status 404 e mensagem de erro
+     */
+    @ExceptionHandler(LinkNaoEncontradoException.class)
+    public ResponseEntity<?> handleLinkNaoEncontradoException(LinkNaoEncontradoException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                Map.of("erro", ex.getMessage())
+        );
+    }
+
+    /**
+     * Trata exceções de link expirado.
+     * 
+     * @param ex Exceção de link expirado
+     * @return ResponseEntity com status 410 e mensagem de erro
+     */
+    @ExceptionHandler(LinkExpiradoException.class)
+    public ResponseEntity<?> handleLinkExpiradoException(LinkExpiradoException ex) {
+        return ResponseEntity.status(HttpStatus.GONE).body(
+                Map.of("erro", ex.getMessage())
+        );
+    }
+
+    /**
+     * Trata exceções de operação recusada por sobrecarga.
+     * 
+     * @param ex Exceção com o tempo sugerido para nova tentativa
+     * @return ResponseEntity com status 503, cabeçalho Retry-After e mensagem de erro
+     */
+    @ExceptionHandler(ServicoSobrecarregadoException.class)
+    public ResponseEntity<?> handleServicoSobrecarregadoException(ServicoSobrecarregadoException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getSegundosAteRepetir()))
+                .body(Map.of("erro", ex.getMessage()));
+    }
 }
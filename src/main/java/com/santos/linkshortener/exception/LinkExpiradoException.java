@@ -0,0 +1,17 @@
+package com.santos.linkshortener.exception;
+
+/**
+ * Exceção lançada quando o código curto pertence a um link expirado (por data ou por
+ * limite de cliques) ou removido por expiração e ainda em quarentena.
+ * Resulta em resposta HTTP 410.
+ */
+public class LinkExpiradoException extends RuntimeException {
+    /**
+     * Construtor com mensagem de erro.
+     *
+     * @param message Descrição do link expirado
+     */
+    public LinkExpiradoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.santos.linkshortener.exception;
+
+/**
+ * Exceção lançada quando um código curto não corresponde a nenhum link.
+ * Resulta em resposta HTTP 404.
+ */
+public class LinkNaoEncontradoException extends RuntimeException{
+    /**
+     * Construtor com mensagem de erro.
+     * 
+     * @param message Descrição do link não encontrado
+     */
+    public LinkNaoEncontradoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.santos.linkshortener.exception;
+
+/**
+ * Exceção lançada quando uma operação é recusada por falta de capacidade (fila cheia),
+ * em vez de aguardar indefinidamente. Resulta em resposta HTTP 503 com {@code Retry-After}.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final long segundosAteRepetir;
+
+    /**
+     * Construtor com mensagem de erro e tempo sugerido para nova tentativa.
+     *
+     * @param message            Descrição da operação recusada
+     * @param segundosAteRepetir Segundos sugeridos até repetir a requisição
+     */
+    public ServicoSobrecarregadoException(String message, long segundosAteRepetir) {
+        super(message);
+        this.segundosAteRepetir = segundosAteRepetir;
+    }
+
+    /**
+     * @return Segundos sugeridos até repetir a requisição
+     */
+    public long getSegundosAteRepetir() {
+        return segundosAteRepetir;
+    }
+}
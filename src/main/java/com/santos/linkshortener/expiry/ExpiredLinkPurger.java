@@ -0,0 +1,208 @@
+package com.santos.linkshortener.expiry;
+
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.invalidation.CacheInvalidator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remoção em segundo plano dos links expirados, em lotes limitados, e liberação dos códigos
+ * curtos após a quarentena.
+ *
+ * <p>Cada lote seleciona até {@code batch-size} links vencidos (por data, pelo índice de
+ * {@code expira_em}, ou por limite de cliques, pelo índice parcial dos links com {@code max_cliques}) com
+ * {@code FOR UPDATE SKIP LOCKED}, remove-os e coloca os códigos em {@code code_quarantine} na
+ * mesma transação. Lotes curtos mantêm os locks e o WAL de cada transação pequenos, e várias
+ * instâncias podem executar a limpeza ao mesmo tempo sem disputar as mesmas linhas.</p>
+ *
+ * <p>Durante a quarentena o código responde 410 e não é aceito por um novo link; depois dela
+ * a linha é apagada e o código volta a ficar disponível.</p>
+ */
+@Component
+public class ExpiredLinkPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredLinkPurger.class);
+
+    private static final String SQL_VENCIDOS_POR_DATA =
+            "SELECT id, url_curta FROM links WHERE expira_em <= ? ORDER BY expira_em LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String SQL_VENCIDOS_POR_CLIQUES =
+            "SELECT id, url_curta FROM links WHERE max_cliques IS NOT NULL AND contador_cliques >= max_cliques "
+                    + "LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String SQL_REMOVER_LINK = "DELETE FROM links WHERE id = ?";
+    private static final String SQL_QUARENTENA =
+            "INSERT INTO code_quarantine (url_curta, liberado_em) VALUES (?, ?) "
+                    + "ON CONFLICT (url_curta) DO UPDATE SET liberado_em = EXCLUDED.liberado_em";
+    private static final String SQL_LIBERAVEIS =
+            "SELECT url_curta FROM code_quarantine WHERE liberado_em <= ? ORDER BY liberado_em LIMIT ? "
+                    + "FOR UPDATE SKIP LOCKED";
+    private static final String SQL_LIBERAR = "DELETE FROM code_quarantine WHERE url_curta = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidator cacheInvalidator;
+    private final ShortCodeFilter shortCodeFilter;
+    private final boolean habilitado;
+    private final long intervaloMs;
+    private final int tamanhoLote;
+    private final int maxLotes;
+    private final Duration quarentena;
+    private final ScheduledExecutorService agendador;
+
+    /**
+     * @param jdbcTemplate        Acesso JDBC às tabelas de links e de quarentena
+     * @param transactionTemplate Transação de cada lote
+     * @param cacheInvalidator    Invalidação, em todas as instâncias, dos códigos removidos e liberados
+     * @param shortCodeFilter     Filtro do qual os códigos liberados são retirados
+     * @param habilitado          Se false, a limpeza não é agendada
+     * @param intervaloMs         Intervalo entre execuções
+     * @param tamanhoLote         Links removidos por transação
+     * @param maxLotes            Lotes por execução de cada tipo de expiração
+     * @param quarentenaHoras     Tempo até um código removido poder ser reutilizado
+     */
+    public ExpiredLinkPurger(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            CacheInvalidator cacheInvalidator,
+            ShortCodeFilter shortCodeFilter,
+            @Value("${app.links.expiry.purge-enabled:true}") boolean habilitado,
+            @Value("${app.links.expiry.purge-interval-ms:60000}") long intervaloMs,
+            @Value("${app.links.expiry.purge-batch-size:500}") int tamanhoLote,
+            @Value("${app.links.expiry.purge-max-batches:20}") int maxLotes,
+            @Value("${app.links.expiry.quarantine-hours:720}") long quarentenaHoras) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheInvalidator = cacheInvalidator;
+        this.shortCodeFilter = shortCodeFilter;
+        this.habilitado = habilitado;
+        this.intervaloMs = intervaloMs;
+        this.tamanhoLote = tamanhoLote;
+        this.maxLotes = maxLotes;
+        this.quarentena = Duration.ofHours(quarentenaHoras);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expired-link-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Agenda a limpeza quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        agendador.scheduleWithFixedDelay(this::purgarComSeguranca, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void purgarComSeguranca() {
+        try {
+            int removidos = purgar();
+            int liberados = liberarQuarentena();
+            if (removidos > 0 || liberados > 0) {
+                logger.info("{} links expirados removidos, {} códigos liberados da quarentena", removidos, liberados);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Falha na remoção de links expirados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove os links vencidos por data e por limite de cliques, até o máximo de lotes por tipo.
+     *
+     * @return Quantidade de links removidos
+     */
+    public int purgar() {
+        int removidos = 0;
+        for (int lote = 0; lote < maxLotes; lote++) {
+            int n = purgarLote(SQL_VENCIDOS_POR_DATA, Timestamp.valueOf(LocalDateTime.now()), tamanhoLote);
+            removidos += n;
+            if (n < tamanhoLote) {
+                break;
+            }
+        }
+        for (int lote = 0; lote < maxLotes; lote++) {
+            int n = purgarLote(SQL_VENCIDOS_POR_CLIQUES, tamanhoLote);
+            removidos += n;
+            if (n < tamanhoLote) {
+                break;
+            }
+        }
+        return removidos;
+    }
+
+    /**
+     * Remove um lote e coloca os códigos em quarentena. Os códigos continuam no filtro
+     * (a quarentena também passa por ele) e saem do cache para responder 410 pela quarentena.
+     */
+    private int purgarLote(String sqlVencidos, Object... parametros) {
+        List<String> codigos = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> ids = new ArrayList<>();
+            jdbcTemplate.query(sqlVencidos, rs -> {
+                ids.add(new Object[]{rs.getLong(1)});
+                codigos.add(rs.getString(2));
+            }, parametros);
+            if (ids.isEmpty()) {
+                return;
+            }
+            Timestamp liberadoEm = Timestamp.valueOf(LocalDateTime.now().plus(quarentena));
+            jdbcTemplate.batchUpdate(SQL_REMOVER_LINK, ids);
+            jdbcTemplate.batchUpdate(SQL_QUARENTENA, codigos.stream()
+                    .map(codigo -> new Object[]{codigo, liberadoEm})
+                    .toList());
+        });
+        codigos.forEach(cacheInvalidator::invalidar);
+        return codigos.size();
+    }
+
+    /**
+     * Apaga da quarentena os códigos cujo prazo passou, liberando-os para novos links.
+     *
+     * @return Quantidade de códigos liberados
+     */
+    public int liberarQuarentena() {
+        int liberados = 0;
+        for (int lote = 0; lote < maxLotes; lote++) {
+            List<String> codigos = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.query(SQL_LIBERAVEIS, rs -> {
+                    codigos.add(rs.getString(1));
+                }, Timestamp.valueOf(LocalDateTime.now()), tamanhoLote);
+                jdbcTemplate.batchUpdate(SQL_LIBERAR, codigos.stream().map(codigo -> new Object[]{codigo}).toList());
+            });
+            for (String codigo : codigos) {
+                cacheInvalidator.invalidar(codigo);
+                // Em quarentena por horas: certamente lido por esta instância
+                shortCodeFilter.remover(codigo, null);
+            }
+            liberados += codigos.size();
+            if (codigos.size() < tamanhoLote) {
+                break;
+            }
+        }
+        return liberados;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
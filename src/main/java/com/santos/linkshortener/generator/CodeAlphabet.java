@@ -0,0 +1,114 @@
+package com.santos.linkshortener.generator;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Alfabeto dos códigos curtos e conversão entre valores numéricos e códigos de tamanho fixo.
+ * Os símbolos precisam ser distintos e aceitos em códigos personalizados (letras, números,
+ * '_' ou '-'), para que um código gerado nunca seja recusado pela validação.
+ */
+public final class CodeAlphabet {
+
+    /** Alfabeto padrão (a-z, A-Z, 0-9) */
+    public static final String PADRAO = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private static final Pattern SIMBOLOS_PERMITIDOS = Pattern.compile("^[a-zA-Z0-9_-]+$");
+
+    private final char[] simbolos;
+    /** Posição de cada símbolo no alfabeto, indexada pelo caractere; -1 se ausente */
+    private final byte[] posicoes = new byte[128];
+
+    /**
+     * @param simbolos Símbolos do alfabeto, na ordem dos dígitos
+     * @throws IllegalArgumentException Se houver menos de 2 símbolos, repetidos ou não permitidos
+     */
+    public CodeAlphabet(String simbolos) {
+        if (simbolos == null || simbolos.length() < 2 || !SIMBOLOS_PERMITIDOS.matcher(simbolos).matches()) {
+            throw new IllegalArgumentException(
+                    "Alfabeto deve ter ao menos 2 símbolos entre letras, números, '_' ou '-': " + simbolos);
+        }
+        this.simbolos = simbolos.toCharArray();
+        Arrays.fill(posicoes, (byte) -1);
+        for (int i = 0; i < this.simbolos.length; i++) {
+            if (posicoes[this.simbolos[i]] >= 0) {
+                throw new IllegalArgumentException("Símbolo repetido no alfabeto: " + this.simbolos[i]);
+            }
+            posicoes[this.simbolos[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * @return Quantidade de símbolos do alfabeto
+     */
+    public int base() {
+        return simbolos.length;
+    }
+
+    /**
+     * @param posicao Posição no alfabeto
+     * @return Símbolo na posição
+     */
+    public char simbolo(int posicao) {
+        return simbolos[posicao];
+    }
+
+    /**
+     * Quantidade de códigos distintos com o tamanho informado (base^tamanho).
+     *
+     * @param tamanho Quantidade de caracteres
+     * @return Tamanho do espaço de códigos
+     * @throws ArithmeticException Se o espaço não couber em um long
+     */
+    public long capacidade(int tamanho) {
+        long capacidade = 1;
+        for (int i = 0; i < tamanho; i++) {
+            capacidade = Math.multiplyExact(capacidade, simbolos.length);
+        }
+        return capacidade;
+    }
+
+    /**
+     * Codifica um valor, completando à esquerda com o primeiro símbolo até o tamanho informado.
+     *
+     * @param valor   Valor não negativo menor que {@link #capacidade(int)}
+     * @param tamanho Quantidade de caracteres do código
+     * @return Código de tamanho fixo
+     * @throws IllegalArgumentException Se o valor não couber no tamanho
+     */
+    public String codificar(long valor, int tamanho) {
+        if (valor < 0 || valor >= capacidade(tamanho)) {
+            throw new IllegalArgumentException("Valor fora do espaço de códigos: " + valor);
+        }
+        char[] codigo = new char[tamanho];
+        int base = simbolos.length;
+        for (int i = tamanho - 1; i >= 0; i--) {
+            codigo[i] = simbolos[(int) (valor % base)];
+            valor /= base;
+        }
+        return new String(codigo);
+    }
+
+    /**
+     * Converte um código de volta para o valor numérico.
+     *
+     * @param codigo Código formado por símbolos do alfabeto
+     * @return Valor codificado, ou -1 se o código tiver símbolos fora do alfabeto ou não couber em um long
+     */
+    public long decodificar(String codigo) {
+        long valor = 0;
+        for (int i = 0; i < codigo.length(); i++) {
+            char c = codigo.charAt(i);
+            int posicao = c < posicoes.length ? posicoes[c] : -1;
+            if (posicao < 0) {
+                return -1;
+            }
+            try {
+                valor = Math.addExact(Math.multiplyExact(valor, simbolos.length), posicao);
+            } catch (ArithmeticException e) {
+                return -1;
+            }
+        }
+        return valor;
+    }
+}
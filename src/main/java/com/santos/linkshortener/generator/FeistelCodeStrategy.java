@@ -0,0 +1,135 @@
+package com.santos.linkshortener.generator;
+
+import com.santos.linkshortener.util.HashUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.OptionalLong;
+
+/**
+ * Embaralha o ID do link (vindo do alocador de blocos) com uma permutação de Feistel
+ * parametrizada por chave antes de codificá-lo. Os códigos parecem aleatórios, mas continuam
+ * únicos por construção: a permutação é uma bijeção do espaço de códigos. A rede inversa
+ * devolve o ID a partir do código, sem consultar o banco.
+ *
+ * <p>A rede opera sobre o menor número par de bits que cobre o espaço de códigos; resultados
+ * fora do espaço são permutados novamente (cycle walking) até caírem dentro dele.</p>
+ */
+public final class FeistelCodeStrategy implements ShortCodeStrategy {
+
+    private static final int RODADAS = 4;
+
+    private final CodeAlphabet alfabeto;
+    private final int tamanho;
+    private final long dominio;
+    private final int bitsMetade;
+    private final long mascaraMetade;
+    private final long[] chavesRodada;
+
+    /**
+     * @param alfabeto Alfabeto dos códigos
+     * @param tamanho  Quantidade de caracteres
+     * @param chave    Segredo da permutação; trocar a chave muda todos os códigos futuros
+     */
+    public FeistelCodeStrategy(CodeAlphabet alfabeto, int tamanho, String chave) {
+        this.alfabeto = alfabeto;
+        this.tamanho = tamanho;
+        this.dominio = alfabeto.capacidade(tamanho);
+        int bits = 64 - Long.numberOfLeadingZeros(dominio - 1);
+        bits += bits & 1;
+        if (bits < 2 || bits > 62) {
+            throw new IllegalArgumentException("Espaço de códigos incompatível com a permutação: " + dominio);
+        }
+        this.bitsMetade = bits / 2;
+        this.mascaraMetade = (1L << bitsMetade) - 1;
+        this.chavesRodada = derivarChaves(chave);
+    }
+
+    private static long[] derivarChaves(String chave) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(chave.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            long[] chaves = new long[RODADAS];
+            for (int i = 0; i < RODADAS; i++) {
+                chaves[i] = buffer.getLong();
+            }
+            return chaves;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    @Override
+    public String gerar(long id) {
+        if (id >= dominio) {
+            throw new IllegalStateException("Espaço de códigos esgotado; aumente app.codigo.tamanho");
+        }
+        return alfabeto.codificar(permutar(id), tamanho);
+    }
+
+    @Override
+    public OptionalLong decodificar(String codigo) {
+        if (codigo.length() != tamanho) {
+            return OptionalLong.empty();
+        }
+        long valor = alfabeto.decodificar(codigo);
+        return valor < 0 ? OptionalLong.empty() : OptionalLong.of(inverter(valor));
+    }
+
+    /**
+     * @param id Valor em [0, domínio)
+     * @return Imagem do valor na permutação, também em [0, domínio)
+     */
+    long permutar(long id) {
+        long valor = id;
+        do {
+            valor = rede(valor);
+        } while (valor >= dominio);
+        return valor;
+    }
+
+    /**
+     * Inversa de {@link #permutar(long)}.
+     *
+     * @param valor Valor em [0, domínio)
+     * @return ID cuja imagem é o valor
+     */
+    long inverter(long valor) {
+        long id = valor;
+        do {
+            id = redeInversa(id);
+        } while (id >= dominio);
+        return id;
+    }
+
+    private long rede(long valor) {
+        long esquerda = valor >>> bitsMetade;
+        long direita = valor & mascaraMetade;
+        for (int i = 0; i < RODADAS; i++) {
+            long novaDireita = esquerda ^ funcaoRodada(direita, i);
+            esquerda = direita;
+            direita = novaDireita;
+        }
+        return (esquerda << bitsMetade) | direita;
+    }
+
+    private long redeInversa(long valor) {
+        long esquerda = valor >>> bitsMetade;
+        long direita = valor & mascaraMetade;
+        for (int i = RODADAS - 1; i >= 0; i--) {
+            long novaEsquerda = direita ^ funcaoRodada(esquerda, i);
+            direita = esquerda;
+            esquerda = novaEsquerda;
+        }
+        return (esquerda << bitsMetade) | direita;
+    }
+
+    /**
+     * Mistura final do MurmurHash3 sobre a metade combinada com a chave da rodada.
+     */
+    private long funcaoRodada(long metade, int rodada) {
+        return HashUtil.misturar(metade ^ chavesRodada[rodada]) & mascaraMetade;
+    }
+}
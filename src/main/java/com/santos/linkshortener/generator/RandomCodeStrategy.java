@@ -0,0 +1,106 @@
+package com.santos.linkshortener.generator;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Códigos aleatórios gerados a partir de um conjunto de fontes independentes, cada uma com
+ * seu próprio {@link SecureRandom} e buffer reaproveitado. Cada thread começa pela fonte
+ * indicada pelo seu ID e passa para a próxima livre, de modo que criações simultâneas
+ * raramente disputam o mesmo gerador. Não é única por construção: colisões são tratadas
+ * pela restrição única do banco. O código não depende do ID do link e não é decodificável.
+ *
+ * <p>Um único sorteio de 64 bits fornece vários símbolos (6 bits cada no alfabeto padrão);
+ * valores fora do alfabeto são descartados para manter a distribuição uniforme.</p>
+ */
+public final class RandomCodeStrategy implements ShortCodeStrategy {
+
+    private final CodeAlphabet alfabeto;
+    private final int tamanho;
+    private final int bitsPorSimbolo;
+    private final int mascaraSimbolo;
+    private final Fonte[] fontes;
+    private final int mascaraFontes;
+
+    /**
+     * @param alfabeto Alfabeto dos códigos
+     * @param tamanho  Quantidade de caracteres
+     */
+    public RandomCodeStrategy(CodeAlphabet alfabeto, int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Tamanho do código deve ser positivo: " + tamanho);
+        }
+        this.alfabeto = alfabeto;
+        this.tamanho = tamanho;
+        this.bitsPorSimbolo = 32 - Integer.numberOfLeadingZeros(alfabeto.base() - 1);
+        this.mascaraSimbolo = (1 << bitsPorSimbolo) - 1;
+        int quantidade = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+        this.fontes = new Fonte[quantidade];
+        this.mascaraFontes = quantidade - 1;
+        for (int i = 0; i < quantidade; i++) {
+            fontes[i] = new Fonte(novoRandom(), new char[tamanho]);
+        }
+    }
+
+    /**
+     * DRBG mantém estado por instância; o NativePRNG padrão do Linux compartilha um único
+     * estado entre todas as instâncias e voltaria a serializar as threads.
+     */
+    private static SecureRandom novoRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    @Override
+    public String gerar(long id) {
+        Fonte fonte = adquirir();
+        try {
+            char[] buffer = fonte.buffer;
+            int preenchidos = 0;
+            while (preenchidos < tamanho) {
+                long bits = fonte.random.nextLong();
+                for (int disponiveis = 64; disponiveis >= bitsPorSimbolo && preenchidos < tamanho;
+                     disponiveis -= bitsPorSimbolo, bits >>>= bitsPorSimbolo) {
+                    int posicao = (int) bits & mascaraSimbolo;
+                    if (posicao < alfabeto.base()) {
+                        buffer[preenchidos++] = alfabeto.simbolo(posicao);
+                    }
+                }
+            }
+            return new String(buffer, 0, tamanho);
+        } finally {
+            fonte.lock.unlock();
+        }
+    }
+
+    private Fonte adquirir() {
+        int inicio = (int) Thread.currentThread().threadId() & mascaraFontes;
+        for (int i = 0; i < fontes.length; i++) {
+            Fonte fonte = fontes[(inicio + i) & mascaraFontes];
+            if (fonte.lock.tryLock()) {
+                return fonte;
+            }
+        }
+        Fonte fonte = fontes[inicio];
+        fonte.lock.lock();
+        return fonte;
+    }
+
+    /**
+     * Gerador e buffer usados por uma thread de cada vez.
+     */
+    private static final class Fonte {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random;
+        private final char[] buffer;
+
+        Fonte(SecureRandom random, char[] buffer) {
+            this.random = random;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.santos.linkshortener.generator;
+
+import java.util.OptionalLong;
+
+/**
+ * Codifica diretamente o ID do link. Único por construção, mas em sequência: códigos
+ * vizinhos permitem adivinhar outros links.
+ */
+public final class SequentialCodeStrategy implements ShortCodeStrategy {
+
+    private final CodeAlphabet alfabeto;
+    private final int tamanho;
+
+    /**
+     * @param alfabeto Alfabeto dos códigos
+     * @param tamanho  Quantidade de caracteres
+     */
+    public SequentialCodeStrategy(CodeAlphabet alfabeto, int tamanho) {
+        this.alfabeto = alfabeto;
+        this.tamanho = tamanho;
+    }
+
+    @Override
+    public String gerar(long id) {
+        return alfabeto.codificar(id, tamanho);
+    }
+
+    @Override
+    public OptionalLong decodificar(String codigo) {
+        if (codigo.length() != tamanho) {
+            return OptionalLong.empty();
+        }
+        long id = alfabeto.decodificar(codigo);
+        return id < 0 ? OptionalLong.empty() : OptionalLong.of(id);
+    }
+}
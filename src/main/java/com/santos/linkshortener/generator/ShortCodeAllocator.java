@@ -0,0 +1,96 @@
+package com.santos.linkshortener.generator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Alocador dos IDs dos links, únicos por construção.
+ * Reserva no banco blocos de IDs numéricos (tabela {@code code_allocations}) e os entrega
+ * a partir da memória. Como cada bloco é reservado sob lock de linha, instâncias diferentes
+ * nunca recebem o mesmo ID e a criação dispensa consultas de unicidade.
+ * O ID é o do link e também a origem do seu código gerado ({@link ShortCodeGenerator}), que
+ * volta ao ID sem consultar o banco.
+ */
+@Component
+public class ShortCodeAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortCodeAllocator.class);
+
+    /** Nome da faixa usada para os códigos de links */
+    private static final String FAIXA_LINKS = "links";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoBloco;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Próximo ID a entregar e limite (exclusivo) do bloco atual */
+    private long proximo;
+    private long limite;
+
+    /**
+     * @param jdbcTemplate        Acesso JDBC à tabela de alocação
+     * @param transactionTemplate Transação usada na reserva de cada bloco
+     * @param tamanhoBloco        Quantidade de IDs reservados por vez
+     */
+    public ShortCodeAllocator(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.codigo.tamanho-bloco:10000}") int tamanhoBloco) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Retorna o próximo ID do bloco em memória, reservando um novo bloco quando esgotado.
+     *
+     * @return ID numérico único
+     */
+    public long proximoId() {
+        lock.lock();
+        try {
+            if (proximo >= limite) {
+                proximo = reservarBloco();
+                limite = proximo + tamanhoBloco;
+            }
+            return proximo++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long reservarBloco() {
+        try {
+            return reservarBlocoNoBanco();
+        } catch (DuplicateKeyException e) {
+            // Outra instância criou a faixa ao mesmo tempo; agora ela existe
+            return reservarBlocoNoBanco();
+        }
+    }
+
+    private long reservarBlocoNoBanco() {
+        Long inicio = transactionTemplate.execute(status -> {
+            List<Long> atual = jdbcTemplate.queryForList(
+                    "SELECT proximo FROM code_allocations WHERE nome = ? FOR UPDATE", Long.class, FAIXA_LINKS);
+            if (atual.isEmpty()) {
+                jdbcTemplate.update(
+                        "INSERT INTO code_allocations (nome, proximo) VALUES (?, ?)", FAIXA_LINKS, (long) tamanhoBloco);
+                return 0L;
+            }
+            jdbcTemplate.update(
+                    "UPDATE code_allocations SET proximo = ? WHERE nome = ?", atual.get(0) + tamanhoBloco, FAIXA_LINKS);
+            return atual.get(0);
+        });
+        logger.info("Bloco de códigos reservado: [{}, {})", inicio, inicio + tamanhoBloco);
+        return inicio;
+    }
+}
@@ -0,0 +1,80 @@
+package com.santos.linkshortener.generator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.OptionalLong;
+
+/**
+ * Ponto único de geração de códigos curtos a partir do ID do link, usando a estratégia
+ * configurada:
+ * <ul>
+ *   <li>{@code feistel} (padrão): ID embaralhado por uma permutação com chave;
+ *       sem {@code app.codigo.chave} a aplicação não sobe;</li>
+ *   <li>{@code aleatorio}: códigos aleatórios, independentes do ID; colisões são
+ *       rejeitadas pela restrição única e refeitas;</li>
+ *   <li>{@code sequencial}: ID codificado diretamente. Os códigos são consecutivos,
+ *       então qualquer link pode ser encontrado percorrendo a sequência.</li>
+ * </ul>
+ * Nas estratégias {@code feistel} e {@code sequencial} o código gerado volta ao ID do link
+ * sem consulta ({@link #decodificar(String)}).
+ */
+@Component
+public class ShortCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortCodeGenerator.class);
+
+    private final ShortCodeStrategy estrategia;
+
+    /**
+     * @param estrategia Nome da estratégia
+     * @param tamanho    Quantidade de caracteres dos códigos
+     * @param alfabeto   Símbolos usados nos códigos
+     * @param chave      Segredo da permutação da estratégia feistel
+     */
+    public ShortCodeGenerator(
+            @Value("${app.codigo.estrategia:feistel}") String estrategia,
+            @Value("${app.codigo.tamanho:8}") int tamanho,
+            @Value("${app.codigo.alfabeto:" + CodeAlphabet.PADRAO + "}") String alfabeto,
+            @Value("${app.codigo.chave:}") String chave) {
+        var codeAlphabet = new CodeAlphabet(alfabeto);
+        this.estrategia = switch (estrategia.toLowerCase(Locale.ROOT)) {
+            case "sequencial" -> new SequentialCodeStrategy(codeAlphabet, tamanho);
+            case "feistel" -> {
+                if (chave == null || chave.isBlank()) {
+                    throw new IllegalArgumentException("A estratégia feistel exige app.codigo.chave (CODIGO_CHAVE)");
+                }
+                yield new FeistelCodeStrategy(codeAlphabet, tamanho, chave);
+            }
+            case "aleatorio" -> new RandomCodeStrategy(codeAlphabet, tamanho);
+            default -> throw new IllegalArgumentException("Estratégia de código desconhecida: " + estrategia);
+        };
+        logger.info("Geração de códigos curtos: estratégia {}, {} caracteres, alfabeto de {} símbolos",
+                estrategia, tamanho, codeAlphabet.base());
+    }
+
+    /**
+     * Retorna o código curto de um link.
+     *
+     * @param id ID do link, reservado em {@link ShortCodeAllocator}
+     * @return Código gerado pela estratégia configurada
+     */
+    public String codigo(long id) {
+        return estrategia.gerar(id);
+    }
+
+    /**
+     * Recupera o ID do link a partir do código, sem consultar o banco.
+     *
+     * @param codigo Código curto
+     * @return ID do link se o código tiver o formato dos gerados por uma estratégia reversível.
+     *         Códigos personalizados podem ser decodificados em um ID de outro link; confira o
+     *         código do link encontrado.
+     */
+    public OptionalLong decodificar(String codigo) {
+        return estrategia.decodificar(codigo);
+    }
+}
@@ -0,0 +1,30 @@
+package com.santos.linkshortener.generator;
+
+import java.util.OptionalLong;
+
+/**
+ * Estratégia de geração de códigos curtos, selecionada por {@code app.codigo.estrategia}.
+ */
+public interface ShortCodeStrategy {
+
+    /**
+     * Gera o código curto de um link.
+     *
+     * @param id ID do link (vindo de {@link ShortCodeAllocator#proximoId()})
+     * @return Código no alfabeto e tamanho configurados
+     */
+    String gerar(long id);
+
+    /**
+     * Recupera o ID do link a partir de um código gerado por esta estratégia, sem consultar
+     * o banco. Um código personalizado com o mesmo formato também é decodificado, em um ID
+     * que não é o do seu link; quem decodifica confere o código do link encontrado.
+     *
+     * @param codigo Código curto
+     * @return ID do link, ou vazio se a estratégia não for reversível ou o código não tiver
+     *         o formato dos gerados
+     */
+    default OptionalLong decodificar(String codigo) {
+        return OptionalLong.empty();
+    }
+}
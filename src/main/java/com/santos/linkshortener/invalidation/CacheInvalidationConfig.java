@@ -0,0 +1,29 @@
+package com.santos.linkshortener.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Escolhe o canal de invalidação do cache pelo banco configurado: {@code LISTEN}/{@code NOTIFY}
+ * com PostgreSQL, ou um canal dentro da JVM para os demais bancos.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean(destroyMethod = "encerrar")
+    InvalidationBus invalidationBus(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String usuario,
+            @Value("${spring.datasource.password:}") String senha,
+            @Value("${app.cache.invalidation.channel:link_invalidation}") String canal,
+            @Value("${app.cache.invalidation.poll-timeout-ms:500}") int esperaMs,
+            @Value("${app.cache.invalidation.reconnect-delay-ms:1000}") long atrasoReconexaoMs) {
+        if (url.startsWith("jdbc:postgresql:")) {
+            return new PostgresInvalidationBus(jdbcTemplate, url, usuario, senha, canal, esperaMs, atrasoReconexaoMs);
+        }
+        return new InProcessInvalidationBus(canal);
+    }
+}
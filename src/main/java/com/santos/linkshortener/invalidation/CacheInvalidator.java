@@ -0,0 +1,285 @@
+package com.santos.linkshortener.invalidation;
+
+import com.santos.linkshortener.cache.RedirectCache;
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.metrics.LatencyTimers;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Invalidação do cache de redirecionamento em todas as instâncias.
+ *
+ * <p>{@link #invalidar(String)} remove o código do cache local na hora e o coloca em uma fila;
+ * a cada {@code batch-interval-ms} uma thread em segundo plano publica os códigos pendentes
+ * em poucas mensagens no {@link InvalidationBus}. As outras instâncias removem os códigos ao
+ * receber. Como o canal não guarda mensagens, o cache local é esvaziado sempre que a escuta é
+ * (re)estabelecida, e também em todas as instâncias quando a fila transborda ou uma publicação
+ * falha.</p>
+ *
+ * <p>Criações são anunciadas por {@link #registrarCriacoes(Collection)} na hora, sem esperar o
+ * lote: as outras instâncias adicionam o código ao {@link ShortCodeFilter} e descartam uma
+ * eventual entrada negativa do cache antes de a criação ser respondida. Quando criações podem
+ * ter sido perdidas (reconexão ou esvaziamento), o filtro deixa de responder "certamente não
+ * existe" até reler a tabela.</p>
+ *
+ * <p>O atraso entre a invalidação e a remoção em outra instância é medido em
+ * {@code cache_invalidation_lag_seconds}, com o relógio das duas máquinas.</p>
+ */
+@Component
+public class CacheInvalidator implements InvalidationBus.Assinante {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    /** Limite de 8000 bytes do payload do NOTIFY, com folga para origem e instante */
+    private static final int MAX_BYTES_MENSAGEM = 7800;
+
+    private final RedirectCache redirectCache;
+    private final ShortCodeFilter shortCodeFilter;
+    private final InvalidationBus invalidationBus;
+    private final boolean habilitado;
+    private final long intervaloLoteMs;
+    private final int maxPendentes;
+    private final String origem = UUID.randomUUID().toString().substring(0, 8);
+    private final Queue<Pendente> pendentes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger quantidadePendentes = new AtomicInteger();
+    /** Invalidações perdidas nesta instância (fila cheia ou falha ao publicar) a compensar */
+    private final AtomicBoolean limparTodas = new AtomicBoolean();
+    private final ScheduledExecutorService agendador;
+
+    private final Timer atraso;
+    private final Counter enviados;
+    private final Counter recebidos;
+    private final Counter reinicioReconexao;
+    private final Counter reinicioPerda;
+
+    /**
+     * @param redirectCache   Cache invalidado
+     * @param shortCodeFilter Filtro que recebe os códigos criados nas outras instâncias
+     * @param invalidationBus Canal compartilhado pelas instâncias
+     * @param meterRegistry   Registro do atraso e dos códigos enviados e recebidos
+     * @param habilitado      Se false, só o cache local é invalidado
+     * @param intervaloLoteMs Intervalo entre publicações dos códigos pendentes
+     * @param maxPendentes    Códigos aguardando publicação; acima disso todas as instâncias
+     *                        esvaziam o cache na próxima publicação
+     */
+    public CacheInvalidator(
+            RedirectCache redirectCache,
+            ShortCodeFilter shortCodeFilter,
+            InvalidationBus invalidationBus,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:true}") boolean habilitado,
+            @Value("${app.cache.invalidation.batch-interval-ms:20}") long intervaloLoteMs,
+            @Value("${app.cache.invalidation.max-pending:100000}") int maxPendentes) {
+        this.redirectCache = redirectCache;
+        this.shortCodeFilter = shortCodeFilter;
+        this.invalidationBus = invalidationBus;
+        this.habilitado = habilitado;
+        this.intervaloLoteMs = intervaloLoteMs;
+        this.maxPendentes = maxPendentes;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.atraso = LatencyTimers.criar(meterRegistry, "cache.invalidation.lag",
+                "Tempo entre a invalidação e a remoção do código em outra instância");
+        Counter.Builder codigos = Counter.builder("cache.invalidation.codes")
+                .description("Códigos curtos invalidados pelo canal entre instâncias");
+        this.enviados = codigos.tag("direction", "sent").register(meterRegistry);
+        this.recebidos = codigos.tag("direction", "received").register(meterRegistry);
+        Counter.Builder reinicios = Counter.builder("cache.invalidation.resets")
+                .description("Esvaziamentos do cache por invalidações possivelmente perdidas");
+        this.reinicioReconexao = reinicios.tag("reason", "reconnect").register(meterRegistry);
+        this.reinicioPerda = reinicios.tag("reason", "lost").register(meterRegistry);
+    }
+
+    /**
+     * Passa a ouvir o canal e agenda a publicação em lote quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        invalidationBus.assinar(this);
+        agendador.scheduleWithFixedDelay(this::publicarComSeguranca, intervaloLoteMs, intervaloLoteMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove o código do cache desta instância e agenda a remoção nas demais.
+     * Deve ser chamado depois que a alteração do link foi confirmada no banco.
+     *
+     * @param urlCurta Código curto removido ou alterado
+     */
+    public void invalidar(String urlCurta) {
+        redirectCache.invalidar(urlCurta);
+        if (!habilitado) {
+            return;
+        }
+        if (quantidadePendentes.incrementAndGet() > maxPendentes) {
+            quantidadePendentes.decrementAndGet();
+            limparTodas.set(true);
+            return;
+        }
+        pendentes.add(new Pendente(urlCurta, System.currentTimeMillis()));
+    }
+
+    /**
+     * Adiciona o código criado ao filtro e o remove do cache em todas as instâncias.
+     *
+     * @param urlCurta Código curto criado
+     * @see #registrarCriacoes(Collection)
+     */
+    public void registrarCriacao(String urlCurta) {
+        registrarCriacoes(List.of(urlCurta));
+    }
+
+    /**
+     * Adiciona os códigos criados ao filtro e os remove do cache (uma entrada negativa de um
+     * acesso anterior) nesta instância e, publicando na hora, nas demais. Deve ser chamado
+     * depois que os links foram confirmados no banco e antes de a criação ser respondida.
+     *
+     * @param urlCurtas Códigos curtos criados
+     */
+    public void registrarCriacoes(Collection<String> urlCurtas) {
+        for (String urlCurta : urlCurtas) {
+            shortCodeFilter.adicionar(urlCurta);
+            redirectCache.invalidar(urlCurta);
+        }
+        if (!habilitado || urlCurtas.isEmpty()) {
+            return;
+        }
+        List<String> lote = new ArrayList<>();
+        long agora = System.currentTimeMillis();
+        int bytes = 0;
+        try {
+            for (String urlCurta : urlCurtas) {
+                String criado = InvalidationMessage.CRIADO + urlCurta;
+                int tamanho = criado.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (bytes + tamanho > MAX_BYTES_MENSAGEM && !lote.isEmpty()) {
+                    enviar(lote, agora);
+                    lote = new ArrayList<>();
+                    bytes = 0;
+                }
+                lote.add(criado);
+                bytes += tamanho;
+            }
+            enviar(lote, agora);
+        } catch (RuntimeException e) {
+            // As outras instâncias deixam de confiar no filtro ao receber o esvaziamento
+            limparTodas.set(true);
+            logger.warn("Falha ao publicar criações de links: {}", e.getMessage());
+        }
+    }
+
+    private void publicarComSeguranca() {
+        try {
+            publicar();
+        } catch (RuntimeException e) {
+            // Os códigos retirados da fila não chegaram às outras instâncias
+            limparTodas.set(true);
+            logger.warn("Falha ao publicar invalidações do cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publica os códigos pendentes, agrupados em mensagens de até {@value #MAX_BYTES_MENSAGEM} bytes.
+     */
+    void publicar() {
+        if (limparTodas.getAndSet(false)) {
+            // O esvaziamento já cobre os códigos pendentes
+            while (pendentes.poll() != null) {
+                quantidadePendentes.decrementAndGet();
+            }
+            invalidationBus.publicar(new InvalidationMessage(origem, System.currentTimeMillis(),
+                    List.of(InvalidationMessage.TODOS)).codificar());
+            return;
+        }
+        List<String> lote = new ArrayList<>();
+        long maisAntigo = 0;
+        int bytes = 0;
+        Pendente pendente;
+        while ((pendente = pendentes.poll()) != null) {
+            quantidadePendentes.decrementAndGet();
+            int tamanho = pendente.urlCurta.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (bytes + tamanho > MAX_BYTES_MENSAGEM && !lote.isEmpty()) {
+                enviar(lote, maisAntigo);
+                lote = new ArrayList<>();
+                bytes = 0;
+            }
+            if (lote.isEmpty()) {
+                maisAntigo = pendente.instanteMs;
+            }
+            lote.add(pendente.urlCurta);
+            bytes += tamanho;
+        }
+        if (!lote.isEmpty()) {
+            enviar(lote, maisAntigo);
+        }
+    }
+
+    private void enviar(List<String> codigos, long maisAntigo) {
+        invalidationBus.publicar(new InvalidationMessage(origem, maisAntigo, codigos).codificar());
+        enviados.increment(codigos.size());
+    }
+
+    @Override
+    public void receber(String mensagem) {
+        InvalidationMessage recebida = InvalidationMessage.decodificar(mensagem);
+        if (recebida == null || recebida.origem().equals(origem)) {
+            return;
+        }
+        for (String codigo : recebida.codigos()) {
+            if (codigo.equals(InvalidationMessage.TODOS)) {
+                redirectCache.limpar();
+                shortCodeFilter.suspenderAteAtualizar();
+                reinicioPerda.increment();
+            } else if (codigo.startsWith(InvalidationMessage.CRIADO)) {
+                String criado = codigo.substring(InvalidationMessage.CRIADO.length());
+                shortCodeFilter.adicionar(criado);
+                redirectCache.invalidar(criado);
+            } else {
+                redirectCache.invalidar(codigo);
+            }
+        }
+        recebidos.increment(recebida.codigos().size());
+        atraso.record(Math.max(0, System.currentTimeMillis() - recebida.publicadoEmMs()), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void conexaoRestabelecida() {
+        redirectCache.limpar();
+        shortCodeFilter.suspenderAteAtualizar();
+        reinicioReconexao.increment();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    private record Pendente(String urlCurta, long instanteMs) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.santos.linkshortener.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Canal de invalidação dentro da própria JVM, usado quando o banco não é PostgreSQL
+ * (H2 no teste de carga, por exemplo). Contextos da aplicação iniciados na mesma JVM com o
+ * mesmo canal trocam mensagens entre si como instâncias separadas; a entrega é síncrona, na
+ * thread que publica.
+ */
+class InProcessInvalidationBus implements InvalidationBus {
+
+    private static final Map<String, List<Assinante>> CANAIS = new ConcurrentHashMap<>();
+
+    private final String canal;
+    private volatile Assinante assinante;
+
+    /**
+     * @param canal Nome do canal
+     */
+    InProcessInvalidationBus(String canal) {
+        this.canal = canal;
+    }
+
+    @Override
+    public void publicar(String mensagem) {
+        for (Assinante destino : CANAIS.getOrDefault(canal, List.of())) {
+            destino.receber(mensagem);
+        }
+    }
+
+    @Override
+    public void assinar(Assinante assinante) {
+        this.assinante = assinante;
+        CANAIS.computeIfAbsent(canal, nome -> new CopyOnWriteArrayList<>()).add(assinante);
+        assinante.conexaoRestabelecida();
+    }
+
+    @Override
+    public void encerrar() {
+        if (assinante != null) {
+            CANAIS.getOrDefault(canal, List.of()).remove(assinante);
+        }
+    }
+}
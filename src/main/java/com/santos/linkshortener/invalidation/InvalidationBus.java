@@ -0,0 +1,42 @@
+package com.santos.linkshortener.invalidation;
+
+/**
+ * Canal de mensagens de invalidação compartilhado pelas instâncias da aplicação.
+ * A entrega é "no máximo uma vez": mensagens publicadas enquanto uma instância está sem
+ * conexão são perdidas, e ela é avisada por {@link Assinante#conexaoRestabelecida()}.
+ */
+interface InvalidationBus {
+
+    /**
+     * Publica uma mensagem para todas as instâncias, inclusive a que publicou.
+     *
+     * @param mensagem Mensagem codificada por {@link InvalidationMessage#codificar()}
+     */
+    void publicar(String mensagem);
+
+    /**
+     * Começa a entregar as mensagens do canal ao assinante.
+     *
+     * @param assinante Receptor das mensagens, chamado fora das threads de requisição
+     */
+    void assinar(Assinante assinante);
+
+    /**
+     * Para de receber mensagens e libera a conexão.
+     */
+    void encerrar();
+
+    interface Assinante {
+
+        /**
+         * @param mensagem Mensagem recebida, como publicada
+         */
+        void receber(String mensagem);
+
+        /**
+         * Chamado sempre que o canal passa a ouvir (também após uma queda); mensagens do
+         * intervalo sem conexão podem ter sido perdidas.
+         */
+        void conexaoRestabelecida();
+    }
+}
@@ -0,0 +1,51 @@
+package com.santos.linkshortener.invalidation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lote de códigos curtos a invalidar, no formato
+ * {@code <origem> <publicadoEmMs> <código> <código> ...}. Os códigos só têm letras, dígitos,
+ * {@code _} e {@code -}, então o espaço separa sem escape; o código {@value #TODOS} pede que
+ * o cache inteiro seja esvaziado, e um código precedido de {@value #CRIADO} foi criado (além de
+ * sair do cache, entra no filtro de códigos).
+ *
+ * @param origem        Identificador da instância que publicou, para ignorar as próprias mensagens
+ * @param publicadoEmMs Instante da invalidação mais antiga do lote, em milissegundos da época
+ * @param codigos       Códigos a invalidar
+ */
+record InvalidationMessage(String origem, long publicadoEmMs, List<String> codigos) {
+
+    static final String TODOS = "*";
+    static final String CRIADO = "+";
+
+    String codificar() {
+        StringBuilder mensagem = new StringBuilder(origem).append(' ').append(publicadoEmMs);
+        for (String codigo : codigos) {
+            mensagem.append(' ').append(codigo);
+        }
+        return mensagem.toString();
+    }
+
+    /**
+     * @param mensagem Mensagem recebida do canal
+     * @return Mensagem decodificada, ou null se o formato não for reconhecido
+     */
+    static InvalidationMessage decodificar(String mensagem) {
+        String[] partes = mensagem.split(" ");
+        if (partes.length < 2) {
+            return null;
+        }
+        long publicadoEmMs;
+        try {
+            publicadoEmMs = Long.parseLong(partes[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        List<String> codigos = new ArrayList<>(partes.length - 2);
+        for (int i = 2; i < partes.length; i++) {
+            codigos.add(partes[i]);
+        }
+        return new InvalidationMessage(partes[0], publicadoEmMs, codigos);
+    }
+}
@@ -0,0 +1,130 @@
+package com.santos.linkshortener.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * Canal de invalidação sobre {@code LISTEN}/{@code NOTIFY} do PostgreSQL.
+ *
+ * <p>A publicação usa {@code pg_notify} em uma conexão do pool. Cada instância ouve em uma
+ * conexão própria, aberta fora do pool (uma conexão em {@code LISTEN} fica presa à sessão),
+ * por uma thread que aguarda as notificações com {@code PGConnection.getNotifications(timeout)}.
+ * Se a conexão cair, a thread reconecta após {@code atrasoReconexaoMs} e avisa o assinante, pois
+ * o PostgreSQL não guarda notificações para sessões desconectadas.</p>
+ *
+ * <p>O driver só está no classpath em tempo de execução; a API de notificações é acessada por
+ * reflexão, resolvida uma vez na criação.</p>
+ */
+class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    private static final Pattern NOME_CANAL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String usuario;
+    private final String senha;
+    private final String canal;
+    private final int esperaMs;
+    private final long atrasoReconexaoMs;
+    private final Class<?> pgConnection;
+    private final Method getNotifications;
+    private final Method getParameter;
+    private volatile boolean ativo;
+    private Thread thread;
+
+    /**
+     * @param jdbcTemplate      Conexões do pool para o {@code pg_notify}
+     * @param url               URL JDBC da conexão dedicada ao {@code LISTEN}
+     * @param usuario           Usuário do banco
+     * @param senha             Senha do banco
+     * @param canal             Nome do canal (identificador em minúsculas)
+     * @param esperaMs          Espera máxima por notificações em cada consulta à conexão
+     * @param atrasoReconexaoMs Intervalo entre tentativas de reconexão
+     */
+    PostgresInvalidationBus(JdbcTemplate jdbcTemplate, String url, String usuario, String senha, String canal,
+                            int esperaMs, long atrasoReconexaoMs) {
+        if (!NOME_CANAL.matcher(canal).matches()) {
+            throw new IllegalArgumentException("Nome de canal inválido: " + canal);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.usuario = usuario;
+        this.senha = senha;
+        this.canal = canal;
+        this.esperaMs = esperaMs;
+        this.atrasoReconexaoMs = atrasoReconexaoMs;
+        try {
+            this.pgConnection = Class.forName("org.postgresql.PGConnection");
+            this.getNotifications = pgConnection.getMethod("getNotifications", int.class);
+            this.getParameter = Class.forName("org.postgresql.PGNotification").getMethod("getParameter");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Driver do PostgreSQL sem suporte a notificações", e);
+        }
+    }
+
+    @Override
+    public void publicar(String mensagem) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, canal, mensagem);
+    }
+
+    @Override
+    public void assinar(Assinante assinante) {
+        ativo = true;
+        thread = new Thread(() -> ouvir(assinante), "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void ouvir(Assinante assinante) {
+        while (ativo) {
+            try (Connection conexao = DriverManager.getConnection(url, usuario, senha)) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("LISTEN " + canal);
+                }
+                logger.info("Ouvindo invalidações do cache no canal {}", canal);
+                assinante.conexaoRestabelecida();
+                Object conexaoPg = conexao.unwrap(pgConnection);
+                while (ativo) {
+                    Object[] notificacoes = (Object[]) getNotifications.invoke(conexaoPg, esperaMs);
+                    if (notificacoes == null) {
+                        continue;
+                    }
+                    for (Object notificacao : notificacoes) {
+                        assinante.receber((String) getParameter.invoke(notificacao));
+                    }
+                }
+            } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+                if (!ativo) {
+                    return;
+                }
+                Throwable causa = e instanceof InvocationTargetException ite ? ite.getCause() : e;
+                logger.warn("Canal de invalidação do cache indisponível, reconectando em {} ms: {}",
+                        atrasoReconexaoMs, causa.getMessage());
+                try {
+                    Thread.sleep(atrasoReconexaoMs);
+                } catch (InterruptedException interrompido) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void encerrar() {
+        ativo = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.santos.linkshortener.metrics;
+
+import com.santos.linkshortener.cache.RedirectCache;
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.click.ClickRecorder;
+import com.santos.linkshortener.datasource.ConcurrencyLimitStats;
+import com.santos.linkshortener.datasource.DataSourceConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica no Micrometer os contadores que os componentes já mantêm (cache de
+ * redirecionamento, filtro de códigos, log de cliques e limite de conexões), lidos apenas
+ * na coleta.
+ */
+@Component
+public class ComponentMetrics implements MeterBinder {
+
+    private final RedirectCache redirectCache;
+    private final ShortCodeFilter shortCodeFilter;
+    private final ClickRecorder clickRecorder;
+    private final DataSourceConcurrencyLimiter dataSourceConcurrencyLimiter;
+
+    public ComponentMetrics(
+            RedirectCache redirectCache,
+            ShortCodeFilter shortCodeFilter,
+            ClickRecorder clickRecorder,
+            DataSourceConcurrencyLimiter dataSourceConcurrencyLimiter) {
+        this.redirectCache = redirectCache;
+        this.shortCodeFilter = shortCodeFilter;
+        this.clickRecorder = clickRecorder;
+        this.dataSourceConcurrencyLimiter = dataSourceConcurrencyLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String consultas = "Consultas ao cache de redirecionamento";
+        contador(registry, "redirect.cache.requests", consultas, redirectCache, c -> c.stats().hits(),
+                "result", "hit");
+        contador(registry, "redirect.cache.requests", consultas, redirectCache, c -> c.stats().hitsNegativos(),
+                "result", "negative_hit");
+        contador(registry, "redirect.cache.requests", consultas, redirectCache, c -> c.stats().misses(),
+                "result", "miss");
+        contador(registry, "redirect.cache.evictions", "Entradas removidas do cache por falta de espaço",
+                redirectCache, c -> c.stats().evictions());
+        contador(registry, "redirect.cache.expirations", "Entradas removidas do cache no vencimento do link",
+                redirectCache, c -> c.stats().expiracoes());
+        medidor(registry, "redirect.cache.bytes", "Tamanho estimado das entradas do cache",
+                () -> redirectCache.stats().pesoBytes());
+
+        medidor(registry, "short.code.filter.items", "Códigos no filtro de códigos curtos",
+                () -> shortCodeFilter.stats().itens());
+
+        medidor(registry, "click.log.pending", "Cliques aguardando gravação no log",
+                () -> clickRecorder.stats().pendentes());
+        contador(registry, "click.log.dropped", "Cliques descartados do log com a fila cheia",
+                clickRecorder, c -> c.stats().descartados());
+        contador(registry, "click.log.write.failures", "Falhas de gravação no log de cliques",
+                clickRecorder, c -> c.stats().falhas());
+
+        medidor(registry, "datasource.limit.in.use", "Conexões em uso sob o limite das threads virtuais",
+                () -> dataSourceConcurrencyLimiter.stats().map(ConcurrencyLimitStats::emUso).orElse(0));
+        medidor(registry, "datasource.limit.waiting", "Threads virtuais aguardando o limite de conexões",
+                () -> dataSourceConcurrencyLimiter.stats().map(ConcurrencyLimitStats::aguardando).orElse(0));
+    }
+
+    private static <T> void contador(MeterRegistry registry, String nome, String descricao, T origem,
+                                     ToDoubleFunction<T> valor, String... rotulos) {
+        FunctionCounter.builder(nome, origem, valor).description(descricao).tags(rotulos).register(registry);
+    }
+
+    private static void medidor(MeterRegistry registry, String nome, String descricao, Supplier<Number> valor) {
+        Gauge.builder(nome, valor).description(descricao).register(registry);
+    }
+}
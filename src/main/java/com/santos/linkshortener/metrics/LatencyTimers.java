@@ -0,0 +1,44 @@
+package com.santos.linkshortener.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Timers de latência da aplicação, todos com os mesmos buckets fixos (de 50 µs a 10 s),
+ * expostos como histogramas do Prometheus em {@code <nome>_seconds}.
+ *
+ * <p>Os timers são criados uma vez (na construção dos componentes) e guardados em campos;
+ * no caminho quente só há o {@link Timer#record}. Os rótulos devem ter poucos valores
+ * possíveis: nunca códigos curtos, usuários ou URLs.</p>
+ */
+public final class LatencyTimers {
+
+    private static final Duration[] BUCKETS = {
+            Duration.ofNanos(50_000), Duration.ofNanos(100_000), Duration.ofNanos(250_000),
+            Duration.ofNanos(500_000), Duration.ofMillis(1), Duration.ofNanos(2_500_000),
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+            Duration.ofMillis(2_500), Duration.ofSeconds(5), Duration.ofSeconds(10)};
+
+    private LatencyTimers() {
+    }
+
+    /**
+     * Timer de latência com os buckets padrão.
+     *
+     * @param registry  Registro do Micrometer
+     * @param nome      Nome da métrica, sem unidade (ex.: {@code redirect})
+     * @param descricao Texto de ajuda
+     * @param rotulos   Pares nome, valor dos rótulos
+     * @return Timer existente ou criado
+     */
+    public static Timer criar(MeterRegistry registry, String nome, String descricao, String... rotulos) {
+        return Timer.builder(nome)
+                .description(descricao)
+                .tags(rotulos)
+                .serviceLevelObjectives(BUCKETS)
+                .register(registry);
+    }
+}
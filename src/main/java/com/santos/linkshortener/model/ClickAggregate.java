@@ -0,0 +1,28 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidade JPA com a quantidade de cliques e os visitantes únicos de um link em uma hora,
+ * preenchida pela compactação do log de cliques e consolidada por dia em
+ * {@link ClickDailyAggregate}.
+ */
+@Entity
+@Table(name = "click_aggregates")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClickAggregate {
+    @EmbeddedId
+    private ClickAggregateId id;
+
+    /** Cliques registrados na hora */
+    @Column(nullable = false)
+    private Long cliques;
+
+    /** Sketch HyperLogLog serializado dos visitantes da hora (null em agregados antigos) */
+    private byte[] visitantes;
+}
@@ -0,0 +1,26 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Chave de {@link ClickAggregate}: link e hora.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ClickAggregateId implements Serializable {
+    /** ID do link (sem chave estrangeira: agregados de links apagados são mantidos) */
+    private Long linkId;
+
+    /** Início da hora, em UTC */
+    private LocalDateTime hora;
+}
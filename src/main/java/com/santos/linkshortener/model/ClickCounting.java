@@ -0,0 +1,19 @@
+package com.santos.linkshortener.model;
+
+/**
+ * Como os cliques de um link são contados, escolhido na criação junto com o cache do
+ * redirecionamento.
+ */
+public enum ClickCounting {
+    /**
+     * Todo acesso passa pelo servidor e é contado: o redirecionamento é respondido com
+     * {@code Cache-Control: no-store}. Obrigatório para links com limite de cliques.
+     */
+    EXATA,
+
+    /**
+     * O redirecionamento pode ser guardado por navegadores e CDN ({@code cacheSegundos});
+     * só os acessos que chegam ao servidor são contados, então a contagem é um limite inferior.
+     */
+    PARCIAL
+}
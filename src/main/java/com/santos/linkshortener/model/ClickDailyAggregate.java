@@ -0,0 +1,27 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidade JPA com os cliques e visitantes únicos de um link em um dia (UTC), mantida junto
+ * com {@link ClickAggregate} e preservada depois que os agregados por hora expiram.
+ */
+@Entity
+@Table(name = "click_aggregates_daily")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClickDailyAggregate {
+    @EmbeddedId
+    private ClickDailyAggregateId id;
+
+    /** Cliques registrados no dia */
+    @Column(nullable = false)
+    private Long cliques;
+
+    /** Sketch HyperLogLog serializado dos visitantes do dia */
+    private byte[] visitantes;
+}
@@ -0,0 +1,26 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Chave de {@link ClickDailyAggregate}: link e dia.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ClickDailyAggregateId implements Serializable {
+    /** ID do link (sem chave estrangeira: agregados de links apagados são mantidos) */
+    private Long linkId;
+
+    /** Dia, em UTC */
+    private LocalDate dia;
+}
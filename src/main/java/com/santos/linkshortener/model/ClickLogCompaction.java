@@ -0,0 +1,32 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JPA que marca um segmento do log de cliques como já agregado.
+ * É gravada na mesma transação dos agregados, de modo que um segmento compactado
+ * novamente após uma queda não é contado duas vezes.
+ */
+@Entity
+@Table(name = "click_log_compactions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClickLogCompaction {
+    /** Nome do arquivo de segmento (único por instância e sequência) */
+    @Id
+    private String segmento;
+
+    /** Cliques lidos do segmento */
+    @Column(nullable = false)
+    private Long cliques;
+
+    /** Momento da compactação */
+    @Column(nullable = false)
+    private LocalDateTime dataCompactacao;
+}
@@ -0,0 +1,26 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidade JPA que guarda o próximo ID livre de uma faixa de códigos curtos.
+ * Cada instância da aplicação reserva blocos de IDs incrementando {@code proximo}
+ * sob lock de linha, o que garante faixas disjuntas entre instâncias.
+ */
+@Entity
+@Table(name = "code_allocations")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CodeAllocation {
+    /** Nome da faixa de IDs */
+    @Id
+    private String nome;
+
+    /** Primeiro ID ainda não reservado por nenhuma instância */
+    @Column(nullable = false)
+    private Long proximo;
+}
@@ -0,0 +1,31 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JPA de um código curto liberado pela remoção de um link expirado.
+ * Enquanto estiver em quarentena o código responde 410 e não pode ser usado por um novo link,
+ * para que acessos antigos não caiam em outro destino.
+ */
+@Entity
+@Table(name = "code_quarantine", indexes = {
+        @Index(name = "idx_code_quarantine_liberado_em", columnList = "liberado_em")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class CodeQuarantine {
+    /** Código curto do link removido */
+    @Id
+    @Column(name = "url_curta")
+    private String urlCurta;
+
+    /** Momento a partir do qual o código pode ser reutilizado */
+    @Column(name = "liberado_em", nullable = false)
+    private LocalDateTime liberadoEm;
+}
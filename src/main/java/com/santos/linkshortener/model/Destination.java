@@ -0,0 +1,35 @@
+package com.santos.linkshortener.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Entidade JPA de uma URL de destino, compartilhada por todos os links que apontam para ela.
+ * O ID é derivado do conteúdo (64 bits do hash da URL normalizada), de modo que a mesma URL
+ * é gravada uma única vez; as linhas são criadas e resolvidas pelo {@code DestinationStore}.
+ */
+@Entity
+@Table(name = "destinations")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class Destination {
+    /** Hash da URL normalizada (ou o próximo valor livre em caso de colisão) */
+    @Id
+    private Long id;
+
+    /** URL de destino normalizada */
+    @Column(nullable = false, columnDefinition = "text")
+    private String url;
+
+    /**
+     * @param id  Hash da URL normalizada
+     * @param url URL de destino normalizada
+     */
+    public Destination(Long id, String url) {
+        this.id = id;
+        this.url = url;
+    }
+}
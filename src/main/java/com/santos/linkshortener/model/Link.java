@@ -1,54 +1,123 @@
 package com.santos.linkshortener.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
 /**
  * Entidade JPA representando um link encurtado.
- * Armazena a URL original, código curto, estatísticas e relacionamento com usuário.
+ * Armazena o código curto, estatísticas e as referências ao destino e ao usuário.
  */
 @Entity
-@Table(name = "links")
+@Table(name = "links", indexes = {
+        // Paginação por chave de /my-links
+        @Index(name = "idx_links_user_data_criacao_id", columnList = "user_id, data_criacao, id"),
+        // Remoção em lote dos links expirados por data; o índice parcial dos links com limite de
+        // cliques (V6) não pode ser declarado aqui
+        @Index(name = "idx_links_expira_em", columnList = "expira_em")
+})
 @Getter
 @Setter
 @NoArgsConstructor
-public class Link {
-    /** Identificador único do link */
+public class Link implements Persistable<Long> {
+    /**
+     * Identificador único do link. Atribuído na criação a partir dos blocos do alocador
+     * ({@code ShortCodeAllocator}), o mesmo ID que origina o código gerado; por ser atribuído
+     * antes do insert, o Hibernate agrupa os inserts em lotes JDBC (IDENTITY desabilita o batching).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    /** URL original completa a ser redirecionada */
-    @Column(nullable = false)
-    private String urlOriginal;
+    /** Se o link ainda não foi salvo: com o ID atribuído, o save persiste sem consultar antes */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean novo = true;
+
+    /**
+     * ID do destino em {@code destinations}. Gravado diretamente: o destino já existe quando o
+     * link é salvo, e a associação abaixo é somente leitura para que salvar o link não consulte
+     * a tabela de destinos.
+     */
+    @Column(name = "destino_id", nullable = false)
+    private Long destinoId;
+
+    /** URL de destino, compartilhada com os outros links que apontam para ela */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "destino_id", insertable = false, updatable = false)
+    private Destination destino;
 
     /** Código curto único para acesso ao link */
     @Column(nullable = false, unique = true)
     private String urlCurta;
 
     /** Contador de cliques/acessos ao link */
-    private Integer contadorCliques = 0;
+    private Long contadorCliques = 0L;
 
     /** Data e hora de criação do link */
+    @Column(name = "data_criacao")
     private LocalDateTime dataCriacao = LocalDateTime.now();
 
-    /** Usuário proprietário do link */
-    @ManyToOne
+    /** Data e hora a partir da qual o link expira (opcional) */
+    @Column(name = "expira_em")
+    private LocalDateTime expiraEm;
+
+    /** Quantidade de cliques após a qual o link expira (opcional) */
+    @Column(name = "max_cliques")
+    private Long maxCliques;
+
+    /** Status do redirecionamento: 301, 302, 307 ou 308 (null usa 302) */
+    @Column(name = "status_redirecionamento")
+    private Integer statusRedirecionamento;
+
+    /** Segundos que navegadores e CDN podem guardar o redirecionamento (null ou 0 não permite) */
+    @Column(name = "cache_segundos")
+    private Integer cacheSegundos;
+
+    /** Se todos os cliques são contados ou só os que chegam ao servidor (null usa EXATA) */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "contagem_cliques", length = 16)
+    private ClickCounting contagemCliques;
+
+    /** Usuário proprietário do link (carregado sob demanda) */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     /**
-     * Construtor para criação de link com URL original e código curto.
+     * Construtor para criação de link com destino e código curto.
      * 
-     * @param urlOriginal URL completa a ser encurtada
-     * @param urlCurta    Código curto para o link
+     * @param destino  Destino já gravado em {@code destinations}
+     * @param urlCurta Código curto para o link
      */
-    public Link(String urlOriginal, String urlCurta) {
-        this.urlOriginal = urlOriginal;
+    public Link(Destination destino, String urlCurta) {
+        this.destinoId = destino.getId();
+        this.destino = destino;
         this.urlCurta = urlCurta;
     }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarSalvo() {
+        novo = false;
+    }
+
+    /**
+     * URL original completa a ser redirecionada.
+     *
+     * @return URL do destino
+     */
+    public String getUrlOriginal() {
+        return destino.getUrl();
+    }
 }
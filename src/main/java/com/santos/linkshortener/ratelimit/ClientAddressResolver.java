@@ -0,0 +1,216 @@
+package com.santos.linkshortener.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Endereço do cliente por trás de proxies reversos, balanceadores e CDN.
+ *
+ * <p>Os cabeçalhos {@code Forwarded} (RFC 7239) e {@code X-Forwarded-For} só são lidos quando a
+ * conexão vem de um proxy confiável ({@code app.proxies.trusted}, IPs ou redes CIDR); sem isso,
+ * qualquer cliente escolheria o próprio endereço. A lista de saltos é percorrida da direita
+ * para a esquerda, pulando os proxies confiáveis: o primeiro endereço fora da lista foi anotado
+ * por um proxy confiável e é o cliente. Os endereços à esquerda dele vêm do próprio cliente e
+ * são ignorados.</p>
+ */
+@Component
+public class ClientAddressResolver {
+
+    private final List<Rede> confiaveis;
+
+    /**
+     * @param confiaveis IPs ou redes CIDR dos proxies confiáveis, separados por vírgula; vazio
+     *                   usa sempre o endereço da conexão
+     * @throws IllegalArgumentException se algum item não for um IP ou rede válida
+     */
+    public ClientAddressResolver(@Value("${app.proxies.trusted:}") String confiaveis) {
+        List<Rede> redes = new ArrayList<>();
+        for (String item : confiaveis.split(",")) {
+            if (!item.isBlank()) {
+                redes.add(Rede.de(item.trim()));
+            }
+        }
+        this.confiaveis = List.copyOf(redes);
+    }
+
+    /**
+     * @param request Requisição do servlet
+     * @return Endereço do cliente
+     */
+    public String cliente(HttpServletRequest request) {
+        if (confiaveis.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+        return cliente(request.getRemoteAddr(), Collections.list(request.getHeaders("Forwarded")),
+                Collections.list(request.getHeaders("X-Forwarded-For")));
+    }
+
+    /**
+     * @param remoto        Endereço da conexão
+     * @param forwarded     Valores do cabeçalho {@code Forwarded}, na ordem recebida; pode ser null
+     * @param xForwardedFor Valores do cabeçalho {@code X-Forwarded-For}, usados sem {@code Forwarded}; pode ser null
+     * @return Endereço do cliente
+     */
+    public String cliente(String remoto, List<String> forwarded, List<String> xForwardedFor) {
+        if (confiaveis.isEmpty() || !confiavel(remoto)) {
+            return remoto;
+        }
+        List<String> saltos = forwarded != null && !forwarded.isEmpty()
+                ? saltosForwarded(forwarded)
+                : saltosXForwardedFor(xForwardedFor);
+        String atual = remoto;
+        for (int i = saltos.size() - 1; i >= 0; i--) {
+            String salto = saltos.get(i);
+            // Salto sem endereço ("unknown", identificador ofuscado): fica o último proxy conhecido
+            if (salto == null || bytes(salto) == null) {
+                return atual;
+            }
+            if (!confiavel(salto)) {
+                return salto;
+            }
+            atual = salto;
+        }
+        return atual;
+    }
+
+    private boolean confiavel(String endereco) {
+        byte[] bytes = endereco == null ? null : bytes(endereco);
+        if (bytes == null) {
+            return false;
+        }
+        for (Rede rede : confiaveis) {
+            if (rede.contem(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parâmetro {@code for} de cada elemento; null nos elementos sem ele.
+     */
+    private static List<String> saltosForwarded(List<String> valores) {
+        List<String> saltos = new ArrayList<>();
+        for (String valor : valores) {
+            for (String elemento : valor.split(",")) {
+                String endereco = null;
+                for (String parametro : elemento.split(";")) {
+                    int igual = parametro.indexOf('=');
+                    if (igual > 0 && parametro.substring(0, igual).trim().equalsIgnoreCase("for")) {
+                        endereco = normalizar(parametro.substring(igual + 1));
+                    }
+                }
+                saltos.add(endereco);
+            }
+        }
+        return saltos;
+    }
+
+    private static List<String> saltosXForwardedFor(List<String> valores) {
+        List<String> saltos = new ArrayList<>();
+        if (valores != null) {
+            for (String valor : valores) {
+                for (String endereco : valor.split(",")) {
+                    saltos.add(normalizar(endereco));
+                }
+            }
+        }
+        return saltos;
+    }
+
+    /**
+     * Remove aspas, colchetes e porta: {@code "[2001:db8::1]:4711"} e {@code 192.0.2.1:80}
+     * viram o endereço.
+     */
+    static String normalizar(String endereco) {
+        String valor = endereco.trim();
+        if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            valor = valor.substring(1, valor.length() - 1);
+        }
+        if (valor.startsWith("[")) {
+            int fim = valor.indexOf(']');
+            return fim > 0 ? valor.substring(1, fim) : null;
+        }
+        int doisPontos = valor.indexOf(':');
+        if (doisPontos >= 0 && doisPontos == valor.lastIndexOf(':')) {
+            valor = valor.substring(0, doisPontos);
+        }
+        return valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Bytes de um IP literal, sem consulta DNS; null se não for um IP.
+     */
+    static byte[] bytes(String endereco) {
+        long ipv4 = RateLimiter.ipv4(endereco);
+        if (ipv4 >= 0) {
+            return new byte[]{(byte) (ipv4 >>> 24), (byte) (ipv4 >>> 16), (byte) (ipv4 >>> 8), (byte) ipv4};
+        }
+        if (endereco.indexOf(':') < 0) {
+            return null;
+        }
+        for (int i = 0; i < endereco.length(); i++) {
+            char c = endereco.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != ':' && c != '.') {
+                return null;
+            }
+        }
+        try {
+            // Só dígitos hexadecimais, ':' e '.': o texto é analisado como IPv6 literal, sem consulta DNS
+            return InetAddress.getByName(endereco).getAddress();
+        } catch (UnknownHostException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rede CIDR; um IP sem prefixo é uma rede de um único endereço.
+     */
+    private record Rede(byte[] endereco, int bits) {
+
+        static Rede de(String texto) {
+            int barra = texto.indexOf('/');
+            byte[] endereco = bytes(barra < 0 ? texto : texto.substring(0, barra));
+            if (endereco == null) {
+                throw new IllegalArgumentException("Proxy confiável inválido: " + texto);
+            }
+            int bits = endereco.length * 8;
+            if (barra >= 0) {
+                try {
+                    bits = Integer.parseInt(texto.substring(barra + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Proxy confiável inválido: " + texto);
+                }
+                if (bits < 0 || bits > endereco.length * 8) {
+                    throw new IllegalArgumentException("Proxy confiável inválido: " + texto);
+                }
+            }
+            return new Rede(endereco, bits);
+        }
+
+        boolean contem(byte[] outro) {
+            if (outro.length != endereco.length) {
+                return false;
+            }
+            int inteiros = bits / 8;
+            for (int i = 0; i < inteiros; i++) {
+                if (outro[i] != endereco[i]) {
+                    return false;
+                }
+            }
+            int resto = bits % 8;
+            if (resto == 0) {
+                return true;
+            }
+            int mascara = (0xFF << (8 - resto)) & 0xFF;
+            return (outro[inteiros] & mascara) == (endereco[inteiros] & mascara);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.santos.linkshortener.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtro que aplica o {@link RateLimiter} antes da autenticação.
+ * Fica à frente do {@code JwtFilter} para que uma requisição rejeitada não custe a
+ * verificação do token nem, no login, o BCrypt. A resposta 429 é montada sem passar pelo
+ * tratamento de exceções: corpo fixo e {@code Retry-After} em segundos. Atrás de proxies, o
+ * cliente vem do {@link ClientAddressResolver}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] CORPO_LIMITE =
+            "{\"erro\":\"Muitas requisições\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter rateLimiter;
+    private final ClientAddressResolver clientAddressResolver;
+
+    /**
+     * @param rateLimiter           Limite por cliente e por classe de rota
+     * @param clientAddressResolver Endereço do cliente atrás de proxies confiáveis
+     */
+    public RateLimitFilter(RateLimiter rateLimiter, ClientAddressResolver clientAddressResolver) {
+        this.rateLimiter = rateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.habilitado();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass rota = classificar(request.getMethod(), request.getRequestURI());
+        if (rota != null) {
+            String token = null;
+            if (rota == RouteClass.CREATE) {
+                String authHeader = request.getHeader("Authorization");
+                if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                    token = authHeader.substring(7);
+                }
+            }
+            long espera = rateLimiter.verificar(rota, clientAddressResolver.cliente(request), token);
+            if (espera > 0) {
+                rejeitar(response, espera);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Classe de rota pelo método e caminho, sem regex.
+     *
+     * @return Classe de rota ou null se a rota não for limitada
+     */
+    static RouteClass classificar(String metodo, String caminho) {
+        if (metodo.equals("POST")) {
+            if (caminho.equals("/auth/login") || caminho.equals("/auth/register")) {
+                return RouteClass.LOGIN;
+            }
+            if (caminho.equals("/links") || caminho.equals("/links/batch")) {
+                return RouteClass.CREATE;
+            }
+            return null;
+        }
+        if ((metodo.equals("GET") || metodo.equals("HEAD"))
+                && caminho.length() > 1 && caminho.indexOf('/', 1) < 0
+                && !caminho.equals("/my-links") && !caminho.equals("/links")) {
+            return RouteClass.REDIRECT;
+        }
+        return null;
+    }
+
+    private static void rejeitar(HttpServletResponse response, long esperaNanos) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(RateLimiter.segundosAteRepetir(esperaNanos)));
+        response.setContentType("application/json");
+        response.setContentLength(CORPO_LIMITE.length);
+        response.getOutputStream().write(CORPO_LIMITE);
+    }
+}
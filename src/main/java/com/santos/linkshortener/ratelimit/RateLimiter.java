@@ -0,0 +1,176 @@
+package com.santos.linkshortener.ratelimit;
+
+import com.santos.linkshortener.util.HashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições por cliente para as rotas mais visadas por abuso: varredura de
+ * códigos curtos no redirecionamento, criação de links e tentativas de login (cada uma custa
+ * um BCrypt).
+ *
+ * <p>Cada classe de rota tem sua própria {@link TokenBucketTable}, com taxa e rajada
+ * configuráveis. O cliente é identificado pelo prefixo do IP ({@code ipv4-prefix},
+ * {@code ipv6-prefix}) e, quando a requisição traz um token, também pelo token: os dois
+ * buckets precisam ter saldo. O token não é verificado aqui (o limite vem antes do
+ * {@code JwtFilter}); um token forjado só ganha um bucket próprio e continua sujeito ao do IP.</p>
+ */
+@Component
+public class RateLimiter {
+
+    private static final long TIPO_IP = 0x1000_0000_0000_0000L;
+    private static final long TIPO_TOKEN = 0x2000_0000_0000_0000L;
+
+    private final boolean habilitado;
+    private final long mascaraIpv4;
+    private final long mascaraIpv6;
+    private final Map<RouteClass, TokenBucketTable> tabelas = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejeicoes = new EnumMap<>(RouteClass.class);
+
+    /**
+     * @param meterRegistry   Registro das rejeições e substituições por classe de rota
+     * @param habilitado      Se false, todas as requisições são aceitas
+     * @param maxChaves       Buckets por classe de rota (memória fixa: 16 bytes por bucket)
+     * @param prefixoIpv4     Bits do IPv4 que identificam o cliente
+     * @param prefixoIpv6     Bits do IPv6 que identificam o cliente
+     */
+    public RateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean habilitado,
+            @Value("${app.rate-limit.max-keys:65536}") int maxChaves,
+            @Value("${app.rate-limit.ipv4-prefix:32}") int prefixoIpv4,
+            @Value("${app.rate-limit.ipv6-prefix:64}") int prefixoIpv6,
+            @Value("${app.rate-limit.redirect.rate:100}") double taxaRedirect,
+            @Value("${app.rate-limit.redirect.burst:200}") int rajadaRedirect,
+            @Value("${app.rate-limit.create.rate:5}") double taxaCriacao,
+            @Value("${app.rate-limit.create.burst:50}") int rajadaCriacao,
+            @Value("${app.rate-limit.login.rate:0.2}") double taxaLogin,
+            @Value("${app.rate-limit.login.burst:10}") int rajadaLogin) {
+        this.habilitado = habilitado;
+        this.mascaraIpv4 = mascara(prefixoIpv4, 32);
+        this.mascaraIpv6 = mascara(prefixoIpv6, 64);
+        tabelas.put(RouteClass.REDIRECT, new TokenBucketTable(maxChaves, taxaRedirect, rajadaRedirect));
+        tabelas.put(RouteClass.CREATE, new TokenBucketTable(maxChaves, taxaCriacao, rajadaCriacao));
+        tabelas.put(RouteClass.LOGIN, new TokenBucketTable(maxChaves, taxaLogin, rajadaLogin));
+        for (RouteClass rota : RouteClass.values()) {
+            rejeicoes.put(rota, Counter.builder("rate.limit.rejected")
+                    .description("Requisições rejeitadas com 429 pelo limite por cliente")
+                    .tag("route", rota.rotulo())
+                    .register(meterRegistry));
+            FunctionCounter.builder("rate.limit.overflow", tabelas.get(rota), TokenBucketTable::transbordos)
+                    .description("Requisições de clientes sem bucket próprio, limitadas pelo bucket compartilhado do grupo")
+                    .tag("route", rota.rotulo())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return false se o limite estiver desabilitado
+     */
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Consome um token do cliente na classe de rota.
+     *
+     * @param rota  Classe de rota da requisição
+     * @param ip    Endereço do cliente, pode ser null
+     * @param token Token de acesso da requisição (sem o prefixo), pode ser null
+     * @return 0 se aceita, ou o tempo em nanos até o cliente poder repetir
+     */
+    public long verificar(RouteClass rota, String ip, String token) {
+        if (!habilitado) {
+            return 0;
+        }
+        TokenBucketTable tabela = tabelas.get(rota);
+        long agora = System.nanoTime();
+        long espera = tabela.adquirir(chaveIp(ip), agora);
+        if (espera == 0 && token != null && !token.isEmpty()) {
+            espera = tabela.adquirir(TIPO_TOKEN | (HashUtil.hash64(token) >>> 4), agora);
+        }
+        if (espera > 0) {
+            rejeicoes.get(rota).increment();
+        }
+        return espera;
+    }
+
+    /**
+     * Espera em segundos inteiros para o {@code Retry-After}, arredondada para cima (mínimo 1).
+     *
+     * @param esperaNanos Valor devolvido por {@link #verificar}
+     * @return Segundos até o cliente poder repetir
+     */
+    public static long segundosAteRepetir(long esperaNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Prefixo do IP como chave: IPv4 analisado sem alocar; IPv6 literal via {@link InetAddress}
+     * (sem consulta DNS).
+     */
+    private long chaveIp(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return TIPO_IP;
+        }
+        long ipv4 = ipv4(ip);
+        if (ipv4 >= 0) {
+            return TIPO_IP | (ipv4 & mascaraIpv4);
+        }
+        if (ip.indexOf(':') >= 0) {
+            try {
+                byte[] bytes = InetAddress.getByName(ip).getAddress();
+                long alto = 0;
+                for (int i = 0; i < 8 && i < bytes.length; i++) {
+                    alto = (alto << 8) | (bytes[i] & 0xFF);
+                }
+                return TIPO_IP | (HashUtil.misturar(alto & mascaraIpv6) >>> 4);
+            } catch (UnknownHostException e) {
+                // cai no hash do texto
+            }
+        }
+        return TIPO_IP | (HashUtil.hash64(ip) >>> 4);
+    }
+
+    /**
+     * IPv4 em notação decimal nos 32 bits menos significativos, ou -1 se não for IPv4.
+     */
+    static long ipv4(String ip) {
+        long endereco = 0;
+        int octeto = -1;
+        int octetos = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octeto = (octeto < 0 ? 0 : octeto * 10) + (c - '0');
+                if (octeto > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octeto >= 0 && octetos < 3) {
+                endereco = (endereco << 8) | octeto;
+                octeto = -1;
+                octetos++;
+            } else {
+                return -1;
+            }
+        }
+        if (octeto < 0 || octetos != 3) {
+            return -1;
+        }
+        return (endereco << 8) | octeto;
+    }
+
+    private static long mascara(int prefixo, int bits) {
+        int efetivo = Math.max(0, Math.min(bits, prefixo));
+        return efetivo == 0 ? 0 : (-1L >>> (64 - bits)) & (-1L << (bits - efetivo));
+    }
+}
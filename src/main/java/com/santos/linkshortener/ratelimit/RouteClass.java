@@ -0,0 +1,26 @@
+package com.santos.linkshortener.ratelimit;
+
+/**
+ * Classes de rota com limite de requisições próprio.
+ */
+public enum RouteClass {
+    /** {@code GET /{shortUrl}}, no MVC e no servidor dedicado */
+    REDIRECT("redirect"),
+    /** {@code POST /links} e {@code POST /links/batch} */
+    CREATE("create"),
+    /** {@code POST /auth/login} e {@code POST /auth/register} (BCrypt) */
+    LOGIN("login");
+
+    private final String rotulo;
+
+    RouteClass(String rotulo) {
+        this.rotulo = rotulo;
+    }
+
+    /**
+     * @return Nome usado na configuração ({@code app.rate-limit.<rotulo>.*}) e nas métricas
+     */
+    public String rotulo() {
+        return rotulo;
+    }
+}
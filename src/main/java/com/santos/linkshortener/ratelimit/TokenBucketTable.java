@@ -0,0 +1,122 @@
+package com.santos.linkshortener.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabela de token buckets por chave, sem locks e com memória fixa.
+ *
+ * <p>Cada bucket é guardado como o instante teórico da próxima chegada (GCRA, a forma em
+ * tempo virtual do token bucket): um único {@code long} por chave, atualizado por CAS. Uma
+ * requisição é aceita se, somado um intervalo de emissão, o instante não passar de
+ * {@code agora + rajada × intervalo}; o bucket está cheio (ocioso) quando o instante ficou
+ * no passado.</p>
+ *
+ * <p>Chaves e instantes ficam intercalados em um único {@link AtomicLongArray}, dividido em
+ * grupos de {@value #POSICOES_POR_GRUPO} posições; cada chave só é procurada no seu grupo.
+ * Uma chave nova ocupa uma posição vazia ou ociosa do grupo. Com o grupo todo em uso, nenhum
+ * bucket ativo é descartado (o dono voltaria com o limite zerado, e um cliente poderia zerar
+ * o próprio limite ocupando o grupo com outras chaves): a chave nova consome do bucket de
+ * transbordo do grupo, compartilhado por todas as chaves sem posição. Assim a memória não
+ * cresce com o número de clientes, e buckets ociosos são reaproveitados sem varredura. Sob
+ * disputa pela mesma posição a contagem é aproximada.</p>
+ */
+final class TokenBucketTable {
+
+    static final int POSICOES_POR_GRUPO = 8;
+
+    private final AtomicLongArray dados;
+    /** Instante teórico do bucket de transbordo de cada grupo */
+    private final AtomicLongArray transbordo;
+    private final int mascaraGrupos;
+    private final long intervaloNanos;
+    private final long limiteNanos;
+    private final LongAdder transbordos = new LongAdder();
+
+    /**
+     * @param maxChaves  Quantidade de buckets (arredondada para potência de 2)
+     * @param porSegundo Reposição de tokens por segundo
+     * @param rajada     Tokens acumulados no máximo (requisições seguidas permitidas)
+     */
+    TokenBucketTable(int maxChaves, double porSegundo, int rajada) {
+        int desejados = Math.max(1, (maxChaves + POSICOES_POR_GRUPO - 1) / POSICOES_POR_GRUPO);
+        int grupos = Integer.highestOneBit(desejados);
+        if (grupos < desejados) {
+            grupos <<= 1;
+        }
+        this.dados = new AtomicLongArray(grupos * POSICOES_POR_GRUPO * 2);
+        this.transbordo = new AtomicLongArray(grupos);
+        this.mascaraGrupos = grupos - 1;
+        this.intervaloNanos = Math.max(1, (long) (1_000_000_000L / porSegundo));
+        this.limiteNanos = intervaloNanos * Math.max(1, rajada);
+    }
+
+    /**
+     * Consome um token da chave.
+     *
+     * @param chave Chave do cliente (diferente de 0)
+     * @param agora Instante atual em nanos ({@link System#nanoTime()})
+     * @return 0 se aceito, ou o tempo em nanos até haver um token
+     */
+    long adquirir(long chave, long agora) {
+        int grupo = (int) (misturar(chave) & mascaraGrupos);
+        int base = grupo * POSICOES_POR_GRUPO * 2;
+        // Uma nova busca por disputa perdida: a posição pode ter ido para a própria chave
+        for (int tentativa = 0; tentativa < POSICOES_POR_GRUPO; tentativa++) {
+            int livre = -1;
+            for (int i = 0; i < POSICOES_POR_GRUPO; i++) {
+                int posicao = base + 2 * i;
+                long atual = dados.get(posicao);
+                if (atual == chave) {
+                    return consumir(dados, posicao + 1, agora);
+                }
+                if (livre < 0 && (atual == 0 || dados.get(posicao + 1) - agora <= 0)) {
+                    livre = posicao;
+                }
+            }
+            if (livre < 0) {
+                break;
+            }
+            long anterior = dados.get(livre);
+            if (anterior != chave && dados.compareAndSet(livre, anterior, chave)) {
+                dados.set(livre + 1, agora + intervaloNanos);
+                return 0;
+            }
+        }
+        transbordos.increment();
+        return consumir(transbordo, grupo, agora);
+    }
+
+    private long consumir(AtomicLongArray instantes, int posicao, long agora) {
+        while (true) {
+            long instante = instantes.get(posicao);
+            long novo = (instante - agora > 0 ? instante : agora) + intervaloNanos;
+            long excesso = novo - agora - limiteNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (instantes.compareAndSet(posicao, instante, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Requisições de chaves sem posição livre no grupo, limitadas pelo bucket de transbordo
+     */
+    long transbordos() {
+        return transbordos.sum();
+    }
+
+    /**
+     * @return Quantidade de buckets da tabela
+     */
+    int capacidade() {
+        return dados.length() / 2;
+    }
+
+    private static long misturar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,120 @@
+package com.santos.linkshortener.redirect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Purga da CDN os redirecionamentos em cache de um link removido, pela surrogate key
+ * ({@code link-<id>}) enviada em {@link RedirectHeaders}.
+ *
+ * <p>A chamada é uma requisição HTTP para a API de purga da CDN ({@code app.cdn.purge-url},
+ * com {@code {chave}} no lugar da surrogate key), feita em segundo plano: a remoção do link não
+ * espera a CDN. Uma falha é registrada em log e na métrica {@code cdn.purge}; as cópias ficam
+ * até o max-age. Sem URL configurada nada é chamado.</p>
+ */
+@Component
+public class CdnPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(CdnPurger.class);
+
+    private final String urlPurga;
+    private final String metodo;
+    private final String nomeCabecalho;
+    private final String valorCabecalho;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final Counter purgados;
+    private final Counter falhas;
+
+    /**
+     * @param meterRegistry Registro das métricas de purga
+     * @param urlPurga      URL da API de purga com {@code {chave}}; vazio desativa a purga
+     * @param metodo        Método HTTP da requisição de purga
+     * @param cabecalho     Cabeçalho de autenticação no formato {@code Nome: valor}; vazio não envia
+     * @param timeoutMs     Tempo máximo de cada requisição de purga
+     * @throws IllegalArgumentException se o cabeçalho não estiver no formato {@code Nome: valor}
+     */
+    public CdnPurger(
+            MeterRegistry meterRegistry,
+            @Value("${app.cdn.purge-url:}") String urlPurga,
+            @Value("${app.cdn.purge-method:POST}") String metodo,
+            @Value("${app.cdn.purge-header:}") String cabecalho,
+            @Value("${app.cdn.purge-timeout-ms:5000}") long timeoutMs) {
+        this.urlPurga = urlPurga.trim();
+        this.metodo = metodo.trim();
+        if (cabecalho.isBlank()) {
+            this.nomeCabecalho = null;
+            this.valorCabecalho = null;
+        } else {
+            int separador = cabecalho.indexOf(':');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Cabeçalho de purga da CDN inválido, use 'Nome: valor'");
+            }
+            this.nomeCabecalho = cabecalho.substring(0, separador).trim();
+            this.valorCabecalho = cabecalho.substring(separador + 1).trim();
+        }
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        Counter.Builder purgas = Counter.builder("cdn.purge")
+                .description("Purgas da CDN pedidas na remoção de links com cache");
+        this.purgados = purgas.tag("result", "ok").register(meterRegistry);
+        this.falhas = purgas.tag("result", "error").register(meterRegistry);
+    }
+
+    /**
+     * @return true se há URL de purga configurada
+     */
+    public boolean habilitado() {
+        return !urlPurga.isEmpty();
+    }
+
+    /**
+     * Pede à CDN que descarte as respostas marcadas com a surrogate key.
+     *
+     * @param chaveCdn Surrogate key do link, ou null se o link não tinha cache
+     * @return Concluído quando a CDN responder ou a requisição falhar; nunca com exceção
+     */
+    public CompletableFuture<Void> purgar(String chaveCdn) {
+        if (chaveCdn == null || !habilitado()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest.Builder requisicao;
+        try {
+            URI uri = URI.create(urlPurga.replace("{chave}", URLEncoder.encode(chaveCdn, StandardCharsets.UTF_8)));
+            requisicao = HttpRequest.newBuilder(uri)
+                    .timeout(timeout)
+                    .method(metodo, HttpRequest.BodyPublishers.noBody());
+            if (nomeCabecalho != null) {
+                requisicao.header(nomeCabecalho, valorCabecalho);
+            }
+        } catch (IllegalArgumentException e) {
+            falhas.increment();
+            logger.warn("Purga da CDN de {} não enviada: {}", chaveCdn, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return httpClient.sendAsync(requisicao.build(), HttpResponse.BodyHandlers.discarding())
+                .handle((resposta, erro) -> {
+                    if (erro == null && resposta.statusCode() / 100 == 2) {
+                        purgados.increment();
+                    } else {
+                        falhas.increment();
+                        logger.warn("Falha ao purgar {} da CDN: {}", chaveCdn,
+                                erro != null ? erro.getMessage() : "status " + resposta.statusCode());
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,46 @@
+package com.santos.linkshortener.redirect;
+
+import com.santos.linkshortener.cache.CachedLink;
+import com.santos.linkshortener.cache.RedirectPolicy;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Cabeçalhos da resposta de redirecionamento, comuns ao controller e ao {@link RedirectServer}.
+ *
+ * <p>Links com contagem exata recebem {@code Cache-Control: private, no-store}: todo acesso
+ * volta ao servidor e é contado. Links com cache recebem {@code public, max-age}, ETag e
+ * {@code Surrogate-Key: link-<id>}, purgada da CDN pelo {@link CdnPurger} ao remover o link; um
+ * {@code If-None-Match} com o ETag atual é respondido com 304.</p>
+ */
+public final class RedirectHeaders {
+
+    public static final int NAO_MODIFICADO = 304;
+
+    private RedirectHeaders() {
+    }
+
+    /**
+     * Define os cabeçalhos do redirecionamento.
+     *
+     * @param link        Link resolvido
+     * @param ifNoneMatch Cabeçalho If-None-Match da requisição, pode ser null
+     * @param agoraMs     Instante atual, para limitar o max-age à expiração do link
+     * @param cabecalho   Recebe nome e valor de cada cabeçalho
+     * @return Status da resposta: o do link ou 304
+     */
+    public static int aplicar(CachedLink link, String ifNoneMatch, long agoraMs, BiConsumer<String, String> cabecalho) {
+        RedirectPolicy politica = link.politica();
+        String cacheControl = link.cacheControl(agoraMs);
+        cabecalho.accept("Cache-Control", cacheControl);
+        if (politica.armazenavel() && !RedirectPolicy.SEM_CACHE.equals(cacheControl)) {
+            cabecalho.accept("ETag", politica.etag());
+            cabecalho.accept("Surrogate-Key", politica.chaveCdn());
+            if (politica.naoModificado(ifNoneMatch)) {
+                return NAO_MODIFICADO;
+            }
+        }
+        cabecalho.accept("Location", link.urlOriginal());
+        return politica.status();
+    }
+}
@@ -0,0 +1,38 @@
+package com.santos.linkshortener.redirect;
+
+import com.santos.linkshortener.cache.RedirectCache;
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.click.ClickAccumulator;
+import com.santos.linkshortener.click.ClickRecorder;
+import com.santos.linkshortener.controller.LinkController;
+import com.santos.linkshortener.service.LinkService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mantém o caminho do redirecionamento fora da inicialização preguiçosa
+ * ({@code spring.main.lazy-initialization}, ligada no perfil {@code prod}).
+ * Os demais beans são criados no primeiro uso; o primeiro redirecionamento não paga a
+ * criação do serviço, do cache, do filtro nem do servidor dedicado.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RedirectInitializationConfig {
+
+    /**
+     * Declarado estático para ser aplicado antes da criação dos demais beans.
+     *
+     * @return Filtro com os tipos criados na subida
+     */
+    @Bean
+    static LazyInitializationExcludeFilter redirecionamentoNaSubida() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                RedirectServer.class,
+                LinkController.class,
+                LinkService.class,
+                RedirectCache.class,
+                ShortCodeFilter.class,
+                ClickAccumulator.class,
+                ClickRecorder.class);
+    }
+}
@@ -0,0 +1,195 @@
+package com.santos.linkshortener.redirect;
+
+import com.santos.linkshortener.cache.CachedLink;
+import com.santos.linkshortener.exception.LinkExpiradoException;
+import com.santos.linkshortener.exception.LinkNaoEncontradoException;
+import com.santos.linkshortener.ratelimit.ClientAddressResolver;
+import com.santos.linkshortener.ratelimit.RateLimiter;
+import com.santos.linkshortener.ratelimit.RouteClass;
+import com.santos.linkshortener.service.LinkService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP dedicado ao redirecionamento, em porta própria.
+ * Usa o servidor embutido do JDK ({@code com.sun.net.httpserver}), que aceita conexões com
+ * um único seletor NIO e entrega cada requisição a uma thread virtual. Não passa pelo
+ * DispatcherServlet, pela cadeia do Spring Security nem por CORS: atende apenas
+ * {@code GET|HEAD /{código}} e resolve o código com {@link LinkService#resolver(String, String, String, String)},
+ * compartilhando filtro, cache e contagem de cliques com a aplicação principal.
+ * A aplicação MVC continua atendendo todos os endpoints, inclusive o redirecionamento.
+ */
+@Component
+public class RedirectServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedirectServer.class);
+
+    /** Mesmo limite prático dos códigos personalizados; evita resolver caminhos arbitrários */
+    private static final int TAMANHO_MAXIMO_CODIGO = 64;
+
+    private static final byte[] CORPO_NAO_ENCONTRADO =
+            "{\"erro\":\"Link não encontrado\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CORPO_EXPIRADO =
+            "{\"erro\":\"Link expirado\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CORPO_LIMITE =
+            "{\"erro\":\"Muitas requisições\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final LinkService linkService;
+    private final RateLimiter rateLimiter;
+    private final ClientAddressResolver clientAddressResolver;
+    private final boolean habilitado;
+    private final int porta;
+    private final int backlog;
+    private HttpServer servidor;
+    private ExecutorService executor;
+
+    /**
+     * @param linkService Resolução dos códigos curtos
+     * @param rateLimiter Limite por cliente, o mesmo da aplicação principal
+     * @param clientAddressResolver Endereço do cliente atrás de proxies confiáveis
+     * @param habilitado  Se false, o servidor não é iniciado
+     * @param porta       Porta do servidor de redirecionamento
+     * @param backlog     Conexões pendentes aceitas pelo socket (0 usa o padrão do sistema)
+     */
+    public RedirectServer(
+            LinkService linkService,
+            RateLimiter rateLimiter,
+            ClientAddressResolver clientAddressResolver,
+            @Value("${app.redirect-server.enabled:false}") boolean habilitado,
+            @Value("${app.redirect-server.port:8081}") int porta,
+            @Value("${app.redirect-server.backlog:0}") int backlog) {
+        this.linkService = linkService;
+        this.rateLimiter = rateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
+        this.habilitado = habilitado;
+        this.porta = porta;
+        this.backlog = backlog;
+    }
+
+    /**
+     * Abre a porta de redirecionamento quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            servidor = HttpServer.create(new InetSocketAddress(porta), backlog);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir a porta de redirecionamento " + porta, e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(executor);
+        servidor.createContext("/", this::atender);
+        servidor.start();
+        logger.info("Servidor de redirecionamento ouvindo na porta {}", porta);
+    }
+
+    private void atender(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String metodo = exchange.getRequestMethod();
+            boolean head = metodo.equals("HEAD");
+            if (!head && !metodo.equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String codigo = codigo(exchange.getRequestURI().getRawPath());
+            if (codigo == null) {
+                naoEncontrado(exchange, head);
+                return;
+            }
+
+            String ip = clientAddressResolver.cliente(exchange.getRemoteAddress().getAddress().getHostAddress(),
+                    exchange.getRequestHeaders().get("Forwarded"), exchange.getRequestHeaders().get("X-Forwarded-For"));
+            long espera = rateLimiter.verificar(RouteClass.REDIRECT, ip, null);
+            if (espera > 0) {
+                exchange.getResponseHeaders().set("Retry-After", Long.toString(RateLimiter.segundosAteRepetir(espera)));
+                responderErro(exchange, head, 429, CORPO_LIMITE);
+                return;
+            }
+
+            CachedLink link;
+            try {
+                link = linkService.resolver(codigo, exchange.getRequestHeaders().getFirst("Referer"),
+                        exchange.getRequestHeaders().getFirst("User-Agent"), ip);
+            } catch (LinkNaoEncontradoException e) {
+                naoEncontrado(exchange, head);
+                return;
+            } catch (LinkExpiradoException e) {
+                responderErro(exchange, head, 410, CORPO_EXPIRADO);
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Falha ao resolver o código {}", codigo, e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            int status = RedirectHeaders.aplicar(link, exchange.getRequestHeaders().getFirst("If-None-Match"),
+                    System.currentTimeMillis(), exchange.getResponseHeaders()::set);
+            exchange.sendResponseHeaders(status, -1);
+        }
+    }
+
+    /**
+     * Extrai o código de um caminho {@code /{código}}, validando os caracteres sem regex.
+     *
+     * @return Código ou null se o caminho não for de redirecionamento
+     */
+    private static String codigo(String caminho) {
+        int tamanho = caminho.length() - 1;
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_CODIGO || caminho.charAt(0) != '/') {
+            return null;
+        }
+        for (int i = 1; i <= tamanho; i++) {
+            char c = caminho.charAt(i);
+            boolean valido = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '_' || c == '-';
+            if (!valido) {
+                return null;
+            }
+        }
+        return caminho.substring(1);
+    }
+
+    private static void naoEncontrado(HttpExchange exchange, boolean head) throws IOException {
+        responderErro(exchange, head, 404, CORPO_NAO_ENCONTRADO);
+    }
+
+    private static void responderErro(HttpExchange exchange, boolean head, int status, byte[] corpoJson)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (head) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, corpoJson.length);
+        try (OutputStream corpo = exchange.getResponseBody()) {
+            corpo.write(corpoJson);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (servidor != null) {
+            servidor.stop(1);
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.santos.linkshortener.repository;
+
+import com.santos.linkshortener.model.ClickAggregate;
+import com.santos.linkshortener.model.ClickAggregateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório JPA dos agregados de cliques por link e hora.
+ */
+public interface ClickAggregateRepository extends JpaRepository<ClickAggregate, ClickAggregateId> {
+    /**
+     * Busca os agregados de um link em um intervalo de horas.
+     *
+     * @param linkId ID do link
+     * @param de     Início da primeira hora (inclusive)
+     * @param ate    Início da última hora (inclusive)
+     * @return Agregados existentes, em ordem cronológica
+     */
+    List<ClickAggregate> findByIdLinkIdAndIdHoraBetweenOrderByIdHora(Long linkId, LocalDateTime de, LocalDateTime ate);
+}
@@ -0,0 +1,23 @@
+package com.santos.linkshortener.repository;
+
+import com.santos.linkshortener.model.ClickDailyAggregate;
+import com.santos.linkshortener.model.ClickDailyAggregateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositório JPA dos agregados de cliques por link e dia.
+ */
+public interface ClickDailyAggregateRepository extends JpaRepository<ClickDailyAggregate, ClickDailyAggregateId> {
+    /**
+     * Busca os agregados de um link em um intervalo de dias.
+     *
+     * @param linkId ID do link
+     * @param de     Primeiro dia (inclusive)
+     * @param ate    Último dia (inclusive)
+     * @return Agregados existentes, em ordem cronológica
+     */
+    List<ClickDailyAggregate> findByIdLinkIdAndIdDiaBetweenOrderByIdDia(Long linkId, LocalDate de, LocalDate ate);
+}
@@ -0,0 +1,10 @@
+package com.santos.linkshortener.repository;
+
+import com.santos.linkshortener.model.CodeQuarantine;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositório JPA dos códigos curtos em quarentena após a remoção de links expirados.
+ */
+public interface CodeQuarantineRepository extends JpaRepository<CodeQuarantine, String> {
+}
@@ -1,36 +1,95 @@
 package com.santos.linkshortener.repository;
 
+import com.santos.linkshortener.dto.LinkResumo;
 import com.santos.linkshortener.model.Link;
-import com.santos.linkshortener.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Repositório JPA para gerenciamento de links encurtados.
  * Fornece operações de CRUD e consultas personalizadas.
+ * As consultas marcadas como somente leitura podem ser atendidas por uma réplica
+ * ({@code app.datasource.replicas.urls}).
  */
 public interface LinkRepository extends JpaRepository<Link, Long> {
     /**
-     * Busca um link pelo código curto.
+     * Busca um link pelo código curto, com o destino na mesma consulta.
      * 
      * @param urlCurta Código curto do link
      * @return Link encontrado ou null
      */
-    Link findByUrlCurta(String urlCurta);
+    @Transactional(readOnly = true)
+    @Query("select l from Link l join fetch l.destino where l.urlCurta = :urlCurta")
+    Link findByUrlCurta(@Param("urlCurta") String urlCurta);
+
+    /**
+     * Busca um link pela chave primária, com o destino na mesma consulta. Usado com o ID
+     * decodificado de um código gerado.
+     *
+     * @param id ID do link
+     * @return Link encontrado ou null
+     */
+    @Transactional(readOnly = true)
+    @Query("select l from Link l join fetch l.destino where l.id = :id")
+    Link findComDestino(@Param("id") Long id);
     
     /**
-     * Busca todos os links de um usuário específico.
+     * Busca a primeira página dos links de um usuário, do mais recente para o mais antigo.
+     * Retorna apenas as colunas da projeção, usando o índice (user_id, data_criacao, id).
+     * 
+     * @param userId ID do usuário proprietário dos links
+     * @param limite Tamanho da página
+     * @return Links da página
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.santos.linkshortener.dto.LinkResumo(l.id, l.destino.url, l.urlCurta, l.contadorCliques, l.dataCriacao, "
+            + "l.expiraEm, l.maxCliques, l.statusRedirecionamento, l.cacheSegundos, l.contagemCliques) "
+            + "from Link l where l.user.id = :userId "
+            + "order by l.dataCriacao desc, l.id desc")
+    List<LinkResumo> findPrimeiraPagina(@Param("userId") Long userId, Limit limite);
+
+    /**
+     * Busca a página seguinte à posição informada (paginação por chave, sem OFFSET).
      * 
-     * @param user Usuário proprietário dos links
-     * @return Lista de links do usuário
+     * @param userId      ID do usuário proprietário dos links
+     * @param dataCriacao Data de criação do último item da página anterior
+     * @param id          ID do último item da página anterior
+     * @param limite      Tamanho da página
+     * @return Links da página
      */
-    List<Link> findByUser(User user);
+    @Transactional(readOnly = true)
+    @Query("select new com.santos.linkshortener.dto.LinkResumo(l.id, l.destino.url, l.urlCurta, l.contadorCliques, l.dataCriacao, "
+            + "l.expiraEm, l.maxCliques, l.statusRedirecionamento, l.cacheSegundos, l.contagemCliques) "
+            + "from Link l where l.user.id = :userId "
+            + "and (l.dataCriacao < :dataCriacao or (l.dataCriacao = :dataCriacao and l.id < :id)) "
+            + "order by l.dataCriacao desc, l.id desc")
+    List<LinkResumo> findPaginaApos(
+            @Param("userId") Long userId,
+            @Param("dataCriacao") LocalDateTime dataCriacao,
+            @Param("id") Long id,
+            Limit limite);
     /**
      * Verifica se um código curto já está em uso.
      * 
      * @param urlCurta Código curto a ser verificado
      * @return true se o código curto existe, false caso contrário
      */
+    @Transactional(readOnly = true)
     boolean existsByUrlCurta(String urlCurta);
+
+    /**
+     * Verifica se o link existe e pertence ao usuário.
+     * 
+     * @param id     ID do link
+     * @param userId ID do usuário
+     * @return true se o link for do usuário
+     */
+    @Transactional(readOnly = true)
+    boolean existsByIdAndUserId(Long id, Long userId);
 }
@@ -2,6 +2,10 @@ package com.santos.linkshortener.repository;
 
 import com.santos.linkshortener.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,5 +21,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional contendo o usuário se encontrado
      */
     Optional<User> findByUsername(String username);
-}
 
+    /**
+     * Troca o hash da senha somente se ainda for o lido, sem sobrescrever uma alteração concorrente.
+     * 
+     * @param id     ID do usuário
+     * @param antigo Hash lido no login
+     * @param novo   Hash refeito com o custo atual
+     * @return 1 se o hash foi trocado, 0 caso contrário
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :novo where u.id = :id and u.password = :antigo")
+    int trocarSenha(@Param("id") Long id, @Param("antigo") String antigo, @Param("novo") String novo);
+}
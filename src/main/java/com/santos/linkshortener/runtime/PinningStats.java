@@ -0,0 +1,25 @@
+package com.santos.linkshortener.runtime;
+
+import java.util.Map;
+
+/**
+ * Ocorrências de pinning de threads virtuais registradas pelo monitor.
+ *
+ * @param ativo    Se o monitor está gravando
+ * @param limiarMs Duração mínima registrada
+ * @param eventos  Total de ocorrências
+ * @param porLocal Ocorrências agrupadas pelo frame da aplicação
+ */
+public record PinningStats(
+        boolean ativo,
+        long limiarMs,
+        long eventos,
+        Map<String, Local> porLocal) {
+
+    /**
+     * @param ocorrencias   Quantidade de ocorrências no local
+     * @param duracaoTotalMs Tempo total preso no local
+     */
+    public record Local(long ocorrencias, long duracaoTotalMs) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.santos.linkshortener.runtime;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta threads virtuais presas à thread de plataforma (pinning), por exemplo ao bloquear
+ * dentro de um bloco {@code synchronized}. Consome o evento JFR {@code jdk.VirtualThreadPinned}
+ * em streaming e agrupa as ocorrências pelo primeiro frame do código da aplicação na pilha
+ * (ou pelo primeiro frame fora do JDK, se a pilha não passar pela aplicação). Cada local é registrado
+ * em log com a pilha na primeira ocorrência; as seguintes apenas incrementam o contador.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final String PACOTE_APLICACAO = "com.santos.linkshortener.";
+    private static final int FRAMES_NO_LOG = 12;
+
+    private final boolean habilitado;
+    private final Duration limiar;
+    private final Map<String, Local> locais = new ConcurrentHashMap<>();
+    private final LongAdder eventos = new LongAdder();
+    private volatile RecordingStream stream;
+
+    /**
+     * @param threadsVirtuais Se as requisições rodam em threads virtuais
+     * @param habilitado      Se false, o monitor não é iniciado mesmo com threads virtuais
+     * @param limiarMs        Duração mínima do pinning para ser registrado
+     */
+    public VirtualThreadPinningMonitor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais,
+            @Value("${app.threads.pinning-monitor.enabled:true}") boolean habilitado,
+            @Value("${app.threads.pinning-monitor.threshold-ms:20}") long limiarMs) {
+        this.habilitado = threadsVirtuais && habilitado;
+        this.limiar = Duration.ofMillis(limiarMs);
+    }
+
+    /**
+     * Inicia a gravação JFR quando a aplicação fica pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            var gravacao = new RecordingStream();
+            gravacao.enable(EVENTO).withThreshold(limiar).withStackTrace();
+            gravacao.onEvent(EVENTO, this::registrar);
+            gravacao.startAsync();
+            stream = gravacao;
+            logger.info("Monitor de pinning de threads virtuais iniciado (limiar {} ms)", limiar.toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("JFR indisponível, pinning de threads virtuais não será monitorado: {}", e.getMessage());
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        eventos.increment();
+        List<RecordedFrame> frames = evento.getStackTrace() != null ? evento.getStackTrace().getFrames() : List.of();
+        String chave = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(PACOTE_APLICACAO))
+                .findFirst()
+                .or(() -> frames.stream().filter(frame -> !doJdk(frame)).findFirst())
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::descrever)
+                .orElse("desconhecido");
+
+        Local local = locais.computeIfAbsent(chave, k -> new Local());
+        local.ocorrencias.increment();
+        local.duracaoTotalNanos.add(evento.getDuration().toNanos());
+        if (local.ocorrencias.sum() == 1) {
+            logger.warn("Thread virtual presa por {} ms em {}:\n\t{}", evento.getDuration().toMillis(), chave,
+                    frames.stream().limit(FRAMES_NO_LOG).map(VirtualThreadPinningMonitor::descrever)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private static boolean doJdk(RecordedFrame frame) {
+        String classe = frame.getMethod().getType().getName();
+        return classe.startsWith("java.") || classe.startsWith("jdk.") || classe.startsWith("sun.");
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * Retorna os locais onde houve pinning, com quantidade e duração acumulada.
+     *
+     * @return Estatísticas do monitor
+     */
+    public PinningStats stats() {
+        Map<String, PinningStats.Local> porLocal = locais.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entrada -> new PinningStats.Local(
+                        entrada.getValue().ocorrencias.sum(),
+                        entrada.getValue().duracaoTotalNanos.sum() / 1_000_000)));
+        return new PinningStats(stream != null, limiar.toMillis(), eventos.sum(), porLocal);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private static final class Local {
+        private final LongAdder ocorrencias = new LongAdder();
+        private final LongAdder duracaoTotalNanos = new LongAdder();
+    }
+}
@@ -0,0 +1,18 @@
+package com.santos.linkshortener.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Principal do usuário autenticado, criado a partir das claims do token JWT já verificado.
+ * Disponível nos controllers via {@code @AuthenticationPrincipal}, sem reprocessar o token
+ * e sem consultar a tabela de usuários.
+ *
+ * @param id       ID do usuário (claim {@code uid})
+ * @param username Nome do usuário (claim {@code sub})
+ * @param claims   Claims verificadas do token
+ */
+public record AuthenticatedUser(
+        Long id,
+        String username,
+        Claims claims) {
+}
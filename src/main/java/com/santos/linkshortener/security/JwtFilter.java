@@ -1,5 +1,7 @@
 package com.santos.linkshortener.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -7,11 +9,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.santos.linkshortener.repository.UserRepository;
+import com.santos.linkshortener.metrics.LatencyTimers;
 import com.santos.linkshortener.util.JwtUtil;
 
 import java.io.IOException;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filtro de segurança para validação de tokens JWT em requisições.
@@ -21,22 +23,28 @@ import java.util.Optional;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final Timer verificacaoValida;
+    private final Timer verificacaoInvalida;
 
     /**
      * Construtor com injeção de dependências.
      * 
      * @param jwtUtil          Utilitário para operações com JWT
-     * @param userRepository   Repositório para buscar usuários
+     * @param meterRegistry    Registro do tempo de verificação dos tokens
      */
-    public JwtFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.verificacaoValida = LatencyTimers.criar(meterRegistry, "jwt.verify",
+                "Verificação do token JWT no filtro", "result", "valid");
+        this.verificacaoInvalida = LatencyTimers.criar(meterRegistry, "jwt.verify",
+                "Verificação do token JWT no filtro", "result", "invalid");
     }
 
     /**
      * Processa cada requisição HTTP para validar e autenticar via JWT.
-     * Extrai o token do header Authorization, valida e configura o contexto de segurança.
+     * Extrai o token do header Authorization, verifica uma única vez e configura o contexto
+     * de segurança com um {@link AuthenticatedUser} montado a partir das claims verificadas.
+     * Nenhuma consulta à tabela de usuários é feita; tokens sem a claim de ID não autenticam.
      * 
      * @param request     Requisição HTTP
      * @param response    Resposta HTTP
@@ -52,15 +60,16 @@ public class JwtFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                Optional<String> username = jwtUtil.extractUsername(token);
-                if (username.isPresent()) {
-                    var user = userRepository.findByUsername(username.get());
-                    if (user != null) {
-                        var authentication = new UsernamePasswordAuthenticationToken(
-                                username.get(), null, null);
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
+            long inicio = System.nanoTime();
+            var claims = jwtUtil.verificar(token);
+            (claims.isPresent() ? verificacaoValida : verificacaoInvalida)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            if (claims.isPresent() && claims.get().getSubject() != null) {
+                var userId = jwtUtil.extractUserId(claims.get());
+                if (userId.isPresent()) {
+                    var principal = new AuthenticatedUser(userId.get(), claims.get().getSubject(), claims.get());
+                    var authentication = new UsernamePasswordAuthenticationToken(principal, null, null);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
         }
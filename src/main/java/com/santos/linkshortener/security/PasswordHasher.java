@@ -0,0 +1,169 @@
+package com.santos.linkshortener.security;
+
+import com.santos.linkshortener.exception.ServicoSobrecarregadoException;
+import com.santos.linkshortener.metrics.LatencyTimers;
+import com.santos.linkshortener.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o BCrypt do login e do registro em um pool próprio, do tamanho da quantidade de
+ * processadores, com fila limitada.
+ *
+ * <p>A thread da requisição aguarda o resultado, mas só até {@code queue-size} requisições
+ * esperam por vez: com a fila cheia a operação é recusada na hora com
+ * {@link ServicoSobrecarregadoException} (503 e {@code Retry-After} estimado pela fila e pelo
+ * tempo médio de um hash). Assim uma rajada de logins não ocupa todas as threads do servidor
+ * com BCrypt e os redirecionamentos continuam sendo atendidos.</p>
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int custo;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+    /** Média móvel do tempo de um hash, usada na estimativa do Retry-After */
+    private volatile long mediaNanos;
+
+    private final Timer verificacao;
+    private final Timer geracao;
+    private final Timer espera;
+    private final Counter recusadas;
+
+    /**
+     * @param passwordEncoder Encoder BCrypt com o custo configurado
+     * @param meterRegistry   Registro do tempo de hash, da espera na fila e das recusas
+     * @param custo           Custo (log2 das rodadas) configurado para o BCrypt
+     * @param threads         Threads do pool; 0 usa a quantidade de processadores
+     * @param tamanhoFila     Operações aguardando uma thread; acima disso são recusadas
+     */
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.bcrypt.strength:10}") int custo,
+            @Value("${app.auth.hash.threads:0}") int threads,
+            @Value("${app.auth.hash.queue-size:64}") int tamanhoFila) {
+        this.passwordEncoder = passwordEncoder;
+        this.custo = custo;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, tamanhoFila)), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.mediaNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        this.verificacao = LatencyTimers.criar(meterRegistry, "auth.bcrypt", "Tempo do BCrypt", "operation", "verify");
+        this.geracao = LatencyTimers.criar(meterRegistry, "auth.bcrypt", "Tempo do BCrypt", "operation", "hash");
+        this.espera = LatencyTimers.criar(meterRegistry, "auth.hash.queue.wait",
+                "Espera na fila do pool de BCrypt antes da execução");
+        this.recusadas = Counter.builder("auth.hash.rejected")
+                .description("Operações de BCrypt recusadas com a fila cheia (503)")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.queue.depth", () -> executor.getQueue().size())
+                .description("Operações de BCrypt aguardando uma thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.active.threads", executor::getActiveCount)
+                .description("Threads do pool de BCrypt em execução")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica a senha contra o hash gravado.
+     *
+     * @param senha Senha informada
+     * @param hash  Hash BCrypt gravado
+     * @return true se a senha confere
+     * @throws ServicoSobrecarregadoException Se a fila estiver cheia
+     */
+    public boolean verificar(String senha, String hash) {
+        return executar(() -> passwordEncoder.matches(senha, hash), verificacao);
+    }
+
+    /**
+     * Gera o hash BCrypt da senha com o custo configurado.
+     *
+     * @param senha Senha em texto
+     * @return Hash BCrypt
+     * @throws ServicoSobrecarregadoException Se a fila estiver cheia
+     */
+    public String gerar(String senha) {
+        return executar(() -> passwordEncoder.encode(senha), geracao);
+    }
+
+    /**
+     * Indica se o hash foi gerado com um custo diferente do configurado (maior ou menor) e deve
+     * ser refeito no próximo login bem-sucedido.
+     *
+     * @param hash Hash BCrypt gravado ({@code $2a$10$...})
+     * @return true se o custo do hash não for o configurado
+     */
+    public boolean precisaRefazer(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hash, 4, 6, 10) != custo;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T executar(Callable<T> operacao, Timer tempo) {
+        long enfileirado = System.nanoTime();
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> {
+                long inicio = System.nanoTime();
+                espera.record(inicio - enfileirado, TimeUnit.NANOSECONDS);
+                try {
+                    return operacao.call();
+                } finally {
+                    long duracao = System.nanoTime() - inicio;
+                    tempo.record(duracao, TimeUnit.NANOSECONDS);
+                    // Corrida entre threads só atrasa a média; não precisa ser exata
+                    mediaNanos += (duracao - mediaNanos) / 8;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            long esperaEstimada = (executor.getQueue().size() + threads) * mediaNanos / threads;
+            throw new ServicoSobrecarregadoException("Serviço de autenticação sobrecarregado",
+                    RateLimiter.segundosAteRepetir(esperaEstimada));
+        }
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o BCrypt", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -1,13 +1,22 @@
 package com.santos.linkshortener.security;
 
+import com.santos.linkshortener.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * Configuração de segurança do Spring Security.
@@ -17,19 +26,38 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final int portaGerenciamento;
 
     /**
-     * Construtor com injeção do filtro JWT.
+     * Construtor com injeção dos filtros.
      * 
-     * @param jwtFilter Filtro para validação de tokens JWT
+     * @param jwtFilter          Filtro para validação de tokens JWT
+     * @param rateLimitFilter    Filtro de limite por cliente, executado antes do JWT
+     * @param portaGerenciamento Porta do actuator; -1 ou igual à porta da aplicação deixa o
+     *                           actuator atrás da autenticação
+     * @param portaServidor      Porta pública da aplicação
      */
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, RateLimitFilter rateLimitFilter,
+                          @Value("${management.server.port:-1}") int portaGerenciamento,
+                          @Value("${server.port:8080}") int portaServidor) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.portaGerenciamento = portaGerenciamento != portaServidor ? portaGerenciamento : -1;
     }
 
+    /** Mesmos caracteres aceitos nos códigos personalizados */
+    private static final String CODIGO = "/{codigo:[a-zA-Z0-9_-]+}";
+
+    private static final byte[] CORPO_NAO_AUTENTICADO =
+            "{\"erro\":\"Autenticação necessária\"}".getBytes(StandardCharsets.UTF_8);
+
     /**
      * Configura a cadeia de filtros de segurança.
      * Define endpoints públicos e autenticados, desabilita CSRF e sessões.
+     * As regras são avaliadas em ordem: as rotas autenticadas de um segmento ({@code /links},
+     * {@code /my-links}) vêm antes do redirecionamento público, restrito a GET e HEAD.
+     * O actuator só é público na porta de gerenciamento, que não deve ser publicada.
      * 
      * @param http Configurador de segurança HTTP
      * @return SecurityFilterChain configurada
@@ -41,24 +69,52 @@ public class SecurityConfig {
             .cors(cors -> cors.configure(http))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers(naPortaDeGerenciamento()).permitAll() // Actuator (coleta de métricas)
                 .requestMatchers("/auth/**").permitAll() // Autenticação pública
-                .requestMatchers("/{shortUrl}").permitAll() // Redirecionamento público
-                .requestMatchers("/links", "/my-links").authenticated() // CRUD de links requer autenticação
+                .requestMatchers("/links", "/links/**", "/my-links").authenticated() // CRUD de links requer autenticação
+                .requestMatchers(HttpMethod.GET, CODIGO).permitAll() // Redirecionamento público
+                .requestMatchers(HttpMethod.HEAD, CODIGO).permitAll()
                 .anyRequest().authenticated()
             )
+            .exceptionHandling(excecoes -> excecoes.authenticationEntryPoint(naoAutenticado()))
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Requisições recebidas na porta do actuator ({@code management.server.port}), que usa
+     * esta mesma cadeia de filtros.
+     */
+    private RequestMatcher naPortaDeGerenciamento() {
+        return request -> request.getLocalPort() == portaGerenciamento;
+    }
+
+    /**
+     * Responde 401 com o corpo de erro padrão às requisições sem token válido
+     * (sem o entry point, o Spring Security responderia 403).
+     */
+    private static AuthenticationEntryPoint naoAutenticado() {
+        return (request, response, excecao) -> {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader("WWW-Authenticate", "Bearer");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(CORPO_NAO_AUTENTICADO.length);
+            response.getOutputStream().write(CORPO_NAO_AUTENTICADO);
+        };
+    }
+
     /**
      * Bean para encoder de senhas usando BCrypt.
+     * Os hashes com outro custo são refeitos no login ({@link PasswordHasher#precisaRefazer}).
      * 
+     * @param custo Custo (log2 das rodadas) do BCrypt
      * @return Encoder BCrypt para criptografia de senhas
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt.strength:10}") int custo) {
+        return new BCryptPasswordEncoder(custo);
     }
 }
@@ -3,20 +3,23 @@ package com.santos.linkshortener.service;
 import com.santos.linkshortener.dto.AuthResponse;
 import com.santos.linkshortener.dto.LoginRequest;
 import com.santos.linkshortener.dto.RegisterRequest;
+import com.santos.linkshortener.exception.ServicoSobrecarregadoException;
 import com.santos.linkshortener.model.User;
 import com.santos.linkshortener.repository.UserRepository;
+import com.santos.linkshortener.security.PasswordHasher;
 import com.santos.linkshortener.util.JwtUtil;
 import com.santos.linkshortener.validation.Validar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Serviço responsável pela autenticação e registro de usuários.
+ * O BCrypt roda no pool limitado do {@link PasswordHasher}, não na thread da requisição.
  */
 @Service
 public class AuthService {
@@ -24,25 +27,30 @@ public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
     private final Validar<LoginRequest> validaLoginRequest;
     private final Validar<RegisterRequest> validaRegisterRequest;
     private final Validar<RegisterRequest> validaUsernameUnico;
+    private final Counter senhasRefeitas;
     
     public AuthService(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHasher passwordHasher,
             JwtUtil jwtUtil,
             @Qualifier("validaLoginRequestImpl") Validar<LoginRequest> validaLoginRequest,
             @Qualifier("validaRegisterRequestImpl") Validar<RegisterRequest> validaRegisterRequest,
-            @Qualifier("validaUsernameUnicoImpl") Validar<RegisterRequest> validaUsernameUnico) {
+            @Qualifier("validaUsernameUnicoImpl") Validar<RegisterRequest> validaUsernameUnico,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
         this.validaLoginRequest = validaLoginRequest;
         this.validaRegisterRequest = validaRegisterRequest;
         this.validaUsernameUnico = validaUsernameUnico;
+        this.senhasRefeitas = Counter.builder("auth.password.rehash")
+                .description("Hashes de senha refeitos no login por custo do BCrypt diferente do configurado")
+                .register(meterRegistry);
     }
     
     /**
@@ -51,6 +59,7 @@ public class AuthService {
      * @param request dados de login
      * @return resposta contendo o token JWT
      * @throws BadCredentialsException se as credenciais forem inválidas
+     * @throws ServicoSobrecarregadoException se a fila do BCrypt estiver cheia
      */
     public AuthResponse login(LoginRequest request) {
         // Valida o request
@@ -64,13 +73,14 @@ public class AuthService {
                 });
         
         // Verifica a senha
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHasher.verificar(request.password(), user.getPassword())) {
             logger.warn("Senha incorreta para usuário: {}", request.username());
             throw new BadCredentialsException("Credenciais inválidas");
         }
+        refazerHashSeNecessario(user, request.password());
         
         // Gera o token JWT
-        var token = jwtUtil.generateToken(request.username());
+        var token = jwtUtil.generateToken(user.getUsername(), user.getId());
         
         logger.info("Usuário autenticado com sucesso: {}", request.username());
         return AuthResponse.success(token, request.username());
@@ -82,8 +92,8 @@ public class AuthService {
      * @param request dados de registro
      * @return resposta contendo o token JWT do novo usuário
      * @throws IllegalArgumentException se o usuário já existir
+     * @throws ServicoSobrecarregadoException se a fila do BCrypt estiver cheia
      */
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         // Valida o request
         validaRegisterRequest.validar(request);
@@ -94,18 +104,36 @@ public class AuthService {
         // Cria novo usuário
         var user = new User();
         user.setUsername(request.username());
-        user.setPassword(passwordEncoder.encode(request.password()));
+        // Fora de transação: a espera pelo BCrypt não segura uma conexão do pool
+        user.setPassword(passwordHasher.gerar(request.password()));
         user.setEmail(request.email());
         
         userRepository.save(user);
         
         // Gera token para o novo usuário
-        var token = jwtUtil.generateToken(request.username());
+        var token = jwtUtil.generateToken(user.getUsername(), user.getId());
         
         logger.info("Novo usuário registrado: {}", request.username());
         return AuthResponse.registered(token, request.username());
     }
     
+    /**
+     * Refaz o hash com o custo configurado quando o gravado usa outro custo. Só é possível no
+     * login, com a senha em texto; com o pool de BCrypt sobrecarregado fica para o próximo login.
+     */
+    private void refazerHashSeNecessario(User user, String senha) {
+        if (!passwordHasher.precisaRefazer(user.getPassword())) {
+            return;
+        }
+        try {
+            if (userRepository.trocarSenha(user.getId(), user.getPassword(), passwordHasher.gerar(senha)) > 0) {
+                senhasRefeitas.increment();
+            }
+        } catch (ServicoSobrecarregadoException e) {
+            logger.debug("Hash da senha de {} não refeito: BCrypt sobrecarregado", user.getUsername());
+        }
+    }
+
     /**
      * Valida se um token JWT é válido.
      *
@@ -0,0 +1,233 @@
+package com.santos.linkshortener.service;
+
+import com.santos.linkshortener.datasource.ReadConsistency;
+import com.santos.linkshortener.destination.DestinationStore;
+import com.santos.linkshortener.dto.LinkBatchResult;
+import com.santos.linkshortener.dto.LinkCreateRequest;
+import com.santos.linkshortener.dto.LinkResponse;
+import com.santos.linkshortener.invalidation.CacheInvalidator;
+import com.santos.linkshortener.model.Destination;
+import com.santos.linkshortener.model.Link;
+import com.santos.linkshortener.model.User;
+import com.santos.linkshortener.repository.LinkRepository;
+import com.santos.linkshortener.repository.UserRepository;
+import com.santos.linkshortener.validation.Validar;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço de criação de links em lote.
+ * Cada lote é validado pela mesma cadeia de {@link Validar} da criação individual e inserido
+ * em uma única transação, com os inserts agrupados em lotes JDBC pelo Hibernate.
+ */
+@Service
+public class LinkBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkBatchService.class);
+
+    private final LinkRepository linkRepository;
+    private final UserRepository userRepository;
+    private final List<Validar<LinkCreateRequest>> validadores;
+    private final LinkFactory linkFactory;
+    private final CacheInvalidator cacheInvalidator;
+    private final ReadConsistency readConsistency;
+    private final DestinationStore destinationStore;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final String baseUrl;
+    private final int tamanhoLote;
+
+    public LinkBatchService(
+            LinkRepository linkRepository,
+            UserRepository userRepository,
+            List<Validar<LinkCreateRequest>> validadores,
+            LinkFactory linkFactory,
+            CacheInvalidator cacheInvalidator,
+            ReadConsistency readConsistency,
+            DestinationStore destinationStore,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            @Value("${app.base.url}") String baseUrl,
+            @Value("${app.links.batch-size:500}") int tamanhoLote) {
+        this.linkRepository = linkRepository;
+        this.userRepository = userRepository;
+        this.validadores = validadores;
+        this.linkFactory = linkFactory;
+        this.cacheInvalidator = cacheInvalidator;
+        this.readConsistency = readConsistency;
+        this.destinationStore = destinationStore;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.baseUrl = baseUrl;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Quantidade de itens inseridos por transação.
+     *
+     * @return Tamanho do lote
+     */
+    public int tamanhoLote() {
+        return tamanhoLote;
+    }
+
+    /**
+     * Cria todos os links da lista, dividindo-a em lotes.
+     *
+     * @param requests Itens a criar
+     * @param userId   ID do usuário autenticado
+     * @param username Username do usuário autenticado
+     * @return Resultado de cada item, na ordem da requisição
+     */
+    public List<LinkBatchResult> createShortLinks(List<LinkCreateRequest> requests, Long userId, String username) {
+        var resultados = new ArrayList<LinkBatchResult>(requests.size());
+        for (int inicio = 0; inicio < requests.size(); inicio += tamanhoLote) {
+            var lote = requests.subList(inicio, Math.min(inicio + tamanhoLote, requests.size()));
+            resultados.addAll(processarLote(lote, inicio, userId, username));
+        }
+        return resultados;
+    }
+
+    /**
+     * Valida e insere um lote de links em uma transação.
+     * Se algum código já existir no banco (criado concorrentemente), o lote é refeito item a item
+     * para que só os itens em conflito falhem.
+     *
+     * @param lote          Itens do lote; itens nulos (não interpretáveis) são reportados como inválidos
+     * @param indiceInicial Posição do primeiro item na requisição
+     * @param userId        ID do usuário autenticado
+     * @param username      Username do usuário autenticado
+     * @return Resultado de cada item do lote
+     */
+    public List<LinkBatchResult> processarLote(List<LinkCreateRequest> lote, int indiceInicial, Long userId, String username) {
+        var resultados = new LinkBatchResult[lote.size()];
+        var pendentes = new ArrayList<Pendente>(lote.size());
+        Set<String> codigosDoLote = new HashSet<>();
+        User user = userRepository.getReferenceById(userId);
+
+        for (int i = 0; i < lote.size(); i++) {
+            var request = lote.get(i);
+            int indice = indiceInicial + i;
+            if (request == null) {
+                resultados[i] = LinkBatchResult.falhou(indice, "Item inválido.");
+                continue;
+            }
+            try {
+                validadores.forEach(validador -> validador.validar(request));
+            } catch (RuntimeException e) {
+                resultados[i] = LinkBatchResult.falhou(indice, e.getMessage());
+                continue;
+            }
+
+            boolean gerado = request.urlCurta() == null || request.urlCurta().isBlank();
+            var codigo = gerado ? linkFactory.proximoCodigoLivre() : linkFactory.reservar(request.urlCurta());
+            if (codigo == null || (!gerado && linkFactory.emQuarentena(codigo.urlCurta()))) {
+                resultados[i] = LinkBatchResult.falhou(indice, "Código curto já está em uso.");
+                continue;
+            }
+            if (!codigosDoLote.add(codigo.urlCurta())) {
+                resultados[i] = LinkBatchResult.falhou(indice, "Código curto repetido no lote.");
+                continue;
+            }
+            pendentes.add(new Pendente(i, request, codigo, gerado));
+        }
+
+        if (pendentes.isEmpty()) {
+            return Arrays.asList(resultados);
+        }
+        // Destinos do lote gravados em um único comando, antes dos links que os referenciam
+        Map<String, Destination> destinos = destinationStore.resolverTodos(
+                pendentes.stream().map(pendente -> pendente.request.urlOriginal()).distinct().toList());
+        pendentes.forEach(pendente -> pendente.destino = destinos.get(pendente.request.urlOriginal()));
+
+        try {
+            inserir(pendentes.stream().map(pendente -> novoLink(pendente, pendente.codigo, user)).toList());
+            pendentes.forEach(pendente -> resultados[pendente.posicao] = sucesso(pendente, indiceInicial, username));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Conflito no lote iniciado em {}, inserindo item a item", indiceInicial);
+            pendentes.forEach(pendente -> resultados[pendente.posicao] =
+                    inserirIsolado(pendente, user, indiceInicial, username));
+        }
+        // No filtro de todas as instâncias, descartando entradas negativas de acessos anteriores
+        cacheInvalidator.registrarCriacoes(pendentes.stream()
+                .filter(pendente -> resultados[pendente.posicao].link() != null)
+                .map(pendente -> pendente.link.getUrlCurta())
+                .toList());
+        readConsistency.registrarEscrita(userId);
+        return Arrays.asList(resultados);
+    }
+
+    private LinkBatchResult inserirIsolado(Pendente pendente, User user, int indiceInicial, String username) {
+        LinkFactory.CodigoReservado codigo = pendente.codigo;
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                inserir(List.of(novoLink(pendente, codigo, user)));
+                return sucesso(pendente, indiceInicial, username);
+            } catch (DataIntegrityViolationException e) {
+                if (!pendente.gerado || tentativa >= LinkFactory.MAX_TENTATIVAS_CODIGO) {
+                    return LinkBatchResult.falhou(indiceInicial + pendente.posicao, "Código curto já está em uso.");
+                }
+                linkFactory.registrarRetentativa();
+                codigo = linkFactory.proximoCodigoLivre();
+                if (codigo == null) {
+                    return LinkBatchResult.falhou(indiceInicial + pendente.posicao, "Código curto já está em uso.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Insere os links em uma transação. Os inserts só são executados no flush, feito dentro do
+     * repositório para que um código duplicado chegue já traduzido.
+     *
+     * @param links Links a inserir
+     * @throws DataIntegrityViolationException se algum código já existir no banco
+     */
+    private void inserir(List<Link> links) {
+        transactionTemplate.executeWithoutResult(status -> {
+            linkRepository.saveAllAndFlush(links);
+            entityManager.clear();
+        });
+    }
+
+    private LinkBatchResult sucesso(Pendente pendente, int indiceInicial, String username) {
+        return LinkBatchResult.criado(indiceInicial + pendente.posicao,
+                LinkResponse.from(pendente.link, baseUrl, username));
+    }
+
+    private Link novoLink(Pendente pendente, LinkFactory.CodigoReservado codigo, User user) {
+        pendente.link = linkFactory.novoLink(pendente.request, pendente.destino, codigo, user);
+        return pendente.link;
+    }
+
+    /**
+     * Item validado aguardando inserção.
+     */
+    private static final class Pendente {
+        private final int posicao;
+        private final LinkCreateRequest request;
+        private final LinkFactory.CodigoReservado codigo;
+        private final boolean gerado;
+        private Destination destino;
+        private Link link;
+
+        Pendente(int posicao, LinkCreateRequest request, LinkFactory.CodigoReservado codigo, boolean gerado) {
+            this.posicao = posicao;
+            this.request = request;
+            this.codigo = codigo;
+            this.gerado = gerado;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.santos.linkshortener.service;
+
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.dto.LinkCreateRequest;
+import com.santos.linkshortener.generator.ShortCodeAllocator;
+import com.santos.linkshortener.generator.ShortCodeGenerator;
+import com.santos.linkshortener.model.Destination;
+import com.santos.linkshortener.model.Link;
+import com.santos.linkshortener.model.User;
+import com.santos.linkshortener.repository.CodeQuarantineRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Montagem dos links e obtenção de códigos gerados, compartilhadas pela criação individual
+ * ({@link LinkService}) e em lote ({@link LinkBatchService}).
+ *
+ * <p>Todo link recebe o ID do {@link ShortCodeAllocator}; o código gerado é derivado desse ID,
+ * então o redirecionamento pode decodificá-lo e buscar o link pela chave primária.</p>
+ */
+@Component
+class LinkFactory {
+
+    /** Tentativas de obter um código gerado livre, e de salvar um código gerado que colidiu */
+    static final int MAX_TENTATIVAS_CODIGO = 3;
+
+    private final ShortCodeAllocator shortCodeAllocator;
+    private final ShortCodeGenerator shortCodeGenerator;
+    private final ShortCodeFilter shortCodeFilter;
+    private final CodeQuarantineRepository codeQuarantineRepository;
+    private final Counter retentativasCodigo;
+
+    LinkFactory(
+            ShortCodeAllocator shortCodeAllocator,
+            ShortCodeGenerator shortCodeGenerator,
+            ShortCodeFilter shortCodeFilter,
+            CodeQuarantineRepository codeQuarantineRepository,
+            MeterRegistry meterRegistry) {
+        this.shortCodeAllocator = shortCodeAllocator;
+        this.shortCodeGenerator = shortCodeGenerator;
+        this.shortCodeFilter = shortCodeFilter;
+        this.codeQuarantineRepository = codeQuarantineRepository;
+        this.retentativasCodigo = Counter.builder("link.code.retries")
+                .description("Códigos gerados descartados por já existirem no banco")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Monta um link ainda não salvo com os dados da requisição.
+     *
+     * @param request Dados do link
+     * @param destino Destino já gravado
+     * @param codigo  ID e código curto, de {@link #proximoCodigoLivre()} ou {@link #reservar(String)}
+     * @param user    Proprietário do link
+     * @return Link a salvar
+     */
+    Link novoLink(LinkCreateRequest request, Destination destino, CodigoReservado codigo, User user) {
+        Link link = new Link(destino, codigo.urlCurta());
+        link.setId(codigo.id());
+        link.setExpiraEm(request.expiraEm());
+        link.setMaxCliques(request.maxCliques());
+        link.setStatusRedirecionamento(request.redirecionamento());
+        link.setCacheSegundos(request.cacheSegundos());
+        link.setContagemCliques(request.contagemCliques());
+        link.setUser(user);
+        return link;
+    }
+
+    /**
+     * Reserva um ID e gera o seu código, descartando códigos em quarentena.
+     *
+     * @return ID e código livre, ou null se todas as tentativas caíram em códigos em quarentena
+     */
+    CodigoReservado proximoCodigoLivre() {
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS_CODIGO; tentativa++) {
+            long id = shortCodeAllocator.proximoId();
+            String codigo = shortCodeGenerator.codigo(id);
+            if (!emQuarentena(codigo)) {
+                return new CodigoReservado(id, codigo);
+            }
+            retentativasCodigo.increment();
+        }
+        return null;
+    }
+
+    /**
+     * Reserva um ID para um link com código personalizado.
+     *
+     * @param urlCurta Código curto informado pelo usuário
+     * @return ID do link e o código informado
+     */
+    CodigoReservado reservar(String urlCurta) {
+        return new CodigoReservado(shortCodeAllocator.proximoId(), urlCurta);
+    }
+
+    /**
+     * @param urlCurta Código curto
+     * @return true se o código foi removido há pouco e ainda não pode ser reutilizado
+     */
+    boolean emQuarentena(String urlCurta) {
+        return shortCodeFilter.podeExistir(urlCurta) && codeQuarantineRepository.existsById(urlCurta);
+    }
+
+    /**
+     * Registra um código gerado descartado porque a restrição única do banco o rejeitou.
+     */
+    void registrarRetentativa() {
+        retentativasCodigo.increment();
+    }
+
+    /**
+     * ID reservado para um link e o código curto que ele vai usar.
+     *
+     * @param id       ID do link
+     * @param urlCurta Código curto
+     */
+    record CodigoReservado(long id, String urlCurta) {
+    }
+}
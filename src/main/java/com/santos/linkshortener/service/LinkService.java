@@ -1,113 +1,349 @@
 package com.santos.linkshortener.service;
 
-import com.santos.linkshortener.util.LinkGeneratorUtil;
+import com.santos.linkshortener.cache.CachedLink;
+import com.santos.linkshortener.cache.RedirectCache;
+import com.santos.linkshortener.cache.RedirectPolicy;
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.click.ClickAccumulator;
+import com.santos.linkshortener.click.ClickRecorder;
+import com.santos.linkshortener.datasource.ReadConsistency;
+import com.santos.linkshortener.destination.DestinationStore;
 import com.santos.linkshortener.dto.LinkCreateRequest;
+import com.santos.linkshortener.dto.LinkPageResponse;
 import com.santos.linkshortener.dto.LinkResponse;
+import com.santos.linkshortener.dto.LinkResumo;
+import com.santos.linkshortener.exception.LinkExpiradoException;
+import com.santos.linkshortener.exception.LinkNaoEncontradoException;
+import com.santos.linkshortener.generator.ShortCodeGenerator;
+import com.santos.linkshortener.invalidation.CacheInvalidator;
+import com.santos.linkshortener.metrics.LatencyTimers;
+import com.santos.linkshortener.model.Destination;
 import com.santos.linkshortener.model.Link;
 import com.santos.linkshortener.model.User;
+import com.santos.linkshortener.redirect.CdnPurger;
+import com.santos.linkshortener.repository.CodeQuarantineRepository;
 import com.santos.linkshortener.repository.LinkRepository;
 import com.santos.linkshortener.repository.UserRepository;
+import com.santos.linkshortener.util.CursorUtil;
 import com.santos.linkshortener.validation.Validar;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class LinkService {
 
-    @Autowired
-    private LinkRepository linkRepository;
+    private final LinkRepository linkRepository;
+    private final UserRepository userRepository;
+    private final CodeQuarantineRepository codeQuarantineRepository;
+    private final ReadConsistency readConsistency;
+    private final DestinationStore destinationStore;
+    private final List<Validar<LinkCreateRequest>> validadores;
+    private final RedirectCache redirectCache;
+    private final CacheInvalidator cacheInvalidator;
+    private final CdnPurger cdnPurger;
+    private final ShortCodeFilter shortCodeFilter;
+    private final ClickAccumulator clickAccumulator;
+    private final ClickRecorder clickRecorder;
+    private final LinkFactory linkFactory;
+    private final ShortCodeGenerator shortCodeGenerator;
+    private final String baseUrl;
+    private final int tamanhoPagina;
+    private final int tamanhoMaximoPagina;
 
-    @Autowired
-    private UserRepository userRepository;
+    private final Timer redirecionamentoHit;
+    private final Timer redirecionamentoMiss;
+    private final Timer redirecionamentoNaoEncontrado;
+    private final Timer redirecionamentoExpirado;
+    private final Timer criacaoGerada;
+    private final Timer criacaoPersonalizada;
 
-    @Autowired
-    private List<Validar<LinkCreateRequest>> validadores;
-
-    @Value("${app.base.url}")
-    private String baseUrl;
+    public LinkService(
+            LinkRepository linkRepository,
+            UserRepository userRepository,
+            CodeQuarantineRepository codeQuarantineRepository,
+            ReadConsistency readConsistency,
+            DestinationStore destinationStore,
+            List<Validar<LinkCreateRequest>> validadores,
+            RedirectCache redirectCache,
+            CacheInvalidator cacheInvalidator,
+            CdnPurger cdnPurger,
+            ShortCodeFilter shortCodeFilter,
+            ClickAccumulator clickAccumulator,
+            ClickRecorder clickRecorder,
+            LinkFactory linkFactory,
+            ShortCodeGenerator shortCodeGenerator,
+            MeterRegistry meterRegistry,
+            @Value("${app.base.url}") String baseUrl,
+            @Value("${app.links.page-size:50}") int tamanhoPagina,
+            @Value("${app.links.max-page-size:500}") int tamanhoMaximoPagina) {
+        this.linkRepository = linkRepository;
+        this.userRepository = userRepository;
+        this.codeQuarantineRepository = codeQuarantineRepository;
+        this.readConsistency = readConsistency;
+        this.destinationStore = destinationStore;
+        this.validadores = validadores;
+        this.redirectCache = redirectCache;
+        this.cacheInvalidator = cacheInvalidator;
+        this.cdnPurger = cdnPurger;
+        this.shortCodeFilter = shortCodeFilter;
+        this.clickAccumulator = clickAccumulator;
+        this.clickRecorder = clickRecorder;
+        this.linkFactory = linkFactory;
+        this.shortCodeGenerator = shortCodeGenerator;
+        this.baseUrl = baseUrl;
+        this.tamanhoPagina = tamanhoPagina;
+        this.tamanhoMaximoPagina = tamanhoMaximoPagina;
+        String redirecionamento = "Resolução do código curto no redirecionamento";
+        this.redirecionamentoHit = LatencyTimers.criar(meterRegistry, "redirect", redirecionamento, "result", "hit");
+        this.redirecionamentoMiss = LatencyTimers.criar(meterRegistry, "redirect", redirecionamento, "result", "miss");
+        this.redirecionamentoNaoEncontrado = LatencyTimers.criar(meterRegistry, "redirect", redirecionamento,
+                "result", "not_found");
+        this.redirecionamentoExpirado = LatencyTimers.criar(meterRegistry, "redirect", redirecionamento,
+                "result", "expired");
+        String criacao = "Criação de um link curto";
+        this.criacaoGerada = LatencyTimers.criar(meterRegistry, "link.create", criacao, "code", "generated");
+        this.criacaoPersonalizada = LatencyTimers.criar(meterRegistry, "link.create", criacao, "code", "custom");
+    }
 
     /**
      * Cria um link curto associado a um usuário autenticado.
      *
      * @param request  Dados do link a ser criado
+     * @param userId   ID do usuário autenticado
      * @param username Username do usuário autenticado
-     * @return
+     * @return Link criado
      */
-    public LinkResponse createShortLink(LinkCreateRequest request, String username) {
+    public LinkResponse createShortLink(LinkCreateRequest request, Long userId, String username) {
+        long inicio = System.nanoTime();
         validadores.forEach(validador -> validador.validar(request));
 
-        // Buscar o usuário pelo username
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + username));
+        // Referência ao usuário sem consultar a tabela (proxy com apenas o ID)
+        User user = userRepository.getReferenceById(userId);
+        // Destino gravado (ou reaproveitado) antes do link, que o referencia pelo ID
+        Destination destino = destinationStore.resolver(request.urlOriginal());
 
+        Link link;
         String urlCurta = request.urlCurta();
 
-        // Se veio vazia → gerar automaticamente e garantir unicidade
-        if (urlCurta == null || urlCurta.isBlank()) {
-
-            do {
-                urlCurta = LinkGeneratorUtil.gerarLinkAleatorio();
-            } while (linkRepository.existsByUrlCurta(urlCurta)); // Garantir unicidade
-
+        // Se veio vazia → usar um código do gerador configurado
+        boolean gerado = urlCurta == null || urlCurta.isBlank();
+        if (gerado) {
+            link = salvarComCodigoGerado(request, destino, user);
         } else {
-            // Se o usuário informou manualmente um código curto → validar unicidade
-            if (linkRepository.existsByUrlCurta(urlCurta)) {
+            // Se o usuário informou manualmente um código curto → validar unicidade e quarentena
+            if (shortCodeFilter.podeExistir(urlCurta) && (linkRepository.existsByUrlCurta(urlCurta)
+                    || codeQuarantineRepository.existsById(urlCurta))) {
+                throw new RuntimeException("Código curto já está em uso. Escolha outro.");
+            }
+            link = linkFactory.novoLink(request, destino, linkFactory.reservar(urlCurta), user);
+            try {
+                linkRepository.save(link);
+            } catch (DataIntegrityViolationException e) {
+                // Criado por outra instância depois da verificação
                 throw new RuntimeException("Código curto já está em uso. Escolha outro.");
             }
         }
+        // No filtro de todas as instâncias, descartando entradas negativas de acessos anteriores
+        cacheInvalidator.registrarCriacao(link.getUrlCurta());
+        readConsistency.registrarEscrita(userId);
 
-        Link link = new Link(request.urlOriginal(), urlCurta);
-        link.setUser(user);
-        linkRepository.save(link);
+        (gerado ? criacaoGerada : criacaoPersonalizada).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return LinkResponse.from(link, baseUrl, username);
+    }
 
-        return LinkResponse.from(link, baseUrl);
+    /**
+     * Salva o link com um código obtido do gerador, sem consulta prévia de unicidade.
+     * Um código personalizado criado antes (ou um código aleatório repetido) pode coincidir
+     * com o código gerado; nesse caso a restrição única do banco rejeita a inserção e o
+     * próximo código é usado. Códigos ainda em quarentena também são descartados.
+     */
+    private Link salvarComCodigoGerado(LinkCreateRequest request, Destination destino, User user) {
+        for (int tentativa = 1; ; tentativa++) {
+            LinkFactory.CodigoReservado codigo = linkFactory.proximoCodigoLivre();
+            if (codigo == null) {
+                throw new RuntimeException("Não foi possível gerar um código curto livre.");
+            }
+            try {
+                return linkRepository.save(linkFactory.novoLink(request, destino, codigo, user));
+            } catch (DataIntegrityViolationException e) {
+                if (tentativa >= LinkFactory.MAX_TENTATIVAS_CODIGO) {
+                    throw e;
+                }
+                linkFactory.registrarRetentativa();
+            }
+        }
     }
 
+    /**
+     * Resolve o código curto para a URL original e contabiliza o clique.
+     * Códigos que o filtro indica como inexistentes são rejeitados sem consulta; os demais
+     * passam pelo cache de redirecionamento antes de ir ao banco. O clique é acumulado
+     * em memória para gravação em lote.
+     *
+     * @param urlCurta Código curto acessado
+     * @return URL original do link
+     * @throws LinkNaoEncontradoException Se o código não existir
+     * @throws LinkExpiradoException      Se o link tiver expirado
+     */
     public String getOriginalUrl(String urlCurta) {
-        Optional<Link> linkOptional = Optional.ofNullable(linkRepository.findByUrlCurta(urlCurta));
-        if (linkOptional.isPresent()) {
-            Link link = linkOptional.get();
-            link.setContadorCliques(link.getContadorCliques() + 1);
-            linkRepository.save(link);
-            return link.getUrlOriginal();
-        } else {
-            throw new RuntimeException("Link não encontrado");
+        return resolver(urlCurta, null, null, null).urlOriginal();
+    }
 
+    /**
+     * Resolve o código curto, contabiliza o clique e o publica no log de cliques com os
+     * dados da requisição. A latência é registrada por resultado: cache, banco, inexistente
+     * ou expirado.
+     *
+     * <p>A expiração é verificada nos dados em cache, sem consulta: data de expiração contra o
+     * relógio e limite de cliques contra a contagem do banco na carga somada aos acessos desta
+     * instância. Com várias instâncias o limite pode ser excedido em até os cliques que as
+     * outras ainda não gravaram no banco.</p>
+     *
+     * @param urlCurta  Código curto acessado
+     * @param referrer  Cabeçalho Referer da requisição, pode ser null
+     * @param userAgent Cabeçalho User-Agent da requisição, pode ser null
+     * @param ip        Endereço do cliente, pode ser null
+     * @return Link em cache, com a URL original e a política de cache do redirecionamento
+     * @throws LinkNaoEncontradoException Se o código não existir
+     * @throws LinkExpiradoException      Se o link tiver expirado
+     */
+    public CachedLink resolver(String urlCurta, String referrer, String userAgent, String ip) {
+        long inicio = System.nanoTime();
+        if (!shortCodeFilter.podeExistir(urlCurta)) {
+            redirecionamentoNaoEncontrado.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw new LinkNaoEncontradoException("Link não encontrado");
         }
+        boolean[] carregado = {false};
+        Optional<CachedLink> encontrado = redirectCache.get(urlCurta, codigo -> {
+            carregado[0] = true;
+            return carregarLink(codigo);
+        });
+        if (encontrado.isEmpty()) {
+            redirecionamentoNaoEncontrado.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw new LinkNaoEncontradoException("Link não encontrado");
+        }
+        CachedLink link = encontrado.get();
+        if (link.temValidade() && !link.registrarAcesso(System.currentTimeMillis())) {
+            redirecionamentoExpirado.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw new LinkExpiradoException("Link expirado");
+        }
+        clickAccumulator.registrar(link.id());
+        clickRecorder.registrar(link.id(), referrer, userAgent, ip);
+        (carregado[0] ? redirecionamentoMiss : redirecionamentoHit)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return link;
+    }
+
+    private Optional<CachedLink> carregarLink(String urlCurta) {
+        // O filtro já descartou os inexistentes: ausente na réplica é quase sempre atraso de replicação
+        Link link = readConsistency.comReleituraNoPrimario(() -> buscarLink(urlCurta));
+        if (link == null) {
+            // Removido por expiração e ainda em quarentena: responde 410 em vez de 404
+            return codeQuarantineRepository.existsById(urlCurta)
+                    ? Optional.of(CachedLink.marcaExpirada(null))
+                    : Optional.empty();
+        }
+        // Links com o mesmo destino compartilham a instância da URL no cache
+        String urlOriginal = destinationStore.internar(link.getDestino());
+        RedirectPolicy politica = RedirectPolicy.de(link.getId(), urlOriginal, link.getStatusRedirecionamento(),
+                link.getCacheSegundos(), link.getContagemCliques());
+        if (link.getExpiraEm() == null && link.getMaxCliques() == null) {
+            return Optional.of(new CachedLink(link.getId(), urlOriginal, politica));
+        }
+        long expiraEmMs = link.getExpiraEm() == null ? 0 : emMillis(link.getExpiraEm());
+        long maxCliques = link.getMaxCliques() == null ? 0 : link.getMaxCliques();
+        AtomicLong cliques = maxCliques == 0 ? null : new AtomicLong(link.getContadorCliques());
+        return Optional.of(new CachedLink(link.getId(), urlOriginal, expiraEmMs, maxCliques, cliques, politica));
+    }
+
+    /**
+     * Busca o link pelo código. Um código gerado por estratégia reversível é decodificado no ID
+     * e buscado pela chave primária; se o link desse ID tiver outro código (código personalizado
+     * ou gerado antes dos IDs virem do alocador), a busca é feita pelo código.
+     */
+    private Link buscarLink(String urlCurta) {
+        OptionalLong id = shortCodeGenerator.decodificar(urlCurta);
+        if (id.isPresent()) {
+            Link link = linkRepository.findComDestino(id.getAsLong());
+            if (link != null && link.getUrlCurta().equals(urlCurta)) {
+                return link;
+            }
+        }
+        return linkRepository.findByUrlCurta(urlCurta);
+    }
+
+    private static long emMillis(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
     /**
      * Deleta um link específico associado a um usuário autenticado.
      * 
      * @param id       ID do link a ser deletado
-     * @param username Username do usuário autenticado
+     * @param userId   ID do usuário autenticado
      */
-    public void deleteLink(Long id, String username) {
+    public void deleteLink(Long id, Long userId) {
         Link link = linkRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Link não encontrado com id: " + id));
-        if (!link.getUser().getUsername().equals(username)) {
+        if (link.getUser() == null || !link.getUser().getId().equals(userId)) {
             throw new RuntimeException("Usuário nao autorizado para deletar o link");
         }
         linkRepository.delete(link);
+        readConsistency.registrarEscrita(userId);
+        // Também nas outras instâncias, que ainda redirecionariam pelo cache
+        cacheInvalidator.invalidar(link.getUrlCurta());
+        shortCodeFilter.remover(link.getUrlCurta(), link.getDataCriacao());
+        // Depois da remoção já gravada: uma CDN que busque de novo recebe 404, não o destino antigo
+        cdnPurger.purgar(RedirectPolicy.chaveCdn(link.getId(), link.getCacheSegundos(), link.getContagemCliques()));
     }
 
     /**
-     * Retorna todos os links criados por um usuário específico.
+     * Retorna uma página dos links de um usuário, do mais recente para o mais antigo.
+     * Usa paginação por chave (data de criação, ID): o custo de cada página não depende
+     * da posição, e apenas as colunas necessárias são lidas.
      *
-     * @param username Username do usuário
-     * @return Lista de links do usuário
+     * @param userId   ID do usuário
+     * @param username Username do usuário, usado na resposta sem carregar a entidade
+     * @param limite   Tamanho da página desejado (limitado ao máximo configurado)
+     * @param cursor   Cursor retornado pela página anterior, ou null para a primeira página
+     * @return Página de links e cursor da próxima página
      */
-    public List<LinkResponse> getLinksByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + username));
-        return linkRepository.findByUser(user)
-                .stream()
-                .map(link -> LinkResponse.from(link, baseUrl))
+    public LinkPageResponse getLinksByUser(Long userId, String username, Integer limite, String cursor) {
+        int tamanho = limite == null ? tamanhoPagina : Math.max(1, Math.min(limite, tamanhoMaximoPagina));
+        // Um item a mais indica se existe próxima página
+        Limit consulta = Limit.of(tamanho + 1);
+
+        List<LinkResumo> resumos;
+        if (cursor == null || cursor.isBlank()) {
+            resumos = readConsistency.doUsuario(userId, () -> linkRepository.findPrimeiraPagina(userId, consulta));
+        } else {
+            CursorUtil.Posicao posicao = CursorUtil.decodificar(cursor);
+            resumos = readConsistency.doUsuario(userId, () ->
+                    linkRepository.findPaginaApos(userId, posicao.dataCriacao(), posicao.id(), consulta));
+        }
+
+        String proximoCursor = null;
+        if (resumos.size() > tamanho) {
+            resumos = resumos.subList(0, tamanho);
+            LinkResumo ultimo = resumos.get(tamanho - 1);
+            proximoCursor = CursorUtil.codificar(ultimo.dataCriacao(), ultimo.id());
+        }
+        List<LinkResponse> links = resumos.stream()
+                .map(resumo -> LinkResponse.from(resumo, baseUrl, username))
                 .toList();
+        return new LinkPageResponse(links, proximoCursor);
     }
 
 }
@@ -0,0 +1,139 @@
+package com.santos.linkshortener.service;
+
+import com.santos.linkshortener.datasource.ReadConsistency;
+import com.santos.linkshortener.dto.LinkStatsResponse;
+import com.santos.linkshortener.exception.FormatoInvalidoException;
+import com.santos.linkshortener.exception.LinkNaoEncontradoException;
+import com.santos.linkshortener.repository.ClickAggregateRepository;
+import com.santos.linkshortener.repository.ClickDailyAggregateRepository;
+import com.santos.linkshortener.repository.LinkRepository;
+import com.santos.linkshortener.stats.HyperLogLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consulta das estatísticas de um link a partir dos agregados por hora ou por dia mantidos
+ * pela compactação do log de cliques. O custo depende apenas da quantidade de buckets do
+ * intervalo: os cliques são somados e os sketches de visitantes unidos, sem reler cliques.
+ */
+@Service
+public class LinkStatsService {
+
+    private static final String HORA = "hour";
+    private static final String DIA = "day";
+
+    private final LinkRepository linkRepository;
+    private final ReadConsistency readConsistency;
+    private final ClickAggregateRepository clickAggregateRepository;
+    private final ClickDailyAggregateRepository clickDailyAggregateRepository;
+    private final int maxBuckets;
+
+    /**
+     * @param maxBuckets Quantidade máxima de buckets em uma consulta
+     */
+    public LinkStatsService(
+            LinkRepository linkRepository,
+            ReadConsistency readConsistency,
+            ClickAggregateRepository clickAggregateRepository,
+            ClickDailyAggregateRepository clickDailyAggregateRepository,
+            @Value("${app.stats.max-buckets:744}") int maxBuckets) {
+        this.linkRepository = linkRepository;
+        this.readConsistency = readConsistency;
+        this.clickAggregateRepository = clickAggregateRepository;
+        this.clickDailyAggregateRepository = clickDailyAggregateRepository;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Retorna cliques e visitantes únicos de um link do usuário, por hora ou por dia.
+     * Sem {@code de}, o intervalo começa 24 horas (por hora) ou 30 dias (por dia) antes do fim;
+     * sem {@code ate}, termina agora.
+     *
+     * @param linkId        ID do link
+     * @param userId        ID do usuário autenticado
+     * @param de            Início do intervalo (ISO-8601, data ou data e hora; UTC se sem fuso), pode ser null
+     * @param ate           Fim do intervalo, exclusivo, no mesmo formato, pode ser null
+     * @param granularidade {@code hour} (padrão) ou {@code day}
+     * @return Estatísticas do intervalo
+     * @throws LinkNaoEncontradoException Se o link não existir ou for de outro usuário
+     * @throws FormatoInvalidoException   Se os parâmetros forem inválidos
+     */
+    public LinkStatsResponse getStats(Long linkId, Long userId, String de, String ate, String granularidade) {
+        String tamanho = granularidade == null || granularidade.isBlank() ? HORA : granularidade;
+        if (!HORA.equals(tamanho) && !DIA.equals(tamanho)) {
+            throw new FormatoInvalidoException("Granularidade inválida. Use 'hour' ou 'day'.");
+        }
+        ChronoUnit unidade = HORA.equals(tamanho) ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+
+        LocalDateTime fim = ate == null || ate.isBlank() ? LocalDateTime.now(ZoneOffset.UTC) : converter(ate);
+        LocalDateTime inicio = de == null || de.isBlank()
+                ? fim.minus(HORA.equals(tamanho) ? Duration.ofHours(24) : Duration.ofDays(30))
+                : converter(de);
+        inicio = inicio.truncatedTo(unidade);
+        if (!inicio.isBefore(fim)) {
+            throw new FormatoInvalidoException("O início do intervalo deve ser anterior ao fim.");
+        }
+        // Último bucket que começa antes do fim (exclusivo)
+        LocalDateTime ultimo = fim.minusNanos(1).truncatedTo(unidade);
+        if (unidade.between(inicio, ultimo) + 1 > maxBuckets) {
+            throw new FormatoInvalidoException("Intervalo muito grande: máximo de " + maxBuckets + " buckets.");
+        }
+        if (!readConsistency.doUsuario(userId, () -> linkRepository.existsByIdAndUserId(linkId, userId))) {
+            throw new LinkNaoEncontradoException("Link não encontrado");
+        }
+
+        List<LinkStatsResponse.Bucket> buckets = new ArrayList<>();
+        HyperLogLog visitantes = new HyperLogLog();
+        long cliques = 0;
+        if (HORA.equals(tamanho)) {
+            for (var agregado : clickAggregateRepository.findByIdLinkIdAndIdHoraBetweenOrderByIdHora(
+                    linkId, inicio, ultimo)) {
+                cliques += agregado.getCliques();
+                buckets.add(bucket(agregado.getId().getHora(), agregado.getCliques(), agregado.getVisitantes(),
+                        visitantes));
+            }
+        } else {
+            for (var agregado : clickDailyAggregateRepository.findByIdLinkIdAndIdDiaBetweenOrderByIdDia(
+                    linkId, inicio.toLocalDate(), ultimo.toLocalDate())) {
+                cliques += agregado.getCliques();
+                buckets.add(bucket(agregado.getId().getDia().atStartOfDay(), agregado.getCliques(),
+                        agregado.getVisitantes(), visitantes));
+            }
+        }
+        return new LinkStatsResponse(linkId, tamanho, inicio, fim, cliques, visitantes.estimar(), buckets);
+    }
+
+    /**
+     * Converte o bucket e une seu sketch ao total do intervalo.
+     */
+    private static LinkStatsResponse.Bucket bucket(LocalDateTime inicio, long cliques, byte[] sketch,
+                                                   HyperLogLog total) {
+        HyperLogLog visitantes = HyperLogLog.desserializar(sketch);
+        total.unir(visitantes);
+        return new LinkStatsResponse.Bucket(inicio, cliques, visitantes.estimar());
+    }
+
+    private static LocalDateTime converter(String valor) {
+        try {
+            if (valor.length() == 10) {
+                return LocalDate.parse(valor).atStartOfDay();
+            }
+            if (valor.endsWith("Z") || valor.matches(".*[+-]\\d{2}:\\d{2}$")) {
+                return OffsetDateTime.parse(valor).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            }
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new FormatoInvalidoException("Data inválida: " + valor + ". Use ISO-8601, ex.: 2024-01-31T10:00");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.santos.linkshortener.stats;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cliques e visitantes de um link em um bucket (hora ou dia), acumulados na compactação de
+ * um segmento antes de serem somados ao bucket persistido por {@link ClickRollupStore}.
+ */
+public final class ClickRollup {
+
+    private final long linkId;
+    private final LocalDateTime inicio;
+    private final HyperLogLog visitantes = new HyperLogLog();
+    private long cliques;
+
+    /**
+     * @param linkId ID do link
+     * @param inicio Início do bucket, em UTC
+     */
+    public ClickRollup(long linkId, LocalDateTime inicio) {
+        this.linkId = linkId;
+        this.inicio = inicio;
+    }
+
+    /**
+     * Conta um clique.
+     *
+     * @param visitante Hash do visitante que clicou
+     */
+    public void registrar(long visitante) {
+        cliques++;
+        visitantes.adicionar(visitante);
+    }
+
+    /**
+     * Soma outro bucket (do mesmo link) a este.
+     *
+     * @param outro Bucket a somar
+     */
+    public void somar(ClickRollup outro) {
+        cliques += outro.cliques;
+        visitantes.unir(outro.visitantes);
+    }
+
+    public long linkId() {
+        return linkId;
+    }
+
+    public LocalDateTime inicio() {
+        return inicio;
+    }
+
+    public long cliques() {
+        return cliques;
+    }
+
+    public HyperLogLog visitantes() {
+        return visitantes;
+    }
+}
@@ -0,0 +1,154 @@
+package com.santos.linkshortener.stats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gravação incremental dos buckets de estatísticas por link: {@code click_aggregates} (hora)
+ * e {@code click_aggregates_daily} (dia), cada um com a contagem de cliques e o sketch
+ * {@link HyperLogLog} dos visitantes.
+ *
+ * <p>Como o sketch não pode ser somado em SQL, cada bucket é garantido com
+ * {@code INSERT ... ON CONFLICT DO NOTHING}, bloqueado com {@code SELECT ... FOR UPDATE},
+ * unido em memória e regravado. As linhas são tratadas sempre na ordem (link, início),
+ * para que compactações simultâneas de instâncias diferentes não entrem em deadlock.
+ * Deve ser chamado dentro da transação que marca o segmento como compactado.</p>
+ */
+@Component
+public class ClickRollupStore {
+
+    private static final Tabela HORA = new Tabela("click_aggregates", "hora", "timestamp");
+    private static final Tabela DIA = new Tabela("click_aggregates_daily", "dia", "date");
+
+    private static final Comparator<ClickRollup> ORDEM =
+            Comparator.comparingLong(ClickRollup::linkId).thenComparing(ClickRollup::inicio);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retencao;
+
+    /**
+     * @param jdbcTemplate Acesso JDBC às tabelas de agregados
+     * @param retencaoDias Dias mantidos nos agregados por hora (os diários não expiram)
+     */
+    public ClickRollupStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.stats.hourly-retention-days:90}") long retencaoDias) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retencao = Duration.ofDays(retencaoDias);
+    }
+
+    /**
+     * Soma os buckets por hora de um segmento aos agregados por hora e por dia.
+     *
+     * @param horas Buckets por hora, no máximo um por link e hora
+     */
+    public void acumular(Collection<ClickRollup> horas) {
+        if (horas.isEmpty()) {
+            return;
+        }
+        Map<Chave, ClickRollup> dias = new HashMap<>();
+        for (ClickRollup hora : horas) {
+            var chave = new Chave(hora.linkId(), hora.inicio().toLocalDate().atStartOfDay());
+            dias.computeIfAbsent(chave, k -> new ClickRollup(k.linkId, k.inicio)).somar(hora);
+        }
+        acumular(HORA, horas);
+        acumular(DIA, dias.values());
+    }
+
+    private void acumular(Tabela tabela, Collection<ClickRollup> buckets) {
+        List<ClickRollup> ordenados = new ArrayList<>(buckets);
+        ordenados.sort(ORDEM);
+
+        jdbcTemplate.batchUpdate(tabela.sqlGarantir, ordenados.stream()
+                .map(bucket -> new Object[]{bucket.linkId(), tabela.parametro(bucket.inicio())})
+                .toList());
+
+        Map<Chave, Existente> existentes = bloquear(tabela, ordenados);
+        List<Object[]> atualizacoes = new ArrayList<>(ordenados.size());
+        for (ClickRollup bucket : ordenados) {
+            Existente existente = existentes.get(new Chave(bucket.linkId(), bucket.inicio()));
+            HyperLogLog visitantes = HyperLogLog.desserializar(existente == null ? null : existente.visitantes);
+            visitantes.unir(bucket.visitantes());
+            long cliques = (existente == null ? 0 : existente.cliques) + bucket.cliques();
+            atualizacoes.add(new Object[]{cliques, visitantes.serializar(), bucket.linkId(),
+                    tabela.parametro(bucket.inicio())});
+        }
+        jdbcTemplate.batchUpdate(tabela.sqlAtualizar, atualizacoes);
+    }
+
+    /**
+     * Lê e bloqueia as linhas dos buckets, já garantidas pelo insert anterior.
+     */
+    private Map<Chave, Existente> bloquear(Tabela tabela, List<ClickRollup> ordenados) {
+        Map<Chave, Existente> existentes = new LinkedHashMap<>(ordenados.size() * 2);
+        jdbcTemplate.query(tabela.sqlBloquear, ps -> {
+            Connection conexao = ps.getConnection();
+            ps.setArray(1, conexao.createArrayOf("bigint",
+                    ordenados.stream().map(ClickRollup::linkId).toArray()));
+            ps.setArray(2, conexao.createArrayOf(tabela.tipo,
+                    ordenados.stream().map(bucket -> tabela.parametro(bucket.inicio())).toArray()));
+        }, rs -> {
+            LocalDateTime inicio = rs.getTimestamp(2).toLocalDateTime();
+            existentes.put(new Chave(rs.getLong(1), inicio), new Existente(rs.getLong(3), rs.getBytes(4)));
+        });
+        return existentes;
+    }
+
+    /**
+     * Remove os agregados por hora mais antigos que a retenção.
+     *
+     * @return Quantidade de linhas removidas
+     */
+    public int removerHorasExpiradas() {
+        LocalDateTime limite = LocalDateTime.now(ZoneOffset.UTC).minus(retencao);
+        return jdbcTemplate.update("DELETE FROM click_aggregates WHERE hora < ?", Timestamp.valueOf(limite));
+    }
+
+    /**
+     * SQL de uma tabela de agregados; a diferença entre elas é o nome e o tipo da coluna de tempo.
+     */
+    private static final class Tabela {
+        private final String tipo;
+        private final String sqlGarantir;
+        private final String sqlBloquear;
+        private final String sqlAtualizar;
+        private final boolean diaria;
+
+        Tabela(String nome, String coluna, String tipo) {
+            this.tipo = tipo;
+            this.diaria = "date".equals(tipo);
+            this.sqlGarantir = "INSERT INTO " + nome + " (link_id, " + coluna + ", cliques) VALUES (?, ?, 0) "
+                    + "ON CONFLICT (link_id, " + coluna + ") DO NOTHING";
+            this.sqlBloquear = "SELECT a.link_id, a." + coluna + ", a.cliques, a.visitantes FROM " + nome + " a "
+                    + "JOIN unnest(?, ?) AS k(link_id, " + coluna + ") USING (link_id, " + coluna + ") "
+                    + "ORDER BY a.link_id, a." + coluna + " FOR UPDATE OF a";
+            this.sqlAtualizar = "UPDATE " + nome + " SET cliques = ?, visitantes = ? WHERE link_id = ? AND "
+                    + coluna + " = ?";
+        }
+
+        Object parametro(LocalDateTime inicio) {
+            return diaria ? Date.valueOf(inicio.toLocalDate()) : Timestamp.valueOf(inicio);
+        }
+    }
+
+    private record Chave(long linkId, LocalDateTime inicio) {
+    }
+
+    private record Existente(long cliques, byte[] visitantes) {
+    }
+}
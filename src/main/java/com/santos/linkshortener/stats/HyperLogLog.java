@@ -0,0 +1,197 @@
+package com.santos.linkshortener.stats;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Sketch HyperLogLog para contagem aproximada de elementos distintos (visitantes únicos).
+ * Usa 2^12 registradores (erro padrão de ~1,6%); dois sketches podem ser unidos tomando o
+ * máximo de cada registrador, então o total de um intervalo sai da união dos buckets sem
+ * reler os cliques.
+ *
+ * <p>Com poucos registradores ocupados o sketch fica em formato esparso (lista de pares
+ * posição/valor), tanto em memória quanto serializado; acima do limite passa ao formato
+ * denso, serializado com 6 bits por registrador (3 KB). Não é thread-safe.</p>
+ */
+public final class HyperLogLog {
+
+    private static final int PRECISAO = 12;
+    private static final int REGISTRADORES = 1 << PRECISAO;
+    private static final double ALFA = 0.7213 / (1 + 1.079 / REGISTRADORES);
+
+    /** Registradores ocupados a partir dos quais o formato denso é menor */
+    private static final int LIMITE_ESPARSO = 1000;
+
+    private static final byte FORMATO_ESPARSO = 0;
+    private static final byte FORMATO_DENSO = 1;
+    private static final int TAMANHO_DENSO = 2 + REGISTRADORES * 6 / 8;
+
+    /** Formato denso: um byte por registrador; null enquanto esparso */
+    private byte[] registradores;
+
+    /** Formato esparso: posição nos bits altos e valor nos 6 bits baixos */
+    private int[] esparso = new int[8];
+    private int ocupados;
+
+    /**
+     * Adiciona um elemento pelo seu hash de 64 bits (já bem distribuído).
+     *
+     * @param hash Hash do elemento
+     */
+    public void adicionar(long hash) {
+        int indice = (int) (hash >>> (64 - PRECISAO));
+        // Posição do primeiro bit 1 nos bits restantes; o bit sentinela limita o valor a 64 - p + 1
+        long resto = (hash << PRECISAO) | (1L << (PRECISAO - 1));
+        atualizar(indice, Long.numberOfLeadingZeros(resto) + 1);
+    }
+
+    private void atualizar(int indice, int valor) {
+        if (registradores != null) {
+            if (valor > registradores[indice]) {
+                registradores[indice] = (byte) valor;
+            }
+            return;
+        }
+        for (int i = 0; i < ocupados; i++) {
+            if (esparso[i] >>> 6 == indice) {
+                if (valor > (esparso[i] & 0x3F)) {
+                    esparso[i] = indice << 6 | valor;
+                }
+                return;
+            }
+        }
+        if (ocupados == esparso.length) {
+            esparso = Arrays.copyOf(esparso, ocupados * 2);
+        }
+        esparso[ocupados++] = indice << 6 | valor;
+        if (ocupados > LIMITE_ESPARSO) {
+            densificar();
+        }
+    }
+
+    private void densificar() {
+        registradores = new byte[REGISTRADORES];
+        for (int i = 0; i < ocupados; i++) {
+            registradores[esparso[i] >>> 6] = (byte) (esparso[i] & 0x3F);
+        }
+        esparso = null;
+    }
+
+    /**
+     * Une outro sketch a este.
+     *
+     * @param outro Sketch a unir
+     */
+    public void unir(HyperLogLog outro) {
+        if (outro.registradores == null) {
+            for (int i = 0; i < outro.ocupados; i++) {
+                atualizar(outro.esparso[i] >>> 6, outro.esparso[i] & 0x3F);
+            }
+            return;
+        }
+        if (registradores == null) {
+            densificar();
+        }
+        for (int i = 0; i < REGISTRADORES; i++) {
+            if (outro.registradores[i] > registradores[i]) {
+                registradores[i] = outro.registradores[i];
+            }
+        }
+    }
+
+    /**
+     * Estimativa da quantidade de elementos distintos adicionados.
+     *
+     * @return Cardinalidade estimada
+     */
+    public long estimar() {
+        double soma;
+        int zeros;
+        if (registradores == null) {
+            zeros = REGISTRADORES - ocupados;
+            soma = zeros;
+            for (int i = 0; i < ocupados; i++) {
+                soma += 1.0 / (1L << (esparso[i] & 0x3F));
+            }
+        } else {
+            soma = 0;
+            zeros = 0;
+            for (byte registrador : registradores) {
+                soma += 1.0 / (1L << registrador);
+                if (registrador == 0) {
+                    zeros++;
+                }
+            }
+        }
+        double estimativa = ALFA * REGISTRADORES * REGISTRADORES / soma;
+        if (estimativa <= 2.5 * REGISTRADORES && zeros > 0) {
+            // Correção para cardinalidades pequenas (contagem linear)
+            estimativa = REGISTRADORES * Math.log((double) REGISTRADORES / zeros);
+        }
+        return Math.round(estimativa);
+    }
+
+    /**
+     * Serializa o sketch no formato do seu estado atual.
+     *
+     * @return Bytes do sketch
+     */
+    public byte[] serializar() {
+        if (registradores == null) {
+            ByteBuffer buffer = ByteBuffer.allocate(3 + ocupados * 3);
+            buffer.put(FORMATO_ESPARSO).putShort((short) ocupados);
+            for (int i = 0; i < ocupados; i++) {
+                buffer.putShort((short) (esparso[i] >>> 6)).put((byte) (esparso[i] & 0x3F));
+            }
+            return buffer.array();
+        }
+        byte[] bytes = new byte[TAMANHO_DENSO];
+        bytes[0] = FORMATO_DENSO;
+        bytes[1] = PRECISAO;
+        // 4 registradores de 6 bits em cada 3 bytes
+        for (int i = 0, j = 2; i < REGISTRADORES; i += 4, j += 3) {
+            int bloco = registradores[i] << 18 | registradores[i + 1] << 12
+                    | registradores[i + 2] << 6 | registradores[i + 3];
+            bytes[j] = (byte) (bloco >>> 16);
+            bytes[j + 1] = (byte) (bloco >>> 8);
+            bytes[j + 2] = (byte) bloco;
+        }
+        return bytes;
+    }
+
+    /**
+     * Reconstrói um sketch serializado.
+     *
+     * @param bytes Bytes gerados por {@link #serializar()}, ou null para um sketch vazio
+     * @return Sketch
+     * @throws IllegalArgumentException Se o formato for desconhecido
+     */
+    public static HyperLogLog desserializar(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte formato = buffer.get();
+        if (formato == FORMATO_ESPARSO) {
+            int quantidade = buffer.getShort() & 0xFFFF;
+            for (int n = 0; n < quantidade; n++) {
+                int indice = buffer.getShort() & 0xFFFF;
+                sketch.atualizar(indice, buffer.get());
+            }
+        } else if (formato == FORMATO_DENSO && bytes.length == TAMANHO_DENSO && bytes[1] == PRECISAO) {
+            sketch.densificar();
+            byte[] registradores = sketch.registradores;
+            for (int i = 0, j = 2; i < REGISTRADORES; i += 4, j += 3) {
+                int bloco = (bytes[j] & 0xFF) << 16 | (bytes[j + 1] & 0xFF) << 8 | (bytes[j + 2] & 0xFF);
+                registradores[i] = (byte) (bloco >>> 18 & 0x3F);
+                registradores[i + 1] = (byte) (bloco >>> 12 & 0x3F);
+                registradores[i + 2] = (byte) (bloco >>> 6 & 0x3F);
+                registradores[i + 3] = (byte) (bloco & 0x3F);
+            }
+        } else {
+            throw new IllegalArgumentException("Formato de sketch desconhecido: " + formato);
+        }
+        return sketch;
+    }
+}
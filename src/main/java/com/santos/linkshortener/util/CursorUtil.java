@@ -0,0 +1,60 @@
+package com.santos.linkshortener.util;
+
+import com.santos.linkshortener.exception.FormatoInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Utilitário para cursores de paginação por chave ({@code data_criacao, id}).
+ * O cursor é opaco para o cliente: a posição do último item, codificada em base64 URL-safe.
+ */
+public final class CursorUtil {
+
+    private static final char SEPARADOR = '|';
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Posição de um item na ordenação por data de criação e ID.
+     *
+     * @param dataCriacao Data de criação do último item retornado
+     * @param id          ID do último item retornado
+     */
+    public record Posicao(LocalDateTime dataCriacao, Long id) {
+    }
+
+    /**
+     * Gera o cursor que aponta para depois do item informado.
+     *
+     * @param dataCriacao Data de criação do último item da página
+     * @param id          ID do último item da página
+     * @return Cursor opaco
+     */
+    public static String codificar(LocalDateTime dataCriacao, Long id) {
+        String valor = dataCriacao.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê a posição contida no cursor.
+     *
+     * @param cursor Cursor recebido do cliente
+     * @return Posição do último item da página anterior
+     * @throws FormatoInvalidoException Se o cursor for inválido
+     */
+    public static Posicao decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new Posicao(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new FormatoInvalidoException("Cursor de paginação inválido.");
+        }
+    }
+}
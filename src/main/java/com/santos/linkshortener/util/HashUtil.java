@@ -0,0 +1,58 @@
+package com.santos.linkshortener.util;
+
+/**
+ * Hashes de 64 bits não criptográficos usados nas estruturas em memória (filtro de códigos,
+ * limite por cliente, log de cliques): FNV-1a sobre os caracteres seguido da mistura final do
+ * MurmurHash3, que espalha os bits altos e baixos do FNV-1a.
+ */
+public final class HashUtil {
+
+    private static final long FNV_BASE = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+
+    private HashUtil() {
+    }
+
+    /**
+     * @param valor Texto a resumir
+     * @return Hash de 64 bits do texto inteiro
+     */
+    public static long hash64(String valor) {
+        return hash64(valor, 0, valor.length(), false);
+    }
+
+    /**
+     * @param valor      Texto a resumir
+     * @param inicio     Primeiro caractere, inclusive
+     * @param fim        Último caractere, exclusive
+     * @param minusculas Se as letras ASCII maiúsculas são tratadas como minúsculas
+     * @return Hash de 64 bits do trecho
+     */
+    public static long hash64(String valor, int inicio, int fim, boolean minusculas) {
+        long h = FNV_BASE;
+        for (int i = inicio; i < fim; i++) {
+            char c = valor.charAt(i);
+            if (minusculas && c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            h ^= c;
+            h *= FNV_PRIMO;
+        }
+        return misturar(h);
+    }
+
+    /**
+     * Mistura final do MurmurHash3 (fmix64): cada bit da entrada afeta todos os da saída.
+     *
+     * @param valor Valor a misturar
+     * @return Valor misturado
+     */
+    public static long misturar(long valor) {
+        long h = valor;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
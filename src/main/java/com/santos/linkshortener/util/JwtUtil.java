@@ -2,6 +2,7 @@ package com.santos.linkshortener.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -11,48 +12,75 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utilitário moderno para geração e validação de tokens JWT.
  * Utiliza as APIs mais recentes do JJWT e práticas recomendadas de segurança.
+ * O parser é construído uma única vez e tokens já verificados ficam em cache (pelo hash
+ * SHA-256 do token) até expirarem, evitando repetir a verificação HMAC a cada requisição.
+ * O cache é dividido em segmentos LRU com lock próprio, como o cache de redirecionamento:
+ * ao inserir em um segmento cheio, o token usado há mais tempo sai.
  */
 @Component
 public class JwtUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     
+    /** Claim com o ID do usuário, evita consultar a tabela de usuários a cada requisição */
+    public static final String CLAIM_USER_ID = "uid";
+    
+    /** Potência de 2, para escolher o segmento por máscara */
+    private static final int SEGMENTOS = 16;
+    
     private final SecretKey key;
     private final Duration expirationTime;
+    private final JwtParser parser;
+    private final Segmento[] tokensVerificados = new Segmento[SEGMENTOS];
     
     /**
      * Construtor com injeção de dependências para configurações externalizadas.
      * 
      * @param secretKey chave secreta configurada no application.properties
      * @param expirationHours tempo de expiração em horas
+     * @param maxTokensEmCache quantidade máxima de tokens verificados mantidos em cache
      */
     public JwtUtil(
             @Value("${jwt.secret:SUA_CHAVE_SECRETA_MUITO_GRANDE_E_SEGURA_AQUI_123456}") String secretKey,
-            @Value("${jwt.expiration.hours:1}") long expirationHours) {
+            @Value("${jwt.expiration.hours:1}") long expirationHours,
+            @Value("${jwt.cache.max-entries:10000}") int maxTokensEmCache) {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
         this.expirationTime = Duration.ofHours(expirationHours);
+        this.parser = Jwts.parser().verifyWith(key).build();
+        int capacidadeSegmento = Math.max(1, (maxTokensEmCache + SEGMENTOS - 1) / SEGMENTOS);
+        for (int i = 0; i < SEGMENTOS; i++) {
+            tokensVerificados[i] = new Segmento(capacidadeSegmento);
+        }
     }
     
     /**
      * Gera um token JWT para o usuário especificado.
      * 
      * @param username nome do usuário
+     * @param userId ID do usuário, incluído na claim {@value #CLAIM_USER_ID}
      * @return token JWT gerado
      */
-    public String generateToken(String username) {
+    public String generateToken(String username, Long userId) {
         var now = Instant.now();
         var expiration = now.plus(expirationTime);
         
         return Jwts.builder()
                 .subject(username)
+                .claim(CLAIM_USER_ID, userId)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
                 .signWith(key)
@@ -70,6 +98,16 @@ public class JwtUtil {
                 .map(Claims::getSubject);
     }
     
+    /**
+     * Extrai o ID do usuário do token JWT.
+     * 
+     * @param claims claims já verificadas do token
+     * @return Optional contendo o ID ou vazio se o token não tiver a claim
+     */
+    public Optional<Long> extractUserId(Claims claims) {
+        return Optional.ofNullable(claims.get(CLAIM_USER_ID, Long.class));
+    }
+    
     /**
      * Extrai as claims do token JWT.
      * 
@@ -77,17 +115,7 @@ public class JwtUtil {
      * @return Optional contendo as claims ou vazio se inválido
      */
     public Optional<Claims> extractClaims(String token) {
-        try {
-            var claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return Optional.of(claims);
-        } catch (JwtException e) {
-            logger.warn("Falha ao extrair claims do token: {}", e.getMessage());
-            return Optional.empty();
-        }
+        return verificar(token);
     }
     
     /**
@@ -97,15 +125,51 @@ public class JwtUtil {
      * @return true se o token é válido, false caso contrário
      */
     public boolean validateToken(String token) {
+        return verificar(token).isPresent();
+    }
+    
+    /**
+     * Verifica assinatura e expiração do token uma única vez e retorna suas claims.
+     * Tokens já verificados e ainda não expirados são atendidos pelo cache.
+     * 
+     * @param token token JWT
+     * @return Optional contendo as claims ou vazio se inválido
+     */
+    public Optional<Claims> verificar(String token) {
+        var digest = digest(token);
+        var segmento = segmento(digest);
+        var emCache = segmento.get(digest);
+        if (emCache != null) {
+            if (emCache.getExpiration().after(new Date())) {
+                return Optional.of(emCache);
+            }
+            segmento.remove(digest);
+            return Optional.empty();
+        }
+        
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException e) {
+            var claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                segmento.put(digest, claims);
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
             logger.debug("Token inválido: {}", e.getMessage());
-            return false;
+            return Optional.empty();
+        }
+    }
+    
+    private Segmento segmento(String digest) {
+        int h = digest.hashCode();
+        return tokensVerificados[(h ^ (h >>> 16)) & (SEGMENTOS - 1)];
+    }
+    
+    private static String digest(String token) {
+        try {
+            var sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
         }
     }
     
@@ -121,4 +185,50 @@ public class JwtUtil {
                 .map(expiration -> expiration.before(new Date()))
                 .orElse(true);
     }
+    
+    /**
+     * Parte do cache de tokens em ordem de acesso. Tokens expirados não são mais acessados e
+     * chegam ao fim da fila, saindo nas próximas inserções.
+     */
+    private static final class Segmento {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Claims> mapa = new LinkedHashMap<>(64, 0.75f, true);
+        private final int capacidade;
+        
+        Segmento(int capacidade) {
+            this.capacidade = capacidade;
+        }
+        
+        Claims get(String digest) {
+            lock.lock();
+            try {
+                return mapa.get(digest);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void put(String digest, Claims claims) {
+            lock.lock();
+            try {
+                mapa.put(digest, claims);
+                Iterator<Claims> iterator = mapa.values().iterator();
+                while (mapa.size() > capacidade && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void remove(String digest) {
+            lock.lock();
+            try {
+                mapa.remove(digest);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
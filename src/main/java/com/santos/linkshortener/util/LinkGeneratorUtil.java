@@ -1,20 +1,20 @@
 package com.santos.linkshortener.util;
 
-import java.security.SecureRandom;
+import com.santos.linkshortener.generator.CodeAlphabet;
+import com.santos.linkshortener.generator.RandomCodeStrategy;
 
 /**
  * Utilitário para geração de códigos curtos aleatórios para links.
- * Utiliza SecureRandom para garantir aleatoriedade criptográfica.
+ * Delega para {@link RandomCodeStrategy}, que usa um SecureRandom por fonte em vez de um
+ * único gerador compartilhado por todas as threads.
  */
 public class LinkGeneratorUtil {
-    /** Alfabeto de caracteres permitidos (a-z, A-Z, 0-9) */
-    private static final String ALFABETO = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    
     /** Tamanho padrão do código curto gerado */
     private static final int TAMANHO_LINK = 8;
-    
-    /** Gerador de números aleatórios seguro */
-    private static final SecureRandom random = new SecureRandom();
+
+    /** Gerador aleatório com o alfabeto padrão (a-z, A-Z, 0-9) */
+    private static final RandomCodeStrategy gerador =
+            new RandomCodeStrategy(new CodeAlphabet(CodeAlphabet.PADRAO), TAMANHO_LINK);
 
     /**
      * Gera um código curto aleatório de 8 caracteres.
@@ -23,10 +23,6 @@ public class LinkGeneratorUtil {
      * @return String com código curto aleatório
      */
     public static String gerarLinkAleatorio() {
-        StringBuilder sb = new StringBuilder(TAMANHO_LINK);
-        for (int i = 0; i < TAMANHO_LINK; i++) {
-            sb.append(ALFABETO.charAt(random.nextInt(ALFABETO.length())));
-        }
-        return sb.toString();
+        return gerador.gerar(0);
     }
 }
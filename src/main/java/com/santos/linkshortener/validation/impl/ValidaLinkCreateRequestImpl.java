@@ -2,21 +2,28 @@ package com.santos.linkshortener.validation.impl;
 
 import com.santos.linkshortener.dto.LinkCreateRequest;
 import com.santos.linkshortener.exception.FormatoInvalidoException;
+import com.santos.linkshortener.model.ClickCounting;
 import com.santos.linkshortener.validation.Validar;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 /**
  * Validador para requisições de criação de link.
- * Verifica formato da URL original e caracteres permitidos no código curto.
+ * Verifica formato da URL original, caracteres permitidos no código curto, os dados de expiração
+ * e a política de cache do redirecionamento.
  */
 @Component
 public class ValidaLinkCreateRequestImpl implements Validar<LinkCreateRequest> {
 
+    /** Maior cache aceito para o redirecionamento: um ano, o limite usual de max-age */
+    private static final int MAX_CACHE_SEGUNDOS = 31_536_000;
+
     /**
      * Valida dados da requisição de criação de link.
      * 
-     * @param request Requisição contendo URL original e código curto opcional
-     * @throws FormatoInvalidoException Se a URL ou código curto forem inválidos
+     * @param request Requisição contendo URL original, código curto e expiração opcionais
+     * @throws FormatoInvalidoException Se a URL, o código curto, a expiração ou o cache forem inválidos
      */
     @Override
     public void validar(LinkCreateRequest request) {
@@ -27,5 +34,34 @@ public class ValidaLinkCreateRequestImpl implements Validar<LinkCreateRequest> {
         if (request.urlCurta() != null && !request.urlCurta().matches("^[a-zA-Z0-9_-]+$")) {
             throw new FormatoInvalidoException("Link customizado deve conter apenas letras, números, '_' ou '-'.");
         }
+
+        if (request.expiraEm() != null && !request.expiraEm().isAfter(LocalDateTime.now())) {
+            throw new FormatoInvalidoException("Data de expiração deve estar no futuro.");
+        }
+
+        if (request.maxCliques() != null && request.maxCliques() < 1) {
+            throw new FormatoInvalidoException("Limite de cliques deve ser maior que zero.");
+        }
+
+        Integer status = request.redirecionamento();
+        if (status != null && status != 301 && status != 302 && status != 307 && status != 308) {
+            throw new FormatoInvalidoException("Redirecionamento deve ser 301, 302, 307 ou 308.");
+        }
+
+        Integer cacheSegundos = request.cacheSegundos();
+        if (cacheSegundos != null && (cacheSegundos < 0 || cacheSegundos > MAX_CACHE_SEGUNDOS)) {
+            throw new FormatoInvalidoException("Cache do redirecionamento deve estar entre 0 e "
+                    + MAX_CACHE_SEGUNDOS + " segundos.");
+        }
+
+        // Acessos atendidos por navegadores e CDN não chegam ao servidor e não são contados
+        boolean parcial = request.contagemCliques() == ClickCounting.PARCIAL;
+        if (cacheSegundos != null && cacheSegundos > 0 && !parcial) {
+            throw new FormatoInvalidoException("Cache do redirecionamento exige contagemCliques PARCIAL.");
+        }
+
+        if (request.maxCliques() != null && parcial) {
+            throw new FormatoInvalidoException("Limite de cliques exige contagemCliques EXATA.");
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.santos.linkshortener.validation.impl;
 
+import com.santos.linkshortener.cache.ShortCodeFilter;
 import com.santos.linkshortener.dto.LinkCreateRequest;
 import com.santos.linkshortener.exception.LinkCurtoInvalidoException;
 import com.santos.linkshortener.repository.LinkRepository;
@@ -9,13 +10,17 @@ import org.springframework.stereotype.Component;
 
 /**
  * Validador de unicidade de código curto.
- * Verifica se o código curto já está em uso no banco de dados.
+ * Verifica se o código curto já está em uso no banco de dados. Códigos que o filtro
+ * em memória indica como inexistentes são aceitos sem consulta.
  */
 @Component
 public class ValidaLinkCurtoUnicoImpl implements Validar<LinkCreateRequest> {
     @Autowired
     private LinkRepository linkRepository;
 
+    @Autowired
+    private ShortCodeFilter shortCodeFilter;
+
     /**
      * Valida se o código curto é único.
      * 
@@ -26,7 +31,7 @@ public class ValidaLinkCurtoUnicoImpl implements Validar<LinkCreateRequest> {
     public void validar(LinkCreateRequest request) {
         String urlCurta = request.urlCurta();
         if (urlCurta != null && !urlCurta.isBlank()) {
-            if (linkRepository.findByUrlCurta(urlCurta) != null) {
+            if (shortCodeFilter.podeExistir(urlCurta) && linkRepository.existsByUrlCurta(urlCurta)) {
                 throw new LinkCurtoInvalidoException("O link curto já está em uso.");
             }
         }
@@ -0,0 +1,18 @@
+-- Schema da primeira versão, como o Hibernate o criava com ddl-auto=update.
+-- Em um banco já existente (baseline-on-migrate) os comandos não alteram nada.
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email varchar(255) NOT NULL UNIQUE,
+    password varchar(255) NOT NULL,
+    username varchar(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS links (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contador_cliques integer,
+    data_criacao timestamp(6),
+    url_curta varchar(255) NOT NULL UNIQUE,
+    url_original varchar(255) NOT NULL,
+    user_id bigint REFERENCES users (id)
+);
@@ -0,0 +1,11 @@
+-- Contador de cliques passou de integer para bigint
+ALTER TABLE links ALTER COLUMN contador_cliques TYPE bigint;
+
+-- IDs de links passaram de IDENTITY para a sequência links_seq (blocos de 50). A sequência
+-- nunca recua: instâncias em execução podem ter reservado blocos além do maior ID gravado.
+ALTER TABLE links ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS links_seq INCREMENT BY 50;
+SELECT setval('links_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM links), (SELECT last_value FROM links_seq)));
+
+-- Paginação por chave de /my-links
+CREATE INDEX IF NOT EXISTS idx_links_user_data_criacao_id ON links (user_id, data_criacao, id);
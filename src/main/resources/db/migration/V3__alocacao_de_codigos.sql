@@ -0,0 +1,5 @@
+-- Blocos de IDs reservados por instância para a geração de códigos curtos
+CREATE TABLE IF NOT EXISTS code_allocations (
+    nome varchar(255) PRIMARY KEY,
+    proximo bigint NOT NULL
+);
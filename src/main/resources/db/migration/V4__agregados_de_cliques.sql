@@ -0,0 +1,24 @@
+-- Agregados de cliques por hora e por dia (sem chave estrangeira: agregados de links apagados
+-- são mantidos). A tabela particionada link_clicks é criada e mantida pelo ClickPartitionManager.
+CREATE TABLE IF NOT EXISTS click_aggregates (
+    link_id bigint NOT NULL,
+    hora timestamp(6) NOT NULL,
+    cliques bigint NOT NULL,
+    visitantes bytea,
+    PRIMARY KEY (link_id, hora)
+);
+
+CREATE TABLE IF NOT EXISTS click_aggregates_daily (
+    link_id bigint NOT NULL,
+    dia date NOT NULL,
+    cliques bigint NOT NULL,
+    visitantes bytea,
+    PRIMARY KEY (link_id, dia)
+);
+
+-- Segmentos do log de cliques já compactados
+CREATE TABLE IF NOT EXISTS click_log_compactions (
+    segmento varchar(255) PRIMARY KEY,
+    cliques bigint NOT NULL,
+    data_compactacao timestamp(6) NOT NULL
+);
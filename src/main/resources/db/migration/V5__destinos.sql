@@ -0,0 +1,32 @@
+-- URLs de destino passaram para a tabela destinations (ID = primeiros 64 bits do MD5 da URL).
+-- As URLs migradas são gravadas como estavam; os links criados depois usam a URL normalizada.
+CREATE TABLE IF NOT EXISTS destinations (
+    id bigint PRIMARY KEY,
+    url text NOT NULL
+);
+
+ALTER TABLE links ADD COLUMN IF NOT EXISTS destino_id bigint REFERENCES destinations (id);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'links' AND column_name = 'url_original') THEN
+        INSERT INTO destinations (id, url)
+        SELECT DISTINCT ON (id) id, url_original
+        FROM (SELECT ('x' || substr(md5(url_original), 1, 16))::bit(64)::bigint AS id, url_original
+              FROM links WHERE destino_id IS NULL) l
+        ON CONFLICT (id) DO NOTHING;
+
+        UPDATE links SET destino_id = ('x' || substr(md5(url_original), 1, 16))::bit(64)::bigint
+        WHERE destino_id IS NULL;
+
+        IF EXISTS (SELECT 1 FROM links l JOIN destinations d ON d.id = l.destino_id
+                   WHERE d.url <> l.url_original) THEN
+            RAISE EXCEPTION 'URLs diferentes com o mesmo ID de destino; corrija esses links e execute a migração novamente';
+        END IF;
+
+        ALTER TABLE links DROP COLUMN url_original;
+    END IF;
+END $$;
+
+ALTER TABLE links ALTER COLUMN destino_id SET NOT NULL;
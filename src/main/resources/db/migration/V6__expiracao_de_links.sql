@@ -0,0 +1,17 @@
+-- Expiração por data e por limite de cliques
+ALTER TABLE links ADD COLUMN IF NOT EXISTS expira_em timestamp(6);
+ALTER TABLE links ADD COLUMN IF NOT EXISTS max_cliques bigint;
+
+-- Remoção em lote dos links expirados
+CREATE INDEX IF NOT EXISTS idx_links_expira_em ON links (expira_em);
+-- A limpeza por limite de cliques compara contador_cliques >= max_cliques, que um índice em
+-- max_cliques não atende; o índice parcial lista só os links com limite, poucos na tabela
+CREATE INDEX IF NOT EXISTS idx_links_com_limite_de_cliques ON links (id) WHERE max_cliques IS NOT NULL;
+
+-- Códigos de links removidos, bloqueados para reuso até liberado_em
+CREATE TABLE IF NOT EXISTS code_quarantine (
+    url_curta varchar(255) PRIMARY KEY,
+    liberado_em timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_code_quarantine_liberado_em ON code_quarantine (liberado_em);
@@ -0,0 +1,4 @@
+-- Política de redirecionamento por link; nulas nos links existentes (302 sem cache, contagem exata)
+ALTER TABLE links ADD COLUMN IF NOT EXISTS status_redirecionamento integer;
+ALTER TABLE links ADD COLUMN IF NOT EXISTS cache_segundos integer;
+ALTER TABLE links ADD COLUMN IF NOT EXISTS contagem_cliques varchar(16);
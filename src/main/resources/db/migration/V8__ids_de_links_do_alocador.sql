@@ -0,0 +1,12 @@
+-- IDs de links passaram a vir do alocador de blocos (code_allocations), o mesmo ID que origina
+-- o código gerado. A faixa começa acima de todos os IDs já usados, inclusive os reservados da
+-- sequência links_seq, que deixa de existir (instâncias antigas falham em vez de repetir IDs).
+INSERT INTO code_allocations (nome, proximo) VALUES ('links', 0) ON CONFLICT (nome) DO NOTHING;
+
+UPDATE code_allocations
+SET proximo = GREATEST(proximo,
+                       (SELECT COALESCE(MAX(id), 0) + 1 FROM links),
+                       (SELECT last_value + 50 FROM links_seq))
+WHERE nome = 'links';
+
+DROP SEQUENCE IF EXISTS links_seq;
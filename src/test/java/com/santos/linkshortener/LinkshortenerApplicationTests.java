@@ -3,7 +3,7 @@ package com.santos.linkshortener;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.codigo.chave=teste")
 class LinkshortenerApplicationTests {
 
 	@Test
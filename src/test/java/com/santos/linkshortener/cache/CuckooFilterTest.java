@@ -0,0 +1,71 @@
+package com.santos.linkshortener.cache;
+
+import com.santos.linkshortener.util.HashUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CuckooFilterTest {
+
+    private static long hash(int i) {
+        return HashUtil.hash64("codigo-" + i);
+    }
+
+    @Test
+    void semFalsosNegativos() {
+        CuckooFilter filtro = new CuckooFilter(20_000, 12);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filtro.inserir(hash(i))).isTrue();
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filtro.talvezContenha(hash(i))).isTrue();
+        }
+        assertThat(filtro.itens()).isEqualTo(10_000);
+    }
+
+    @Test
+    void taxaDeFalsosPositivosProximaDaEstimada() {
+        CuckooFilter filtro = new CuckooFilter(20_000, 12);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.inserir(hash(i));
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filtro.talvezContenha(hash(i))) {
+                falsosPositivos++;
+            }
+        }
+        assertThat(falsosPositivos / 100_000.0)
+                .isLessThan(Math.max(0.005, 2 * filtro.taxaFalsosPositivos()));
+    }
+
+    @Test
+    void removerApagaApenasUmaCopia() {
+        CuckooFilter filtro = new CuckooFilter(1000, 16);
+        filtro.inserir(hash(1));
+        filtro.inserir(hash(1));
+
+        assertThat(filtro.remover(hash(1))).isTrue();
+        assertThat(filtro.talvezContenha(hash(1))).isTrue();
+        assertThat(filtro.remover(hash(1))).isTrue();
+        assertThat(filtro.talvezContenha(hash(1))).isFalse();
+        assertThat(filtro.remover(hash(1))).isFalse();
+    }
+
+    @Test
+    void filtroCheioMantemTodosOsItensInseridos() {
+        CuckooFilter filtro = new CuckooFilter(8, 16);
+        int inseridos = 0;
+        while (filtro.inserir(hash(inseridos))) {
+            inseridos++;
+        }
+
+        assertThat(filtro.cheio()).isTrue();
+        // O último desalojado fica como vítima e continua sendo encontrado
+        for (int i = 0; i < inseridos; i++) {
+            assertThat(filtro.talvezContenha(hash(i))).isTrue();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.santos.linkshortener.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencySketchTest {
+
+    @Test
+    void estimaMaisAcessosParaChavesMaisFrequentes() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 10; i++) {
+            sketch.incrementar("popular");
+        }
+        sketch.incrementar("raro");
+
+        assertThat(sketch.frequencia("popular")).isGreaterThanOrEqualTo(10);
+        assertThat(sketch.frequencia("raro")).isLessThan(sketch.frequencia("popular"));
+    }
+
+    @Test
+    void contadoresSaturamEmQuinze() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 100; i++) {
+            sketch.incrementar("abc");
+        }
+
+        assertThat(sketch.frequencia("abc")).isEqualTo(15);
+    }
+
+    @Test
+    void envelhecimentoDivideOsContadoresPorDois() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        // Tabela de 1024 posições: o envelhecimento ocorre na amostra 10240
+        for (int i = 0; i < 15; i++) {
+            sketch.incrementar("antigo");
+        }
+        for (int i = 15; i < 10_240; i++) {
+            sketch.incrementar("outro-" + i);
+        }
+
+        assertThat(sketch.frequencia("antigo")).isEqualTo(7);
+    }
+}
@@ -0,0 +1,190 @@
+package com.santos.linkshortener.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedirectCacheTest {
+
+    private final RedirectCache cache = new RedirectCache(1 << 20, 60_000, 1000);
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    @AfterEach
+    void encerrar() {
+        cache.encerrar();
+    }
+
+    private Function<String, Optional<CachedLink>> banco(Runnable durante) {
+        return codigo -> {
+            consultas.incrementAndGet();
+            durante.run();
+            return Optional.of(new CachedLink(1L, "https://exemplo.com/" + codigo, RedirectPolicy.PADRAO));
+        };
+    }
+
+    @Test
+    void missesSimultaneosDoMesmoCodigoFazemUmaConsulta() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Function<String, Optional<CachedLink>> lento = banco(() -> {
+            iniciou.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<CachedLink>>> resultados = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(executor.submit(() -> cache.get("abc", lento)));
+            }
+            assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+            liberar.countDown();
+            for (Future<Optional<CachedLink>> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS)).get()
+                        .extracting(CachedLink::urlOriginal).isEqualTo("https://exemplo.com/abc");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    void codigoInexistenteFicaNoCacheNegativo() {
+        Function<String, Optional<CachedLink>> vazio = codigo -> {
+            consultas.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(cache.get("nada", vazio)).isEmpty();
+        assertThat(cache.get("nada", vazio)).isEmpty();
+
+        assertThat(consultas).hasValue(1);
+        assertThat(cache.stats().hitsNegativos()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidarRemoveEntradaArmazenada() {
+        cache.get("abc", banco(() -> { }));
+        cache.invalidar("abc");
+        cache.get("abc", banco(() -> { }));
+
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void invalidacaoDoCodigoDuranteACargaNaoArmazenaOResultado() {
+        cache.get("abc", banco(() -> cache.invalidar("abc")));
+        cache.get("abc", banco(() -> { }));
+
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void invalidacaoDeOutroCodigoNaoDescartaACarga() {
+        cache.get("abc", banco(() -> cache.invalidar("outro")));
+        cache.get("abc", banco(() -> { }));
+
+        assertThat(consultas).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void limparDuranteACargaNaoArmazenaOResultado() {
+        cache.get("abc", banco(cache::limpar));
+        cache.get("abc", banco(() -> { }));
+
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void entradaRejeitadaNaoDesalojaNenhumaVitima() {
+        // Três códigos do mesmo segmento; o segmento comporta exatamente os dois primeiros links
+        List<String> codigos = new ArrayList<>();
+        for (int i = 0; codigos.size() < 3; i++) {
+            if (segmento("c" + i) == segmento("c0")) {
+                codigos.add("c" + i);
+            }
+        }
+        String raro = codigos.get(0);
+        String popular = codigos.get(1);
+        String grande = codigos.get(2);
+        int peso = new CachedLink(1L, "https://exemplo.com/" + raro, RedirectPolicy.PADRAO).pesoEstimado(raro)
+                + new CachedLink(1L, "https://exemplo.com/" + popular, RedirectPolicy.PADRAO).pesoEstimado(popular);
+        var pequeno = new RedirectCache(16L * peso, 60_000, 1000);
+        Function<String, Optional<CachedLink>> longo = codigo -> Optional.of(
+                new CachedLink(1L, "https://exemplo.com/" + "x".repeat(peso / 8) + codigo, RedirectPolicy.PADRAO));
+        try {
+            pequeno.get(raro, banco(() -> { }));
+            for (int i = 0; i < 5; i++) {
+                pequeno.get(popular, banco(() -> { }));
+            }
+
+            // O link grande só cabe desalojando os dois; é mais frequente que o menos recente, não que o outro
+            pequeno.get(grande, longo);
+            pequeno.get(grande, longo);
+
+            assertThat(pequeno.stats().evictions()).isZero();
+            assertThat(pequeno.stats().rejeicoes()).isEqualTo(2);
+            assertThat(pequeno.stats().entradas()).isEqualTo(2);
+        } finally {
+            pequeno.encerrar();
+        }
+    }
+
+    @Test
+    void hitsSemLockAtualizamAOrdemDeAcesso() {
+        List<String> codigos = new ArrayList<>();
+        for (int i = 0; codigos.size() < 3; i++) {
+            String codigo = String.format("c%03d", i);
+            if (codigos.isEmpty() || segmento(codigo) == segmento(codigos.get(0))) {
+                codigos.add(codigo);
+            }
+        }
+        String lido = codigos.get(0);
+        String esquecido = codigos.get(1);
+        String novo = codigos.get(2);
+        int peso = new CachedLink(1L, "https://exemplo.com/" + lido, RedirectPolicy.PADRAO).pesoEstimado(lido);
+        var pequeno = new RedirectCache(16L * 2 * peso, 60_000, 1000);
+        try {
+            pequeno.get(lido, banco(() -> { }));
+            pequeno.get(esquecido, banco(() -> { }));
+            // Uma volta do buffer de leituras: o primeiro passa a ser o mais recente
+            for (int i = 0; i < 64; i++) {
+                pequeno.get(lido, banco(() -> { }));
+            }
+
+            pequeno.get(novo, banco(() -> { }));
+            pequeno.get(novo, banco(() -> { }));
+            consultas.set(0);
+            pequeno.get(lido, banco(() -> { }));
+            pequeno.get(novo, banco(() -> { }));
+
+            assertThat(consultas).hasValue(0);
+            assertThat(pequeno.stats().evictions()).isEqualTo(1);
+        } finally {
+            pequeno.encerrar();
+        }
+    }
+
+    private static int segmento(String codigo) {
+        int h = codigo.hashCode();
+        return (h ^ (h >>> 16)) & 15;
+    }
+}
@@ -0,0 +1,117 @@
+package com.santos.linkshortener.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortCodeFilterTest {
+
+    private static final LocalDateTime ONTEM = LocalDateTime.now().minusDays(1);
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:filtro-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private ShortCodeFilter filtro;
+
+    @BeforeEach
+    void criarTabelas() {
+        jdbcTemplate.execute("CREATE TABLE links (url_curta VARCHAR(64) PRIMARY KEY, data_criacao TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE code_quarantine (url_curta VARCHAR(64) PRIMARY KEY)");
+        // Fingerprints de 4 bits em 2 buckets: colisões entre códigos são fáceis de encontrar
+        filtro = new ShortCodeFilter(dataSource, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                true, 4, 0.5, 60_000);
+    }
+
+    @AfterEach
+    void encerrar() {
+        filtro.encerrar();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    private void inserirLink(String codigo, LocalDateTime dataCriacao) {
+        jdbcTemplate.update("INSERT INTO links VALUES (?, ?)", codigo, Timestamp.valueOf(dataCriacao));
+    }
+
+    /** Código que não existe mas tem o mesmo fingerprint e buckets de um código do filtro */
+    private String codigoQueColide() {
+        for (int i = 0; ; i++) {
+            if (filtro.podeExistir("colide-" + i)) {
+                return "colide-" + i;
+            }
+        }
+    }
+
+    @Test
+    void respondeAusenteParaCodigosNaoCarregados() {
+        inserirLink("abc", ONTEM);
+        filtro.construir();
+
+        assertThat(filtro.podeExistir("abc")).isTrue();
+        assertThat(filtro.stats().itens()).isEqualTo(1);
+    }
+
+    @Test
+    void codigoNovoComFingerprintRepetidoSobreviveARemocaoDoOutro() {
+        inserirLink("antigo", ONTEM);
+        filtro.construir();
+        String novo = codigoQueColide();
+
+        // Criado por outra instância e incorporado na atualização periódica
+        inserirLink(novo, LocalDateTime.now());
+        filtro.atualizarComSeguranca();
+        jdbcTemplate.update("DELETE FROM links WHERE url_curta = 'antigo'");
+        filtro.remover("antigo", ONTEM);
+
+        assertThat(filtro.podeExistir(novo)).isTrue();
+    }
+
+    @Test
+    void remocaoDeCodigoRecenteNuncaLidoNaoApagaOFingerprintDeOutro() {
+        inserirLink("antigo", ONTEM);
+        filtro.construir();
+        String outro = codigoQueColide();
+
+        filtro.remover(outro, LocalDateTime.now());
+
+        assertThat(filtro.podeExistir("antigo")).isTrue();
+    }
+
+    @Test
+    void margemRelidaNaoDuplicaCodigosJaInseridos() {
+        filtro.construir();
+        inserirLink("local", LocalDateTime.now());
+        filtro.adicionar("local");
+
+        filtro.atualizarComSeguranca();
+        filtro.atualizarComSeguranca();
+
+        assertThat(filtro.stats().itens()).isEqualTo(1);
+        filtro.remover("local", LocalDateTime.now());
+        assertThat(filtro.stats().itens()).isZero();
+    }
+
+    @Test
+    void suspensaoValeAteAProximaAtualizacao() {
+        filtro.construir();
+        filtro.suspenderAteAtualizar();
+
+        assertThat(filtro.podeExistir("perdido")).isTrue();
+
+        // Criado enquanto as mensagens do canal eram perdidas
+        inserirLink("perdido", LocalDateTime.now());
+        filtro.atualizarComSeguranca();
+
+        assertThat(filtro.podeExistir("perdido")).isTrue();
+        assertThat(filtro.podeExistir("inexistente")).isFalse();
+    }
+}
@@ -0,0 +1,112 @@
+package com.santos.linkshortener.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void expiraNoTickDoPrazoArredondadoParaCima() {
+        var roda = new TimingWheel<String>(10, 0);
+        roda.agendar("a", 25);
+        List<String> vencidos = new ArrayList<>();
+
+        assertThat(roda.avancar(29, vencidos::add)).isZero();
+        assertThat(roda.avancar(30, vencidos::add)).isEqualTo(1);
+        assertThat(vencidos).containsExactly("a");
+        assertThat(roda.tamanho()).isZero();
+    }
+
+    @Test
+    void prazoJaVencidoExpiraNoProximoAvanco() {
+        var roda = new TimingWheel<String>(1, 1_000);
+        roda.agendar("a", 10);
+        List<String> vencidos = new ArrayList<>();
+
+        roda.avancar(1_001, vencidos::add);
+
+        assertThat(vencidos).containsExactly("a");
+    }
+
+    @Test
+    void expiraExatamenteNoPrazoNasFronteirasDosNiveis() {
+        long[] prazos = {1, 63, 64, 65, 127, 128, 4_095, 4_096, 4_097, 262_144, 262_145, 300_000};
+        for (long prazo : prazos) {
+            var roda = new TimingWheel<Long>(1, 0);
+            roda.agendar(prazo, prazo);
+
+            assertThat(roda.avancar(prazo - 1, valor -> { })).as("antes de %d", prazo).isZero();
+            assertThat(roda.avancar(prazo, valor -> { })).as("em %d", prazo).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void prazoAlemDoAlcanceEhReagendado() {
+        long alcance = 1L << (6 * TimingWheel.NIVEIS);
+        long prazo = alcance + 1_000;
+        var roda = new TimingWheel<String>(1, 0);
+        roda.agendar("distante", prazo);
+
+        assertThat(roda.avancar(prazo - 1, valor -> { })).isZero();
+        assertThat(roda.tamanho()).isEqualTo(1);
+        assertThat(roda.avancar(prazo, valor -> { })).isEqualTo(1);
+    }
+
+    @Test
+    void cancelarRemoveUmaVez() {
+        var roda = new TimingWheel<String>(1, 0);
+        var item = roda.agendar("a", 100);
+        roda.agendar("b", 100);
+
+        roda.cancelar(item);
+        roda.cancelar(item);
+        List<String> vencidos = new ArrayList<>();
+        roda.avancar(100, vencidos::add);
+
+        assertThat(vencidos).containsExactly("b");
+        assertThat(roda.tamanho()).isZero();
+    }
+
+    @Test
+    void cancelarItemJaExpiradoNaoAlteraOTamanho() {
+        var roda = new TimingWheel<String>(1, 0);
+        var item = roda.agendar("a", 5);
+        roda.agendar("b", 50);
+        roda.avancar(10, valor -> { });
+
+        roda.cancelar(item);
+
+        assertThat(roda.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    void avancosIrregularesEntregamCadaItemNoPrimeiroAvancoAposOPrazo() {
+        var aleatorio = new Random(42);
+        var roda = new TimingWheel<Integer>(1, 0);
+        Map<Integer, Long> prazos = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long prazo = 1 + aleatorio.nextInt(300_000);
+            prazos.put(i, prazo);
+            roda.agendar(i, prazo);
+        }
+
+        long agora = 0;
+        while (roda.tamanho() > 0) {
+            long anterior = agora;
+            agora += 1 + aleatorio.nextInt(2_000);
+            long limite = agora;
+            roda.avancar(agora, valor -> assertThat(prazos.remove(valor))
+                    .isGreaterThan(anterior)
+                    .isLessThanOrEqualTo(limite));
+        }
+
+        assertThat(prazos).isEmpty();
+    }
+}
@@ -0,0 +1,103 @@
+package com.santos.linkshortener.click;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClickRingBufferTest {
+
+    @Test
+    void capacidadeArredondadaParaPotenciaDeDois() {
+        assertThat(new ClickRingBuffer(1).capacidade()).isEqualTo(2);
+        assertThat(new ClickRingBuffer(5).capacidade()).isEqualTo(8);
+        assertThat(new ClickRingBuffer(8).capacidade()).isEqualTo(8);
+    }
+
+    @Test
+    void consomeOsCamposNaOrdemDePublicacao() {
+        var fila = new ClickRingBuffer(4);
+        fila.publicar(1, 10, 100, 1000, 7, 8);
+        fila.publicar(2, 20, 200, 2000, 9, 10);
+
+        List<long[]> consumidos = new ArrayList<>();
+        int quantidade = fila.consumir((ts, link, ref, ua, alto, baixo) ->
+                consumidos.add(new long[]{ts, link, ref, ua, alto, baixo}), 10);
+
+        assertThat(quantidade).isEqualTo(2);
+        assertThat(consumidos).containsExactly(new long[]{1, 10, 100, 1000, 7, 8}, new long[]{2, 20, 200, 2000, 9, 10});
+        assertThat(fila.pendentes()).isZero();
+    }
+
+    @Test
+    void filaCheiaDescartaSemBloquear() {
+        var fila = new ClickRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(fila.publicar(i, i, 0, 0, 0, 0)).isTrue();
+        }
+
+        assertThat(fila.publicar(99, 99, 0, 0, 0, 0)).isFalse();
+        assertThat(fila.descartados()).isEqualTo(1);
+        assertThat(fila.pendentes()).isEqualTo(4);
+    }
+
+    @Test
+    void posicoesSaoReaproveitadasAposConsumo() {
+        var fila = new ClickRingBuffer(4);
+        List<Long> links = new ArrayList<>();
+        for (int volta = 0; volta < 5; volta++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(fila.publicar(0, volta * 3L + i, 0, 0, 0, 0)).isTrue();
+            }
+            fila.consumir((ts, link, ref, ua, alto, baixo) -> links.add(link), 3);
+        }
+
+        assertThat(links).hasSize(15).isSorted();
+        assertThat(fila.descartados()).isZero();
+    }
+
+    @Test
+    void variosProdutoresSemPerdaNemDuplicacao() throws InterruptedException {
+        int produtores = 4;
+        int porProdutor = 50_000;
+        var fila = new ClickRingBuffer(1024);
+        var inicio = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(produtores);
+        for (int p = 0; p < produtores; p++) {
+            long base = (long) p * porProdutor;
+            pool.execute(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < porProdutor; i++) {
+                    while (!fila.publicar(0, base + i, 0, 0, 0, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+
+        var vistos = new boolean[produtores * porProdutor];
+        int[] total = {0};
+        inicio.countDown();
+        while (total[0] < vistos.length) {
+            fila.consumir((ts, link, ref, ua, alto, baixo) -> {
+                assertThat(vistos[(int) link]).isFalse();
+                vistos[(int) link] = true;
+                total[0]++;
+            }, 256);
+        }
+
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(fila.pendentes()).isZero();
+    }
+}
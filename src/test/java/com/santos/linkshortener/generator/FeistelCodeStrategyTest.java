@@ -0,0 +1,83 @@
+package com.santos.linkshortener.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeistelCodeStrategyTest {
+
+    private static final CodeAlphabet ALFABETO = new CodeAlphabet(CodeAlphabet.PADRAO);
+
+    @Test
+    void inverterDesfazAPermutacao() {
+        var estrategia = new FeistelCodeStrategy(ALFABETO, 7, "segredo");
+
+        for (long id = 0; id < 100_000; id++) {
+            long imagem = estrategia.permutar(id);
+            assertThat(imagem).isBetween(0L, ALFABETO.capacidade(7) - 1);
+            assertThat(estrategia.inverter(imagem)).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void codigoGeradoDecodificaNoIdDoLink() {
+        var estrategia = new FeistelCodeStrategy(ALFABETO, 7, "segredo");
+
+        for (long id = 1_000; id < 2_000; id++) {
+            String codigo = estrategia.gerar(id);
+            assertThat(codigo).hasSize(7);
+            assertThat(estrategia.decodificar(codigo)).hasValue(id);
+        }
+    }
+
+    @Test
+    void codigoForaDoFormatoNaoEhDecodificado() {
+        var estrategia = new FeistelCodeStrategy(ALFABETO, 7, "segredo");
+
+        assertThat(estrategia.decodificar("curto")).isEmpty();
+        assertThat(estrategia.decodificar("com_sub")).isEmpty();
+        assertThat(estrategia.decodificar("comprido")).isEmpty();
+    }
+
+    @Test
+    void permutacaoEhBijecaoMesmoComCycleWalking() {
+        // 3^5 = 243 códigos, rede de 8 bits: imagens fora do espaço são permutadas de novo
+        var alfabeto = new CodeAlphabet("abc");
+        var estrategia = new FeistelCodeStrategy(alfabeto, 5, "segredo");
+        long dominio = alfabeto.capacidade(5);
+
+        Set<Long> imagens = new HashSet<>();
+        for (long id = 0; id < dominio; id++) {
+            imagens.add(estrategia.permutar(id));
+        }
+
+        assertThat(imagens).hasSize((int) dominio).allMatch(imagem -> imagem >= 0 && imagem < dominio);
+    }
+
+    @Test
+    void chavesDiferentesGeramCodigosDiferentes() {
+        var a = new FeistelCodeStrategy(ALFABETO, 7, "chave-a");
+        var b = new FeistelCodeStrategy(ALFABETO, 7, "chave-b");
+
+        assertThat(a.gerar(42)).isNotEqualTo(b.gerar(42));
+    }
+
+    @Test
+    void idsConsecutivosNaoGeramCodigosConsecutivos() {
+        var estrategia = new FeistelCodeStrategy(ALFABETO, 7, "segredo");
+
+        assertThat(Math.abs(estrategia.permutar(1) - estrategia.permutar(0))).isGreaterThan(1);
+    }
+
+    @Test
+    void espacoEsgotadoFalha() {
+        var alfabeto = new CodeAlphabet("ab");
+        var estrategia = new FeistelCodeStrategy(alfabeto, 4, "segredo");
+
+        assertThatThrownBy(() -> estrategia.gerar(16)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.santos.linkshortener.invalidation;
+
+import com.santos.linkshortener.cache.CachedLink;
+import com.santos.linkshortener.cache.RedirectCache;
+import com.santos.linkshortener.cache.RedirectPolicy;
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duas instâncias com filtro e cache próprios, ligadas pelo canal dentro da JVM e lendo o
+ * mesmo banco H2.
+ */
+class CacheInvalidatorTest {
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:invalidacao-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final String canal = "invalidacao-" + UUID.randomUUID();
+
+    private Instancia a;
+    private Instancia b;
+
+    @BeforeEach
+    void iniciar() throws InterruptedException {
+        jdbcTemplate.execute("CREATE TABLE links (url_curta VARCHAR(64) PRIMARY KEY, data_criacao TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE code_quarantine (url_curta VARCHAR(64) PRIMARY KEY)");
+        a = new Instancia();
+        b = new Instancia();
+        a.iniciar();
+        b.iniciar();
+    }
+
+    @AfterEach
+    void encerrar() {
+        a.encerrar();
+        b.encerrar();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void codigoCriadoEmUmaInstanciaEntraNoFiltroDaOutraNaHora() {
+        assertThat(b.filtro.podeExistir("novo")).isFalse();
+
+        criar(a, "novo");
+
+        assertThat(b.filtro.podeExistir("novo")).isTrue();
+    }
+
+    @Test
+    void criacaoDescartaEntradaNegativaDaOutraInstancia() {
+        assertThat(b.cache.get("novo", codigo -> Optional.empty())).isEmpty();
+
+        criar(a, "novo");
+
+        assertThat(b.cache.get("novo", codigo ->
+                Optional.of(new CachedLink(1L, "https://exemplo.com/novo", RedirectPolicy.PADRAO))))
+                .get().extracting(CachedLink::urlOriginal).isEqualTo("https://exemplo.com/novo");
+    }
+
+    @Test
+    void reconexaoSuspendeRespostasNegativasDoFiltro() {
+        assertThat(b.filtro.podeExistir("perdido")).isFalse();
+
+        // Criações publicadas enquanto a instância estava sem conexão não chegaram
+        b.invalidador.conexaoRestabelecida();
+
+        assertThat(b.filtro.podeExistir("perdido")).isTrue();
+    }
+
+    private void criar(Instancia instancia, String codigo) {
+        jdbcTemplate.update("INSERT INTO links VALUES (?, ?)", codigo, Timestamp.valueOf(LocalDateTime.now()));
+        instancia.invalidador.registrarCriacao(codigo);
+    }
+
+    private final class Instancia {
+
+        private final ShortCodeFilter filtro = new ShortCodeFilter(dataSource,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), true, 1024, 0.001, 600_000);
+        private final RedirectCache cache = new RedirectCache(1 << 20, 60_000, 1000);
+        private final InProcessInvalidationBus bus = new InProcessInvalidationBus(canal);
+        private final CacheInvalidator invalidador = new CacheInvalidator(cache, filtro, bus,
+                new SimpleMeterRegistry(), true, 60_000, 1000);
+
+        void iniciar() throws InterruptedException {
+            // O filtro é carregado depois da assinatura, que o suspende até a primeira leitura
+            invalidador.iniciar();
+            filtro.iniciar();
+            long limite = System.nanoTime() + 5_000_000_000L;
+            while (!filtro.stats().pronto() && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+            assertThat(filtro.stats().pronto()).isTrue();
+        }
+
+        void encerrar() {
+            bus.encerrar();
+            invalidador.encerrar();
+            filtro.encerrar();
+            cache.encerrar();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.santos.linkshortener.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver("10.0.0.0/8, 2001:db8:cafe::/48, 192.0.2.7");
+
+    @Test
+    void semProxiesConfiguradosUsaOEnderecoDaConexao() {
+        var semProxies = new ClientAddressResolver("");
+
+        assertThat(semProxies.cliente("10.0.0.5", null, List.of("203.0.113.9"))).isEqualTo("10.0.0.5");
+    }
+
+    @Test
+    void conexaoDeForaDosProxiesIgnoraOsCabecalhos() {
+        assertThat(resolver.cliente("198.51.100.20", List.of("for=203.0.113.9"), List.of("203.0.113.9")))
+                .isEqualTo("198.51.100.20");
+    }
+
+    @Test
+    void usaOUltimoSaltoQueNaoEhProxyConfiavel() {
+        // O cliente forjou o primeiro endereço; o balanceador anotou o IP real e o CDN o seu
+        assertThat(resolver.cliente("10.0.0.5", null, List.of("1.2.3.4, 203.0.113.9", "192.0.2.7")))
+                .isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void forwardedTemPrecedenciaEAceitaIpv6ComPorta() {
+        assertThat(resolver.cliente("2001:db8:cafe::17",
+                List.of("for=198.51.100.1;proto=https, for=\"[2001:db8:1::9]:4711\"", "For=10.1.2.3:8080;by=x"),
+                List.of("203.0.113.9")))
+                .isEqualTo("2001:db8:1::9");
+    }
+
+    @Test
+    void saltoSemEnderecoFicaNoUltimoProxyConhecido() {
+        assertThat(resolver.cliente("10.0.0.5", List.of("for=unknown, for=10.0.0.9"), null)).isEqualTo("10.0.0.9");
+    }
+
+    @Test
+    void todosOsSaltosConfiaveisUsaOMaisDistante() {
+        assertThat(resolver.cliente("10.0.0.5", null, List.of("10.9.9.9, 10.0.0.1"))).isEqualTo("10.9.9.9");
+    }
+
+    @Test
+    void nomesNaoSaoResolvidos() {
+        assertThat(resolver.cliente("10.0.0.5", null, List.of("exemplo.com"))).isEqualTo("10.0.0.5");
+        assertThat(ClientAddressResolver.bytes("exemplo:com")).isNull();
+    }
+
+    @Test
+    void proxyConfiavelInvalidoFalhaNaSubida() {
+        assertThatThrownBy(() -> new ClientAddressResolver("10.0.0.0/33"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ClientAddressResolver("balanceador.interno"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clientesAtrasDoMesmoProxyTemLimitesSeparados() throws Exception {
+        var rateLimiter = new RateLimiter(new SimpleMeterRegistry(), true, 1024, 32, 64,
+                1, 1, 1, 1, 1, 1);
+        var filtro = new RateLimitFilter(rateLimiter, resolver);
+
+        assertThat(redirecionar(filtro, "203.0.113.1")).isEqualTo(200);
+        assertThat(redirecionar(filtro, "203.0.113.1")).isEqualTo(429);
+        // Mesmo IP de conexão (o balanceador), outro cliente
+        assertThat(redirecionar(filtro, "203.0.113.2")).isEqualTo(200);
+    }
+
+    private static int redirecionar(RateLimitFilter filtro, String cliente) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/abc123");
+        request.setRemoteAddr("10.0.0.5");
+        request.addHeader("X-Forwarded-For", cliente);
+        var response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,54 @@
+package com.santos.linkshortener.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTableTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    // Um único grupo: todas as chaves disputam as mesmas posições
+    private final TokenBucketTable tabela = new TokenBucketTable(TokenBucketTable.POSICOES_POR_GRUPO, 1, 1);
+
+    @Test
+    void grupoCheioNaoZeraOLimiteDeQuemJaEstaNele() {
+        long agora = 10 * SEGUNDO;
+        assertThat(tabela.adquirir(1, agora)).isZero();
+        assertThat(tabela.adquirir(1, agora)).isPositive();
+
+        // O cliente ocupa o resto do grupo (e o transbordo) com outras chaves
+        for (long chave = 2; chave <= TokenBucketTable.POSICOES_POR_GRUPO + 3; chave++) {
+            tabela.adquirir(chave, agora);
+        }
+
+        assertThat(tabela.adquirir(1, agora)).isPositive();
+        assertThat(tabela.transbordos()).isEqualTo(3);
+    }
+
+    @Test
+    void chavesSemPosicaoDividemOBucketDeTransbordo() {
+        long agora = 10 * SEGUNDO;
+        for (long chave = 1; chave <= TokenBucketTable.POSICOES_POR_GRUPO; chave++) {
+            assertThat(tabela.adquirir(chave, agora)).isZero();
+        }
+
+        assertThat(tabela.adquirir(100, agora)).isZero();
+        assertThat(tabela.adquirir(101, agora)).isPositive();
+        assertThat(tabela.adquirir(100, agora)).isPositive();
+    }
+
+    @Test
+    void posicaoOciosaEhReaproveitada() {
+        long agora = 10 * SEGUNDO;
+        for (long chave = 1; chave <= TokenBucketTable.POSICOES_POR_GRUPO; chave++) {
+            tabela.adquirir(chave, agora);
+        }
+
+        // Um segundo depois os buckets voltaram a ficar cheios: a chave nova ganha posição própria
+        long depois = agora + SEGUNDO;
+        assertThat(tabela.adquirir(100, depois)).isZero();
+        assertThat(tabela.adquirir(101, depois)).isZero();
+        assertThat(tabela.transbordos()).isZero();
+    }
+}
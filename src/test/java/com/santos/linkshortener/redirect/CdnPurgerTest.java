@@ -0,0 +1,87 @@
+package com.santos.linkshortener.redirect;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Purga contra uma API de CDN falsa no servidor HTTP do JDK.
+ */
+class CdnPurgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> recebidas = new CopyOnWriteArrayList<>();
+    private HttpServer cdn;
+    private int status = 200;
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        cdn = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        cdn.createContext("/", exchange -> {
+            recebidas.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath()
+                    + " " + exchange.getRequestHeaders().getFirst("Fastly-Key"));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        cdn.start();
+    }
+
+    @AfterEach
+    void encerrar() {
+        cdn.stop(0);
+    }
+
+    private CdnPurger purger(String url) {
+        return new CdnPurger(meterRegistry, url, "POST", "Fastly-Key: segredo", 5000);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + cdn.getAddress().getPort() + "/service/abc/purge/{chave}";
+    }
+
+    private double purgas(String resultado) {
+        return meterRegistry.get("cdn.purge").tag("result", resultado).counter().count();
+    }
+
+    @Test
+    void purgaAChaveDoLinkComOCabecalhoConfigurado() throws Exception {
+        purger(url()).purgar("link-42").get(5, TimeUnit.SECONDS);
+
+        assertThat(recebidas).containsExactly("POST /service/abc/purge/link-42 segredo");
+        assertThat(purgas("ok")).isEqualTo(1);
+    }
+
+    @Test
+    void linkSemCacheOuSemUrlNaoChamaACdn() throws Exception {
+        purger(url()).purgar(null).get(5, TimeUnit.SECONDS);
+        purger("").purgar("link-42").get(5, TimeUnit.SECONDS);
+
+        assertThat(recebidas).isEmpty();
+    }
+
+    @Test
+    void respostaDeErroDaCdnEhContadaSemFalharARemocao() throws Exception {
+        status = 503;
+
+        purger(url()).purgar("link-42").get(5, TimeUnit.SECONDS);
+
+        assertThat(purgas("error")).isEqualTo(1);
+    }
+
+    @Test
+    void cabecalhoSemNomeFalhaNaSubida() {
+        assertThatThrownBy(() -> new CdnPurger(meterRegistry, url(), "POST", "segredo", 5000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.santos.linkshortener.security;
+
+import com.santos.linkshortener.cache.CachedLink;
+import com.santos.linkshortener.cache.RedirectPolicy;
+import com.santos.linkshortener.controller.LinkController;
+import com.santos.linkshortener.ratelimit.ClientAddressResolver;
+import com.santos.linkshortener.ratelimit.RateLimiter;
+import com.santos.linkshortener.service.LinkBatchService;
+import com.santos.linkshortener.service.LinkService;
+import com.santos.linkshortener.service.LinkStatsService;
+import com.santos.linkshortener.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = LinkController.class, properties = "app.base.url=http://localhost:8080")
+@Import({SecurityConfig.class, SimpleMeterRegistry.class, ClientAddressResolver.class})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LinkService linkService;
+    @MockitoBean
+    private LinkBatchService linkBatchService;
+    @MockitoBean
+    private LinkStatsService linkStatsService;
+    @MockitoBean
+    private JwtUtil jwtUtil;
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
+    @Test
+    void criarLinkSemTokenResponde401() throws Exception {
+        mockMvc.perform(post("/links").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"urlOriginal\":\"https://exemplo.com\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.erro").value("Autenticação necessária"));
+    }
+
+    @Test
+    void listarLinksSemTokenResponde401() throws Exception {
+        mockMvc.perform(get("/my-links"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void redirecionamentoEPublico() throws Exception {
+        when(linkService.resolver(eq("abc"), any(), any(), any()))
+                .thenReturn(new CachedLink(1L, "https://exemplo.com", RedirectPolicy.PADRAO));
+
+        mockMvc.perform(get("/abc"))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", "https://exemplo.com"));
+    }
+
+    @Test
+    void outrosMetodosNoCaminhoDoCodigoExigemToken() throws Exception {
+        mockMvc.perform(post("/abc"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void actuatorNaPortaDaAplicacaoExigeToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(porta(8080)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void actuatorNaPortaDeGerenciamentoEPublico() throws Exception {
+        // Sem o endpoint no slice MVC, passar pela segurança resulta em 404
+        mockMvc.perform(get("/actuator/prometheus").with(porta(8082)))
+                .andExpect(status().isNotFound());
+    }
+
+    private static RequestPostProcessor porta(int porta) {
+        return request -> {
+            request.setLocalPort(porta);
+            return request;
+        };
+    }
+}
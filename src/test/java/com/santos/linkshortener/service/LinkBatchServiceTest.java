@@ -0,0 +1,128 @@
+package com.santos.linkshortener.service;
+
+import com.santos.linkshortener.cache.ShortCodeFilter;
+import com.santos.linkshortener.datasource.ReadConsistency;
+import com.santos.linkshortener.destination.DestinationStore;
+import com.santos.linkshortener.dto.LinkBatchResult;
+import com.santos.linkshortener.dto.LinkCreateRequest;
+import com.santos.linkshortener.generator.ShortCodeAllocator;
+import com.santos.linkshortener.generator.ShortCodeGenerator;
+import com.santos.linkshortener.invalidation.CacheInvalidator;
+import com.santos.linkshortener.model.Destination;
+import com.santos.linkshortener.model.Link;
+import com.santos.linkshortener.model.User;
+import com.santos.linkshortener.repository.CodeQuarantineRepository;
+import com.santos.linkshortener.repository.LinkRepository;
+import com.santos.linkshortener.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Inserção em lote contra o H2: um código criado concorrentemente (fora da validação) só
+ * derruba o item em conflito.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lote;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LinkBatchServiceTest {
+
+    private static final String URL = "https://exemplo.com/destino";
+
+    @Autowired
+    private LinkRepository linkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CodeQuarantineRepository codeQuarantineRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LinkBatchService service;
+    private User user;
+    private Destination destino;
+
+    @BeforeEach
+    void preparar() {
+        linkRepository.deleteAll();
+        user = userRepository.findAll().stream().findFirst().orElseGet(() -> {
+            var novo = new User();
+            novo.setUsername("lote");
+            novo.setEmail("lote@exemplo.com");
+            novo.setPassword("x");
+            return userRepository.save(novo);
+        });
+        destino = new Destination(42L, URL);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (entityManager.find(Destination.class, destino.getId()) == null) {
+                entityManager.persist(destino);
+            }
+        });
+
+        var destinationStore = mock(DestinationStore.class);
+        when(destinationStore.resolverTodos(any())).thenReturn(Map.of(URL, destino));
+        var shortCodeFilter = mock(ShortCodeFilter.class);
+        var allocator = mock(ShortCodeAllocator.class);
+        var ids = new AtomicLong(1);
+        when(allocator.proximoId()).thenAnswer(invocation -> ids.getAndIncrement());
+        var linkFactory = new LinkFactory(allocator, mock(ShortCodeGenerator.class), shortCodeFilter,
+                codeQuarantineRepository, new SimpleMeterRegistry());
+        service = new LinkBatchService(linkRepository, userRepository, List.of(), linkFactory,
+                mock(CacheInvalidator.class), mock(ReadConsistency.class), destinationStore, transactionTemplate,
+                entityManager, "http://localhost:8080", 500);
+    }
+
+    @Test
+    void codigoDuplicadoNoBancoFalhaSoOItemEmConflito() {
+        var existente = new Link(destino, "existe");
+        existente.setId(1_000_000L);
+        existente.setUser(user);
+        linkRepository.save(existente);
+
+        List<LinkBatchResult> resultados = service.processarLote(List.of(
+                new LinkCreateRequest(URL, "novo-1"),
+                new LinkCreateRequest(URL, "existe"),
+                new LinkCreateRequest(URL, "novo-2")), 0, user.getId(), user.getUsername());
+
+        assertThat(resultados).extracting(LinkBatchResult::erro)
+                .containsExactly(null, "Código curto já está em uso.", null);
+        assertThat(linkRepository.findAll()).extracting(Link::getUrlCurta)
+                .containsExactlyInAnyOrder("existe", "novo-1", "novo-2");
+    }
+
+    @Test
+    void loteSemConflitoInsereTodos() {
+        List<LinkBatchResult> resultados = service.processarLote(List.of(
+                new LinkCreateRequest(URL, "a-1"),
+                new LinkCreateRequest(URL, "a-2")), 0, user.getId(), user.getUsername());
+
+        assertThat(resultados).extracting(LinkBatchResult::erro).containsOnlyNulls();
+        assertThat(linkRepository.count()).isEqualTo(2);
+    }
+}
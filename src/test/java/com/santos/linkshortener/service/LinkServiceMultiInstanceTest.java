@@ -0,0 +1,103 @@
+package com.santos.linkshortener.service;
+
+import com.santos.linkshortener.LinkshortenerApplication;
+import com.santos.linkshortener.dto.LinkCreateRequest;
+import com.santos.linkshortener.exception.LinkNaoEncontradoException;
+import com.santos.linkshortener.model.User;
+import com.santos.linkshortener.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Duas instâncias da aplicação sobre o mesmo banco H2, ligadas pelo canal de invalidação dentro
+ * da JVM: um link criado em uma é resolvido na outra logo em seguida, mesmo depois de ela ter
+ * respondido 404 para o código.
+ */
+class LinkServiceMultiInstanceTest {
+
+    private static final String URL = "https://exemplo.com/destino";
+
+    private static ConfigurableApplicationContext a;
+    private static ConfigurableApplicationContext b;
+    private static User user;
+
+    @BeforeAll
+    static void iniciar() {
+        String sufixo = UUID.randomUUID().toString();
+        // A primeira instância cria as tabelas; a segunda só as usa
+        a = iniciar(sufixo, "create-drop");
+        b = iniciar(sufixo, "none");
+        var novo = new User();
+        novo.setUsername("instancias");
+        novo.setEmail("instancias@exemplo.com");
+        novo.setPassword("x");
+        user = a.getBean(UserRepository.class).save(novo);
+    }
+
+    private static ConfigurableApplicationContext iniciar(String sufixo, String ddl) {
+        List<String> propriedades = List.of(
+                "spring.datasource.url=jdbc:h2:mem:instancias-" + sufixo + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=" + ddl,
+                "spring.flyway.enabled=false",
+                "server.port=0",
+                "management.server.port=0",
+                "app.clicks.log.enabled=false",
+                "app.codigo.chave=instancias",
+                "app.links.expiry.purge-enabled=false",
+                "app.cache.invalidation.channel=instancias-" + sufixo,
+                // Sem a releitura periódica do filtro, só o anúncio da criação leva o código à outra instância
+                "app.filtro.refresh-ms=600000",
+                "app.cache.redirect.negative-ttl-ms=600000",
+                "logging.level.root=WARN");
+        // Como argumentos de linha de comando: propriedades padrão perderiam para application.properties
+        return new SpringApplicationBuilder(LinkshortenerApplication.class)
+                .run(propriedades.stream().map(propriedade -> "--" + propriedade).toArray(String[]::new));
+    }
+
+    @AfterAll
+    static void encerrar() {
+        if (b != null) {
+            b.close();
+        }
+        if (a != null) {
+            a.close();
+        }
+    }
+
+    @Test
+    void codigoPersonalizadoCriadoEmUmaInstanciaResolveNaOutra() {
+        LinkService servicoB = b.getBean(LinkService.class);
+        assertThatThrownBy(() -> servicoB.getOriginalUrl("outra-instancia"))
+                .isInstanceOf(LinkNaoEncontradoException.class);
+
+        a.getBean(LinkService.class).createShortLink(
+                new LinkCreateRequest(URL, "outra-instancia"), user.getId(), user.getUsername());
+
+        assertThat(servicoB.getOriginalUrl("outra-instancia")).isEqualTo(URL);
+    }
+
+    @Test
+    void codigoGeradoEmLoteEmUmaInstanciaResolveNaOutra() {
+        var criados = a.getBean(LinkBatchService.class).createShortLinks(
+                List.of(new LinkCreateRequest(URL, null)), user.getId(), user.getUsername());
+        // A resposta traz a URL curta completa; o código é o último segmento
+        String url = criados.get(0).link().urlCurta();
+        String urlCurta = url.substring(url.lastIndexOf('/') + 1);
+
+        assertThat(b.getBean(LinkService.class).getOriginalUrl(urlCurta)).isEqualTo(URL);
+    }
+}
@@ -0,0 +1,92 @@
+package com.santos.linkshortener.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void sketchVazioEstimaZero() {
+        assertThat(new HyperLogLog().estimar()).isZero();
+        assertThat(HyperLogLog.desserializar(null).estimar()).isZero();
+    }
+
+    @Test
+    void elementosRepetidosContamUmaVez() {
+        var sketch = sketch(0, 100);
+        for (int i = 0; i < 10; i++) {
+            adicionar(sketch, 0, 100);
+        }
+
+        assertThat(sketch.estimar()).isCloseTo(100, within(3L));
+    }
+
+    @Test
+    void estimativaDentroDoErroEsperado() {
+        for (int distintos : new int[]{500, 5_000, 200_000}) {
+            long estimativa = sketch(0, distintos).estimar();
+
+            // ~1,6% de erro padrão; 5% fica acima de três desvios
+            assertThat(estimativa).as("%d distintos", distintos)
+                    .isCloseTo(distintos, within((long) (distintos * 0.05)));
+        }
+    }
+
+    @Test
+    void uniaoEstimaOsDistintosDeAmbos() {
+        var esparso = sketch(0, 300);
+        var denso = sketch(200, 50_000);
+        var esperado = sketch(0, 50_000).estimar();
+
+        var uniaoEsparsoDenso = sketch(0, 300);
+        uniaoEsparsoDenso.unir(denso);
+        denso.unir(esparso);
+
+        assertThat(uniaoEsparsoDenso.estimar()).isEqualTo(esperado);
+        assertThat(denso.estimar()).isEqualTo(esperado);
+    }
+
+    @Test
+    void serializacaoPreservaOsRegistradores() {
+        var esparso = sketch(0, 200);
+        var denso = sketch(0, 20_000);
+
+        byte[] bytesEsparso = esparso.serializar();
+        byte[] bytesDenso = denso.serializar();
+
+        assertThat(bytesEsparso).hasSizeLessThan(bytesDenso.length);
+        assertThat(bytesDenso).hasSize(2 + 4096 * 6 / 8);
+        assertThat(HyperLogLog.desserializar(bytesEsparso).estimar()).isEqualTo(esparso.estimar());
+        assertThat(HyperLogLog.desserializar(bytesDenso).estimar()).isEqualTo(denso.estimar());
+        assertThat(HyperLogLog.desserializar(bytesDenso).serializar()).isEqualTo(bytesDenso);
+    }
+
+    @Test
+    void formatoDesconhecidoFalha() {
+        assertThatThrownBy(() -> HyperLogLog.desserializar(new byte[]{7, 0, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HyperLogLog sketch(int inicio, int fim) {
+        var sketch = new HyperLogLog();
+        adicionar(sketch, inicio, fim);
+        return sketch;
+    }
+
+    private static void adicionar(HyperLogLog sketch, int inicio, int fim) {
+        for (long i = inicio; i < fim; i++) {
+            sketch.adicionar(misturar(i));
+        }
+    }
+
+    /** Finalizador do SplitMix64: hash de 64 bits bem distribuído para inteiros sequenciais */
+    private static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
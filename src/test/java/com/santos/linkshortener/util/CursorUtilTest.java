@@ -0,0 +1,49 @@
+package com.santos.linkshortener.util;
+
+import com.santos.linkshortener.exception.FormatoInvalidoException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilTest {
+
+    @Test
+    void decodificaAPosicaoCodificada() {
+        var data = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+        var posicao = CursorUtil.decodificar(CursorUtil.codificar(data, 987L));
+
+        assertThat(posicao).isEqualTo(new CursorUtil.Posicao(data, 987L));
+    }
+
+    @Test
+    void cursorEhSeguroEmUrl() {
+        String cursor = CursorUtil.codificar(LocalDateTime.of(2024, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejeitaBase64Invalido() {
+        assertThatThrownBy(() -> CursorUtil.decodificar("não é base64!"))
+                .isInstanceOf(FormatoInvalidoException.class);
+    }
+
+    @Test
+    void rejeitaConteudoSemSeparadorDataOuId() {
+        for (String valor : new String[]{"sem-separador", "ontem|1", "2024-03-01T12:00|abc", ""}) {
+            String cursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+
+            assertThatThrownBy(() -> CursorUtil.decodificar(cursor))
+                    .as(valor)
+                    .isInstanceOf(FormatoInvalidoException.class)
+                    .hasMessage("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.santos.linkshortener.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashUtilTest {
+
+    @Test
+    void trechoTemOMesmoHashDoTextoIsolado() {
+        String referrer = "https://exemplo.com/pagina";
+
+        assertThat(HashUtil.hash64(referrer, 8, 19, false)).isEqualTo(HashUtil.hash64("exemplo.com"));
+    }
+
+    @Test
+    void minusculasIgnoramACaixaDasLetrasAscii() {
+        assertThat(HashUtil.hash64("Exemplo.COM", 0, 11, true))
+                .isEqualTo(HashUtil.hash64("exemplo.com"))
+                .isNotEqualTo(HashUtil.hash64("Exemplo.COM"));
+    }
+
+    @Test
+    void codigosVizinhosDiferemEmBitsAltosEBaixos() {
+        long a = HashUtil.hash64("abc00001");
+        long b = HashUtil.hash64("abc00002");
+
+        // A mistura final espalha a diferença do último caractere pelos 64 bits
+        assertThat(Long.bitCount((a ^ b) >>> 32)).isGreaterThan(4);
+        assertThat(Long.bitCount((a ^ b) & 0xFFFFFFFFL)).isGreaterThan(4);
+    }
+}